@@ -0,0 +1,190 @@
+/*
+ * Copyright 2019 (C) by Julian Horner.
+ * All Rights Reserved.
+ */
+
+package hash;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Compares loading keys into an empty set one by one, which grows the set again and again, with
+ * the pre-sized {@link Set#addAll(Object[])} and the bulk constructors. Next to it the
+ * {@link SetAlgebra#intersection(Set, Set) intersection} of a small and a large set, which
+ * iterates the small one in both orders of the operands.
+ *
+ * @author julian
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5, time = 2, timeUnit = TimeUnit.SECONDS)
+@Measurement(iterations = 10, time = 2, timeUnit = TimeUnit.SECONDS)
+@Fork(value = 3, jvmArgsAppend = {"-Xms4g", "-Xmx4g"})
+@State(Scope.Benchmark)
+public class BulkOperationsBenchmark {
+    //---------------------------------------------------------------------------------------------
+
+    /** The number of elements of the small set of the intersection. */
+    private static final int SMALL_SIZE = 1000;
+
+    //=============================================================================================
+
+    /** The set implementation. */
+    @Param({"robin_hood", "linked_overflow", "concurrent"})
+    private String implementation;
+
+    /** The number of keys to load. */
+    @Param({"1000000"})
+    private int size;
+
+    /** Distinct keys. */
+    private Integer[] keys;
+
+    /** A set with all keys. */
+    private Set<Integer> large;
+
+    /** A set with some of the keys and as many other keys. */
+    private Set<Integer> small;
+
+    //---------------------------------------------------------------------------------------------
+
+    /**
+     * Creates the keys and the operands of the intersection once per trial.
+     */
+    @Setup(Level.Trial)
+    public void setUp() {
+        IntHashSet distinct = new IntHashSet(size + SMALL_SIZE);
+        Random random = new Random(42);
+        keys = new Integer[size];
+        for (int i = 0; i < size; i++) {
+            int key = random.nextInt();
+            while (!distinct.add(key)) {
+                key = random.nextInt();
+            }
+            keys[i] = key;
+        }
+
+        large = createSet(implementation);
+        large.addAll(keys);
+
+        small = createSet(implementation);
+        for (int i = 0; i < SMALL_SIZE; i++) {
+            small.add((i % 2 == 0) ? keys[random.nextInt(size)] : random.nextInt());
+        }
+    }
+
+    /**
+     * Creates an empty set with its smallest capacity.
+     *
+     * @param implementation The name of the implementation
+     * @return The stated set
+     */
+    private static Set<Integer> createSet(final String implementation) {
+        switch (implementation) {
+        case "robin_hood":
+            return new RobinHoodHashSet<>();
+        case "linked_overflow":
+            return new LinkedOverflowHashSet<>(0, CapacityStrategy.POWER_OF_TWO);
+        case "concurrent":
+            return new ConcurrentHashSet<>();
+        default:
+            throw new IllegalArgumentException("Unknown implementation: " + implementation);
+        }
+    }
+
+    /**
+     * Creates a set with all keys by its bulk constructor.
+     *
+     * @param implementation The name of the implementation
+     * @param keys The stated keys
+     * @return The stated set
+     */
+    private static Set<Integer> createSet(final String implementation, final Integer[] keys) {
+        switch (implementation) {
+        case "robin_hood":
+            return new RobinHoodHashSet<>(keys);
+        case "linked_overflow":
+            return new LinkedOverflowHashSet<>(keys);
+        case "concurrent":
+            return new ConcurrentHashSet<>(keys);
+        default:
+            throw new IllegalArgumentException("Unknown implementation: " + implementation);
+        }
+    }
+
+    //---------------------------------------------------------------------------------------------
+
+    /**
+     * Adds the keys one by one to an empty set.
+     *
+     * @return The filled set
+     */
+    @Benchmark
+    public Set<Integer> addLoop() {
+        Set<Integer> set = createSet(implementation);
+        for (Integer key : keys) {
+            set.add(key);
+        }
+
+        return set;
+    }
+
+    /**
+     * Adds the keys with one call to an empty set.
+     *
+     * @return The filled set
+     */
+    @Benchmark
+    public Set<Integer> addAll() {
+        Set<Integer> set = createSet(implementation);
+        set.addAll(keys);
+
+        return set;
+    }
+
+    /**
+     * Creates the set with the bulk constructor.
+     *
+     * @return The filled set
+     */
+    @Benchmark
+    public Set<Integer> bulkConstructor() {
+        return createSet(implementation, keys);
+    }
+
+    /**
+     * Intersection with the small set as the first operand.
+     *
+     * @return The intersection
+     */
+    @Benchmark
+    public Set<Integer> intersectionSmallFirst() {
+        return SetAlgebra.intersection(small, large);
+    }
+
+    /**
+     * Intersection with the large set as the first operand.
+     *
+     * @return The intersection
+     */
+    @Benchmark
+    public Set<Integer> intersectionLargeFirst() {
+        return SetAlgebra.intersection(large, small);
+    }
+
+    //---------------------------------------------------------------------------------------------
+}
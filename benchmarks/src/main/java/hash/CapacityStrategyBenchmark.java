@@ -0,0 +1,140 @@
+/*
+ * Copyright 2019 (C) by Julian Horner.
+ * All Rights Reserved.
+ */
+
+package hash;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Compares the {@link CapacityStrategy capacity strategies} of the {@link LinkedOverflowHashSet}:
+ * the construction of an empty set, which includes the search of the prime capacity, the mapping of
+ * a hash code to its bucket, which is paid on every probe, and a lookup of a key in a filled set.
+ *
+ * @author julian
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 2, timeUnit = TimeUnit.SECONDS)
+@Measurement(iterations = 10, time = 2, timeUnit = TimeUnit.SECONDS)
+@Fork(value = 3, jvmArgsAppend = {"-Xms4g", "-Xmx4g"})
+@State(Scope.Benchmark)
+public class CapacityStrategyBenchmark {
+    //---------------------------------------------------------------------------------------------
+
+    /** The number of precomputed keys, a power of two. */
+    private static final int KEY_COUNT = 1 << 16;
+
+    //=============================================================================================
+
+    /** The capacity strategy. */
+    @Param({"PRIME", "POWER_OF_TWO"})
+    private CapacityStrategy strategy;
+
+    /** The amount of elements. */
+    @Param({"1000", "100000", "1000000"})
+    private int size;
+
+    /** The filled set. */
+    private LinkedOverflowHashSet<Integer> set;
+
+    /** The capacity of the filled set. */
+    private int capacity;
+
+    /** Keys that are in the set. */
+    private Integer[] hitKeys;
+
+    /** Hash codes of random keys. */
+    private int[] hashCodes;
+
+    /** The position of the next key. */
+    private int nextKey;
+
+    //---------------------------------------------------------------------------------------------
+
+    /**
+     * Fills the set once per trial.
+     */
+    @Setup(Level.Trial)
+    public void setUp() {
+        set = new LinkedOverflowHashSet<>(size, strategy);
+
+        Random random = new Random(42);
+        int[] values = new int[size];
+        for (int i = 0; i < size; i++) {
+            values[i] = random.nextInt();
+            while (!set.add(values[i])) {
+                values[i] = random.nextInt();
+            }
+        }
+
+        hitKeys = new Integer[KEY_COUNT];
+        hashCodes = new int[KEY_COUNT];
+        for (int i = 0; i < KEY_COUNT; i++) {
+            hitKeys[i] = values[random.nextInt(size)];
+            hashCodes[i] = random.nextInt();
+        }
+        capacity = set.getCapacity();
+    }
+
+    /**
+     * Gets the position of the next key.
+     *
+     * @return The stated position
+     */
+    private int nextKey() {
+        nextKey = (nextKey + 1) & (KEY_COUNT - 1);
+
+        return nextKey;
+    }
+
+    //---------------------------------------------------------------------------------------------
+
+    /**
+     * Creates an empty set for the size.
+     *
+     * @return The stated set
+     */
+    @Benchmark
+    @OutputTimeUnit(TimeUnit.MICROSECONDS)
+    public LinkedOverflowHashSet<Integer> construct() {
+        return new LinkedOverflowHashSet<>(size, strategy);
+    }
+
+    /**
+     * Maps a hash code to its bucket.
+     *
+     * @return The stated bucket
+     */
+    @Benchmark
+    public int position() {
+        return strategy.getPosition(hashCodes[nextKey()], capacity);
+    }
+
+    /**
+     * Lookup of a key in the set.
+     *
+     * @return Whether the key was found
+     */
+    @Benchmark
+    public boolean containsHit() {
+        return set.contains(hitKeys[nextKey()]);
+    }
+
+    //---------------------------------------------------------------------------------------------
+}
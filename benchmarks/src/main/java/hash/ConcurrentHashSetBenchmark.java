@@ -0,0 +1,326 @@
+/*
+ * Copyright 2019 (C) by Julian Horner.
+ * All Rights Reserved.
+ */
+
+package hash;
+
+import java.util.Iterator;
+import java.util.Random;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+import java.util.function.Predicate;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.ThreadParams;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Compares the {@link ConcurrentHashSet} with a {@link LinkedOverflowHashSet} behind a global
+ * lock and with the key set of a <code>java.util.concurrent.ConcurrentHashMap</code>, shared by
+ * all threads. Every operation is a lookup of a key in the set or, with the given percentage, a
+ * write: the thread adds one of its own keys and removes it again, so the size stays the same.
+ * <p>
+ * The number of threads is set with <code>-t</code>. The scaling from 1 to 64 threads is measured
+ * with <code>java -cp target/benchmarks.jar hash.ConcurrentHashSetBenchmark</code>, which runs the
+ * benchmark once per thread count, thread counts can be given as arguments instead.
+ *
+ * @author julian
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 2, timeUnit = TimeUnit.SECONDS)
+@Measurement(iterations = 10, time = 2, timeUnit = TimeUnit.SECONDS)
+@Fork(value = 3, jvmArgsAppend = {"-Xms4g", "-Xmx4g"})
+@State(Scope.Benchmark)
+public class ConcurrentHashSetBenchmark {
+    //---------------------------------------------------------------------------------------------
+
+    /** The number of precomputed keys of every kind per thread, a power of two. */
+    private static final int KEY_COUNT = 1 << 12;
+
+    /** The thread counts which are measured by {@link #main(String[])}. */
+    private static final int[] THREAD_COUNTS = {1, 2, 4, 8, 16, 32, 64};
+
+    //=============================================================================================
+
+    /** The set implementation. */
+    @Param({"concurrent", "global_lock", "java_concurrent"})
+    private String implementation;
+
+    /** The percentage of the operations which are writes. */
+    @Param({"0", "10", "50"})
+    private int writePercent;
+
+    /** The amount of elements. */
+    @Param({"1000000"})
+    private int size;
+
+    /** The set shared by all threads. */
+    private Set<Integer> set;
+
+    /** The values in the set. */
+    private int[] values;
+
+    //---------------------------------------------------------------------------------------------
+
+    /**
+     * Runs the benchmark once per thread count.
+     *
+     * @param args The thread counts, all of {@link #THREAD_COUNTS} if none are given
+     * @throws RunnerException If a benchmark fails
+     */
+    public static void main(final String[] args) throws RunnerException {
+        int[] threadCounts = THREAD_COUNTS;
+        if (args.length > 0) {
+            threadCounts = new int[args.length];
+            for (int i = 0; i < args.length; i++) {
+                threadCounts[i] = Integer.parseInt(args[i]);
+            }
+        }
+
+        for (int threads : threadCounts) {
+            Options options = new OptionsBuilder()
+                    .include(ConcurrentHashSetBenchmark.class.getName() + "\\.")
+                    .threads(threads)
+                    .build();
+            new Runner(options).run();
+        }
+    }
+
+    //---------------------------------------------------------------------------------------------
+
+    /**
+     * Fills the set once per trial.
+     */
+    @Setup(Level.Trial)
+    public void setUp() {
+        set = createSet(implementation, size);
+
+        Random random = new Random(42);
+        values = new int[size];
+        for (int i = 0; i < size; i++) {
+            values[i] = random.nextInt();
+            while (!set.add(values[i])) {
+                values[i] = random.nextInt();
+            }
+        }
+    }
+
+    /**
+     * Creates an empty set.
+     *
+     * @param implementation The name of the implementation
+     * @param size The amount of elements
+     * @return The stated set
+     */
+    private static Set<Integer> createSet(final String implementation, final int size) {
+        switch (implementation) {
+        case "concurrent":
+            return new ConcurrentHashSet<>(size);
+        case "global_lock":
+            return new GlobalLockSet<>(new LinkedOverflowHashSet<>(size,
+                    CapacityStrategy.POWER_OF_TWO));
+        case "java_concurrent":
+            return new JavaConcurrentSet<>(size);
+        default:
+            throw new IllegalArgumentException("Unknown implementation: " + implementation);
+        }
+    }
+
+    //---------------------------------------------------------------------------------------------
+
+    /**
+     * A lookup or a write, chosen at random with the write percentage.
+     *
+     * @param keys The keys of the thread
+     * @return Whether the key was found or removed
+     */
+    @Benchmark
+    public boolean mixed(final ThreadKeys keys) {
+        int next = keys.nextKey();
+        if (keys.isWrite(next)) {
+            Integer key = keys.ownKeys[next];
+            set.add(key);
+
+            return set.remove(key);
+        }
+
+        return set.contains(keys.hitKeys[next]);
+    }
+
+    //=============================================================================================
+
+    /**
+     * The keys of a thread: keys that are in the set, keys that only this thread adds and
+     * removes, and whether an operation is a write.
+     */
+    @State(Scope.Thread)
+    public static class ThreadKeys {
+
+        /** Keys that are in the set. */
+        private Integer[] hitKeys;
+
+        /** Keys that are not in the set and only written by this thread. */
+        private Integer[] ownKeys;
+
+        /** Whether the operation at a position is a write. */
+        private boolean[] writes;
+
+        /** The position of the next key. */
+        private int nextKey;
+
+        /**
+         * Creates the keys of the thread once per trial.
+         *
+         * @param benchmark The benchmark with the shared set
+         * @param threadParams The index of the thread
+         */
+        @Setup(Level.Trial)
+        public void setUp(final ConcurrentHashSetBenchmark benchmark,
+                final ThreadParams threadParams) {
+            int thread = threadParams.getThreadIndex();
+            Random random = new Random(thread);
+            hitKeys = new Integer[KEY_COUNT];
+            ownKeys = new Integer[KEY_COUNT];
+            writes = new boolean[KEY_COUNT];
+            for (int i = 0; i < KEY_COUNT; i++) {
+                hitKeys[i] = benchmark.values[random.nextInt(benchmark.size)];
+                writes[i] = random.nextInt(100) < benchmark.writePercent;
+
+                // the lower bits of the keys belong to the thread, so no other thread writes them
+                int key = (random.nextInt() & ~0x3F) | thread;
+                while (benchmark.set.contains(key)) {
+                    key = (random.nextInt() & ~0x3F) | thread;
+                }
+                ownKeys[i] = key;
+            }
+        }
+
+        /**
+         * Gets the position of the next key.
+         *
+         * @return The stated position
+         */
+        private int nextKey() {
+            nextKey = (nextKey + 1) & (KEY_COUNT - 1);
+
+            return nextKey;
+        }
+
+        /**
+         * Gets whether the operation at the position is a write.
+         *
+         * @param position The position of the key
+         * @return Whether it's a write
+         */
+        private boolean isWrite(final int position) { return writes[position]; }
+    }
+
+    //=============================================================================================
+
+    /**
+     * A set behind a global lock, as a set without thread safety has to be shared.
+     *
+     * @param <E> The type of the data
+     */
+    static final class GlobalLockSet<E> implements Set<E> {
+
+        /** The wrapped set. */
+        private final Set<E> set;
+
+        /**
+         * Creates the wrapper.
+         *
+         * @param set The wrapped set
+         */
+        GlobalLockSet(final Set<E> set) { this.set = set; }
+
+        @Override
+        public synchronized boolean add(final E data) { return set.add(data); }
+
+        @Override
+        public synchronized boolean contains(final E data) { return set.contains(data); }
+
+        @Override
+        public synchronized boolean remove(final E data) { return set.remove(data); }
+
+        @Override
+        public synchronized void forEach(final Consumer<? super E> action) { set.forEach(action); }
+
+        /**
+         * The iterator isn't locked, it may only be used while no other thread modifies the set.
+         */
+        @Override
+        public Iterator<E> iterator() { return set.iterator(); }
+
+        @Override
+        public synchronized boolean removeIf(final Predicate<? super E> filter) {
+            return set.removeIf(filter);
+        }
+
+        @Override
+        public synchronized int size() { return set.size(); }
+    }
+
+    //=============================================================================================
+
+    /**
+     * The key set of a <code>java.util.concurrent.ConcurrentHashMap</code> behind the {@link Set}
+     * interface.
+     *
+     * @param <E> The type of the data
+     */
+    static final class JavaConcurrentSet<E> implements Set<E> {
+
+        /** The wrapped set. */
+        private final java.util.Set<E> set;
+
+        /**
+         * Creates the wrapper.
+         *
+         * @param initialCapacity The number of elements the set should hold without growing
+         */
+        JavaConcurrentSet(final int initialCapacity) {
+            set = ConcurrentHashMap.newKeySet(initialCapacity);
+        }
+
+        @Override
+        public boolean add(final E data) { return set.add(data); }
+
+        @Override
+        public boolean contains(final E data) { return set.contains(data); }
+
+        @Override
+        public boolean remove(final E data) { return set.remove(data); }
+
+        @Override
+        public void forEach(final Consumer<? super E> action) { set.forEach(action); }
+
+        @Override
+        public Iterator<E> iterator() { return set.iterator(); }
+
+        @Override
+        public boolean removeIf(final Predicate<? super E> filter) { return set.removeIf(filter); }
+
+        @Override
+        public int size() { return set.size(); }
+    }
+
+    //---------------------------------------------------------------------------------------------
+}
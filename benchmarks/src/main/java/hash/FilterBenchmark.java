@@ -0,0 +1,205 @@
+/*
+ * Copyright 2019 (C) by Julian Horner.
+ * All Rights Reserved.
+ */
+
+package hash;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import utils.HeapFootprint;
+
+/**
+ * Compares the sets of the {@link HashSetBenchmark} with and without a {@link MembershipFilter}
+ * in front of them, see {@link FilteredHashSet}: lookups of keys not in the set, lookups of keys
+ * in the set, which pay for the filter without a benefit, and a miss-heavy mix with one hit in
+ * {@value #MISSES_PER_HIT} lookups.
+ * <p>
+ * The speed is measured with <code>java -jar target/benchmarks.jar FilterBenchmark</code>, the
+ * memory per element and the measured false positive rate of the filters are printed by
+ * <code>java -Xmx4g -cp target/benchmarks.jar hash.FilterBenchmark</code>.
+ *
+ * @author julian
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 2, timeUnit = TimeUnit.SECONDS)
+@Measurement(iterations = 10, time = 2, timeUnit = TimeUnit.SECONDS)
+@Fork(value = 3, jvmArgsAppend = {"-Xms4g", "-Xmx4g"})
+@State(Scope.Benchmark)
+public class FilterBenchmark {
+    //---------------------------------------------------------------------------------------------
+
+    /** The number of precomputed keys of every kind, a power of two. */
+    private static final int KEY_COUNT = 1 << 16;
+
+    /** The number of lookups of the mix per lookup of a key in the set. */
+    private static final int MISSES_PER_HIT = 20;
+
+    /** The false positive rate of the filters. */
+    private static final double FALSE_POSITIVE_RATE = 0.01;
+
+    /** The sizes whose memory per element and false positive rate are printed. */
+    private static final int[] FOOTPRINT_SIZES = {1_000, 100_000, 1_000_000};
+
+    /** The false positive rates which are printed. */
+    private static final double[] FOOTPRINT_RATES = {0.1, 0.01, 0.001};
+
+    /** The number of lookups which measure the false positive rate. */
+    private static final int RATE_LOOKUPS = 1_000_000;
+
+    //=============================================================================================
+
+    /** The set implementation, see {@link HashSetBenchmark}. */
+    @Param({"linked_overflow", "robin_hood"})
+    private String implementation;
+
+    /** The filter in front of the set, none or a {@link FilterType}. */
+    @Param({"none", "BLOOM", "CUCKOO"})
+    private String filter;
+
+    /** The amount of elements. */
+    @Param({"1000", "100000", "1000000"})
+    private int size;
+
+    /** The set under test. */
+    private Set<Integer> set;
+
+    /** Keys that are in the set. */
+    private Integer[] hitKeys;
+
+    /** Keys that are not in the set. */
+    private Integer[] missKeys;
+
+    /** The position of the next key. */
+    private int nextKey;
+
+    //---------------------------------------------------------------------------------------------
+
+    /**
+     * Prints the retained heap and the measured false positive rate of both filters for every
+     * size and rate.
+     *
+     * @param args The arguments
+     */
+    public static void main(final String[] args) {
+        System.out.println("size,filter,false_positive_rate,measured_rate,bytes,bytes_per_element");
+        for (int size : FOOTPRINT_SIZES) {
+            for (double rate : FOOTPRINT_RATES) {
+                for (FilterType type : FilterType.values()) {
+                    Random random = new Random(42);
+                    java.util.HashSet<Integer> values = new java.util.HashSet<>();
+                    MembershipFilter<Integer> filter = type.create(size, rate);
+                    while (values.size() < size) {
+                        int value = random.nextInt();
+                        if (values.add(value)) { filter.add(value); }
+                    }
+
+                    int falsePositives = 0;
+                    for (int i = 0; i < RATE_LOOKUPS; i++) {
+                        int key = random.nextInt();
+                        if (!values.contains(key) && filter.mightContain(key)) { falsePositives++; }
+                    }
+
+                    long bytes = HeapFootprint.retainedBytes(() -> type.create(size, rate));
+                    System.out.printf("%d,%s,%s,%.5f,%d,%.2f%n", size, type, rate,
+                            falsePositives / (double) RATE_LOOKUPS, bytes, bytes / (double) size);
+                }
+            }
+        }
+    }
+
+    //---------------------------------------------------------------------------------------------
+
+    /**
+     * Fills the set once per trial.
+     */
+    @Setup(Level.Trial)
+    public void setUp() {
+        set = HashSetBenchmark.createSet(implementation, size);
+        if (!"none".equals(filter)) {
+            set = new FilteredHashSet<>(set, FilterType.valueOf(filter), FALSE_POSITIVE_RATE);
+        }
+
+        Random random = new Random(42);
+        int[] values = new int[size];
+        for (int i = 0; i < size; i++) {
+            values[i] = random.nextInt();
+            while (!set.add(values[i])) {
+                values[i] = random.nextInt();
+            }
+        }
+
+        hitKeys = new Integer[KEY_COUNT];
+        missKeys = new Integer[KEY_COUNT];
+        for (int i = 0; i < KEY_COUNT; i++) {
+            hitKeys[i] = values[random.nextInt(size)];
+            missKeys[i] = random.nextInt();
+            while (set.contains(missKeys[i])) {
+                missKeys[i] = random.nextInt();
+            }
+        }
+    }
+
+    /**
+     * Gets the position of the next key.
+     *
+     * @return The stated position
+     */
+    private int nextKey() {
+        nextKey = (nextKey + 1) & (KEY_COUNT - 1);
+
+        return nextKey;
+    }
+
+    //---------------------------------------------------------------------------------------------
+
+    /**
+     * Lookup of a key not in the set.
+     *
+     * @return Whether the key was found
+     */
+    @Benchmark
+    public boolean containsMiss() {
+        return set.contains(missKeys[nextKey()]);
+    }
+
+    /**
+     * Lookup of a key in the set.
+     *
+     * @return Whether the key was found
+     */
+    @Benchmark
+    public boolean containsHit() {
+        return set.contains(hitKeys[nextKey()]);
+    }
+
+    /**
+     * Lookup of a key of the miss-heavy mix.
+     *
+     * @return Whether the key was found
+     */
+    @Benchmark
+    public boolean containsMissHeavy() {
+        int key = nextKey();
+        Integer[] keys = (key % MISSES_PER_HIT == 0) ? hitKeys : missKeys;
+
+        return set.contains(keys[key]);
+    }
+
+    //---------------------------------------------------------------------------------------------
+}
@@ -0,0 +1,201 @@
+/*
+ * Copyright 2019 (C) by Julian Horner.
+ * All Rights Reserved.
+ */
+
+package hash;
+
+import java.util.Iterator;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+import java.util.function.Predicate;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Compares the {@link RobinHoodHashSet} with the {@link LinkedOverflowHashSet} and with
+ * <code>java.util.HashSet</code>: lookups of keys in the set and of keys not in the set, and an
+ * add followed by a remove, which leaves the set unchanged.
+ * <p>
+ * The keys are random <code>Integer</code> objects, created once, so the lookups measure the hash
+ * table and not the boxing.
+ *
+ * @author julian
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 2, timeUnit = TimeUnit.SECONDS)
+@Measurement(iterations = 10, time = 2, timeUnit = TimeUnit.SECONDS)
+@Fork(value = 3, jvmArgsAppend = {"-Xms4g", "-Xmx4g"})
+@State(Scope.Benchmark)
+public class HashSetBenchmark {
+    //---------------------------------------------------------------------------------------------
+
+    /** The number of precomputed keys of every kind, a power of two. */
+    private static final int KEY_COUNT = 1 << 16;
+
+    //=============================================================================================
+
+    /** The set implementation. */
+    @Param({"robin_hood", "linked_overflow", "java_util"})
+    private String implementation;
+
+    /** The amount of elements. */
+    @Param({"1000", "100000", "1000000"})
+    private int size;
+
+    /** The set under test. */
+    private Set<Integer> set;
+
+    /** Keys that are in the set. */
+    private Integer[] hitKeys;
+
+    /** Keys that are not in the set. */
+    private Integer[] missKeys;
+
+    /** The position of the next key. */
+    private int nextKey;
+
+    //---------------------------------------------------------------------------------------------
+
+    /**
+     * Fills the set once per trial.
+     */
+    @Setup(Level.Trial)
+    public void setUp() {
+        set = createSet(implementation, size);
+
+        Random random = new Random(42);
+        int[] values = new int[size];
+        for (int i = 0; i < size; i++) {
+            values[i] = random.nextInt();
+            while (!set.add(values[i])) {
+                values[i] = random.nextInt();
+            }
+        }
+
+        hitKeys = new Integer[KEY_COUNT];
+        missKeys = new Integer[KEY_COUNT];
+        for (int i = 0; i < KEY_COUNT; i++) {
+            hitKeys[i] = values[random.nextInt(size)];
+            missKeys[i] = random.nextInt();
+            while (set.contains(missKeys[i])) {
+                missKeys[i] = random.nextInt();
+            }
+        }
+    }
+
+    /**
+     * Creates an empty set.
+     *
+     * @param implementation The name of the implementation
+     * @param size The amount of elements
+     * @return The stated set
+     */
+    static Set<Integer> createSet(final String implementation, final int size) {
+        switch (implementation) {
+        case "robin_hood":
+            return new RobinHoodHashSet<>();
+        case "linked_overflow":
+            return new LinkedOverflowHashSet<>(size);
+        case "java_util":
+            return new JavaHashSet<>();
+        default:
+            throw new IllegalArgumentException("Unknown implementation: " + implementation);
+        }
+    }
+
+    /**
+     * Gets the position of the next key.
+     *
+     * @return The stated position
+     */
+    private int nextKey() {
+        nextKey = (nextKey + 1) & (KEY_COUNT - 1);
+
+        return nextKey;
+    }
+
+    //---------------------------------------------------------------------------------------------
+
+    /**
+     * Lookup of a key in the set.
+     *
+     * @return Whether the key was found
+     */
+    @Benchmark
+    public boolean containsHit() {
+        return set.contains(hitKeys[nextKey()]);
+    }
+
+    /**
+     * Lookup of a key not in the set.
+     *
+     * @return Whether the key was found
+     */
+    @Benchmark
+    public boolean containsMiss() {
+        return set.contains(missKeys[nextKey()]);
+    }
+
+    /**
+     * Adds a key not in the set and removes it again.
+     *
+     * @return Whether the key was removed
+     */
+    @Benchmark
+    public boolean addRemove() {
+        Integer key = missKeys[nextKey()];
+        set.add(key);
+
+        return set.remove(key);
+    }
+
+    //=============================================================================================
+
+    /**
+     * A <code>java.util.HashSet</code> behind the {@link Set} interface.
+     *
+     * @param <E> The type of the data
+     */
+    static final class JavaHashSet<E> implements Set<E> {
+
+        /** The wrapped set. */
+        private final java.util.HashSet<E> set = new java.util.HashSet<>();
+
+        @Override
+        public boolean add(final E data) { return set.add(data); }
+
+        @Override
+        public boolean contains(final E data) { return set.contains(data); }
+
+        @Override
+        public boolean remove(final E data) { return set.remove(data); }
+
+        @Override
+        public void forEach(final Consumer<? super E> action) { set.forEach(action); }
+
+        @Override
+        public Iterator<E> iterator() { return set.iterator(); }
+
+        @Override
+        public boolean removeIf(final Predicate<? super E> filter) { return set.removeIf(filter); }
+
+        @Override
+        public int size() { return set.size(); }
+    }
+
+    //---------------------------------------------------------------------------------------------
+}
@@ -0,0 +1,145 @@
+/*
+ * Copyright 2019 (C) by Julian Horner.
+ * All Rights Reserved.
+ */
+
+package hash;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures the cost of the {@link HashSetMetrics} of a {@link LinkedOverflowHashSet} and a
+ * {@link RobinHoodHashSet}: lookups and an add followed by a remove, with the metrics disabled
+ * and enabled. With disabled metrics
+ * the figures should match the ones of the {@link HashSetBenchmark}.
+ *
+ * @author julian
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 2, timeUnit = TimeUnit.SECONDS)
+@Measurement(iterations = 10, time = 2, timeUnit = TimeUnit.SECONDS)
+@Fork(value = 3, jvmArgsAppend = {"-Xms4g", "-Xmx4g"})
+@State(Scope.Benchmark)
+public class HashSetMetricsBenchmark {
+    //---------------------------------------------------------------------------------------------
+
+    /** The number of precomputed keys of every kind, a power of two. */
+    private static final int KEY_COUNT = 1 << 16;
+
+    //=============================================================================================
+
+    /** The set implementation. */
+    @Param({"linked_overflow", "robin_hood"})
+    private String implementation;
+
+    /** Whether the metrics are enabled. */
+    @Param({"false", "true"})
+    private boolean metrics;
+
+    /** The amount of elements. */
+    @Param({"100000"})
+    private int size;
+
+    /** The set under test. */
+    private Set<Integer> set;
+
+    /** Keys that are in the set. */
+    private Integer[] hitKeys;
+
+    /** Keys that are not in the set. */
+    private Integer[] missKeys;
+
+    /** The position of the next key. */
+    private int nextKey;
+
+    //---------------------------------------------------------------------------------------------
+
+    /**
+     * Fills the set once per trial.
+     */
+    @Setup(Level.Trial)
+    public void setUp() {
+        if ("robin_hood".equals(implementation)) {
+            RobinHoodHashSet<Integer> robinHoodSet = new RobinHoodHashSet<>(size);
+            if (metrics) { robinHoodSet.enableMetrics(); }
+            set = robinHoodSet;
+        } else {
+            LinkedOverflowHashSet<Integer> linkedSet = new LinkedOverflowHashSet<>(size,
+                    CapacityStrategy.POWER_OF_TWO);
+            if (metrics) { linkedSet.enableMetrics(); }
+            set = linkedSet;
+        }
+
+        Random random = new Random(42);
+        int[] values = new int[size];
+        for (int i = 0; i < size; i++) {
+            values[i] = random.nextInt();
+            while (!set.add(values[i])) {
+                values[i] = random.nextInt();
+            }
+        }
+
+        hitKeys = new Integer[KEY_COUNT];
+        missKeys = new Integer[KEY_COUNT];
+        for (int i = 0; i < KEY_COUNT; i++) {
+            hitKeys[i] = values[random.nextInt(size)];
+            missKeys[i] = random.nextInt();
+            while (set.contains(missKeys[i])) {
+                missKeys[i] = random.nextInt();
+            }
+        }
+    }
+
+    /**
+     * Gets the position of the next key.
+     *
+     * @return The stated position
+     */
+    private int nextKey() {
+        nextKey = (nextKey + 1) & (KEY_COUNT - 1);
+
+        return nextKey;
+    }
+
+    //---------------------------------------------------------------------------------------------
+
+    /**
+     * Lookup of a key in the set.
+     *
+     * @return Whether the key was found
+     */
+    @Benchmark
+    public boolean containsHit() {
+        return set.contains(hitKeys[nextKey()]);
+    }
+
+    /**
+     * Adds a key not in the set and removes it again.
+     *
+     * @return Whether the key was removed
+     */
+    @Benchmark
+    public boolean addRemove() {
+        Integer key = missKeys[nextKey()];
+        set.add(key);
+
+        return set.remove(key);
+    }
+
+    //---------------------------------------------------------------------------------------------
+}
@@ -0,0 +1,194 @@
+/*
+ * Copyright 2019 (C) by Julian Horner.
+ * All Rights Reserved.
+ */
+
+package hash;
+
+import java.util.PrimitiveIterator;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Compares the ways to visit every element of a {@link Set}: the internal iteration of
+ * <code>forEach</code>, the external one of the iterator, and a sequential and a parallel stream,
+ * which are driven by the spliterator of the set. Every benchmark sums the elements.
+ * <p>
+ * The {@link IntHashSet} is iterated the same ways without boxing. Its <code>forEach</code> and
+ * its iterator allocate nothing per element, which is shown with <code>-prof gc</code>. The
+ * parallel streams only pay off on a machine with several cores and a large set.
+ *
+ * @author julian
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 2, timeUnit = TimeUnit.SECONDS)
+@Measurement(iterations = 10, time = 2, timeUnit = TimeUnit.SECONDS)
+@Fork(value = 3, jvmArgsAppend = {"-Xms4g", "-Xmx4g"})
+@State(Scope.Benchmark)
+public class IterationBenchmark {
+    //---------------------------------------------------------------------------------------------
+
+    /** The set implementation, see {@link HashSetBenchmark}, or the concurrent set. */
+    @Param({"robin_hood", "linked_overflow", "concurrent", "java_util"})
+    private String implementation;
+
+    /** The amount of elements. */
+    @Param({"1000", "100000", "1000000"})
+    private int size;
+
+    /** The values in the sets. */
+    private int[] values;
+
+    /** The set under test. */
+    private Set<Integer> set;
+
+    //---------------------------------------------------------------------------------------------
+
+    /**
+     * Fills the set once per trial.
+     */
+    @Setup(Level.Trial)
+    public void setUp() {
+        IntHashSet distinct = new IntHashSet(size);
+        Random random = new Random(42);
+        values = new int[size];
+        for (int i = 0; i < size; i++) {
+            values[i] = random.nextInt();
+            while (!distinct.add(values[i])) {
+                values[i] = random.nextInt();
+            }
+        }
+
+        set = "concurrent".equals(implementation) ? new ConcurrentHashSet<>(size)
+                : HashSetBenchmark.createSet(implementation, size);
+        for (int value : values) { set.add(value); }
+    }
+
+    //---------------------------------------------------------------------------------------------
+
+    /**
+     * Sums the elements with <code>forEach</code>.
+     *
+     * @return The stated sum
+     */
+    @Benchmark
+    public long forEachSum() {
+        long[] sum = new long[1];
+        set.forEach(element -> sum[0] += element);
+
+        return sum[0];
+    }
+
+    /**
+     * Sums the elements with the iterator.
+     *
+     * @return The stated sum
+     */
+    @Benchmark
+    public long iteratorSum() {
+        long sum = 0;
+        for (Integer element : set) { sum += element; }
+
+        return sum;
+    }
+
+    /**
+     * Sums the elements with a sequential stream.
+     *
+     * @return The stated sum
+     */
+    @Benchmark
+    public long streamSum() {
+        return set.stream().mapToLong(Integer::longValue).sum();
+    }
+
+    /**
+     * Sums the elements with a parallel stream.
+     *
+     * @return The stated sum
+     */
+    @Benchmark
+    public long parallelStreamSum() {
+        return set.parallelStream().mapToLong(Integer::longValue).sum();
+    }
+
+    /**
+     * Sums the values of the <code>int</code> set with <code>forEach</code>.
+     *
+     * @param primitive The <code>int</code> set
+     * @return The stated sum
+     */
+    @Benchmark
+    public long intForEachSum(final Primitive primitive) {
+        long[] sum = new long[1];
+        primitive.set.forEach((int value) -> sum[0] += value);
+
+        return sum[0];
+    }
+
+    /**
+     * Sums the values of the <code>int</code> set with its iterator.
+     *
+     * @param primitive The <code>int</code> set
+     * @return The stated sum
+     */
+    @Benchmark
+    public long intIteratorSum(final Primitive primitive) {
+        long sum = 0;
+        for (PrimitiveIterator.OfInt it = primitive.set.iterator(); it.hasNext();) {
+            sum += it.nextInt();
+        }
+
+        return sum;
+    }
+
+    /**
+     * Sums the values of the <code>int</code> set with a parallel stream.
+     *
+     * @param primitive The <code>int</code> set
+     * @return The stated sum
+     */
+    @Benchmark
+    public long intParallelStreamSum(final Primitive primitive) {
+        return primitive.set.parallelStream().asLongStream().sum();
+    }
+
+    //=============================================================================================
+
+    /**
+     * The <code>int</code> set, which holds the same values as the set under test.
+     */
+    @State(Scope.Benchmark)
+    public static class Primitive {
+
+        /** The set under test. */
+        private IntHashSet set;
+
+        /**
+         * Fills the set once per trial.
+         *
+         * @param benchmark The benchmark with the values
+         */
+        @Setup(Level.Trial)
+        public void setUp(final IterationBenchmark benchmark) {
+            set = new IntHashSet(benchmark.values.length);
+            for (int value : benchmark.values) { set.add(value); }
+        }
+    }
+
+    //---------------------------------------------------------------------------------------------
+}
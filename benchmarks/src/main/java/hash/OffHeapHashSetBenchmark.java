@@ -0,0 +1,302 @@
+/*
+ * Copyright 2019 (C) by Julian Horner.
+ * All Rights Reserved.
+ */
+
+package hash;
+
+import java.io.IOException;
+import java.lang.management.GarbageCollectorMXBean;
+import java.lang.management.ManagementFactory;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import java.util.function.LongPredicate;
+
+import javax.management.ListenerNotFoundException;
+import javax.management.NotificationEmitter;
+import javax.management.NotificationListener;
+import javax.management.openmbean.CompositeData;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.sun.management.GarbageCollectionNotificationInfo;
+
+import utils.HeapFootprint;
+
+/**
+ * Compares the {@link OffHeapLongHashSet} with the {@link LongHashSet} on the heap: lookups of
+ * keys in the set and of keys not in the set, with an allocated and with a memory mapped table.
+ * <p>
+ * The point of the off-heap table is the garbage collector, not the lookup. The pauses are
+ * printed by <code>java -Xmx16g --add-modules jdk.incubator.foreign -cp target/benchmarks.jar
+ * hash.OffHeapHashSetBenchmark [size]</code>: every set is filled with the given number of keys,
+ * 50 million by default, then the heap is collected and short-lived garbage is allocated, and the
+ * pauses of the collections are summed up. The boxed {@link LinkedOverflowHashSet} is included,
+ * its nodes are what the collector has to trace.
+ *
+ * @author julian
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 2, timeUnit = TimeUnit.SECONDS)
+@Measurement(iterations = 10, time = 2, timeUnit = TimeUnit.SECONDS)
+@Fork(value = 3, jvmArgsAppend = {"-Xms4g", "-Xmx4g", "--add-modules", "jdk.incubator.foreign"})
+@State(Scope.Benchmark)
+public class OffHeapHashSetBenchmark {
+    //---------------------------------------------------------------------------------------------
+
+    /** The number of precomputed keys of every kind, a power of two. */
+    private static final int KEY_COUNT = 1 << 16;
+
+    /** The default number of keys of the garbage collection report. */
+    private static final int DEFAULT_REPORT_SIZE = 50_000_000;
+
+    /** The number of full collections of the garbage collection report. */
+    private static final int FULL_COLLECTIONS = 3;
+
+    /** The number of short-lived arrays of 1 MB of the garbage collection report. */
+    private static final int GARBAGE_ARRAYS = 20_000;
+
+    //=============================================================================================
+
+    /** The set implementation. */
+    @Param({"heap", "off_heap", "mapped"})
+    private String implementation;
+
+    /** The amount of elements. */
+    @Param({"1000000", "10000000"})
+    private int size;
+
+    /** The lookup of the set under test. */
+    private LongPredicate contains;
+
+    /** The off-heap set, which is closed after the trial. */
+    private OffHeapLongHashSet offHeapSet;
+
+    /** Keys that are in the set. */
+    private long[] hitKeys;
+
+    /** Keys that are not in the set. */
+    private long[] missKeys;
+
+    /** The position of the next key. */
+    private int nextKey;
+
+    //---------------------------------------------------------------------------------------------
+
+    /**
+     * Prints the retained heap and the pauses of the garbage collector for every set.
+     *
+     * @param args The number of keys, optional
+     * @throws IOException If the file of the mapped set couldn't be created
+     */
+    public static void main(final String[] args) throws IOException {
+        int size = (args.length > 0) ? Integer.parseInt(args[0]) : DEFAULT_REPORT_SIZE;
+
+        System.out.println("size,container,heap_bytes,off_heap_bytes,collections,pause_ms,"
+                + "max_pause_ms");
+        for (String container : new String[] {"linked_overflow", "heap", "off_heap"}) {
+            Object[] set = new Object[1];
+            long heapBytes = HeapFootprint.retainedBytes(() -> {
+                set[0] = fill(container, size);
+                return set[0];
+            });
+            long offHeapBytes = (set[0] instanceof OffHeapLongHashSet)
+                    ? ((OffHeapLongHashSet) set[0]).getOffHeapBytes() : 0;
+
+            List<Long> pauses = collectGarbage();
+            long total = pauses.stream().mapToLong(Long::longValue).sum();
+            long max = pauses.stream().mapToLong(Long::longValue).max().orElse(0);
+            System.out.printf("%d,%s,%d,%d,%d,%d,%d%n", size, container, heapBytes, offHeapBytes,
+                    pauses.size(), total, max);
+
+            if (set[0] instanceof OffHeapLongHashSet) { ((OffHeapLongHashSet) set[0]).close(); }
+            set[0] = null;
+        }
+    }
+
+    /**
+     * Creates a set with the given number of random keys.
+     *
+     * @param container The name of the set
+     * @param size The number of keys
+     * @return The stated set
+     */
+    private static Object fill(final String container, final int size) {
+        Random random = new Random(42);
+        switch (container) {
+        case "linked_overflow":
+            LinkedOverflowHashSet<Long> boxed = new LinkedOverflowHashSet<>(size);
+            for (int i = 0; i < size; i++) { boxed.add(random.nextLong()); }
+            return boxed;
+        case "heap":
+            LongHashSet heap = new LongHashSet(size);
+            for (int i = 0; i < size; i++) { heap.add(random.nextLong()); }
+            return heap;
+        case "off_heap":
+            OffHeapLongHashSet offHeap = new OffHeapLongHashSet(size);
+            for (int i = 0; i < size; i++) { offHeap.add(random.nextLong()); }
+            return offHeap;
+        default:
+            throw new IllegalArgumentException("Unknown container: " + container);
+        }
+    }
+
+    /**
+     * Collects the heap a few times, allocates short-lived garbage and records the duration of
+     * every collection meanwhile.
+     *
+     * @return The durations in milliseconds
+     */
+    private static List<Long> collectGarbage() {
+        List<Long> pauses = new ArrayList<>();
+        NotificationListener listener = (notification, handback) -> {
+            String type = GarbageCollectionNotificationInfo.GARBAGE_COLLECTION_NOTIFICATION;
+            if (type.equals(notification.getType())) {
+                GarbageCollectionNotificationInfo info = GarbageCollectionNotificationInfo.from(
+                        (CompositeData) notification.getUserData());
+                synchronized (pauses) { pauses.add(info.getGcInfo().getDuration()); }
+            }
+        };
+
+        List<GarbageCollectorMXBean> collectors = ManagementFactory.getGarbageCollectorMXBeans();
+        for (GarbageCollectorMXBean collector : collectors) {
+            ((NotificationEmitter) collector).addNotificationListener(listener, null, null);
+        }
+        try {
+            for (int i = 0; i < FULL_COLLECTIONS; i++) { System.gc(); }
+
+            long checksum = 0;
+            for (int i = 0; i < GARBAGE_ARRAYS; i++) {
+                byte[] garbage = new byte[1 << 20];
+                garbage[i & (garbage.length - 1)] = (byte) i;
+                checksum += garbage[i & 1023];
+            }
+            if (checksum == Long.MIN_VALUE) { System.out.println(checksum); }
+
+            // the notifications are sent by another thread
+            Thread.sleep(1000);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } finally {
+            for (GarbageCollectorMXBean collector : collectors) {
+                try {
+                    ((NotificationEmitter) collector).removeNotificationListener(listener);
+                } catch (ListenerNotFoundException e) {
+                    throw new IllegalStateException(e);
+                }
+            }
+        }
+
+        synchronized (pauses) { return new ArrayList<>(pauses); }
+    }
+
+    //---------------------------------------------------------------------------------------------
+
+    /**
+     * Fills the set once per trial.
+     *
+     * @throws IOException If the file of the mapped set couldn't be created
+     */
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        Random random = new Random(42);
+        long[] values = new long[size];
+        LongHashSet heapSet = new LongHashSet(size);
+        for (int i = 0; i < size; i++) {
+            values[i] = random.nextLong();
+            while (!heapSet.add(values[i])) {
+                values[i] = random.nextLong();
+            }
+        }
+
+        switch (implementation) {
+        case "heap":
+            contains = heapSet::contains;
+            break;
+        case "off_heap":
+            offHeapSet = new OffHeapLongHashSet(size);
+            break;
+        case "mapped":
+            Path file = Files.createTempFile("hash-set", ".bin");
+            file.toFile().deleteOnExit();
+            offHeapSet = OffHeapLongHashSet.create(file, size);
+            break;
+        default:
+            throw new IllegalArgumentException("Unknown implementation: " + implementation);
+        }
+        if (offHeapSet != null) {
+            for (long value : values) { offHeapSet.add(value); }
+            contains = offHeapSet::contains;
+        }
+
+        hitKeys = new long[KEY_COUNT];
+        missKeys = new long[KEY_COUNT];
+        for (int i = 0; i < KEY_COUNT; i++) {
+            hitKeys[i] = values[random.nextInt(size)];
+            missKeys[i] = random.nextLong();
+            while (heapSet.contains(missKeys[i])) {
+                missKeys[i] = random.nextLong();
+            }
+        }
+    }
+
+    /**
+     * Releases the off-heap set after the trial.
+     */
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        if (offHeapSet != null) { offHeapSet.close(); }
+    }
+
+    /**
+     * Gets the position of the next key.
+     *
+     * @return The stated position
+     */
+    private int nextKey() {
+        nextKey = (nextKey + 1) & (KEY_COUNT - 1);
+
+        return nextKey;
+    }
+
+    //---------------------------------------------------------------------------------------------
+
+    /**
+     * Lookup of a key in the set.
+     *
+     * @return Whether the key was found
+     */
+    @Benchmark
+    public boolean containsHit() {
+        return contains.test(hitKeys[nextKey()]);
+    }
+
+    /**
+     * Lookup of a key not in the set.
+     *
+     * @return Whether the key was found
+     */
+    @Benchmark
+    public boolean containsMiss() {
+        return contains.test(missKeys[nextKey()]);
+    }
+
+    //---------------------------------------------------------------------------------------------
+}
@@ -0,0 +1,326 @@
+/*
+ * Copyright 2019 (C) by Julian Horner.
+ * All Rights Reserved.
+ */
+
+package hash;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import utils.HeapFootprint;
+
+/**
+ * Compares the {@link IntHashSet} and the {@link LongHashSet} with the boxed sets of the
+ * {@link HashSetBenchmark}: lookups of keys in the set and of keys not in the set, and an add
+ * followed by a remove, which leaves the set unchanged.
+ * <p>
+ * All sets get the same random <code>int</code> keys. The boxed sets box them on every call, as a
+ * caller with primitive values has to, so the boxed figures include the allocation which the
+ * primitive sets avoid. The allocation rate is shown with <code>-prof gc</code>, it is zero for
+ * the primitive sets.
+ * <p>
+ * The speed is measured with
+ * <code>java -jar target/benchmarks.jar PrimitiveHashSetBenchmark</code>, the memory per entry is
+ * printed by
+ * <code>java -Xmx4g -cp target/benchmarks.jar hash.PrimitiveHashSetBenchmark</code>.
+ *
+ * @author julian
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 2, timeUnit = TimeUnit.SECONDS)
+@Measurement(iterations = 10, time = 2, timeUnit = TimeUnit.SECONDS)
+@Fork(value = 3, jvmArgsAppend = {"-Xms4g", "-Xmx4g"})
+@State(Scope.Benchmark)
+public class PrimitiveHashSetBenchmark {
+    //---------------------------------------------------------------------------------------------
+
+    /** The number of precomputed keys of every kind, a power of two. */
+    private static final int KEY_COUNT = 1 << 16;
+
+    /** The sizes whose memory per entry is printed. */
+    private static final int[] FOOTPRINT_SIZES = {1_000, 100_000, 1_000_000, 10_000_000};
+
+    //=============================================================================================
+
+    /** The amount of elements. */
+    @Param({"1000", "100000", "1000000"})
+    private int size;
+
+    /** The values in the sets. */
+    private int[] values;
+
+    /** The <code>int</code> set under test. */
+    private IntHashSet intSet;
+
+    /** The <code>long</code> set under test. */
+    private LongHashSet longSet;
+
+    /** Keys that are in the sets. */
+    private int[] hitKeys;
+
+    /** Keys that are not in the sets. */
+    private int[] missKeys;
+
+    /** The position of the next key. */
+    private int nextKey;
+
+    //---------------------------------------------------------------------------------------------
+
+    /**
+     * Prints the retained heap of the primitive and the boxed sets for every size.
+     *
+     * @param args The arguments
+     */
+    public static void main(final String[] args) {
+        System.out.println("size,container,bytes,bytes_per_element");
+        for (int size : FOOTPRINT_SIZES) {
+            int[] values = createValues(new Random(42), size);
+
+            printFootprint(size, "int_hash_set", HeapFootprint.retainedBytes(() -> {
+                IntHashSet set = new IntHashSet();
+                for (int value : values) { set.add(value); }
+                return set;
+            }));
+            printFootprint(size, "long_hash_set", HeapFootprint.retainedBytes(() -> {
+                LongHashSet set = new LongHashSet();
+                for (int value : values) { set.add(value); }
+                return set;
+            }));
+            for (String implementation : new String[] {"robin_hood", "java_util"}) {
+                printFootprint(size, "boxed_" + implementation,
+                        HeapFootprint.retainedBytes(() -> fillSet(implementation, values)));
+            }
+        }
+    }
+
+    /**
+     * Prints one line of the footprint report.
+     *
+     * @param size The number of elements
+     * @param container The name of the container
+     * @param bytes The retained heap in bytes
+     */
+    private static void printFootprint(final int size, final String container, final long bytes) {
+        System.out.printf("%d,%s,%d,%.2f%n", size, container, bytes, bytes / (double) size);
+    }
+
+    /**
+     * Creates distinct random values.
+     *
+     * @param random The source of the values
+     * @param size The number of values
+     * @return The stated values
+     */
+    private static int[] createValues(final Random random, final int size) {
+        IntHashSet distinct = new IntHashSet(size);
+        int[] values = new int[size];
+        for (int i = 0; i < size; i++) {
+            values[i] = random.nextInt();
+            while (!distinct.add(values[i])) {
+                values[i] = random.nextInt();
+            }
+        }
+
+        return values;
+    }
+
+    /**
+     * Creates a boxed set with the given values.
+     *
+     * @param implementation The name of the implementation, see {@link HashSetBenchmark}
+     * @param values The stated values
+     * @return The stated set
+     */
+    private static Set<Integer> fillSet(final String implementation, final int[] values) {
+        Set<Integer> set = HashSetBenchmark.createSet(implementation, values.length);
+        for (int value : values) { set.add(value); }
+
+        return set;
+    }
+
+    //---------------------------------------------------------------------------------------------
+
+    /**
+     * Fills the primitive sets once per trial.
+     */
+    @Setup(Level.Trial)
+    public void setUp() {
+        Random random = new Random(42);
+        values = createValues(random, size);
+
+        intSet = new IntHashSet();
+        longSet = new LongHashSet();
+        for (int value : values) {
+            intSet.add(value);
+            longSet.add(value);
+        }
+
+        hitKeys = new int[KEY_COUNT];
+        missKeys = new int[KEY_COUNT];
+        for (int i = 0; i < KEY_COUNT; i++) {
+            hitKeys[i] = values[random.nextInt(size)];
+            missKeys[i] = random.nextInt();
+            while (intSet.contains(missKeys[i])) {
+                missKeys[i] = random.nextInt();
+            }
+        }
+    }
+
+    /**
+     * Gets the position of the next key.
+     *
+     * @return The stated position
+     */
+    private int nextKey() {
+        nextKey = (nextKey + 1) & (KEY_COUNT - 1);
+
+        return nextKey;
+    }
+
+    //---------------------------------------------------------------------------------------------
+
+    /**
+     * Lookup of a key in the <code>int</code> set.
+     *
+     * @return Whether the key was found
+     */
+    @Benchmark
+    public boolean intContainsHit() {
+        return intSet.contains(hitKeys[nextKey()]);
+    }
+
+    /**
+     * Lookup of a key not in the <code>int</code> set.
+     *
+     * @return Whether the key was found
+     */
+    @Benchmark
+    public boolean intContainsMiss() {
+        return intSet.contains(missKeys[nextKey()]);
+    }
+
+    /**
+     * Adds a key not in the <code>int</code> set and removes it again.
+     *
+     * @return Whether the key was removed
+     */
+    @Benchmark
+    public boolean intAddRemove() {
+        int key = missKeys[nextKey()];
+        intSet.add(key);
+
+        return intSet.remove(key);
+    }
+
+    /**
+     * Lookup of a key in the <code>long</code> set.
+     *
+     * @return Whether the key was found
+     */
+    @Benchmark
+    public boolean longContainsHit() {
+        return longSet.contains(hitKeys[nextKey()]);
+    }
+
+    /**
+     * Lookup of a key not in the <code>long</code> set.
+     *
+     * @return Whether the key was found
+     */
+    @Benchmark
+    public boolean longContainsMiss() {
+        return longSet.contains(missKeys[nextKey()]);
+    }
+
+    /**
+     * Adds a key not in the <code>long</code> set and removes it again.
+     *
+     * @return Whether the key was removed
+     */
+    @Benchmark
+    public boolean longAddRemove() {
+        long key = missKeys[nextKey()];
+        longSet.add(key);
+
+        return longSet.remove(key);
+    }
+
+    /**
+     * Lookup of a key in the boxed set, the key is boxed.
+     *
+     * @param boxed The boxed set
+     * @return Whether the key was found
+     */
+    @Benchmark
+    public boolean boxedContainsHit(final Boxed boxed) {
+        return boxed.set.contains(hitKeys[nextKey()]);
+    }
+
+    /**
+     * Lookup of a key not in the boxed set, the key is boxed.
+     *
+     * @param boxed The boxed set
+     * @return Whether the key was found
+     */
+    @Benchmark
+    public boolean boxedContainsMiss(final Boxed boxed) {
+        return boxed.set.contains(missKeys[nextKey()]);
+    }
+
+    /**
+     * Adds a key not in the boxed set and removes it again, the key is boxed.
+     *
+     * @param boxed The boxed set
+     * @return Whether the key was removed
+     */
+    @Benchmark
+    public boolean boxedAddRemove(final Boxed boxed) {
+        int key = missKeys[nextKey()];
+        boxed.set.add(key);
+
+        return boxed.set.remove(key);
+    }
+
+    //=============================================================================================
+
+    /**
+     * The boxed set, which holds the same values as the primitive sets.
+     */
+    @State(Scope.Benchmark)
+    public static class Boxed {
+
+        /** The set implementation, see {@link HashSetBenchmark}. */
+        @Param({"robin_hood", "java_util"})
+        private String implementation;
+
+        /** The set under test. */
+        private Set<Integer> set;
+
+        /**
+         * Fills the set once per trial.
+         *
+         * @param benchmark The benchmark with the values
+         */
+        @Setup(Level.Trial)
+        public void setUp(final PrimitiveHashSetBenchmark benchmark) {
+            set = fillSet(implementation, benchmark.values);
+        }
+    }
+
+    //---------------------------------------------------------------------------------------------
+}
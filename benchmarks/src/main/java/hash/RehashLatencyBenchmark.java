@@ -0,0 +1,103 @@
+/*
+ * Copyright 2019 (C) by Julian Horner.
+ * All Rights Reserved.
+ */
+
+package hash;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Compares the latency distribution of single adds to a {@link LinkedOverflowHashSet} with the
+ * {@link RehashMode rehash modes}. Every add inserts a new key, so the set grows again and again,
+ * and it is replaced by an empty set when all keys are added.
+ * <p>
+ * The mode samples the time of single adds, the tail of the distribution (p0.999 and above) shows
+ * the adds that grow the table or, with the incremental rehash, the most expensive migration step.
+ *
+ * @author julian
+ */
+@BenchmarkMode(Mode.SampleTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 2, timeUnit = TimeUnit.SECONDS)
+@Measurement(iterations = 10, time = 2, timeUnit = TimeUnit.SECONDS)
+@Fork(value = 3, jvmArgsAppend = {"-Xms4g", "-Xmx4g"})
+@State(Scope.Benchmark)
+public class RehashLatencyBenchmark {
+    //---------------------------------------------------------------------------------------------
+
+    /** The rehash mode. */
+    @Param({"STOP_THE_WORLD", "INCREMENTAL"})
+    private RehashMode rehashMode;
+
+    /** The capacity strategy. */
+    @Param({"POWER_OF_TWO"})
+    private CapacityStrategy strategy;
+
+    /** The number of elements the set reaches before it is replaced. */
+    @Param({"4000000"})
+    private int maxSize;
+
+    /** The set under test. */
+    private LinkedOverflowHashSet<Integer> set;
+
+    /** Distinct keys, which are added in turn. */
+    private Integer[] keys;
+
+    /** The position of the next key. */
+    private int nextKey;
+
+    //---------------------------------------------------------------------------------------------
+
+    /**
+     * Creates the keys once per trial.
+     */
+    @Setup(Level.Trial)
+    public void setUp() {
+        IntHashSet distinct = new IntHashSet(maxSize);
+        Random random = new Random(42);
+        keys = new Integer[maxSize];
+        for (int i = 0; i < maxSize; i++) {
+            int key = random.nextInt();
+            while (!distinct.add(key)) {
+                key = random.nextInt();
+            }
+            keys[i] = key;
+        }
+
+        set = new LinkedOverflowHashSet<>(0, strategy, rehashMode);
+    }
+
+    //---------------------------------------------------------------------------------------------
+
+    /**
+     * Adds the next key, the set starts empty again after the last key.
+     *
+     * @return Whether the key was added
+     */
+    @Benchmark
+    public boolean add() {
+        if (nextKey == keys.length) {
+            set = new LinkedOverflowHashSet<>(0, strategy, rehashMode);
+            nextKey = 0;
+        }
+
+        return set.add(keys[nextKey++]);
+    }
+
+    //---------------------------------------------------------------------------------------------
+}
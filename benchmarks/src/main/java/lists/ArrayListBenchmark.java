@@ -0,0 +1,256 @@
+/*
+ * Copyright 2019 (C) by Julian Horner.
+ * All Rights Reserved.
+ */
+
+package lists;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Compares the {@link CircularArrayList}, in both modes, and the {@link IntArrayList} with the
+ * {@link DoublyLinkedList} and the {@link SinglyLinkedList}: the access of random indexes, a
+ * queue which adds at the front and removes at the end, an insert and a remove in the middle and
+ * an insert and a remove at random indexes. The size of the list stays the same.
+ * <p>
+ * The edits in the middle are clustered, which the gap buffer makes cheap, the random edits are
+ * its worst case, as the gap is moved a quarter of the list on average, as many elements as the
+ * shorter side of an edit without the gap buffer.
+ *
+ * @author julian
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 2, timeUnit = TimeUnit.SECONDS)
+@Measurement(iterations = 10, time = 2, timeUnit = TimeUnit.SECONDS)
+@Fork(value = 3, jvmArgsAppend = {"-Xms4g", "-Xmx4g"})
+@State(Scope.Benchmark)
+public class ArrayListBenchmark {
+    //---------------------------------------------------------------------------------------------
+
+    /** The number of precomputed indexes, a power of two. */
+    private static final int KEY_COUNT = 1 << 16;
+
+    //=============================================================================================
+
+    /** The list implementation. */
+    @Param({"circular_array", "circular_gap_buffer", "int_array", "doubly_linked", "singly_linked"})
+    private String implementation;
+
+    /** The amount of elements. */
+    @Param({"10000", "1000000"})
+    private int size;
+
+    /** The list under test. */
+    private IntList list;
+
+    /** Random indexes of the list. */
+    private int[] indexes;
+
+    /** The position of the next index. */
+    private int nextKey;
+
+    //---------------------------------------------------------------------------------------------
+
+    /**
+     * Fills the list once per trial.
+     */
+    @Setup(Level.Trial)
+    public void setUp() {
+        switch (implementation) {
+        case "circular_array":
+            list = new BoxedList(new CircularArrayList<>());
+            break;
+        case "circular_gap_buffer":
+            list = new BoxedList(new CircularArrayList<>(0, true));
+            break;
+        case "int_array":
+            list = new PrimitiveList(new IntArrayList());
+            break;
+        default:
+            list = new BoxedList(ListIteratorBenchmark.createList(implementation));
+        }
+        for (int i = 0; i < size; i++) {
+            list.add(list.size(), i);
+        }
+
+        Random random = new Random(42);
+        indexes = new int[KEY_COUNT];
+        for (int i = 0; i < KEY_COUNT; i++) {
+            indexes[i] = random.nextInt(size);
+        }
+    }
+
+    /**
+     * Gets the position of the next index.
+     *
+     * @return The stated position
+     */
+    private int nextKey() {
+        nextKey = (nextKey + 1) & (KEY_COUNT - 1);
+
+        return nextKey;
+    }
+
+    //---------------------------------------------------------------------------------------------
+
+    /**
+     * Gets the element at a random index.
+     *
+     * @return The stated element
+     */
+    @Benchmark
+    public int get() {
+        return list.get(indexes[nextKey()]);
+    }
+
+    /**
+     * Removes the last element and adds it at the front.
+     *
+     * @return The removed element
+     */
+    @Benchmark
+    public int removeLastAddFirst() {
+        int element = list.remove(list.size() - 1);
+        list.add(0, element);
+
+        return element;
+    }
+
+    /**
+     * Inserts an element in the middle of the list and removes it again.
+     *
+     * @return The removed element
+     */
+    @Benchmark
+    public int insertRemoveMiddle() {
+        int middle = list.size() / 2;
+        list.add(middle, nextKey());
+
+        return list.remove(middle);
+    }
+
+    /**
+     * Inserts an element at a random index and removes the element at another one.
+     *
+     * @return The removed element
+     */
+    @Benchmark
+    public int insertRemoveRandom() {
+        list.add(indexes[nextKey()], nextKey);
+
+        return list.remove(indexes[nextKey()]);
+    }
+
+    //=============================================================================================
+
+    /**
+     * The operations of the benchmark on a list of <code>int</code> values, which are boxed or
+     * not, depending on the list.
+     */
+    private interface IntList {
+
+        /**
+         * Inserts the value at the given index.
+         *
+         * @param index The stated index
+         * @param value The stated value
+         */
+        void add(int index, int value);
+
+        /**
+         * Gets the value at the given index.
+         *
+         * @param index The stated index
+         * @return The stated value
+         */
+        int get(int index);
+
+        /**
+         * Removes the value at the given index.
+         *
+         * @param index The stated index
+         * @return The removed value
+         */
+        int remove(int index);
+
+        /**
+         * Gets the number of values.
+         *
+         * @return The stated number
+         */
+        int size();
+    }
+
+    /**
+     * A {@link List} of boxed values.
+     */
+    private static final class BoxedList implements IntList {
+
+        /** The wrapped list. */
+        private final List<Integer> list;
+
+        /**
+         * Creates the adapter.
+         *
+         * @param list The wrapped list
+         */
+        private BoxedList(final List<Integer> list) { this.list = list; }
+
+        @Override
+        public void add(final int index, final int value) { list.add(index, value); }
+
+        @Override
+        public int get(final int index) { return list.get(index); }
+
+        @Override
+        public int remove(final int index) { return list.remove(index); }
+
+        @Override
+        public int size() { return list.size(); }
+    }
+
+    /**
+     * An {@link IntArrayList}.
+     */
+    private static final class PrimitiveList implements IntList {
+
+        /** The wrapped list. */
+        private final IntArrayList list;
+
+        /**
+         * Creates the adapter.
+         *
+         * @param list The wrapped list
+         */
+        private PrimitiveList(final IntArrayList list) { this.list = list; }
+
+        @Override
+        public void add(final int index, final int value) { list.add(index, value); }
+
+        @Override
+        public int get(final int index) { return list.get(index); }
+
+        @Override
+        public int remove(final int index) { return list.remove(index); }
+
+        @Override
+        public int size() { return list.size(); }
+    }
+
+    //---------------------------------------------------------------------------------------------
+}
@@ -0,0 +1,112 @@
+/*
+ * Copyright 2019 (C) by Julian Horner.
+ * All Rights Reserved.
+ */
+
+package lists;
+
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Compares the removal of the last element of the {@link SinglyLinkedDeque} with the
+ * {@link SinglyLinkedList}, which walks the whole list, and the {@link DoublyLinkedList}. The
+ * size of the list stays the same, as every removed element is added again: at the end, which
+ * only uses the back chain of the deque, or at the front, which rotates the list and makes the
+ * deque refill its back chain from time to time.
+ *
+ * @author julian
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 2, timeUnit = TimeUnit.SECONDS)
+@Measurement(iterations = 10, time = 2, timeUnit = TimeUnit.SECONDS)
+@Fork(value = 3, jvmArgsAppend = {"-Xms4g", "-Xmx4g"})
+@State(Scope.Benchmark)
+public class DequeBenchmark {
+    //---------------------------------------------------------------------------------------------
+
+    /** The list implementation. */
+    @Param({"singly_linked_deque", "singly_linked", "doubly_linked"})
+    private String implementation;
+
+    /** The amount of elements. */
+    @Param({"1000000"})
+    private int size;
+
+    /** Removes the last element of the list under test. */
+    private Supplier<Integer> removeLast;
+
+    /** Adds an element at the end of the list under test. */
+    private Consumer<Integer> addLast;
+
+    /** Adds an element at the front of the list under test. */
+    private Consumer<Integer> addFirst;
+
+    //---------------------------------------------------------------------------------------------
+
+    /**
+     * Fills the list once per trial.
+     */
+    @Setup(Level.Trial)
+    public void setUp() {
+        if ("singly_linked_deque".equals(implementation)) {
+            SinglyLinkedDeque<Integer> deque = new SinglyLinkedDeque<>();
+            for (int i = 0; i < size; i++) {
+                deque.addLast(i);
+            }
+            removeLast = deque::removeLast;
+            addLast = deque::addLast;
+            addFirst = deque::addFirst;
+        } else {
+            List<Integer> list = ListIteratorBenchmark.fill(implementation, size);
+            removeLast = () -> list.remove(list.size() - 1);
+            addLast = list::add;
+            addFirst = element -> list.add(0, element);
+        }
+    }
+
+    //---------------------------------------------------------------------------------------------
+
+    /**
+     * Removes the last element and adds it at the end again.
+     *
+     * @return The removed element
+     */
+    @Benchmark
+    public Integer removeLastAddLast() {
+        Integer element = removeLast.get();
+        addLast.accept(element);
+
+        return element;
+    }
+
+    /**
+     * Removes the last element and adds it at the front.
+     *
+     * @return The removed element
+     */
+    @Benchmark
+    public Integer removeLastAddFirst() {
+        Integer element = removeLast.get();
+        addFirst.accept(element);
+
+        return element;
+    }
+
+    //---------------------------------------------------------------------------------------------
+}
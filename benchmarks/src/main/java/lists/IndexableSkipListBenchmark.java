@@ -0,0 +1,134 @@
+/*
+ * Copyright 2019 (C) by Julian Horner.
+ * All Rights Reserved.
+ */
+
+package lists;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Compares the {@link IndexableSkipList} with the {@link DoublyLinkedList} on large lists: the
+ * access of random indexes, an insert at a random index which is removed again, and an append
+ * which is removed again, so the size stays the same.
+ * <p>
+ * The doubly linked list walks up to half of the list for every random index, so its random
+ * accesses take milliseconds on the largest list.
+ *
+ * @author julian
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 2, timeUnit = TimeUnit.SECONDS)
+@Measurement(iterations = 10, time = 2, timeUnit = TimeUnit.SECONDS)
+@Fork(value = 3, jvmArgsAppend = {"-Xms4g", "-Xmx4g"})
+@State(Scope.Benchmark)
+public class IndexableSkipListBenchmark {
+    //---------------------------------------------------------------------------------------------
+
+    /** The number of precomputed indexes, a power of two. */
+    private static final int KEY_COUNT = 1 << 16;
+
+    //=============================================================================================
+
+    /** The list implementation. */
+    @Param({"skip_list", "doubly_linked"})
+    private String implementation;
+
+    /** The amount of elements. */
+    @Param({"100000", "1000000", "10000000"})
+    private int size;
+
+    /** The list under test. */
+    private List<Integer> list;
+
+    /** Random indexes of the list. */
+    private int[] indexes;
+
+    /** The position of the next index. */
+    private int nextKey;
+
+    //---------------------------------------------------------------------------------------------
+
+    /**
+     * Fills the list once per trial.
+     */
+    @Setup(Level.Trial)
+    public void setUp() {
+        list = "skip_list".equals(implementation) ? new IndexableSkipList<>()
+                : ListIteratorBenchmark.createList(implementation);
+        for (int i = 0; i < size; i++) {
+            list.add(i);
+        }
+
+        Random random = new Random(42);
+        indexes = new int[KEY_COUNT];
+        for (int i = 0; i < KEY_COUNT; i++) {
+            indexes[i] = random.nextInt(size);
+        }
+    }
+
+    /**
+     * Gets the position of the next index.
+     *
+     * @return The stated position
+     */
+    private int nextKey() {
+        nextKey = (nextKey + 1) & (KEY_COUNT - 1);
+
+        return nextKey;
+    }
+
+    //---------------------------------------------------------------------------------------------
+
+    /**
+     * Gets the element at a random index.
+     *
+     * @return The stated element
+     */
+    @Benchmark
+    public Integer get() {
+        return list.get(indexes[nextKey()]);
+    }
+
+    /**
+     * Inserts an element at a random index and removes it again.
+     *
+     * @return The removed element
+     */
+    @Benchmark
+    public Integer insertRemoveRandom() {
+        int index = indexes[nextKey()];
+        list.add(index, index);
+
+        return list.remove(index);
+    }
+
+    /**
+     * Appends an element and removes it again.
+     *
+     * @return The removed element
+     */
+    @Benchmark
+    public Integer appendRemoveLast() {
+        list.add(nextKey());
+
+        return list.remove(list.size() - 1);
+    }
+
+    //---------------------------------------------------------------------------------------------
+}
@@ -0,0 +1,194 @@
+/*
+ * Copyright 2019 (C) by Julian Horner.
+ * All Rights Reserved.
+ */
+
+package lists;
+
+import java.util.Iterator;
+import java.util.ListIterator;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Compares a filter-in-place pass, which removes the odd elements of a list and doubles the even
+ * ones, by the {@link ListIterator} of the list with the same pass by index, which searches the
+ * node of every index. A <code>java.util.LinkedList</code> is the baseline.
+ * <p>
+ * The list is filled again before every invocation. The pass by index takes quadratic time, so it
+ * runs on {@value #INDEXED_SIZE} elements at most.
+ *
+ * @author julian
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5, time = 2, timeUnit = TimeUnit.SECONDS)
+@Measurement(iterations = 10, time = 2, timeUnit = TimeUnit.SECONDS)
+@Fork(value = 3, jvmArgsAppend = {"-Xms4g", "-Xmx4g"})
+@State(Scope.Benchmark)
+public class ListIteratorBenchmark {
+    //---------------------------------------------------------------------------------------------
+
+    /** The number of elements of the pass by index. */
+    private static final int INDEXED_SIZE = 10_000;
+
+    //=============================================================================================
+
+    /** The list implementation. */
+    @Param({"doubly_linked", "singly_linked", "java_util"})
+    private String implementation;
+
+    /** The amount of elements. */
+    @Param({"10000", "1000000"})
+    private int size;
+
+    /** The list under test. */
+    private List<Integer> list;
+
+    /** The list of the pass by index. */
+    private List<Integer> indexedList;
+
+    //---------------------------------------------------------------------------------------------
+
+    /**
+     * Fills the lists before every invocation, as the pass removes half of the elements.
+     */
+    @Setup(Level.Invocation)
+    public void setUp() {
+        list = fill(implementation, size);
+        indexedList = fill(implementation, Math.min(size, INDEXED_SIZE));
+    }
+
+    /**
+     * Creates a list with the numbers up to the given size.
+     *
+     * @param implementation The name of the implementation
+     * @param size The number of elements
+     * @return The stated list
+     */
+    static List<Integer> fill(final String implementation, final int size) {
+        List<Integer> list = createList(implementation);
+        for (int i = 0; i < size; i++) {
+            list.add(i);
+        }
+
+        return list;
+    }
+
+    /**
+     * Creates an empty list.
+     *
+     * @param implementation The name of the implementation
+     * @return The stated list
+     */
+    static List<Integer> createList(final String implementation) {
+        switch (implementation) {
+        case "doubly_linked":
+            return new DoublyLinkedList<>();
+        case "singly_linked":
+            return new SinglyLinkedList<>();
+        case "java_util":
+            return new JavaLinkedList<>();
+        default:
+            throw new IllegalArgumentException("Unknown implementation: " + implementation);
+        }
+    }
+
+    //---------------------------------------------------------------------------------------------
+
+    /**
+     * Filters the list by its list iterator.
+     *
+     * @return The filtered list
+     */
+    @Benchmark
+    public List<Integer> filterByIterator() {
+        ListIterator<Integer> iterator = list.listIterator();
+        while (iterator.hasNext()) {
+            int value = iterator.next();
+            if ((value & 1) == 1) {
+                iterator.remove();
+            } else {
+                iterator.set(value * 2);
+            }
+        }
+
+        return list;
+    }
+
+    /**
+     * Filters the list by index, every removal and replacement searches the node of the index.
+     *
+     * @return The filtered list
+     */
+    @Benchmark
+    public List<Integer> filterByIndex() {
+        int index = 0;
+        while (index < indexedList.size()) {
+            int value = indexedList.get(index);
+            if ((value & 1) == 1) {
+                indexedList.remove(index);
+            } else {
+                indexedList.remove(index);
+                indexedList.add(index, value * 2);
+                index++;
+            }
+        }
+
+        return indexedList;
+    }
+
+    //=============================================================================================
+
+    /**
+     * A <code>java.util.LinkedList</code> behind the {@link List} interface.
+     *
+     * @param <T> The type of the data
+     */
+    static final class JavaLinkedList<T> implements List<T> {
+
+        /** The wrapped list. */
+        private final java.util.LinkedList<T> list = new java.util.LinkedList<>();
+
+        @Override
+        public boolean add(final T element) { return list.add(element); }
+
+        @Override
+        public void add(final int index, final T element) { list.add(index, element); }
+
+        @Override
+        public int size() { return list.size(); }
+
+        @Override
+        public T get(final int index) { return list.get(index); }
+
+        @Override
+        public boolean isEmpty() { return list.isEmpty(); }
+
+        @Override
+        public T remove(final int index) { return list.remove(index); }
+
+        @Override
+        public Iterator<T> iterator() { return list.iterator(); }
+
+        @Override
+        public ListIterator<T> listIterator() { return list.listIterator(); }
+
+        @Override
+        public ListIterator<T> listIterator(final int index) { return list.listIterator(index); }
+    }
+
+    //---------------------------------------------------------------------------------------------
+}
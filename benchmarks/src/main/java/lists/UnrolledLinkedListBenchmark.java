@@ -0,0 +1,137 @@
+/*
+ * Copyright 2019 (C) by Julian Horner.
+ * All Rights Reserved.
+ */
+
+package lists;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Compares the {@link UnrolledLinkedList} with the {@link DoublyLinkedList} and the
+ * {@link SinglyLinkedList}: a full iteration, the access of random indexes and an insert in the
+ * middle of the list, which is removed again so the size stays the same.
+ * <p>
+ * The nodes of the linked lists are allocated one after another by the fill, so they are close
+ * together on the heap, which is the best case for the linked lists.
+ *
+ * @author julian
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 2, timeUnit = TimeUnit.SECONDS)
+@Measurement(iterations = 10, time = 2, timeUnit = TimeUnit.SECONDS)
+@Fork(value = 3, jvmArgsAppend = {"-Xms4g", "-Xmx4g"})
+@State(Scope.Benchmark)
+public class UnrolledLinkedListBenchmark {
+    //---------------------------------------------------------------------------------------------
+
+    /** The number of precomputed indexes, a power of two. */
+    private static final int KEY_COUNT = 1 << 16;
+
+    //=============================================================================================
+
+    /** The list implementation. */
+    @Param({"unrolled_linked", "doubly_linked", "singly_linked"})
+    private String implementation;
+
+    /** The amount of elements. */
+    @Param({"10000", "1000000"})
+    private int size;
+
+    /** The list under test. */
+    private List<Integer> list;
+
+    /** Random indexes of the list. */
+    private int[] indexes;
+
+    /** The position of the next index. */
+    private int nextKey;
+
+    //---------------------------------------------------------------------------------------------
+
+    /**
+     * Fills the list once per trial.
+     */
+    @Setup(Level.Trial)
+    public void setUp() {
+        list = "unrolled_linked".equals(implementation) ? new UnrolledLinkedList<>()
+                : ListIteratorBenchmark.createList(implementation);
+        for (int i = 0; i < size; i++) {
+            list.add(i);
+        }
+
+        Random random = new Random(42);
+        indexes = new int[KEY_COUNT];
+        for (int i = 0; i < KEY_COUNT; i++) {
+            indexes[i] = random.nextInt(size);
+        }
+    }
+
+    /**
+     * Gets the position of the next index.
+     *
+     * @return The stated position
+     */
+    private int nextKey() {
+        nextKey = (nextKey + 1) & (KEY_COUNT - 1);
+
+        return nextKey;
+    }
+
+    //---------------------------------------------------------------------------------------------
+
+    /**
+     * Iterates over all elements.
+     *
+     * @return The sum of the elements
+     */
+    @Benchmark
+    public long iterate() {
+        long sum = 0;
+        for (Integer element : list) {
+            sum += element;
+        }
+
+        return sum;
+    }
+
+    /**
+     * Gets the element at a random index.
+     *
+     * @return The stated element
+     */
+    @Benchmark
+    public Integer get() {
+        return list.get(indexes[nextKey()]);
+    }
+
+    /**
+     * Inserts an element in the middle of the list and removes it again.
+     *
+     * @return The removed element
+     */
+    @Benchmark
+    public Integer insertMiddle() {
+        int middle = list.size() / 2;
+        list.add(middle, nextKey());
+
+        return list.remove(middle);
+    }
+
+    //---------------------------------------------------------------------------------------------
+}
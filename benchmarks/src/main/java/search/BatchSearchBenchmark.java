@@ -0,0 +1,174 @@
+/*
+ * Copyright 2019 (C) by Julian Horner.
+ * All Rights Reserved.
+ */
+
+package search;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * Compares the {@link BatchSearch} with one independent binary search per key, on the boxed list
+ * of {@link RuntimeHelper} (<code>Collections.binarySearch</code>) and on a sorted
+ * <code>int[]</code>. Every invocation searches a batch of random keys, half of them in the values
+ * and half of them not. The batches are precomputed and used in turn, so a batch doesn't find its
+ * paths in the cache from the invocation before.
+ *
+ * @author julian
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 2, timeUnit = TimeUnit.SECONDS)
+@Measurement(iterations = 10, time = 2, timeUnit = TimeUnit.SECONDS)
+@Fork(value = 3, jvmArgsAppend = {"-Xms4g", "-Xmx4g"})
+@State(Scope.Benchmark)
+public class BatchSearchBenchmark {
+    //----------------------------------------------------------------------------------------------
+
+    /** The number of precomputed batches, a power of two. */
+    private static final int BATCH_COUNT = 16;
+
+    //==============================================================================================
+
+    /** The amount of elements. */
+    @Param({"2000000", "10000000"})
+    private int size;
+
+    /** The number of keys per batch. */
+    @Param({"16", "1024", "65536"})
+    private int keyCount;
+
+    /** The boxed baseline. */
+    private List<Integer> list;
+
+    /** The sorted elements. */
+    private int[] array;
+
+    /** The batches of keys, the even numbers from 0 to 2 * (size - 1) are in the values. */
+    private int[][] batches;
+
+    /** The position of the next batch. */
+    private int nextBatch;
+
+    //----------------------------------------------------------------------------------------------
+
+    /**
+     * Creates the containers and the batches once per trial.
+     */
+    @Setup(Level.Trial)
+    public void setUp() {
+        list = new ArrayList<>(size);
+        array = new int[size];
+        for (int i = 0; i < size; i++) {
+            list.add(2 * i);
+            array[i] = 2 * i;
+        }
+
+        Random random = new Random(42);
+        batches = new int[BATCH_COUNT][keyCount];
+        for (int[] batch : batches) {
+            for (int i = 0; i < keyCount; i++) {
+                batch[i] = random.nextInt(2 * size);
+            }
+        }
+    }
+
+    /**
+     * Gets the next batch.
+     *
+     * @return The stated batch
+     */
+    private int[] nextBatch() {
+        nextBatch = (nextBatch + 1) & (BATCH_COUNT - 1);
+
+        return batches[nextBatch];
+    }
+
+    //----------------------------------------------------------------------------------------------
+
+    /**
+     * One <code>Collections.binarySearch</code> per key on the boxed list.
+     *
+     * @param blackhole Consumes the results
+     */
+    @Benchmark
+    public void independentBoxedSearch(final Blackhole blackhole) {
+        for (int key : nextBatch()) {
+            blackhole.consume(Collections.binarySearch(list, key));
+        }
+    }
+
+    /**
+     * One binary search per key on the sorted <code>int[]</code>.
+     *
+     * @param blackhole Consumes the results
+     */
+    @Benchmark
+    public void independentArraySearch(final Blackhole blackhole) {
+        for (int key : nextBatch()) {
+            blackhole.consume(IntSearch.binarySearch(array, key));
+        }
+    }
+
+    //----------------------------------------------------------------------------------------------
+
+    /**
+     * Batch search on the boxed list.
+     *
+     * @return The results
+     */
+    @Benchmark
+    public int[] batchBoxedSearch() {
+        return BatchSearch.binarySearch(list, nextBatch());
+    }
+
+    /**
+     * Batch search on the sorted <code>int[]</code> with the strategy chosen by the number of keys.
+     *
+     * @return The results
+     */
+    @Benchmark
+    public int[] batchArraySearch() {
+        return BatchSearch.binarySearch(array, nextBatch());
+    }
+
+    /**
+     * Merge search on the sorted <code>int[]</code>.
+     *
+     * @return The results
+     */
+    @Benchmark
+    public int[] mergeSearch() {
+        return BatchSearch.mergeSearch(array, nextBatch());
+    }
+
+    /**
+     * Interleaved search on the sorted <code>int[]</code>.
+     *
+     * @return The results
+     */
+    @Benchmark
+    public int[] interleavedSearch() {
+        return BatchSearch.interleavedSearch(array, nextBatch());
+    }
+
+    //----------------------------------------------------------------------------------------------
+}
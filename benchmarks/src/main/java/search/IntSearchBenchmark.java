@@ -0,0 +1,225 @@
+/*
+ * Copyright 2019 (C) by Julian Horner.
+ * All Rights Reserved.
+ */
+
+package search;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import utils.HeapFootprint;
+
+/**
+ * Compares the primitive searches of {@link IntSearch} on an <code>int[]</code> and an
+ * {@link IntArray} with the boxed <code>ArrayList&lt;Integer&gt;</code> baseline of
+ * {@link RuntimeHelper}. As there the searched element is never found.
+ * <p>
+ * The speed is measured with <code>java -jar target/benchmarks.jar IntSearchBenchmark</code>, the
+ * memory savings are printed by
+ * <code>java -Xmx4g -cp target/benchmarks.jar search.IntSearchBenchmark</code>.
+ *
+ * @author julian
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 2, timeUnit = TimeUnit.SECONDS)
+@Measurement(iterations = 10, time = 2, timeUnit = TimeUnit.SECONDS)
+@Fork(value = 3, jvmArgsAppend = {"-Xms4g", "-Xmx4g"})
+@State(Scope.Benchmark)
+public class IntSearchBenchmark {
+    //----------------------------------------------------------------------------------------------
+
+    /** The sizes which are measured, the same as in {@link RuntimeHelper}. */
+    private static final int[] SIZES = {2_000_000, 4_000_000, 6_000_000, 8_000_000, 10_000_000};
+
+    //----------------------------------------------------------------------------------------------
+
+    /**
+     * Prints the retained heap of the primitive and the boxed containers for every size.
+     *
+     * @param args The arguments
+     */
+    public static void main(final String[] args) {
+        System.out.println("size,container,bytes,bytes_per_element");
+        for (int size : SIZES) {
+            printFootprint(size, "int_array", HeapFootprint.retainedBytes(() -> fillArray(size)));
+            printFootprint(size, "growable_int_array",
+                    HeapFootprint.retainedBytes(() -> fillIntArray(size)));
+            printFootprint(size, "boxed_array_list",
+                    HeapFootprint.retainedBytes(() -> fillList(new ArrayList<Integer>(), size)));
+            printFootprint(size, "boxed_linked_list",
+                    HeapFootprint.retainedBytes(() -> fillList(new LinkedList<Integer>(), size)));
+        }
+    }
+
+    /**
+     * Prints one line of the footprint report.
+     *
+     * @param size The number of elements
+     * @param container The name of the container
+     * @param bytes The retained heap in bytes
+     */
+    private static void printFootprint(final int size, final String container, final long bytes) {
+        System.out.printf("%d,%s,%d,%.2f%n", size, container, bytes, bytes / (double) size);
+    }
+
+    //----------------------------------------------------------------------------------------------
+
+    /**
+     * Creates an array with the elements from 0 to size - 1.
+     *
+     * @param size The number of elements
+     * @return The stated array
+     */
+    private static int[] fillArray(final int size) {
+        int[] array = new int[size];
+        for (int i = 0; i < size; i++) {
+            array[i] = i;
+        }
+
+        return array;
+    }
+
+    /**
+     * Creates a growable array with the elements from 0 to size - 1, the array is grown by adding
+     * the elements like the lists of {@link RuntimeHelper}.
+     *
+     * @param size The number of elements
+     * @return The stated array
+     */
+    private static IntArray fillIntArray(final int size) {
+        IntArray array = new IntArray();
+        for (int i = 0; i < size; i++) {
+            array.add(i);
+        }
+
+        return array;
+    }
+
+    /**
+     * Adds the elements from 0 to size - 1 to the given list.
+     *
+     * @param list The list to fill
+     * @param size The number of elements
+     * @return The given list
+     */
+    private static List<Integer> fillList(final List<Integer> list, final int size) {
+        for (int i = 0; i < size; i++) {
+            list.add(i);
+        }
+
+        return list;
+    }
+
+    //==============================================================================================
+
+    /**
+     * The algorithm used by the primitive benchmarks, in a separate state so the boxed baseline is
+     * only measured once per size.
+     */
+    @State(Scope.Benchmark)
+    public static class AlgorithmState {
+
+        /** The search algorithm. */
+        @Param({"LINEAR", "BINARY", "INTERPOLATION", "EXPONENTIAL"})
+        private SearchAlgorithm algorithm;
+    }
+
+    //==============================================================================================
+
+    /** The amount of elements. */
+    @Param({"2000000", "4000000", "6000000", "8000000", "10000000"})
+    private int size;
+
+    /** The primitive array. */
+    private int[] array;
+
+    /** The growable primitive array. */
+    private IntArray intArray;
+
+    /** The boxed baseline. */
+    private List<Integer> boxedList;
+
+    /** The searched element, equal to the size so it is never found. */
+    private int searchableElement;
+
+    //----------------------------------------------------------------------------------------------
+
+    /**
+     * Creates and fills the containers once per trial.
+     */
+    @Setup(Level.Trial)
+    public void setUp() {
+        array = fillArray(size);
+        intArray = fillIntArray(size);
+        boxedList = fillList(new ArrayList<Integer>(size), size);
+
+        searchableElement = size;
+    }
+
+    //----------------------------------------------------------------------------------------------
+
+    /**
+     * Searches in the <code>int[]</code>.
+     *
+     * @param state The algorithm to use
+     * @param blackhole Consumes the result
+     */
+    @Benchmark
+    public void primitiveArray(final AlgorithmState state, final Blackhole blackhole) {
+        blackhole.consume(state.algorithm.search(array, searchableElement));
+    }
+
+    /**
+     * Searches in the {@link IntArray}.
+     *
+     * @param state The algorithm to use
+     * @param blackhole Consumes the result
+     */
+    @Benchmark
+    public void growableArray(final AlgorithmState state, final Blackhole blackhole) {
+        blackhole.consume(intArray.search(state.algorithm, searchableElement));
+    }
+
+    //----------------------------------------------------------------------------------------------
+
+    /**
+     * Linear search in the boxed list, like <code>RuntimeHelper.doLinearSearch</code>.
+     *
+     * @param blackhole Consumes the result
+     */
+    @Benchmark
+    public void boxedLinearSearch(final Blackhole blackhole) {
+        blackhole.consume(boxedList.indexOf(searchableElement));
+    }
+
+    /**
+     * Binary search in the boxed list, like <code>RuntimeHelper.doBinarySearch</code>.
+     *
+     * @param blackhole Consumes the result
+     */
+    @Benchmark
+    public void boxedBinarySearch(final Blackhole blackhole) {
+        blackhole.consume(Collections.binarySearch(boxedList, searchableElement));
+    }
+
+    //----------------------------------------------------------------------------------------------
+}
@@ -0,0 +1,214 @@
+/*
+ * Copyright 2019 (C) by Julian Horner.
+ * All Rights Reserved.
+ */
+
+package search;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.BenchmarkParams;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * Measures searches in a {@link MappedSortedColumn} with a cold and a warm page cache, next to the
+ * same searches on a sorted <code>int[]</code> on the heap. Every invocation searches a batch of
+ * random keys, half of them in the column and half of them not, one by one and with the batch
+ * search.
+ * <p>
+ * The cold benchmarks drop the page cache of the operating system before every iteration and
+ * measure a single invocation, so every page is read from the disk on its first access. The
+ * column of the previous iteration is unmapped before, as mapped pages aren't dropped, and the
+ * writer forced the file to the disk, as dirty pages aren't dropped either. Dropping
+ * the page cache requires root permissions on Linux, on other systems only the warm benchmarks can
+ * be run, e.g. with <code>MappedSortedColumnBenchmark.warm</code>. The warm benchmarks load the
+ * whole file before they are measured.
+ *
+ * @author julian
+ */
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 2, timeUnit = TimeUnit.SECONDS)
+@Measurement(iterations = 10, time = 2, timeUnit = TimeUnit.SECONDS)
+@Fork(value = 3, jvmArgsAppend = {"-Xms4g", "-Xmx4g", "--add-modules", "jdk.incubator.foreign"})
+@State(Scope.Benchmark)
+public class MappedSortedColumnBenchmark {
+    //----------------------------------------------------------------------------------------------
+
+    /** The file with the page cache settings of Linux. */
+    private static final Path DROP_CACHES = Paths.get("/proc/sys/vm/drop_caches");
+
+    //==============================================================================================
+
+    /** The amount of elements. */
+    @Param({"10000000", "100000000"})
+    private int size;
+
+    /** The number of keys per batch. */
+    @Param({"1024"})
+    private int keyCount;
+
+    /** The sorted elements on the heap. */
+    private int[] array;
+
+    /** The file of the column. */
+    private Path file;
+
+    /** The mapped column. */
+    private MappedSortedColumn column;
+
+    /** The searched keys, the even numbers from 0 to 2 * (size - 1) are in the column. */
+    private long[] keys;
+
+    //----------------------------------------------------------------------------------------------
+
+    /**
+     * Writes the column once per trial.
+     *
+     * @throws IOException If the column couldn't be written
+     */
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        array = new int[size];
+        for (int i = 0; i < size; i++) {
+            array[i] = 2 * i;
+        }
+
+        file = Files.createTempFile("column", ".bin");
+        SortedColumnWriter.write(file, array);
+
+        Random random = new Random(42);
+        keys = new long[keyCount];
+        for (int i = 0; i < keyCount; i++) {
+            keys[i] = random.nextInt(2 * size);
+        }
+    }
+
+    /**
+     * Maps the column before every iteration, for the cold benchmarks after the page cache was
+     * dropped and for the warm benchmarks after the file was loaded.
+     *
+     * @param parameters The parameters of the benchmark
+     * @throws IOException If the page cache couldn't be dropped
+     */
+    @Setup(Level.Iteration)
+    public void mapColumn(final BenchmarkParams parameters) throws IOException {
+        if (column != null) { column.close(); }
+
+        boolean cold = parameters.getBenchmark().contains(".cold");
+        if (cold) { dropPageCache(); }
+
+        column = MappedSortedColumn.open(file);
+        if (!cold) { column.load(); }
+    }
+
+    /**
+     * Deletes the column.
+     *
+     * @throws IOException If the file couldn't be deleted
+     */
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        column.close();
+        Files.deleteIfExists(file);
+    }
+
+    /**
+     * Drops the page cache of the operating system.
+     *
+     * @throws IOException If the page cache couldn't be dropped
+     */
+    private static void dropPageCache() throws IOException {
+        try {
+            Files.write(DROP_CACHES, "1".getBytes(StandardCharsets.US_ASCII));
+        } catch (IOException | SecurityException e) {
+            throw new IOException("Dropping the page cache requires root permissions on Linux",
+                    e);
+        }
+    }
+
+    //----------------------------------------------------------------------------------------------
+
+    /**
+     * One binary search per key on the heap array.
+     *
+     * @param blackhole Consumes the results
+     */
+    @Benchmark
+    @BenchmarkMode(Mode.AverageTime)
+    public void heapSearch(final Blackhole blackhole) {
+        for (long key : keys) {
+            blackhole.consume(IntSearch.binarySearch(array, (int) key));
+        }
+    }
+
+    /**
+     * One binary search per key on the loaded column.
+     *
+     * @param blackhole Consumes the results
+     */
+    @Benchmark
+    @BenchmarkMode(Mode.AverageTime)
+    public void warmSearch(final Blackhole blackhole) {
+        for (long key : keys) {
+            blackhole.consume(column.binarySearch(key));
+        }
+    }
+
+    /**
+     * Batch search on the loaded column.
+     *
+     * @return The results
+     */
+    @Benchmark
+    @BenchmarkMode(Mode.AverageTime)
+    public long[] warmBatchSearch() {
+        return column.binarySearch(keys);
+    }
+
+    //----------------------------------------------------------------------------------------------
+
+    /**
+     * One binary search per key on the column right after the page cache was dropped.
+     *
+     * @param blackhole Consumes the results
+     */
+    @Benchmark
+    @BenchmarkMode(Mode.SingleShotTime)
+    public void coldSearch(final Blackhole blackhole) {
+        for (long key : keys) {
+            blackhole.consume(column.binarySearch(key));
+        }
+    }
+
+    /**
+     * Batch search on the column right after the page cache was dropped.
+     *
+     * @return The results
+     */
+    @Benchmark
+    @BenchmarkMode(Mode.SingleShotTime)
+    public long[] coldBatchSearch() {
+        return column.binarySearch(keys);
+    }
+
+    //----------------------------------------------------------------------------------------------
+}
@@ -0,0 +1,160 @@
+/*
+ * Copyright 2019 (C) by Julian Horner.
+ * All Rights Reserved.
+ */
+
+package search;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * Measures the scaling of the {@link ParallelSearch} from one to sixteen threads next to the
+ * sequential linear search. As in {@link RuntimeHelper} the searched element is never found.
+ * <p>
+ * Parallelism levels above the number of cores of the machine can be left out with e.g.
+ * <code>-p parallelism=1,2,4</code>.
+ *
+ * @author julian
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 2, timeUnit = TimeUnit.SECONDS)
+@Measurement(iterations = 10, time = 2, timeUnit = TimeUnit.SECONDS)
+@Fork(value = 3, jvmArgsAppend = {"-Xms4g", "-Xmx4g"})
+@State(Scope.Benchmark)
+public class ParallelSearchBenchmark {
+    //----------------------------------------------------------------------------------------------
+
+    /**
+     * The pool used by the parallel benchmarks, in a separate state so the sequential baseline is
+     * only measured once per size.
+     */
+    @State(Scope.Benchmark)
+    public static class PoolState {
+
+        /** The number of threads of the pool. */
+        @Param({"1", "2", "4", "8", "16"})
+        private int parallelism;
+
+        /** The number of elements below which a range isn't split any further. */
+        @Param({"65536"})
+        private int threshold;
+
+        /** The search which uses the pool. */
+        private ParallelSearch search;
+
+        /**
+         * Creates the pool.
+         */
+        @Setup(Level.Trial)
+        public void setUp() {
+            search = new ParallelSearch(new ForkJoinPool(parallelism), threshold);
+        }
+
+        /**
+         * Shuts the pool down.
+         */
+        @TearDown(Level.Trial)
+        public void tearDown() {
+            search.getPool().shutdown();
+        }
+    }
+
+    //==============================================================================================
+
+    /** The amount of elements. */
+    @Param({"2000000", "4000000", "6000000", "8000000", "10000000"})
+    private int size;
+
+    /** The elements as <code>int</code> values. */
+    private int[] array;
+
+    /** The boxed list, like in {@link RuntimeHelper}. */
+    private List<Integer> list;
+
+    /** The searched element, equal to the size so it is never found. */
+    private int searchableElement;
+
+    //----------------------------------------------------------------------------------------------
+
+    /**
+     * Creates and fills the containers once per trial.
+     */
+    @Setup(Level.Trial)
+    public void setUp() {
+        array = new int[size];
+        list = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            array[i] = i;
+            list.add(i);
+        }
+
+        searchableElement = size;
+    }
+
+    //----------------------------------------------------------------------------------------------
+
+    /**
+     * Sequential search in the <code>int[]</code>.
+     *
+     * @param blackhole Consumes the result
+     */
+    @Benchmark
+    public void sequentialArray(final Blackhole blackhole) {
+        blackhole.consume(IntSearch.linearSearch(array, searchableElement));
+    }
+
+    /**
+     * Parallel search in the <code>int[]</code>.
+     *
+     * @param state The pool to use
+     * @param blackhole Consumes the result
+     */
+    @Benchmark
+    public void parallelArray(final PoolState state, final Blackhole blackhole) {
+        blackhole.consume(state.search.linearSearch(array, searchableElement));
+    }
+
+    //----------------------------------------------------------------------------------------------
+
+    /**
+     * Sequential search in the boxed list.
+     *
+     * @param blackhole Consumes the result
+     */
+    @Benchmark
+    public void sequentialList(final Blackhole blackhole) {
+        blackhole.consume(list.indexOf(searchableElement));
+    }
+
+    /**
+     * Parallel search in the boxed list.
+     *
+     * @param state The pool to use
+     * @param blackhole Consumes the result
+     */
+    @Benchmark
+    public void parallelList(final PoolState state, final Blackhole blackhole) {
+        blackhole.consume(state.search.linearSearch(list, searchableElement));
+    }
+
+    //----------------------------------------------------------------------------------------------
+}
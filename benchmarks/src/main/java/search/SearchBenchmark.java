@@ -0,0 +1,118 @@
+/*
+ * Copyright 2019 (C) by Julian Horner.
+ * All Rights Reserved.
+ */
+
+package search;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * JMH counterpart of {@link RuntimeHelper}. Measures the worst case of a linear and a binary
+ * search (the searched element is not in the list) on an <code>ArrayList</code> and a
+ * <code>LinkedList</code> with two to ten million elements.
+ * <p>
+ * Run with <code>java -jar target/benchmarks.jar SearchBenchmark</code>, a single size can be
+ * selected with e.g. <code>-p size=2000000</code>.
+ *
+ * @author julian
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 2, timeUnit = TimeUnit.SECONDS)
+@Measurement(iterations = 10, time = 2, timeUnit = TimeUnit.SECONDS)
+@Fork(value = 3, jvmArgsAppend = {"-Xms4g", "-Xmx4g"})
+@State(Scope.Benchmark)
+public class SearchBenchmark {
+    //----------------------------------------------------------------------------------------------
+
+    /** The type of the list to search in. */
+    @Param({"array_list", "linked_list"})
+    private String listType;
+
+    /** The amount of elements in the list. */
+    @Param({"2000000", "4000000", "6000000", "8000000", "10000000"})
+    private int size;
+
+    /** The list to search in, contains the elements from 0 to size - 1. */
+    private List<Integer> list;
+
+    /** The searched element, equal to the size so it is never found. */
+    private int searchableElement;
+
+    //----------------------------------------------------------------------------------------------
+
+    /**
+     * Creates and fills the list once per trial.
+     */
+    @Setup(Level.Trial)
+    public void setUp() {
+        list = "linked_list".equals(listType) ? new LinkedList<>() : new ArrayList<>();
+        for (int i = 0; i < size; i++) {
+            list.add(i);
+        }
+
+        searchableElement = size;
+    }
+
+    /**
+     * Releases the list, so the next trial doesn't start with a filled heap.
+     */
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        list = null;
+    }
+
+    //----------------------------------------------------------------------------------------------
+
+    /**
+     * Linear search over the whole list.
+     *
+     * @param blackhole Consumes the result
+     */
+    @Benchmark
+    public void linearSearch(final Blackhole blackhole) {
+        int foundIndex = -1;
+        int index = 0;
+        for (Integer integer : list) {
+            if (integer.intValue() == searchableElement) {
+                foundIndex = index;
+                break;
+            }
+            index++;
+        }
+
+        blackhole.consume(foundIndex);
+    }
+
+    /**
+     * Binary search via <code>Collections.binarySearch</code>.
+     *
+     * @param blackhole Consumes the result
+     */
+    @Benchmark
+    public void binarySearch(final Blackhole blackhole) {
+        blackhole.consume(Collections.binarySearch(list, searchableElement));
+    }
+
+    //----------------------------------------------------------------------------------------------
+}
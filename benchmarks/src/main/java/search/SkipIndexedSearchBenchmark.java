@@ -0,0 +1,164 @@
+/*
+ * Copyright 2019 (C) by Julian Horner.
+ * All Rights Reserved.
+ */
+
+package search;
+
+import java.util.Collections;
+import java.util.LinkedList;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import lists.DoublyLinkedList;
+import lists.SinglyLinkedList;
+
+/**
+ * Compares the {@link SkipIndexedSearch} on the linked lists of this project and on a
+ * <code>java.util.LinkedList</code> with <code>Collections.binarySearch</code> on a
+ * <code>LinkedList</code>, the binary search of {@link RuntimeHelper}. The keys are random, half of
+ * them in the list.
+ *
+ * @author julian
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 2, timeUnit = TimeUnit.SECONDS)
+@Measurement(iterations = 10, time = 2, timeUnit = TimeUnit.SECONDS)
+@Fork(value = 3, jvmArgsAppend = {"-Xms4g", "-Xmx4g"})
+@State(Scope.Benchmark)
+public class SkipIndexedSearchBenchmark {
+    //----------------------------------------------------------------------------------------------
+
+    /** The number of precomputed keys, a power of two. */
+    private static final int KEY_COUNT = 1 << 12;
+
+    //==============================================================================================
+
+    /** The amount of elements. */
+    @Param({"2000000", "4000000", "6000000", "8000000", "10000000"})
+    private int size;
+
+    /** The distance between two indexed elements. */
+    @Param({"64"})
+    private int distance;
+
+    /** The baseline list. */
+    private LinkedList<Integer> linkedList;
+
+    /** The search over the <code>java.util.LinkedList</code>. */
+    private SkipIndexedSearch<Integer> linkedListSearch;
+
+    /** The search over the singly linked list. */
+    private SkipIndexedSearch<Integer> singlyLinkedListSearch;
+
+    /** The search over the doubly linked list. */
+    private SkipIndexedSearch<Integer> doublyLinkedListSearch;
+
+    /** The searched keys, the even numbers from 0 to 2 * (size - 1) are in the lists. */
+    private Integer[] keys;
+
+    /** The position of the next key. */
+    private int nextKey;
+
+    //----------------------------------------------------------------------------------------------
+
+    /**
+     * Creates the lists and builds the indexes once per trial.
+     */
+    @Setup(Level.Trial)
+    public void setUp() {
+        linkedList = new LinkedList<>();
+        SinglyLinkedList<Integer> singlyLinkedList = new SinglyLinkedList<>();
+        DoublyLinkedList<Integer> doublyLinkedList = new DoublyLinkedList<>();
+        for (int i = 0; i < size; i++) {
+            Integer element = 2 * i;
+            linkedList.add(element);
+            singlyLinkedList.add(element);
+            doublyLinkedList.add(element);
+        }
+
+        linkedListSearch = new SkipIndexedSearch<>(linkedList, distance);
+        singlyLinkedListSearch = new SkipIndexedSearch<>(singlyLinkedList, distance);
+        doublyLinkedListSearch = new SkipIndexedSearch<>(doublyLinkedList, distance);
+
+        Random random = new Random(42);
+        keys = new Integer[KEY_COUNT];
+        for (int i = 0; i < KEY_COUNT; i++) {
+            keys[i] = random.nextInt(2 * size);
+        }
+
+        // the first search builds the index
+        linkedListSearch.contains(0);
+        singlyLinkedListSearch.contains(0);
+        doublyLinkedListSearch.contains(0);
+    }
+
+    /**
+     * Gets the next key.
+     *
+     * @return The stated key
+     */
+    private Integer nextKey() {
+        nextKey = (nextKey + 1) & (KEY_COUNT - 1);
+
+        return keys[nextKey];
+    }
+
+    //----------------------------------------------------------------------------------------------
+
+    /**
+     * <code>Collections.binarySearch</code> on the <code>java.util.LinkedList</code>.
+     *
+     * @return The result of the search
+     */
+    @Benchmark
+    public int baselineLinkedList() {
+        return Collections.binarySearch(linkedList, nextKey());
+    }
+
+    /**
+     * Skip indexed search on the <code>java.util.LinkedList</code>.
+     *
+     * @return The result of the search
+     */
+    @Benchmark
+    public int skipIndexedLinkedList() {
+        return linkedListSearch.binarySearch(nextKey());
+    }
+
+    /**
+     * Skip indexed search on the singly linked list.
+     *
+     * @return The result of the search
+     */
+    @Benchmark
+    public int skipIndexedSinglyLinkedList() {
+        return singlyLinkedListSearch.binarySearch(nextKey());
+    }
+
+    /**
+     * Skip indexed search on the doubly linked list.
+     *
+     * @return The result of the search
+     */
+    @Benchmark
+    public int skipIndexedDoublyLinkedList() {
+        return doublyLinkedListSearch.binarySearch(nextKey());
+    }
+
+    //----------------------------------------------------------------------------------------------
+}
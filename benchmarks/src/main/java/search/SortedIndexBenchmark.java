@@ -0,0 +1,175 @@
+/*
+ * Copyright 2019 (C) by Julian Horner.
+ * All Rights Reserved.
+ */
+
+package search;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Compares the {@link EytzingerIndex} and the {@link StaticBTreeIndex} with the binary search of
+ * {@link RuntimeHelper} (<code>Collections.binarySearch</code> on an
+ * <code>ArrayList&lt;Integer&gt;</code>) and with a binary search on a sorted <code>int[]</code>.
+ * <p>
+ * Unlike in <code>RuntimeHelper</code> the keys are random, half of them in the index and half of
+ * them not, because a search for the same key over and over again would keep its path in the
+ * cache and hide the cache misses this benchmark is about. The searches of the indexes return the
+ * rank of the value like a binary search, which costs one more memory access than a membership
+ * test, so both are measured.
+ *
+ * @author julian
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 2, timeUnit = TimeUnit.SECONDS)
+@Measurement(iterations = 10, time = 2, timeUnit = TimeUnit.SECONDS)
+@Fork(value = 3, jvmArgsAppend = {"-Xms4g", "-Xmx4g"})
+@State(Scope.Benchmark)
+public class SortedIndexBenchmark {
+    //----------------------------------------------------------------------------------------------
+
+    /** The number of precomputed keys, a power of two. */
+    private static final int KEY_COUNT = 1 << 16;
+
+    //==============================================================================================
+
+    /** The amount of elements. */
+    @Param({"2000000", "4000000", "6000000", "8000000", "10000000"})
+    private int size;
+
+    /** The boxed baseline. */
+    private List<Integer> list;
+
+    /** The sorted elements. */
+    private int[] array;
+
+    /** The Eytzinger index over the elements. */
+    private EytzingerIndex eytzingerIndex;
+
+    /** The B-tree index over the elements. */
+    private StaticBTreeIndex bTreeIndex;
+
+    /** The searched keys, the even numbers from 0 to 2 * (size - 1) are in the index. */
+    private int[] keys;
+
+    /** The position of the next key. */
+    private int nextKey;
+
+    //----------------------------------------------------------------------------------------------
+
+    /**
+     * Creates the containers and the keys once per trial.
+     */
+    @Setup(Level.Trial)
+    public void setUp() {
+        list = new ArrayList<>(size);
+        array = new int[size];
+        for (int i = 0; i < size; i++) {
+            list.add(2 * i);
+            array[i] = 2 * i;
+        }
+        eytzingerIndex = new EytzingerIndex(array);
+        bTreeIndex = new StaticBTreeIndex(array);
+
+        Random random = new Random(42);
+        keys = new int[KEY_COUNT];
+        for (int i = 0; i < KEY_COUNT; i++) {
+            keys[i] = random.nextInt(2 * size);
+        }
+    }
+
+    /**
+     * Gets the next key.
+     *
+     * @return The stated key
+     */
+    private int nextKey() {
+        nextKey = (nextKey + 1) & (KEY_COUNT - 1);
+
+        return keys[nextKey];
+    }
+
+    //----------------------------------------------------------------------------------------------
+
+    /**
+     * <code>Collections.binarySearch</code> on the boxed list.
+     *
+     * @return The result of the search
+     */
+    @Benchmark
+    public int boxedBinarySearch() {
+        return Collections.binarySearch(list, nextKey());
+    }
+
+    /**
+     * Binary search on the sorted <code>int[]</code>.
+     *
+     * @return The result of the search
+     */
+    @Benchmark
+    public int arrayBinarySearch() {
+        return IntSearch.binarySearch(array, nextKey());
+    }
+
+    /**
+     * Search in the Eytzinger index.
+     *
+     * @return The result of the search
+     */
+    @Benchmark
+    public int eytzingerSearch() {
+        return eytzingerIndex.binarySearch(nextKey());
+    }
+
+    /**
+     * Search in the B-tree index.
+     *
+     * @return The result of the search
+     */
+    @Benchmark
+    public int bTreeSearch() {
+        return bTreeIndex.binarySearch(nextKey());
+    }
+
+    //----------------------------------------------------------------------------------------------
+
+    /**
+     * Membership test in the Eytzinger index, which doesn't look up the rank of the value.
+     *
+     * @return Whether the key was found
+     */
+    @Benchmark
+    public boolean eytzingerContains() {
+        return eytzingerIndex.contains(nextKey());
+    }
+
+    /**
+     * Membership test in the B-tree index, which doesn't look up the rank of the value.
+     *
+     * @return Whether the key was found
+     */
+    @Benchmark
+    public boolean bTreeContains() {
+        return bTreeIndex.contains(nextKey());
+    }
+
+    //----------------------------------------------------------------------------------------------
+}
@@ -0,0 +1,161 @@
+/*
+ * Copyright 2019 (C) by Julian Horner.
+ * All Rights Reserved.
+ */
+
+package search;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * Compares the {@link VectorizedSearch} with the scalar loop of
+ * <code>RuntimeHelper.doLinearSearch</code>, on the boxed list as well as on primitive arrays.
+ * The searched element is never found, so every search scans all elements.
+ *
+ * @author julian
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 2, timeUnit = TimeUnit.SECONDS)
+@Measurement(iterations = 10, time = 2, timeUnit = TimeUnit.SECONDS)
+@Fork(value = 3, jvmArgsAppend = {"-Xms4g", "-Xmx4g", "--add-modules", "jdk.incubator.vector"})
+@State(Scope.Benchmark)
+public class VectorizedSearchBenchmark {
+    //----------------------------------------------------------------------------------------------
+
+    /** The amount of elements. */
+    @Param({"2000000", "4000000", "6000000", "8000000", "10000000"})
+    private int size;
+
+    /** The boxed list, like in {@link RuntimeHelper}. */
+    private List<Integer> list;
+
+    /** The elements as <code>int</code> values. */
+    private int[] intArray;
+
+    /** The elements as <code>long</code> values. */
+    private long[] longArray;
+
+    /** The searched element, equal to the size so it is never found. */
+    private int searchableElement;
+
+    //----------------------------------------------------------------------------------------------
+
+    /**
+     * Creates and fills the containers once per trial.
+     */
+    @Setup(Level.Trial)
+    public void setUp() {
+        list = new ArrayList<>(size);
+        intArray = new int[size];
+        longArray = new long[size];
+        for (int i = 0; i < size; i++) {
+            list.add(i);
+            intArray[i] = i;
+            longArray[i] = i;
+        }
+
+        searchableElement = size;
+    }
+
+    //----------------------------------------------------------------------------------------------
+
+    /**
+     * The loop of <code>RuntimeHelper.doLinearSearch</code> on the boxed list.
+     *
+     * @param blackhole Consumes the result
+     */
+    @Benchmark
+    public void boxedScalar(final Blackhole blackhole) {
+        int foundIndex = IntSearch.NOT_FOUND;
+        int index = 0;
+        for (Integer integer : list) {
+            if (integer.intValue() == searchableElement) {
+                foundIndex = index;
+                break;
+            }
+            index++;
+        }
+
+        blackhole.consume(foundIndex);
+    }
+
+    //----------------------------------------------------------------------------------------------
+
+    /**
+     * The same loop on the <code>int[]</code>.
+     *
+     * @param blackhole Consumes the result
+     */
+    @Benchmark
+    public void intScalar(final Blackhole blackhole) {
+        int foundIndex = IntSearch.NOT_FOUND;
+        for (int i = 0; i < intArray.length; i++) {
+            if (intArray[i] == searchableElement) {
+                foundIndex = i;
+                break;
+            }
+        }
+
+        blackhole.consume(foundIndex);
+    }
+
+    /**
+     * The vectorized search on the <code>int[]</code>.
+     *
+     * @param blackhole Consumes the result
+     */
+    @Benchmark
+    public void intVectorized(final Blackhole blackhole) {
+        blackhole.consume(VectorizedSearch.linearSearch(intArray, searchableElement));
+    }
+
+    //----------------------------------------------------------------------------------------------
+
+    /**
+     * The same loop on the <code>long[]</code>.
+     *
+     * @param blackhole Consumes the result
+     */
+    @Benchmark
+    public void longScalar(final Blackhole blackhole) {
+        int foundIndex = IntSearch.NOT_FOUND;
+        long key = searchableElement;
+        for (int i = 0; i < longArray.length; i++) {
+            if (longArray[i] == key) {
+                foundIndex = i;
+                break;
+            }
+        }
+
+        blackhole.consume(foundIndex);
+    }
+
+    /**
+     * The vectorized search on the <code>long[]</code>.
+     *
+     * @param blackhole Consumes the result
+     */
+    @Benchmark
+    public void longVectorized(final Blackhole blackhole) {
+        blackhole.consume(VectorizedSearch.linearSearch(longArray, searchableElement));
+    }
+
+    //----------------------------------------------------------------------------------------------
+}
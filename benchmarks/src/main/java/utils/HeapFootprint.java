@@ -0,0 +1,75 @@
+/*
+ * Copyright 2019 (C) by Julian Horner.
+ * All Rights Reserved.
+ */
+
+package utils;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryMXBean;
+import java.util.function.Supplier;
+
+/**
+ * Helper class for measuring the retained heap of a data structure. The used heap is read after
+ * several full garbage collections before and after the structure is built, so the result is an
+ * estimate and should be taken from a JVM that runs nothing else.
+ *
+ * @author julian
+ */
+public final class HeapFootprint {
+    // --------------------------------------------------------------------------------------------
+
+    /** The number of garbage collections before the heap is read. */
+    private static final int GC_RUNS = 4;
+
+    /** Keeps the measured structure reachable until the second reading. */
+    private static volatile Object sink;
+
+    // --------------------------------------------------------------------------------------------
+
+    /**
+     * Builds a structure with the given factory and returns the heap it retains in bytes.
+     *
+     * @param factory Builds the structure to measure
+     * @return The retained heap in bytes
+     */
+    public static long retainedBytes(final Supplier<?> factory) {
+        long before = usedHeap();
+        sink = factory.get();
+        long after = usedHeap();
+        sink = null;
+
+        return after - before;
+    }
+
+    // --------------------------------------------------------------------------------------------
+
+    /**
+     * Runs the garbage collector and returns the used heap afterwards.
+     *
+     * @return The used heap in bytes
+     */
+    private static long usedHeap() {
+        MemoryMXBean memory = ManagementFactory.getMemoryMXBean();
+        for (int i = 0; i < GC_RUNS; i++) {
+            memory.gc();
+            try {
+                Thread.sleep(50);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+
+        return memory.getHeapMemoryUsage().getUsed();
+    }
+
+    // --------------------------------------------------------------------------------------------
+
+    /**
+     * Hide utility class constructor.
+     */
+    private HeapFootprint() {
+    }
+
+    // --------------------------------------------------------------------------------------------
+}
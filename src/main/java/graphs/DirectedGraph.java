@@ -173,6 +173,8 @@ public class DirectedGraph {
         
         Node startNode = getNode(startNodeLabel);
         labelToDistance.put(startNodeLabel, 0);
+
+        return labelToDistance;
 	}
 
     //---------------------------------------------------------------------------------------------
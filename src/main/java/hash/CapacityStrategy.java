@@ -0,0 +1,187 @@
+/*
+ * Copyright 2019 (C) by Julian Horner.
+ * All Rights Reserved.
+ */
+
+package hash;
+
+/**
+ * Enum that represents how a hash table with buckets chooses its number of buckets and maps a
+ * hash code to one of them.
+ *
+ * @author julian
+ */
+public enum CapacityStrategy {
+    //---------------------------------------------------------------------------------------------
+
+    /**
+     * A prime number of buckets, which has a certain distance to the surrounding powers of two.
+     * The bucket is the remainder of the hash code, so it needs an integer division per lookup.
+     * The prime is searched by trial division, whenever the table is created or grows.
+     */
+    PRIME {
+        @Override
+        public int getCapacity(final int initialCapacity, final double loadFactor) {
+            return getPrimeCapacity((int) (initialCapacity * (1.0 / loadFactor)));
+        }
+
+        @Override
+        public int getGrownCapacity(final int capacity) {
+            if (capacity >= MAX_PRIME_CAPACITY) { return capacity; }
+
+            return getPrimeCapacity(capacity * 2);
+        }
+
+        @Override
+        public int getPosition(final int hashCode, final int capacity) {
+            return Math.floorMod(hashCode, capacity);
+        }
+    },
+
+    /**
+     * A power of two number of buckets. The hash code is mixed with the finalizer of MurmurHash3,
+     * so all of its bits affect the lower bits, and the bucket is taken from them with a mask.
+     */
+    POWER_OF_TWO {
+        @Override
+        public int getCapacity(final int initialCapacity, final double loadFactor) {
+            long capacity = Math.max(MIN_POWER_OF_TWO_CAPACITY,
+                    (long) Math.ceil(initialCapacity / loadFactor));
+
+            return (int) Math.min(MAX_POWER_OF_TWO_CAPACITY, Long.highestOneBit(capacity - 1) << 1);
+        }
+
+        @Override
+        public int getGrownCapacity(final int capacity) {
+            if (capacity >= MAX_POWER_OF_TWO_CAPACITY) { return capacity; }
+
+            return capacity << 1;
+        }
+
+        @Override
+        public int getPosition(final int hashCode, final int capacity) {
+            return mix(hashCode) & (capacity - 1);
+        }
+    };
+
+    //---------------------------------------------------------------------------------------------
+
+    /** The smallest prime capacity. */
+    private static final int MIN_PRIME_CAPACITY = 53;
+
+    /** The prime capacity above which the table doesn't grow any more. */
+    private static final int MAX_PRIME_CAPACITY = 1 << 28;
+
+    /** The smallest power of two capacity. */
+    private static final int MIN_POWER_OF_TWO_CAPACITY = 16;
+
+    /** The largest power of two capacity. */
+    private static final int MAX_POWER_OF_TWO_CAPACITY = 1 << 30;
+
+    //---------------------------------------------------------------------------------------------
+
+    /**
+     * Gets the number of buckets for a table, which holds the given number of elements without
+     * exceeding the load factor. Note that the number of buckets of a prime capacity can be
+     * greater or smaller than required.
+     *
+     * @param initialCapacity The number of elements
+     * @param loadFactor The maximum load factor of the table
+     * @return The stated number of buckets
+     */
+    public abstract int getCapacity(int initialCapacity, double loadFactor);
+
+    /**
+     * Gets the number of buckets after the table grows.
+     *
+     * @param capacity The current number of buckets
+     * @return The stated number, or the current one if the table can't grow
+     */
+    public abstract int getGrownCapacity(int capacity);
+
+    /**
+     * Gets the bucket of the given hash code.
+     *
+     * @param hashCode The hash code of the element
+     * @param capacity The number of buckets of this strategy
+     * @return The stated bucket
+     */
+    public abstract int getPosition(int hashCode, int capacity);
+
+    //---------------------------------------------------------------------------------------------
+
+    /**
+     * Mixes all bits of the hash code, with the finalizer of MurmurHash3.
+     *
+     * @param hashCode The stated hash code
+     * @return The mixed hash code
+     */
+    static int mix(final int hashCode) {
+        int hash = hashCode;
+        hash ^= hash >>> 16;
+        hash *= 0x85EBCA6B;
+        hash ^= hash >>> 13;
+        hash *= 0xC2B2AE35;
+        hash ^= hash >>> 16;
+
+        return hash;
+    }
+
+    /**
+     * Mixes all bits of the hash code into a 64 bit hash, with the 64 bit finalizer of
+     * MurmurHash3. The probabilistic filters take several independent positions from it.
+     *
+     * @param hashCode The stated hash code
+     * @return The mixed hash
+     */
+    static long mix64(final int hashCode) {
+        long hash = hashCode;
+        hash ^= hash >>> 33;
+        hash *= 0xFF51AFD7ED558CCDL;
+        hash ^= hash >>> 33;
+        hash *= 0xC4CEB9FE1A85EC53L;
+        hash ^= hash >>> 33;
+
+        return hash;
+    }
+
+    /**
+     * Get a capacity which is a prime and has a certain distance to the nearest power of two. Note
+     * that the real capacity can vary and may be greater or smaller than the given amount.
+     *
+     * @param capacity The stated capacity
+     * @return A capacity which is a prime that is not near to the surrounding powers of two
+     */
+    private static int getPrimeCapacity(final int capacity) {
+        if (capacity < MIN_PRIME_CAPACITY) { return MIN_PRIME_CAPACITY; }
+
+        int lowerPowerOfTwo = Integer.highestOneBit(Math.min(capacity, MAX_PRIME_CAPACITY));
+
+        // the first prime from the middle between the powers of two, the gaps between primes of
+        // this size are far shorter than the distance to the upper power of two
+        int candidate = (lowerPowerOfTwo + (lowerPowerOfTwo >>> 1)) | 1;
+        while (!isPrime(candidate)) {
+            candidate += 2;
+        }
+
+        return candidate;
+    }
+
+    /**
+     * Checks whether the given odd number is a prime, by trial division with the odd numbers up to
+     * its square root. These are at most about 10000 divisions for the largest capacity, no memory
+     * is allocated.
+     *
+     * @param oddNumber The number to check, odd and greater than 2
+     * @return Whether the number is a prime
+     */
+    private static boolean isPrime(final int oddNumber) {
+        for (int divisor = 3; divisor <= oddNumber / divisor; divisor += 2) {
+            if (oddNumber % divisor == 0) { return false; }
+        }
+
+        return true;
+    }
+
+    //---------------------------------------------------------------------------------------------
+}
@@ -0,0 +1,626 @@
+/*
+ * Copyright 2019 (C) by Julian Horner.
+ * All Rights Reserved.
+ */
+
+package hash;
+
+import java.util.Iterator;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Consumer;
+import java.util.function.Predicate;
+
+/**
+ * Realization of a thread-safe <code>HashSet</code> with lock striping, which resolves collisions
+ * by linking.
+ * <p>
+ * The set is divided into segments, every segment is a hash table of its own with its own lock.
+ * The upper bits of the mixed hash code choose the segment, the lower ones the bucket inside. So
+ * threads which add or remove elements of different segments don't block each other, and a
+ * segment which exceeds its load factor grows while the other segments are still used.
+ * <p>
+ * A lookup takes no lock. The table of a segment and the heads of its buckets are read volatile,
+ * the nodes of a bucket are never changed except for their links. A segment grows by copying its
+ * nodes into a new table, so a lookup which still reads the old table finds all elements which
+ * were in the set when the lookup started. The size is the sum of the sizes of the segments,
+ * which is only exact while the set isn't modified.
+ *
+ * @author julian
+ *
+ * @param <E> The type of the data
+ */
+public final class ConcurrentHashSet<E> implements Set<E> {
+    //---------------------------------------------------------------------------------------------
+
+    /** The default number of elements the set can hold without growing. */
+    private static final int DEFAULT_INITIAL_CAPACITY = 16;
+
+    /** The default number of threads which are expected to modify the set at the same time. */
+    private static final int DEFAULT_CONCURRENCY_LEVEL = 64;
+
+    /** The maximum load factor of every segment. */
+    private static final double DEFAULT_LOAD_FACTOR = 0.75;
+
+    /** The largest number of segments, a power of two. */
+    private static final int MAX_SEGMENTS = 1 << 16;
+
+    /** The smallest number of buckets of a segment, a power of two. */
+    private static final int MIN_BUCKETS = 2;
+
+    /** The largest number of buckets of a segment, a power of two. */
+    private static final int MAX_BUCKETS = 1 << 30;
+
+    //=============================================================================================
+
+    /** The segments, their number is a power of two. */
+    private final Segment<E>[] segments;
+
+    /** The distance to shift a mixed hash code to the right, to get its segment. */
+    private final int segmentShift;
+
+    /** The number of segments minus one. */
+    private final int segmentMask;
+
+    //---------------------------------------------------------------------------------------------
+
+    /**
+     * Create a new <code>ConcurrentHashSet</code> with the default capacity and concurrency level.
+     */
+    public ConcurrentHashSet() {
+        this(DEFAULT_INITIAL_CAPACITY, DEFAULT_CONCURRENCY_LEVEL);
+    }
+
+    /**
+     * Create a new <code>ConcurrentHashSet</code>, which can hold the given number of elements
+     * without growing.
+     *
+     * @param initialCapacity The stated number of elements
+     */
+    public ConcurrentHashSet(final int initialCapacity) {
+        this(initialCapacity, DEFAULT_CONCURRENCY_LEVEL);
+    }
+
+    /**
+     * Create a new <code>ConcurrentHashSet</code>, which can hold the given number of elements
+     * without growing and has a segment for every thread that modifies the set at the same time.
+     *
+     * @param initialCapacity The stated number of elements
+     * @param concurrencyLevel The number of threads which are expected to modify the set at the
+     *            same time
+     */
+    public ConcurrentHashSet(final int initialCapacity, final int concurrencyLevel) {
+        if (initialCapacity < 0) {
+            throw new IllegalArgumentException("Illegal capacity: " + initialCapacity);
+        }
+        if (concurrencyLevel <= 0) {
+            throw new IllegalArgumentException("Illegal concurrency level: " + concurrencyLevel);
+        }
+
+        int segmentCount = ceilPowerOfTwo(Math.min(concurrencyLevel, MAX_SEGMENTS));
+        segmentShift = 32 - Integer.numberOfTrailingZeros(segmentCount);
+        segmentMask = segmentCount - 1;
+
+        int buckets = getBucketCount((int) Math.ceil(initialCapacity / (double) segmentCount));
+
+        @SuppressWarnings({"unchecked"})
+        Segment<E>[] newSegments = (Segment<E>[]) new Segment[segmentCount];
+        for (int i = 0; i < segmentCount; i++) {
+            newSegments[i] = new Segment<>(buckets);
+        }
+        segments = newSegments;
+    }
+
+    /**
+     * Create a new <code>ConcurrentHashSet</code> with the elements of the array, sized once for
+     * all of them.
+     *
+     * @param elements The elements to add
+     */
+    public ConcurrentHashSet(final E[] elements) {
+        this(elements.length, DEFAULT_CONCURRENCY_LEVEL);
+        addAll(elements);
+    }
+
+    /**
+     * Create a new <code>ConcurrentHashSet</code> with the given elements. If they are a
+     * <code>java.util.Collection</code>, the set is sized once for all of them.
+     *
+     * @param elements The elements to add
+     */
+    public ConcurrentHashSet(final Iterable<? extends E> elements) {
+        this(DEFAULT_INITIAL_CAPACITY, DEFAULT_CONCURRENCY_LEVEL);
+        addAll(elements);
+    }
+
+    //---------------------------------------------------------------------------------------------
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public boolean add(final E data) {
+        if (data == null) { return false; }
+
+        int hash = CapacityStrategy.mix(data.hashCode());
+
+        return getSegment(hash).add(data, hash);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public boolean contains(final E data) {
+        if (data == null) { return false; }
+
+        int hash = CapacityStrategy.mix(data.hashCode());
+
+        return getSegment(hash).contains(data, hash);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public boolean remove(final E data) {
+        if (data == null) { return false; }
+
+        int hash = CapacityStrategy.mix(data.hashCode());
+
+        return getSegment(hash).remove(data, hash);
+    }
+
+    //---------------------------------------------------------------------------------------------
+
+    /**
+     * {@inheritDoc} The iteration takes no lock, it sees every element which is in the set during
+     * the whole iteration and may see the ones which are added or removed meanwhile.
+     */
+    @Override
+    public void forEach(final Consumer<? super E> action) {
+        for (Segment<E> segment : segments) {
+            segment.forEach(action);
+        }
+    }
+
+    /**
+     * {@inheritDoc} The iterator is weakly consistent like {@link #forEach(Consumer)}, it never
+     * throws a <code>ConcurrentModificationException</code>.
+     */
+    @Override
+    public Iterator<E> iterator() { return Spliterators.iterator(spliterator()); }
+
+    /**
+     * {@inheritDoc} The spliterator is weakly consistent like {@link #forEach(Consumer)} and
+     * {@link Spliterator#CONCURRENT} instead of {@link Spliterator#SIZED}, as the size is only an
+     * estimate while the set is modified. It splits the segments into halves, so a parallel
+     * stream uses at most as many threads as the set has segments.
+     */
+    @Override
+    public Spliterator<E> spliterator() { return new SegmentSpliterator(0, segments.length); }
+
+    /**
+     * {@inheritDoc} Every segment is locked while its elements are filtered.
+     */
+    @Override
+    public boolean removeIf(final Predicate<? super E> filter) {
+        boolean isChanged = false;
+        for (Segment<E> segment : segments) {
+            isChanged |= segment.removeIf(filter);
+        }
+
+        return isChanged;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void ensureCapacity(final int capacity) {
+        int perSegment = (int) Math.ceil(capacity / (double) segments.length);
+        for (Segment<E> segment : segments) {
+            segment.ensureCapacity(perSegment);
+        }
+    }
+
+    //---------------------------------------------------------------------------------------------
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public int size() {
+        long size = 0;
+        for (Segment<E> segment : segments) {
+            size += segment.count;
+        }
+
+        return (int) Math.min(Integer.MAX_VALUE, size);
+    }
+
+    /**
+     * Gets the number of segments of this set.
+     *
+     * @return The stated number
+     */
+    public int getSegmentCount() { return segments.length; }
+
+    //---------------------------------------------------------------------------------------------
+
+    /**
+     * Gets the segment of the given mixed hash code.
+     *
+     * @param hash The mixed hash code
+     * @return The stated segment
+     */
+    private Segment<E> getSegment(final int hash) {
+        return segments[(hash >>> segmentShift) & segmentMask];
+    }
+
+    /**
+     * Gets the number of buckets of a segment, which holds the given number of elements without
+     * exceeding the load factor.
+     *
+     * @param capacity The number of elements
+     * @return The stated number of buckets, a power of two
+     */
+    private static int getBucketCount(final int capacity) {
+        long buckets = Math.max(MIN_BUCKETS, (long) Math.ceil(capacity / DEFAULT_LOAD_FACTOR));
+
+        return (int) Math.min(MAX_BUCKETS, Long.highestOneBit(buckets - 1) << 1);
+    }
+
+    /**
+     * Gets the smallest power of two which is greater or equal to the given number.
+     *
+     * @param number The stated number, at least 1 and at most 2^30
+     * @return The stated power of two
+     */
+    private static int ceilPowerOfTwo(final int number) {
+        return (number <= 1) ? 1 : Integer.highestOneBit(number - 1) << 1;
+    }
+
+    //=============================================================================================
+
+    /**
+     * An element in a bucket. Only the link to the next node changes, when a node is removed.
+     *
+     * @param <E> The type of the data
+     */
+    private static final class Node<E> {
+
+        /** The mixed hash code of the element. */
+        private final int hash;
+
+        /** The element. */
+        private final E element;
+
+        /** The next node of the bucket. */
+        private volatile Node<E> next;
+
+        /**
+         * Creates a node.
+         *
+         * @param hash The mixed hash code of the element
+         * @param element The element
+         * @param next The next node of the bucket
+         */
+        private Node(final int hash, final E element, final Node<E> next) {
+            this.hash = hash;
+            this.element = element;
+            this.next = next;
+        }
+    }
+
+    //=============================================================================================
+
+    /**
+     * A hash table with its own lock, which is held while the table is modified.
+     *
+     * @param <E> The type of the data
+     */
+    private static final class Segment<E> extends ReentrantLock {
+
+        /** The serial version uid. */
+        private static final long serialVersionUID = 1L;
+
+        /** The buckets, their number is a power of two. */
+        private volatile AtomicReferenceArray<Node<E>> table;
+
+        /** The number of elements in this segment. */
+        private volatile int count;
+
+        /** The number of elements above which the table grows. */
+        private int threshold;
+
+        /**
+         * Creates an empty segment.
+         *
+         * @param buckets The number of buckets, a power of two
+         */
+        private Segment(final int buckets) { setTable(new AtomicReferenceArray<>(buckets)); }
+
+        /**
+         * Checks whether the element is in this segment, without locking.
+         *
+         * @param data The searched element
+         * @param hash The mixed hash code of the element
+         * @return Whether the element is in this segment
+         */
+        private boolean contains(final Object data, final int hash) {
+            AtomicReferenceArray<Node<E>> buckets = table;
+            Node<E> node = buckets.get(hash & (buckets.length() - 1));
+            while (node != null) {
+                if (node.hash == hash && data.equals(node.element)) { return true; }
+
+                node = node.next;
+            }
+
+            return false;
+        }
+
+        /**
+         * Adds the element as the head of its bucket, if it isn't in this segment.
+         *
+         * @param data The element to add
+         * @param hash The mixed hash code of the element
+         * @return Whether the element wasn't in this segment
+         */
+        private boolean add(final E data, final int hash) {
+            lock();
+            try {
+                AtomicReferenceArray<Node<E>> buckets = table;
+                int index = hash & (buckets.length() - 1);
+                Node<E> head = buckets.get(index);
+                for (Node<E> node = head; node != null; node = node.next) {
+                    if (node.hash == hash && data.equals(node.element)) { return false; }
+                }
+
+                if (count >= threshold && buckets.length() < MAX_BUCKETS) {
+                    buckets = grow(buckets, buckets.length() << 1);
+                    index = hash & (buckets.length() - 1);
+                    head = buckets.get(index);
+                }
+                buckets.set(index, new Node<>(hash, data, head));
+                count++;
+
+                return true;
+            } finally {
+                unlock();
+            }
+        }
+
+        /**
+         * Removes the element from its bucket, if it is in this segment.
+         *
+         * @param data The element to remove
+         * @param hash The mixed hash code of the element
+         * @return Whether the element was in this segment
+         */
+        private boolean remove(final Object data, final int hash) {
+            lock();
+            try {
+                AtomicReferenceArray<Node<E>> buckets = table;
+                int index = hash & (buckets.length() - 1);
+                Node<E> previous = null;
+                for (Node<E> node = buckets.get(index); node != null; node = node.next) {
+                    if (node.hash == hash && data.equals(node.element)) {
+                        // a concurrent lookup on the node still finds its successors
+                        if (previous == null) {
+                            buckets.set(index, node.next);
+                        } else {
+                            previous.next = node.next;
+                        }
+                        count--;
+
+                        return true;
+                    }
+                    previous = node;
+                }
+
+                return false;
+            } finally {
+                unlock();
+            }
+        }
+
+        /**
+         * Performs the action for every element of this segment, without locking.
+         *
+         * @param action The action to perform
+         */
+        private void forEach(final Consumer<? super E> action) {
+            AtomicReferenceArray<Node<E>> buckets = table;
+            for (int i = 0; i < buckets.length(); i++) {
+                for (Node<E> node = buckets.get(i); node != null; node = node.next) {
+                    action.accept(node.element);
+                }
+            }
+        }
+
+        /**
+         * Removes the elements of this segment which match the filter.
+         *
+         * @param filter The filter of the elements to remove
+         * @return Whether an element was removed
+         */
+        private boolean removeIf(final Predicate<? super E> filter) {
+            lock();
+            try {
+                int oldCount = count;
+                AtomicReferenceArray<Node<E>> buckets = table;
+                for (int i = 0; i < buckets.length(); i++) {
+                    Node<E> previous = null;
+                    for (Node<E> node = buckets.get(i); node != null; node = node.next) {
+                        if (!filter.test(node.element)) {
+                            previous = node;
+                        } else if (previous == null) {
+                            buckets.set(i, node.next);
+                            count--;
+                        } else {
+                            previous.next = node.next;
+                            count--;
+                        }
+                    }
+                }
+
+                return count != oldCount;
+            } finally {
+                unlock();
+            }
+        }
+
+        /**
+         * Grows the table, if necessary, so this segment can hold the given number of elements
+         * without growing again.
+         *
+         * @param capacity The stated number of elements
+         */
+        private void ensureCapacity(final int capacity) {
+            lock();
+            try {
+                AtomicReferenceArray<Node<E>> buckets = table;
+                int length = getBucketCount(capacity);
+                if (length > buckets.length()) { grow(buckets, length); }
+            } finally {
+                unlock();
+            }
+        }
+
+        /**
+         * Grows the number of buckets. The nodes are copied, so the lookups on the old table
+         * aren't disturbed, and the new table is published when it is complete.
+         *
+         * @param buckets The current table
+         * @param length The new number of buckets, a power of two
+         * @return The new table
+         */
+        private AtomicReferenceArray<Node<E>> grow(final AtomicReferenceArray<Node<E>> buckets,
+                final int length) {
+            AtomicReferenceArray<Node<E>> newBuckets = new AtomicReferenceArray<>(length);
+            int mask = newBuckets.length() - 1;
+            for (int i = 0; i < buckets.length(); i++) {
+                for (Node<E> node = buckets.get(i); node != null; node = node.next) {
+                    int index = node.hash & mask;
+                    newBuckets.lazySet(index, new Node<>(node.hash, node.element,
+                            newBuckets.get(index)));
+                }
+            }
+            setTable(newBuckets);
+
+            return newBuckets;
+        }
+
+        /**
+         * Publishes the given table and computes its threshold.
+         *
+         * @param buckets The stated table
+         */
+        private void setTable(final AtomicReferenceArray<Node<E>> buckets) {
+            threshold = (int) (buckets.length() * DEFAULT_LOAD_FACTOR);
+            table = buckets;
+        }
+    }
+
+    //=============================================================================================
+
+    /**
+     * A spliterator over a range of segments, which reads the table of a segment when it reaches
+     * the segment.
+     */
+    private final class SegmentSpliterator implements Spliterator<E> {
+
+        /** The next segment. */
+        private int index;
+
+        /** The segment after the last one. */
+        private final int fence;
+
+        /** The table of the current segment, null before its first element. */
+        private AtomicReferenceArray<Node<E>> buckets;
+
+        /** The next bucket of the current segment. */
+        private int bucket;
+
+        /** The next node of the current bucket. */
+        private Node<E> node;
+
+        /**
+         * Creates a spliterator.
+         *
+         * @param index The first segment
+         * @param fence The segment after the last one
+         */
+        private SegmentSpliterator(final int index, final int fence) {
+            this.index = index;
+            this.fence = fence;
+        }
+
+        @Override
+        public Spliterator<E> trySplit() {
+            int middle = (index + fence) >>> 1;
+            if (buckets != null || middle <= index) { return null; }
+
+            Spliterator<E> prefix = new SegmentSpliterator(index, middle);
+            index = middle;
+
+            return prefix;
+        }
+
+        @Override
+        public boolean tryAdvance(final Consumer<? super E> action) {
+            while (node == null) {
+                if (buckets != null && bucket < buckets.length()) {
+                    node = buckets.get(bucket++);
+                    continue;
+                }
+                if (index >= fence) { return false; }
+
+                buckets = segments[index++].table;
+                bucket = 0;
+            }
+            E element = node.element;
+            node = node.next;
+            action.accept(element);
+
+            return true;
+        }
+
+        @Override
+        public void forEachRemaining(final Consumer<? super E> action) {
+            // finishes the current segment, the following ones are iterated as a whole
+            if (buckets != null) {
+                while (true) {
+                    for (; node != null; node = node.next) {
+                        action.accept(node.element);
+                    }
+                    if (bucket >= buckets.length()) { break; }
+
+                    node = buckets.get(bucket++);
+                }
+                buckets = null;
+            }
+            for (; index < fence; index++) {
+                segments[index].forEach(action);
+            }
+        }
+
+        @Override
+        public long estimateSize() {
+            long size = 0;
+            for (int i = index; i < fence; i++) {
+                size += segments[i].count;
+            }
+
+            return size;
+        }
+
+        @Override
+        public int characteristics() { return CONCURRENT | DISTINCT | NONNULL; }
+    }
+
+    //---------------------------------------------------------------------------------------------
+}
@@ -0,0 +1,310 @@
+/*
+ * Copyright 2019 (C) by Julian Horner.
+ * All Rights Reserved.
+ */
+
+package hash;
+
+/**
+ * A cuckoo filter, which stores a short fingerprint of every element in one of two buckets of
+ * {@value #BUCKET_SIZE} slots. The second bucket is computed from the first one and the
+ * fingerprint, so a fingerprint can be moved to its other bucket without the element. An element
+ * is added to the bucket with a free slot, if both are full a random fingerprint is kicked out to
+ * its other bucket, until a free slot is found.
+ * <p>
+ * Unlike a Bloom filter it removes elements, by removing one of their fingerprints. Only an
+ * element which was added may be removed, else the fingerprint of another element may be lost.
+ * The fingerprint has as many bits as the false positive rate requires, up to
+ * {@value #MAX_FINGERPRINT_BITS}, and a slot takes two bytes.
+ *
+ * @author julian
+ *
+ * @param <E> The type of the data
+ */
+public final class CuckooFilter<E> implements MembershipFilter<E> {
+    //---------------------------------------------------------------------------------------------
+
+    /** The number of slots of a bucket. */
+    private static final int BUCKET_SIZE = 4;
+
+    /** The share of slots which is filled at the capacity of the filter. */
+    private static final double MAX_LOAD_FACTOR = 0.95;
+
+    /** The largest number of fingerprints which are kicked out by an add. */
+    private static final int MAX_KICKS = 500;
+
+    /** The smallest number of bits of a fingerprint. */
+    private static final int MIN_FINGERPRINT_BITS = 4;
+
+    /** The largest number of bits of a fingerprint. */
+    private static final int MAX_FINGERPRINT_BITS = 16;
+
+    /** The fingerprint of an empty slot. */
+    private static final short EMPTY = 0;
+
+    /** The multiplier of MurmurHash2, which spreads a fingerprint over the buckets. */
+    private static final int FINGERPRINT_MULTIPLIER = 0x5BD1E995;
+
+    //=============================================================================================
+
+    /** The fingerprints, a bucket is {@value #BUCKET_SIZE} consecutive slots. */
+    private final short[] slots;
+
+    /** The number of buckets minus one, the number of buckets is a power of two. */
+    private final int bucketMask;
+
+    /** The number of bits of a fingerprint. */
+    private final int fingerprintBits;
+
+    /** The number of elements the filter holds with its false positive rate. */
+    private final int capacity;
+
+    /** The false positive rate the filter was sized for. */
+    private final double falsePositiveRate;
+
+    /** The current number of fingerprints in the filter. */
+    private int size;
+
+    /** The fingerprint which found no slot, {@value #EMPTY} if there is none. */
+    private short victim;
+
+    /** The bucket of the victim. */
+    private int victimBucket;
+
+    /** The state of the random choice of the fingerprint to kick out. */
+    private int seed = 0x2545F491;
+
+    //---------------------------------------------------------------------------------------------
+
+    /**
+     * Create a new <code>CuckooFilter</code>, which holds the given number of elements with the
+     * given false positive rate.
+     *
+     * @param capacity The stated number of elements
+     * @param falsePositiveRate The stated rate, between 0 and 1
+     */
+    public CuckooFilter(final int capacity, final double falsePositiveRate) {
+        if (capacity < 0) {
+            throw new IllegalArgumentException("Illegal capacity: " + capacity);
+        }
+        if (!(falsePositiveRate > 0 && falsePositiveRate < 1)) {
+            throw new IllegalArgumentException("Illegal false positive rate: " + falsePositiveRate);
+        }
+
+        // a lookup compares the fingerprint with both buckets
+        double bits = Math.ceil(Math.log(2 * BUCKET_SIZE / falsePositiveRate) / Math.log(2));
+        fingerprintBits = (int) Math.max(MIN_FINGERPRINT_BITS,
+                Math.min(MAX_FINGERPRINT_BITS, bits));
+
+        long buckets = Math.max(1, (long) Math.ceil(capacity / (BUCKET_SIZE * MAX_LOAD_FACTOR)));
+        buckets = Math.min(1 << 28, Long.highestOneBit(buckets - 1) << 1);
+
+        this.capacity = capacity;
+        this.falsePositiveRate = falsePositiveRate;
+        slots = new short[(int) buckets * BUCKET_SIZE];
+        bucketMask = (int) buckets - 1;
+    }
+
+    //---------------------------------------------------------------------------------------------
+
+    /**
+     * {@inheritDoc} The filter is full, when a fingerprint finds no slot after
+     * {@value #MAX_KICKS} kicks. This fingerprint is kept aside, so the element is still added,
+     * but the following adds fail.
+     */
+    @Override
+    public boolean add(final E element) {
+        if (victim != EMPTY) { return false; }
+
+        long hash = CapacityStrategy.mix64(element.hashCode());
+        short fingerprint = getFingerprint(hash);
+        int bucket = (int) hash & bucketMask;
+        int alternative = getAlternativeBucket(bucket, fingerprint);
+        size++;
+        if (insert(bucket, fingerprint) || insert(alternative, fingerprint)) { return true; }
+
+        // kicks out random fingerprints to their other bucket
+        bucket = (nextRandom() < 0) ? bucket : alternative;
+        for (int kick = 0; kick < MAX_KICKS; kick++) {
+            int slot = bucket * BUCKET_SIZE + (nextRandom() & (BUCKET_SIZE - 1));
+            short kicked = slots[slot];
+            slots[slot] = fingerprint;
+            fingerprint = kicked;
+
+            bucket = getAlternativeBucket(bucket, fingerprint);
+            if (insert(bucket, fingerprint)) { return true; }
+        }
+        victim = fingerprint;
+        victimBucket = bucket;
+
+        return true;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public boolean mightContain(final E element) {
+        long hash = CapacityStrategy.mix64(element.hashCode());
+        short fingerprint = getFingerprint(hash);
+        int bucket = (int) hash & bucketMask;
+        int alternative = getAlternativeBucket(bucket, fingerprint);
+
+        if (contains(bucket, fingerprint) || contains(alternative, fingerprint)) { return true; }
+
+        return victim == fingerprint && (victimBucket == bucket || victimBucket == alternative);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public boolean remove(final E element) {
+        long hash = CapacityStrategy.mix64(element.hashCode());
+        short fingerprint = getFingerprint(hash);
+        int bucket = (int) hash & bucketMask;
+        int alternative = getAlternativeBucket(bucket, fingerprint);
+
+        if (victim == fingerprint && (victimBucket == bucket || victimBucket == alternative)) {
+            victim = EMPTY;
+            size--;
+            return true;
+        }
+        if (!delete(bucket, fingerprint) && !delete(alternative, fingerprint)) { return false; }
+        size--;
+
+        // the slot which was freed may take the victim
+        if (victim != EMPTY) {
+            int victimAlternative = getAlternativeBucket(victimBucket, victim);
+            if (insert(victimBucket, victim) || insert(victimAlternative, victim)) {
+                victim = EMPTY;
+            }
+        }
+
+        return true;
+    }
+
+    //---------------------------------------------------------------------------------------------
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public int getCapacity() { return capacity; }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public double getFalsePositiveRate() { return falsePositiveRate; }
+
+    /**
+     * The current number of fingerprints in the filter.
+     *
+     * @return The stated number
+     */
+    public int size() { return size; }
+
+    /**
+     * Gets the number of bits of a fingerprint.
+     *
+     * @return The stated number
+     */
+    public int getFingerprintBits() { return fingerprintBits; }
+
+    //---------------------------------------------------------------------------------------------
+
+    /**
+     * Gets the fingerprint of the given hash, from its upper bits, so it doesn't depend on the
+     * bucket.
+     *
+     * @param hash The mixed hash of the element
+     * @return The stated fingerprint, never {@value #EMPTY}
+     */
+    private short getFingerprint(final long hash) {
+        int fingerprint = (int) (hash >>> (Long.SIZE - fingerprintBits));
+
+        return (short) ((fingerprint == EMPTY) ? 1 : fingerprint);
+    }
+
+    /**
+     * Gets the other bucket of a fingerprint, which works in both directions.
+     *
+     * @param bucket The current bucket of the fingerprint
+     * @param fingerprint The stated fingerprint
+     * @return The stated bucket
+     */
+    private int getAlternativeBucket(final int bucket, final short fingerprint) {
+        return (bucket ^ (fingerprint * FINGERPRINT_MULTIPLIER)) & bucketMask;
+    }
+
+    /**
+     * Checks whether the bucket contains the fingerprint.
+     *
+     * @param bucket The stated bucket
+     * @param fingerprint The stated fingerprint
+     * @return Whether a slot of the bucket holds the fingerprint
+     */
+    private boolean contains(final int bucket, final short fingerprint) {
+        int first = bucket * BUCKET_SIZE;
+        for (int slot = first; slot < first + BUCKET_SIZE; slot++) {
+            if (slots[slot] == fingerprint) { return true; }
+        }
+
+        return false;
+    }
+
+    /**
+     * Inserts the fingerprint into a free slot of the bucket.
+     *
+     * @param bucket The stated bucket
+     * @param fingerprint The stated fingerprint
+     * @return Whether the bucket had a free slot
+     */
+    private boolean insert(final int bucket, final short fingerprint) {
+        int first = bucket * BUCKET_SIZE;
+        for (int slot = first; slot < first + BUCKET_SIZE; slot++) {
+            if (slots[slot] == EMPTY) {
+                slots[slot] = fingerprint;
+                return true;
+            }
+        }
+
+        return false;
+    }
+
+    /**
+     * Deletes one copy of the fingerprint from the bucket.
+     *
+     * @param bucket The stated bucket
+     * @param fingerprint The stated fingerprint
+     * @return Whether the bucket held the fingerprint
+     */
+    private boolean delete(final int bucket, final short fingerprint) {
+        int first = bucket * BUCKET_SIZE;
+        for (int slot = first; slot < first + BUCKET_SIZE; slot++) {
+            if (slots[slot] == fingerprint) {
+                slots[slot] = EMPTY;
+                return true;
+            }
+        }
+
+        return false;
+    }
+
+    /**
+     * Gets the next random number of a xorshift generator, which needs no allocation and no
+     * synchronization.
+     *
+     * @return The stated number
+     */
+    private int nextRandom() {
+        seed ^= seed << 13;
+        seed ^= seed >>> 17;
+        seed ^= seed << 5;
+
+        return seed;
+    }
+
+    //---------------------------------------------------------------------------------------------
+}
@@ -0,0 +1,52 @@
+/*
+ * Copyright 2019 (C) by Julian Horner.
+ * All Rights Reserved.
+ */
+
+package hash;
+
+/**
+ * Enum that represents the kind of {@link MembershipFilter} in front of a
+ * {@link FilteredHashSet}.
+ *
+ * @author julian
+ */
+public enum FilterType {
+    //---------------------------------------------------------------------------------------------
+
+    /**
+     * A {@link BlockedBloomFilter}, whose lookups read a single cache line. It can't remove
+     * elements, so the set rebuilds it after many removals.
+     */
+    BLOOM {
+        @Override
+        public <E> MembershipFilter<E> create(final int capacity, final double falsePositiveRate) {
+            return new BlockedBloomFilter<>(capacity, falsePositiveRate);
+        }
+    },
+
+    /**
+     * A {@link CuckooFilter}, which removes elements and takes less space at low false positive
+     * rates.
+     */
+    CUCKOO {
+        @Override
+        public <E> MembershipFilter<E> create(final int capacity, final double falsePositiveRate) {
+            return new CuckooFilter<>(capacity, falsePositiveRate);
+        }
+    };
+
+    //---------------------------------------------------------------------------------------------
+
+    /**
+     * Creates an empty filter.
+     *
+     * @param <E> The type of the data
+     * @param capacity The number of elements the filter holds with its false positive rate
+     * @param falsePositiveRate The stated rate, between 0 and 1
+     * @return The stated filter
+     */
+    public abstract <E> MembershipFilter<E> create(int capacity, double falsePositiveRate);
+
+    //---------------------------------------------------------------------------------------------
+}
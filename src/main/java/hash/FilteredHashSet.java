@@ -0,0 +1,207 @@
+/*
+ * Copyright 2019 (C) by Julian Horner.
+ * All Rights Reserved.
+ */
+
+package hash;
+
+import java.util.Iterator;
+import java.util.Spliterator;
+import java.util.function.Consumer;
+import java.util.function.Predicate;
+
+/**
+ * A {@link Set} with a {@link MembershipFilter} in front of it, as a cache of negative lookups.
+ * A lookup of a missing element is answered by the filter in most cases, only the false
+ * positives and the elements of the set reach the set. This pays off when most lookups miss,
+ * especially for a set whose lookup walks a chain and calls <code>equals</code>.
+ * <p>
+ * The filter is rebuilt from the elements of the set with twice their number, when it would hold
+ * more elements than its capacity or when it is full. A filter which can't remove elements
+ * still holds the removed ones, they count towards its capacity until the next rebuild. The set
+ * isn't thread-safe, even if the wrapped set is.
+ *
+ * @author julian
+ *
+ * @param <E> The type of the data
+ */
+public final class FilteredHashSet<E> implements Set<E> {
+    //---------------------------------------------------------------------------------------------
+
+    /** The default false positive rate of the filter. */
+    private static final double DEFAULT_FALSE_POSITIVE_RATE = 0.01;
+
+    /** The smallest capacity of the filter. */
+    private static final int MIN_FILTER_CAPACITY = 16;
+
+    //=============================================================================================
+
+    /** The wrapped set. */
+    private final Set<E> set;
+
+    /** The kind of the filter. */
+    private final FilterType filterType;
+
+    /** The false positive rate of the filter. */
+    private final double falsePositiveRate;
+
+    /** The filter, which holds all elements of the set. */
+    private MembershipFilter<E> membershipFilter;
+
+    /** The number of removed elements which the filter still holds. */
+    private int staleCount;
+
+    //---------------------------------------------------------------------------------------------
+
+    /**
+     * Create a new <code>FilteredHashSet</code> in front of the given set, with the default false
+     * positive rate.
+     *
+     * @param set The wrapped set, which may already contain elements
+     * @param filterType The kind of the filter
+     */
+    public FilteredHashSet(final Set<E> set, final FilterType filterType) {
+        this(set, filterType, DEFAULT_FALSE_POSITIVE_RATE);
+    }
+
+    /**
+     * Create a new <code>FilteredHashSet</code> in front of the given set.
+     *
+     * @param set The wrapped set, which may already contain elements
+     * @param filterType The kind of the filter
+     * @param falsePositiveRate The false positive rate of the filter, between 0 and 1
+     */
+    public FilteredHashSet(final Set<E> set, final FilterType filterType,
+            final double falsePositiveRate) {
+        this.set = set;
+        this.filterType = filterType;
+        this.falsePositiveRate = falsePositiveRate;
+        rebuild(2 * set.size());
+    }
+
+    //---------------------------------------------------------------------------------------------
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public boolean add(final E data) {
+        if (data == null || !set.add(data)) { return false; }
+
+        boolean isAdded = membershipFilter.add(data);
+        if (!isAdded || set.size() + staleCount > membershipFilter.getCapacity()) {
+            rebuild(2 * set.size());
+        }
+
+        return true;
+    }
+
+    /**
+     * {@inheritDoc} The filter is asked first.
+     */
+    @Override
+    public boolean contains(final E data) {
+        return data != null && membershipFilter.mightContain(data) && set.contains(data);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public boolean remove(final E data) {
+        if (data == null || !set.remove(data)) { return false; }
+
+        if (!membershipFilter.remove(data)) { staleCount++; }
+
+        return true;
+    }
+
+    //---------------------------------------------------------------------------------------------
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void forEach(final Consumer<? super E> action) { set.forEach(action); }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public Iterator<E> iterator() { return set.iterator(); }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public Spliterator<E> spliterator() { return set.spliterator(); }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public boolean removeIf(final Predicate<? super E> filter) {
+        return set.removeIf(element -> {
+            if (!filter.test(element)) { return false; }
+
+            if (!membershipFilter.remove(element)) { staleCount++; }
+            return true;
+        });
+    }
+
+    /**
+     * {@inheritDoc} The filter is rebuilt, if it holds less elements.
+     */
+    @Override
+    public void ensureCapacity(final int capacity) {
+        set.ensureCapacity(capacity);
+        if (capacity > membershipFilter.getCapacity()) { rebuild(capacity); }
+    }
+
+    //---------------------------------------------------------------------------------------------
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public int size() { return set.size(); }
+
+    /**
+     * Gets the filter in front of the set.
+     *
+     * @return The stated filter
+     */
+    public MembershipFilter<E> getFilter() { return membershipFilter; }
+
+    //---------------------------------------------------------------------------------------------
+
+    /**
+     * Replaces the filter with a new one, which holds all elements of the set. The capacity is
+     * doubled until all elements fit.
+     *
+     * @param capacity The capacity of the new filter
+     */
+    private void rebuild(final int capacity) {
+        int newCapacity = Math.max(MIN_FILTER_CAPACITY, capacity);
+        while (true) {
+            MembershipFilter<E> filter = filterType.create(newCapacity, falsePositiveRate);
+
+            boolean isComplete = true;
+            for (E element : set) {
+                if (!filter.add(element)) {
+                    isComplete = false;
+                    break;
+                }
+            }
+            if (isComplete) {
+                membershipFilter = filter;
+                staleCount = 0;
+                return;
+            }
+
+            newCapacity *= 2;
+        }
+    }
+
+    //---------------------------------------------------------------------------------------------
+}
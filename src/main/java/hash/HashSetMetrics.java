@@ -0,0 +1,235 @@
+/*
+ * Copyright 2019 (C) by Julian Horner.
+ * All Rights Reserved.
+ */
+
+package hash;
+
+import java.lang.management.ManagementFactory;
+import java.util.stream.IntStream;
+
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+
+/**
+ * Metrics of a hash set, which are recorded while they are enabled on the set. A set without
+ * enabled metrics records nothing and only checks a field for null, so the metrics cost nothing
+ * when they are disabled.
+ * <p>
+ * They are recorded by the {@link LinkedOverflowHashSet} and the {@link RobinHoodHashSet}. The
+ * {@link ConcurrentHashSet} records none, as its lookups run in parallel and the counters aren't
+ * thread-safe.
+ * <p>
+ * The counters (resizes and lookups) are recorded by the set, the values of the table (load
+ * factor, bucket lengths) are read from the set on every call. The metrics are read through this
+ * class or, after {@link #register(String)}, through JMX. Like the set they are not thread-safe, a
+ * reading from another thread while the set is modified is only approximate.
+ *
+ * @author julian
+ */
+public final class HashSetMetrics implements HashSetMetricsMXBean {
+    //---------------------------------------------------------------------------------------------
+
+    /** The number of elements of the probe length histogram, the last counts all longer ones. */
+    public static final int PROBE_HISTOGRAM_SIZE = 64;
+
+    /** The domain of the names under which the metrics are registered. */
+    private static final String DOMAIN = "hash";
+
+    //=============================================================================================
+
+    /** The table whose metrics are recorded. */
+    private final Table table;
+
+    /** The number of times the table grew. */
+    private long resizeCount;
+
+    /** The time spent growing the table in nanoseconds. */
+    private long resizeNanos;
+
+    /** The number of lookups by their probe length. */
+    private final long[] probeLengths = new long[PROBE_HISTOGRAM_SIZE];
+
+    /** The number of lookups. */
+    private long probeCount;
+
+    /** The sum of the probe lengths of all lookups. */
+    private long probeLengthSum;
+
+    /** The name under which the metrics are registered, null if they aren't. */
+    private ObjectName objectName;
+
+    //---------------------------------------------------------------------------------------------
+
+    /**
+     * Creates empty metrics.
+     *
+     * @param table The table whose metrics are recorded
+     */
+    HashSetMetrics(final Table table) { this.table = table; }
+
+    //---------------------------------------------------------------------------------------------
+
+    /**
+     * Records a lookup.
+     *
+     * @param probeLength The number of elements compared
+     */
+    void recordProbe(final int probeLength) {
+        probeLengths[Math.min(probeLength, PROBE_HISTOGRAM_SIZE - 1)]++;
+        probeCount++;
+        probeLengthSum += probeLength;
+    }
+
+    /**
+     * Records that the table grew.
+     *
+     * @param nanos The time spent in nanoseconds
+     */
+    void recordResize(final long nanos) {
+        resizeCount++;
+        resizeNanos += nanos;
+    }
+
+    /**
+     * Records time spent moving elements after the table grew, e.g. by an incremental rehash.
+     *
+     * @param nanos The time spent in nanoseconds
+     */
+    void recordResizeTime(final long nanos) { resizeNanos += nanos; }
+
+    //---------------------------------------------------------------------------------------------
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public int getSize() { return table.size(); }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public int getCapacity() { return table.getCapacity(); }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public double getLoadFactor() { return table.size() / (double) table.getCapacity(); }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public long getResizeCount() { return resizeCount; }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public long getTotalResizeTimeNanos() { return resizeNanos; }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public long[] getBucketLengthHistogram() {
+        long[] histogram = new long[getMaxChainLength() + 1];
+        table.getBucketLengths().forEach(length -> {
+            histogram[Math.min(length, histogram.length - 1)]++;
+        });
+
+        return histogram;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public int getMaxChainLength() { return table.getBucketLengths().max().orElse(0); }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public long[] getProbeLengthHistogram() { return probeLengths.clone(); }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public long getProbeCount() { return probeCount; }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public double getMeanProbeLength() {
+        return (probeCount == 0) ? 0 : probeLengthSum / (double) probeCount;
+    }
+
+    //---------------------------------------------------------------------------------------------
+
+    /**
+     * Registers the metrics at the platform MBean server, under the name
+     * <code>hash:type=HashSetMetrics,name=&lt;name&gt;</code>.
+     *
+     * @param name The name of the set
+     * @return The name of the registered MBean
+     * @throws JMException If the name is invalid or already registered
+     */
+    public ObjectName register(final String name) throws JMException {
+        ObjectName newName = new ObjectName(DOMAIN + ":type=HashSetMetrics,name="
+                + ObjectName.quote(name));
+        ManagementFactory.getPlatformMBeanServer().registerMBean(this, newName);
+        objectName = newName;
+
+        return newName;
+    }
+
+    /**
+     * Unregisters the metrics from the platform MBean server, if they are registered.
+     *
+     * @throws JMException If the metrics can't be unregistered
+     */
+    public void unregister() throws JMException {
+        if (objectName == null) { return; }
+
+        MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+        if (server.isRegistered(objectName)) { server.unregisterMBean(objectName); }
+        objectName = null;
+    }
+
+    //=============================================================================================
+
+    /**
+     * The view of a hash table, which the metrics read.
+     */
+    interface Table {
+
+        /**
+         * Gets the current number of elements.
+         *
+         * @return The stated number
+         */
+        int size();
+
+        /**
+         * Gets the current number of buckets.
+         *
+         * @return The stated number
+         */
+        int getCapacity();
+
+        /**
+         * Gets the number of elements of every bucket.
+         *
+         * @return The stated lengths
+         */
+        IntStream getBucketLengths();
+    }
+
+    //---------------------------------------------------------------------------------------------
+}
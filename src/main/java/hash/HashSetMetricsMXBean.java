@@ -0,0 +1,92 @@
+/*
+ * Copyright 2019 (C) by Julian Horner.
+ * All Rights Reserved.
+ */
+
+package hash;
+
+/**
+ * The management interface of the {@link HashSetMetrics}, under which they are readable through
+ * JMX.
+ *
+ * @author julian
+ */
+public interface HashSetMetricsMXBean {
+    //---------------------------------------------------------------------------------------------
+
+    /**
+     * Gets the current number of elements in the set.
+     *
+     * @return The stated number
+     */
+    int getSize();
+
+    /**
+     * Gets the current number of buckets of the set.
+     *
+     * @return The stated number
+     */
+    int getCapacity();
+
+    /**
+     * Gets the current load factor, the number of elements per bucket.
+     *
+     * @return The stated load factor
+     */
+    double getLoadFactor();
+
+    /**
+     * Gets the number of times the table grew since the metrics were enabled.
+     *
+     * @return The stated number
+     */
+    long getResizeCount();
+
+    /**
+     * Gets the time spent growing the table and moving the elements since the metrics were
+     * enabled.
+     *
+     * @return The stated time in nanoseconds
+     */
+    long getTotalResizeTimeNanos();
+
+    /**
+     * Gets the current number of buckets by their length, the element at index i is the number of
+     * buckets which hold i elements.
+     *
+     * @return The stated histogram
+     */
+    long[] getBucketLengthHistogram();
+
+    /**
+     * Gets the current length of the longest bucket.
+     *
+     * @return The stated length
+     */
+    int getMaxChainLength();
+
+    /**
+     * Gets the number of lookups by their probe length, the number of elements compared. The
+     * element at index i is the number of lookups which compared i elements, the last element
+     * counts all longer lookups.
+     *
+     * @return The stated histogram
+     */
+    long[] getProbeLengthHistogram();
+
+    /**
+     * Gets the number of lookups since the metrics were enabled.
+     *
+     * @return The stated number
+     */
+    long getProbeCount();
+
+    /**
+     * Gets the mean number of elements compared by a lookup.
+     *
+     * @return The stated mean, 0 if there was no lookup
+     */
+    double getMeanProbeLength();
+
+    //---------------------------------------------------------------------------------------------
+}
@@ -0,0 +1,435 @@
+/*
+ * Copyright 2019 (C) by Julian Horner.
+ * All Rights Reserved.
+ */
+
+package hash;
+
+import java.util.ConcurrentModificationException;
+import java.util.PrimitiveIterator;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.function.IntConsumer;
+import java.util.stream.IntStream;
+import java.util.stream.StreamSupport;
+
+/**
+ * A set of primitive <code>int</code> values with the contract of {@link Set}, but without
+ * boxing. The values are stored in a flat <code>int[]</code> with open addressing and linear
+ * probing, so adding, searching and removing a value allocate nothing unless the table grows.
+ * <p>
+ * The value {@value #EMPTY} marks an empty slot. It can still be added, its membership is kept in
+ * a separate flag. A removed value leaves no tombstone, the following values of the cluster are
+ * moved back into the gap instead, if the gap is on their way from their home slot.
+ *
+ * @author julian
+ */
+public final class IntHashSet {
+    //---------------------------------------------------------------------------------------------
+
+    /** The default number of values the set can hold without growing. */
+    private static final int DEFAULT_INITIAL_CAPACITY = 16;
+
+    /** The maximum load factor of the hash table. */
+    private static final double DEFAULT_LOAD_FACTOR = 0.7;
+
+    /** The largest number of slots, a power of two. */
+    private static final int MAX_SLOTS = 1 << 30;
+
+    /** The golden ratio multiplier of the Fibonacci hashing, which spreads the values. */
+    private static final int GOLDEN_RATIO = 0x9E3779B9;
+
+    /** The value of an empty slot. */
+    private static final int EMPTY = 0;
+
+    //=============================================================================================
+
+    /** The current number of values in this set, including {@value #EMPTY}. */
+    private int size;
+
+    /** The values, {@value #EMPTY} marks an empty slot. */
+    private int[] table;
+
+    /** Whether the set contains the value {@value #EMPTY}, which isn't stored in the table. */
+    private boolean containsEmpty;
+
+    /** The number of slots minus one, the number of slots is a power of two. */
+    private int mask;
+
+    /** The distance to shift a spread value to the right, to get its home slot. */
+    private int shift;
+
+    /** The number of values in the table at which it grows. */
+    private int threshold;
+
+    /** The number of structural modifications, which makes the iterators fail-fast. */
+    private int modificationCount;
+
+    //---------------------------------------------------------------------------------------------
+
+    /**
+     * Create a new <code>IntHashSet</code> with the default capacity.
+     */
+    public IntHashSet() {
+        this(DEFAULT_INITIAL_CAPACITY);
+    }
+
+    /**
+     * Create a new <code>IntHashSet</code>, which can hold the given number of values without
+     * growing.
+     *
+     * @param initialCapacity The stated number of values
+     */
+    public IntHashSet(final int initialCapacity) {
+        if (initialCapacity < 0) {
+            throw new IllegalArgumentException("Illegal capacity: " + initialCapacity);
+        }
+
+        long slots = Math.max(2, (long) Math.ceil(initialCapacity / DEFAULT_LOAD_FACTOR));
+        allocate((int) Math.min(MAX_SLOTS, Long.highestOneBit(slots - 1) << 1));
+    }
+
+    //---------------------------------------------------------------------------------------------
+
+    /**
+     * Adds the value to the set, see {@link Set#add(Object)}.
+     *
+     * @param value The value to add
+     * @return Whether the value wasn't in the set
+     */
+    public boolean add(final int value) {
+        if (value == EMPTY) {
+            if (containsEmpty) { return false; }
+
+            containsEmpty = true;
+            size++;
+            modificationCount++;
+            return true;
+        }
+
+        int slot = getHomeSlot(value);
+        while (table[slot] != EMPTY) {
+            if (table[slot] == value) { return false; }
+
+            slot = (slot + 1) & mask;
+        }
+
+        if (getTableSize() >= threshold) {
+            grow();
+            slot = findEmptySlot(value);
+        }
+
+        table[slot] = value;
+        size++;
+        modificationCount++;
+
+        return true;
+    }
+
+    /**
+     * Checks whether the value is in the set, see {@link Set#contains(Object)}.
+     *
+     * @param value The value to check
+     * @return Whether the value is in the set
+     */
+    public boolean contains(final int value) {
+        if (value == EMPTY) { return containsEmpty; }
+
+        return indexOf(value) >= 0;
+    }
+
+    /**
+     * Removes the value from the set, see {@link Set#remove(Object)}.
+     *
+     * @param value The value to remove
+     * @return Whether the value was in the set
+     */
+    public boolean remove(final int value) {
+        if (value == EMPTY) {
+            if (!containsEmpty) { return false; }
+
+            containsEmpty = false;
+            size--;
+            modificationCount++;
+            return true;
+        }
+
+        int gap = indexOf(value);
+        if (gap < 0) { return false; }
+
+        // moves every following value of the cluster, whose home isn't between gap and its slot
+        int slot = gap;
+        while (true) {
+            slot = (slot + 1) & mask;
+            int next = table[slot];
+            if (next == EMPTY) { break; }
+
+            int home = getHomeSlot(next);
+            boolean homeInGap = (gap <= slot) ? (gap < home && home <= slot)
+                    : (gap < home || home <= slot);
+            if (!homeInGap) {
+                table[gap] = next;
+                gap = slot;
+            }
+        }
+        table[gap] = EMPTY;
+        size--;
+        modificationCount++;
+
+        return true;
+    }
+
+    //---------------------------------------------------------------------------------------------
+
+    /**
+     * The current number of values in this set.
+     *
+     * @return The size of the set
+     */
+    public int size() { return size; }
+
+    /**
+     * Returns whether the set is empty.
+     *
+     * @return Whether the set contains no values
+     */
+    public boolean isEmpty() { return size == 0; }
+
+    //---------------------------------------------------------------------------------------------
+
+    /**
+     * Performs the action for every value of the set, in no particular order, see
+     * {@link Set#forEach(java.util.function.Consumer)}. The values aren't boxed.
+     *
+     * @param action The action to perform
+     * @throws ConcurrentModificationException If the action modified the set
+     */
+    public void forEach(final IntConsumer action) {
+        int expectedModificationCount = modificationCount;
+        for (int value : table) {
+            if (value != EMPTY) { action.accept(value); }
+        }
+        if (containsEmpty) { action.accept(EMPTY); }
+
+        if (modificationCount != expectedModificationCount) {
+            throw new ConcurrentModificationException();
+        }
+    }
+
+    /**
+     * Creates a fail-fast iterator over the values of the set, which doesn't support
+     * <code>remove</code>. Its <code>nextInt</code> doesn't box the values.
+     *
+     * @return The stated iterator
+     */
+    public PrimitiveIterator.OfInt iterator() { return Spliterators.iterator(spliterator()); }
+
+    /**
+     * Creates a fail-fast spliterator over the values of the set. It splits the slots into halves
+     * and is only sized before the first split.
+     *
+     * @return The stated spliterator
+     */
+    public Spliterator.OfInt spliterator() {
+        return new SlotSpliterator(0, table.length + 1, size, modificationCount);
+    }
+
+    /**
+     * Creates a sequential stream of the values of the set.
+     *
+     * @return The stated stream
+     */
+    public IntStream stream() { return StreamSupport.intStream(spliterator(), false); }
+
+    /**
+     * Creates a parallel stream of the values of the set, which is split by the spliterator.
+     *
+     * @return The stated stream
+     */
+    public IntStream parallelStream() { return StreamSupport.intStream(spliterator(), true); }
+
+    //---------------------------------------------------------------------------------------------
+
+    /**
+     * Gets the home slot of the given value.
+     *
+     * @param value The stated value
+     * @return The stated slot
+     */
+    private int getHomeSlot(final int value) { return (value * GOLDEN_RATIO) >>> shift; }
+
+    /**
+     * Gets the number of values in the table, without {@value #EMPTY}.
+     *
+     * @return The stated number
+     */
+    private int getTableSize() { return containsEmpty ? size - 1 : size; }
+
+    /**
+     * Finds the slot of the given value.
+     *
+     * @param value The searched value, not {@value #EMPTY}
+     * @return The slot or -1, if the value isn't in the set
+     */
+    private int indexOf(final int value) {
+        int slot = getHomeSlot(value);
+        while (table[slot] != EMPTY) {
+            if (table[slot] == value) { return slot; }
+
+            slot = (slot + 1) & mask;
+        }
+
+        return -1;
+    }
+
+    /**
+     * Finds the first empty slot from the home slot of the given value.
+     *
+     * @param value The value to insert
+     * @return The stated slot
+     */
+    private int findEmptySlot(final int value) {
+        int slot = getHomeSlot(value);
+        while (table[slot] != EMPTY) {
+            slot = (slot + 1) & mask;
+        }
+
+        return slot;
+    }
+
+    //---------------------------------------------------------------------------------------------
+
+    /**
+     * Allocates an empty table with the given number of slots.
+     *
+     * @param slots The number of slots, a power of two
+     */
+    private void allocate(final int slots) {
+        table = new int[slots];
+        mask = slots - 1;
+        shift = Integer.numberOfLeadingZeros(slots) + 1;
+        threshold = (slots == MAX_SLOTS) ? MAX_SLOTS - 1 : (int) (slots * DEFAULT_LOAD_FACTOR);
+    }
+
+    /**
+     * Doubles the number of slots and inserts all values again.
+     */
+    private void grow() {
+        if (table.length == MAX_SLOTS) { throw new IllegalStateException("Set is full"); }
+
+        int[] oldTable = table;
+        allocate(table.length << 1);
+        modificationCount++;
+
+        for (int value : oldTable) {
+            if (value != EMPTY) { table[findEmptySlot(value)] = value; }
+        }
+    }
+
+    //=============================================================================================
+
+    /**
+     * A spliterator over a range of slots. The position after the last slot of the table stands
+     * for the value {@value #EMPTY}, which isn't stored in the table. It reads the table of the
+     * set when it was created, so a grown set only makes it fail with a
+     * <code>ConcurrentModificationException</code>.
+     */
+    private final class SlotSpliterator implements Spliterator.OfInt {
+
+        /** The values of the set. */
+        private final int[] slots = table;
+
+        /** The next position. */
+        private int index;
+
+        /** The position after the last one. */
+        private final int fence;
+
+        /** The estimated number of values in the range, exact until the range is split. */
+        private int estimate;
+
+        /** Whether the range was split, which makes the estimate inexact. */
+        private boolean isSplit;
+
+        /** The modification count of the set when the spliterator was created. */
+        private final int expectedModificationCount;
+
+        /**
+         * Creates a spliterator.
+         *
+         * @param index The first position
+         * @param fence The position after the last one
+         * @param estimate The estimated number of values in the range
+         * @param expectedModificationCount The modification count of the set
+         */
+        private SlotSpliterator(final int index, final int fence, final int estimate,
+                final int expectedModificationCount) {
+            this.index = index;
+            this.fence = fence;
+            this.estimate = estimate;
+            this.expectedModificationCount = expectedModificationCount;
+        }
+
+        @Override
+        public Spliterator.OfInt trySplit() {
+            int middle = (index + fence) >>> 1;
+            if (middle <= index) { return null; }
+
+            estimate >>>= 1;
+            isSplit = true;
+            SlotSpliterator prefix = new SlotSpliterator(index, middle, estimate,
+                    expectedModificationCount);
+            prefix.isSplit = true;
+            index = middle;
+
+            return prefix;
+        }
+
+        @Override
+        public boolean tryAdvance(final IntConsumer action) {
+            while (index < fence) {
+                int position = index++;
+                if (position == slots.length ? containsEmpty : slots[position] != EMPTY) {
+                    if (estimate > 0) { estimate--; }
+                    action.accept((position == slots.length) ? EMPTY : slots[position]);
+                    checkForModification();
+                    return true;
+                }
+            }
+            checkForModification();
+
+            return false;
+        }
+
+        @Override
+        public void forEachRemaining(final IntConsumer action) {
+            int end = Math.min(fence, slots.length);
+            for (; index < end; index++) {
+                if (slots[index] != EMPTY) { action.accept(slots[index]); }
+            }
+            if (index < fence) {
+                if (containsEmpty) { action.accept(EMPTY); }
+                index = fence;
+            }
+            estimate = 0;
+            checkForModification();
+        }
+
+        @Override
+        public long estimateSize() { return estimate; }
+
+        @Override
+        public int characteristics() { return (isSplit ? 0 : SIZED) | DISTINCT; }
+
+        /**
+         * Checks whether the set was modified since the spliterator was created.
+         */
+        private void checkForModification() {
+            if (modificationCount != expectedModificationCount) {
+                throw new ConcurrentModificationException();
+            }
+        }
+    }
+
+    //---------------------------------------------------------------------------------------------
+}
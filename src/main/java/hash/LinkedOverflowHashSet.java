@@ -5,10 +5,17 @@
 
 package hash;
 
-import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.ConcurrentModificationException;
+import java.util.Iterator;
 import java.util.LinkedList;
 import java.util.List;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.function.Consumer;
+import java.util.function.Predicate;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
 
 /**
  * Realization of my own set-implementation of a <code>HashSet</code>, which resolve collisions
@@ -21,11 +28,14 @@ import java.util.List;
 public final class LinkedOverflowHashSet<E> implements Set<E> {
     //---------------------------------------------------------------------------------------------
     
-    /** Specifies the factor by which the table is enlarged. */
-    private static final int REHASH_MULTIPLIER = 2;
-
     /** The maximum load factor of the hash table. */
     private static final double DEFAULT_LOAD_FACTOR = 0.8;
+
+    /**
+     * The number of old buckets every operation migrates during an incremental rehash. It's
+     * large enough to finish the migration before the grown table exceeds the load factor.
+     */
+    private static final int MIGRATION_STEP = 4;
     
     //---------------------------------------------------------------------------------------------
 
@@ -54,65 +64,6 @@ public final class LinkedOverflowHashSet<E> implements Set<E> {
         }
     }
 
-    //---------------------------------------------------------------------------------------------
-
-    /**
-     * Get a capacity which is a prime and has a certain distance to the nearest power of two. Note
-     * that the real capacity can vary and may be greater or smaller than the given amount.
-     * 
-     * @param initialCapacity The stated capacity
-     * @return A capacity which is a prime that is not near to the surrounding powers of two
-     */
-    private static Integer getCapacity(final Integer initialCapacity) {
-        if (initialCapacity == null || initialCapacity == 0) { return 0; }
-        
-        Integer adaptedInitialCapacity = (int) (initialCapacity * (1.0 / DEFAULT_LOAD_FACTOR));
-                
-        Integer capacity = 0;
-        if (adaptedInitialCapacity < 52) {
-            capacity = 53;
-        } else {
-            Integer lowerPowerOfTwo = Integer.highestOneBit(adaptedInitialCapacity);
-            Integer upperPowerOfTwo = lowerPowerOfTwo << 1;
-                    
-            List<Integer> primes = calcPrimeNumbers(lowerPowerOfTwo, upperPowerOfTwo);        
-            capacity = primes.get(Math.round(primes.size() / 2));
-        }
-                
-        return capacity;
-    }
-
-    //---------------------------------------------------------------------------------------------
-
-    /**
-     * Calculate all prime numbers till the upper bound, removes the ones that are below the lower
-     * bound and returns the result as a list. The method is an implementation of the sieve of
-     * eratosthenes algorithm and it should has a time complexity of O(n^2).
-     * 
-     * @param lowerBound The number to calculate
-     * @param upperBound The number to calculate
-     * @return A list of prime numbers
-     */
-    private static List<Integer> calcPrimeNumbers(final int lowerBound, final int upperBound) {
-        boolean[] isPrimeNumber = new boolean[upperBound + 1];
-        Arrays.fill(isPrimeNumber, true);
-
-        List<Integer> primes = new ArrayList<Integer>();
-        for (int i = 2; i < upperBound; i++) { 
-            if (isPrimeNumber[i]) {
-                primes.add(i);
-                
-                // marks the multiples of i as non-prime number
-                for (int j = i; j * i <= upperBound; j++) {
-                    isPrimeNumber[i * j] = false;
-                }
-            }
-        }
-        primes.removeIf((prime) -> prime < lowerBound);
-        
-        return primes;
-    }
-
     //=============================================================================================
 
     /** The current number of elements in this set. */
@@ -120,26 +71,97 @@ public final class LinkedOverflowHashSet<E> implements Set<E> {
     
     /** The capacity of this set. */
     private int capacity;
+
+    /** Chooses the capacity and maps the hash codes to the buckets. */
+    private final CapacityStrategy capacityStrategy;
     
-    /** The buckets of the set. */
+    /** The buckets of the set, a bucket is created with its first element. */
     private LinkedList<E>[] buckets; 
+
+    /** Whether the elements are moved at once or incrementally after growing. */
+    private final RehashMode rehashMode;
+
+    /** The buckets of the table before it grew, while they are migrated, otherwise null. */
+    private LinkedList<E>[] oldBuckets;
+
+    /** The capacity of the table before it grew. */
+    private int oldCapacity;
+
+    /** The first bucket of the old table which isn't migrated yet. */
+    private int migrationIndex;
+
+    /** The metrics of the set, null while they are disabled. */
+    private HashSetMetrics metrics;
+
+    /** The number of structural modifications, which makes the iterators fail-fast. */
+    private int modificationCount;
     
     //---------------------------------------------------------------------------------------------
 
     /**
-     * Create a new <code>LinkedOverflowHashset</code> with the given initialCapacity. Note that
-     * the real capacity might be slightly differ for performance- or memory optimization reasons.
+     * Create a new <code>LinkedOverflowHashset</code> with the given initialCapacity and a power
+     * of two capacity. Note that the real capacity might be slightly differ for performance- or
+     * memory optimization reasons.
      * 
-     * @param initialCapacity
+     * @param initialCapacity The number of elements the set should hold without rehashing
      */
     public LinkedOverflowHashSet(final int initialCapacity) {
-        capacity = getCapacity(initialCapacity);
+        this(initialCapacity, CapacityStrategy.POWER_OF_TWO);
+    }
 
-        @SuppressWarnings({"unchecked"})
-        LinkedList<E>[] newBuckets = (LinkedList<E>[]) new LinkedList[capacity];
-        Arrays.fill(newBuckets, new LinkedList<E>());
-        
-        buckets = newBuckets;
+    /**
+     * Create a new <code>LinkedOverflowHashset</code> with the given initialCapacity and
+     * capacity strategy, which rehashes all elements at once.
+     * 
+     * @param initialCapacity The number of elements the set should hold without rehashing
+     * @param capacityStrategy Chooses the capacity and maps the hash codes to the buckets
+     */
+    public LinkedOverflowHashSet(final int initialCapacity,
+            final CapacityStrategy capacityStrategy) {
+        this(initialCapacity, capacityStrategy, RehashMode.STOP_THE_WORLD);
+    }
+
+    /**
+     * Create a new <code>LinkedOverflowHashset</code> with the given initialCapacity, capacity
+     * strategy and rehash mode.
+     * 
+     * @param initialCapacity The number of elements the set should hold without rehashing
+     * @param capacityStrategy Chooses the capacity and maps the hash codes to the buckets
+     * @param rehashMode Whether the elements are moved at once or incrementally after growing
+     */
+    public LinkedOverflowHashSet(final int initialCapacity,
+            final CapacityStrategy capacityStrategy, final RehashMode rehashMode) {
+        if (initialCapacity < 0) {
+            throw new IllegalArgumentException("Illegal capacity: " + initialCapacity);
+        }
+
+        this.capacityStrategy = capacityStrategy;
+        this.rehashMode = rehashMode;
+        capacity = capacityStrategy.getCapacity(initialCapacity, DEFAULT_LOAD_FACTOR);
+        buckets = createBuckets(capacity);
+    }
+
+    /**
+     * Create a new <code>LinkedOverflowHashset</code> with the elements of the array and a
+     * power of two capacity, which is sized once for all of them.
+     * 
+     * @param elements The elements to add
+     */
+    public LinkedOverflowHashSet(final E[] elements) {
+        this(elements.length, CapacityStrategy.POWER_OF_TWO);
+        addAll(elements);
+    }
+
+    /**
+     * Create a new <code>LinkedOverflowHashset</code> with the given elements and a power of two
+     * capacity. If the elements are a <code>java.util.Collection</code>, the set is sized once
+     * for all of them.
+     * 
+     * @param elements The elements to add
+     */
+    public LinkedOverflowHashSet(final Iterable<? extends E> elements) {
+        this(0, CapacityStrategy.POWER_OF_TWO);
+        addAll(elements);
     }
     
     //---------------------------------------------------------------------------------------------
@@ -151,16 +173,21 @@ public final class LinkedOverflowHashSet<E> implements Set<E> {
     public boolean add(E data) {        
         if (data == null) { return false; }
 
+        if (isMigrating()) { migrateStep(); }
+
         int key = data.hashCode();
-        List<E> list = buckets[getPosition(key, capacity)];
+        List<E> list = getBucket(key);
+        if (metrics != null) { metrics.recordProbe(getProbeLength(list, data)); }
+        if (list == null) { list = createBucket(key); }
         
         boolean isElementInList = list.contains(data); 
         if (isElementInList) { return false; }
                 
         list.add(data);
         size++;
+        modificationCount++;
 
-        if (isLoadFactorExceeded()) { rehash(); }
+        if (isLoadFactorExceeded()) { rehash(capacityStrategy.getGrownCapacity(capacity)); }
         
         return true;
     }
@@ -172,10 +199,13 @@ public final class LinkedOverflowHashSet<E> implements Set<E> {
     public boolean contains(E data) {
         if (data == null) { return false; }
 
+        if (isMigrating()) { migrateStep(); }
+
         int key = data.hashCode();
-        List<E> list = buckets[getPosition(key, capacity)];
+        List<E> list = getBucket(key);
+        if (metrics != null) { metrics.recordProbe(getProbeLength(list, data)); }
 
-        return list.contains(data);
+        return list != null && list.contains(data);
     }
 
     /**
@@ -185,17 +215,87 @@ public final class LinkedOverflowHashSet<E> implements Set<E> {
     public boolean remove(E data) {
         if (data == null) { return false; }
 
+        if (isMigrating()) { migrateStep(); }
+
         int key = data.hashCode();
-        List<E> list = buckets[getPosition(key, capacity)];
+        List<E> list = getBucket(key);
+        if (metrics != null) { metrics.recordProbe(getProbeLength(list, data)); }
+        if (list == null) { return false; }
                         
         boolean isElementRemoved = list.remove(data);
-        if (isElementRemoved) { size--; }        
+        if (isElementRemoved) {
+            size--;
+            modificationCount++;
+        }
 
         return isElementRemoved;    
     }
 
     //---------------------------------------------------------------------------------------------
 
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void forEach(final Consumer<? super E> action) {
+        finishMigration();
+
+        int expectedModificationCount = modificationCount;
+        for (List<E> bucket : buckets) {
+            if (bucket != null) { bucket.forEach(action); }
+        }
+
+        if (modificationCount != expectedModificationCount) {
+            throw new ConcurrentModificationException();
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public Iterator<E> iterator() { return Spliterators.iterator(spliterator()); }
+
+    /**
+     * {@inheritDoc} It splits the buckets into halves and is only sized before the first split.
+     * A pending incremental rehash is finished first, so the elements don't move while they are
+     * iterated.
+     */
+    @Override
+    public Spliterator<E> spliterator() {
+        finishMigration();
+
+        return new BucketSpliterator(0, capacity, size, modificationCount);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public boolean removeIf(final Predicate<? super E> filter) {
+        finishMigration();
+
+        int oldSize = size;
+        for (List<E> bucket : buckets) {
+            if (bucket != null) { size -= removeIf(bucket, filter); }
+        }
+        if (size == oldSize) { return false; }
+
+        modificationCount++;
+
+        return true;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void ensureCapacity(final int capacity) {
+        rehash(capacityStrategy.getCapacity(capacity, DEFAULT_LOAD_FACTOR));
+    }
+
+    //---------------------------------------------------------------------------------------------
+
     /**
      * {@inheritDoc}
      */
@@ -204,13 +304,143 @@ public final class LinkedOverflowHashSet<E> implements Set<E> {
     
     //---------------------------------------------------------------------------------------------
     
+    /**
+     * Gets the capacity strategy of this set.
+     * 
+     * @return The stated strategy
+     */
+    public CapacityStrategy getCapacityStrategy() { return capacityStrategy; }
+
+    /**
+     * Gets the current number of buckets of this set.
+     * 
+     * @return The stated number
+     */
+    public int getCapacity() { return capacity; }
+
+    /**
+     * Gets the rehash mode of this set.
+     * 
+     * @return The stated mode
+     */
+    public RehashMode getRehashMode() { return rehashMode; }
+
+    //---------------------------------------------------------------------------------------------
+
+    /**
+     * Enables the metrics of this set, which are recorded from now on. If they are already
+     * enabled the recorded ones are returned.
+     * 
+     * @return The metrics of this set
+     */
+    public HashSetMetrics enableMetrics() {
+        if (metrics == null) { metrics = new HashSetMetrics(new MetricsTable()); }
+
+        return metrics;
+    }
+
+    /**
+     * Disables the metrics of this set, nothing is recorded any more. Metrics which are registered
+     * for JMX keep their last values until they are unregistered.
+     */
+    public void disableMetrics() { metrics = null; }
+
+    /**
+     * Gets the metrics of this set.
+     * 
+     * @return The stated metrics or null, if they are disabled
+     */
+    public HashSetMetrics getMetrics() { return metrics; }
+
+    //---------------------------------------------------------------------------------------------
+
     /**
      * Get the position for the given key.
      * 
      * @param key The stated key
+     * @param capacity The number of buckets
      * @return The position
      */
-    private int getPosition(final int key, final int capacity) { return key % capacity; }
+    private int getPosition(final int key, final int capacity) {
+        return capacityStrategy.getPosition(key, capacity);
+    }
+
+    /**
+     * Gets the bucket for the given key, which is in the old table if the key's bucket there
+     * isn't migrated yet.
+     * 
+     * @param key The stated key
+     * @return The bucket or null, if it has no elements yet
+     */
+    private LinkedList<E> getBucket(final int key) {
+        if (isMigrating()) {
+            int oldPosition = getPosition(key, oldCapacity);
+            if (oldPosition >= migrationIndex) { return oldBuckets[oldPosition]; }
+        }
+
+        return buckets[getPosition(key, capacity)];
+    }
+
+    /**
+     * Creates the empty bucket for the given key, in the table where {@link #getBucket(int)}
+     * looks for it.
+     * 
+     * @param key The stated key
+     * @return The created bucket
+     */
+    private LinkedList<E> createBucket(final int key) {
+        LinkedList<E> bucket = new LinkedList<>();
+        if (isMigrating()) {
+            int oldPosition = getPosition(key, oldCapacity);
+            if (oldPosition >= migrationIndex) {
+                oldBuckets[oldPosition] = bucket;
+                return bucket;
+            }
+        }
+        buckets[getPosition(key, capacity)] = bucket;
+
+        return bucket;
+    }
+
+    /**
+     * Gets the number of elements a lookup compares in the given bucket.
+     * 
+     * @param bucket The bucket of the element, may be null
+     * @param data The searched element
+     * @return The position of the element plus one or the length of the bucket, if it isn't in it
+     */
+    private static int getProbeLength(final List<?> bucket, final Object data) {
+        if (bucket == null) { return 0; }
+
+        int index = bucket.indexOf(data);
+
+        return (index < 0) ? bucket.size() : index + 1;
+    }
+
+    /**
+     * Removes the elements of the bucket which match the filter.
+     * 
+     * @param bucket The stated bucket
+     * @param filter The filter of the elements to remove
+     * @return The number of removed elements
+     */
+    private static <E> int removeIf(final List<E> bucket, final Predicate<? super E> filter) {
+        int oldLength = bucket.size();
+        bucket.removeIf(filter);
+
+        return oldLength - bucket.size();
+    }
+
+    /**
+     * Creates a table without buckets.
+     * 
+     * @param capacity The number of buckets
+     * @return The stated table
+     */
+    @SuppressWarnings({"unchecked"})
+    private static <E> LinkedList<E>[] createBuckets(final int capacity) {
+        return (LinkedList<E>[]) new LinkedList[capacity];
+    }
 
     //---------------------------------------------------------------------------------------------
     
@@ -222,55 +452,259 @@ public final class LinkedOverflowHashSet<E> implements Set<E> {
     private boolean isLoadFactorExceeded() {
         double usedSpace = (size / (double) capacity);
 
-        System.out.println("Capacity is: " + capacity);
-        System.out.println("Size is: " + size);
-        System.out.println("Checked used space, it is: " + usedSpace);
-        
-        if (DEFAULT_LOAD_FACTOR <= usedSpace) { 
-            System.out.println("The load factor is exceeded");
-            
-            return true; 
-        }
-        
-        return false;
+        return DEFAULT_LOAD_FACTOR <= usedSpace;
     }
     
     //---------------------------------------------------------------------------------------------
 
     /**
-     * Doubles the capacity of the set.
+     * Grows the capacity of the set and records the time spent, if the metrics are enabled.
+     * 
+     * @param newCapacity The new capacity, chosen by the capacity strategy
      */
-    private void rehash() {  
-        System.out.println("Rehashing started");
-        int newCapacity = REHASH_MULTIPLIER * capacity; 
-        // TODO Check whether this is still a prime?
-        
-        @SuppressWarnings({"unchecked"})
-        LinkedList<E>[] newBuckets = 
-            (LinkedList<E>[]) new LinkedList[newCapacity];
-        Arrays.fill(newBuckets, new LinkedList<E>());
-
-        LinkedList<E>[] oldBuckets = buckets;
-        int key, position; List<E> newBucket;
-        for (List<E> bucket : oldBuckets) {
+    private void rehash(final int newCapacity) {
+        if (metrics == null) {
+            grow(newCapacity);
+            return;
+        }
+
+        long start = System.nanoTime();
+        if (grow(newCapacity)) { metrics.recordResize(System.nanoTime() - start); }
+    }
+
+    /**
+     * Grows the capacity of the set. Depending on the rehash mode the elements are moved now or
+     * by the following operations.
+     * 
+     * @param newCapacity The new capacity, chosen by the capacity strategy
+     * @return Whether the capacity grew
+     */
+    private boolean grow(final int newCapacity) {  
+        if (newCapacity <= capacity) { return false; }
+
+        // a migration which isn't finished yet is finished first
+        finishMigration();
+        modificationCount++;
+
+        LinkedList<E>[] newBuckets = createBuckets(newCapacity);
+        if (rehashMode == RehashMode.INCREMENTAL) {
+            oldBuckets = buckets;
+            oldCapacity = capacity;
+            migrationIndex = 0;
+            capacity = newCapacity;
+            buckets = newBuckets;
+            return true;
+        }
+
+        int key, position; LinkedList<E> newBucket;
+        for (List<E> bucket : buckets) {
+            if (bucket == null) { continue; }
+
             for (E element : bucket) {
                 key = element.hashCode();
                 position = getPosition(key, newCapacity);
-                
-                System.out.println("Element: " + element);
-                System.out.println("Elements key: " + key);
-                System.out.println("Old position: " + getPosition(key, capacity));
-                System.out.println("New position: " + getPosition(key, newCapacity));
-                
+
                 newBucket = newBuckets[position];
+                if (newBucket == null) {
+                    newBucket = new LinkedList<>();
+                    newBuckets[position] = newBucket;
+                }
                 newBucket.add(element);
             }
         }
                 
         capacity = newCapacity;
         buckets = newBuckets;
-        
-        System.out.println("Rehashing done, new capacity is: " + buckets.length);
+
+        return true;
+    }
+
+    /**
+     * Returns whether the buckets of the old table are still migrated.
+     * 
+     * @return Whether the old table isn't empty yet
+     */
+    private boolean isMigrating() { return oldBuckets != null; }
+
+    /**
+     * Migrates all buckets of the old table which aren't migrated yet.
+     */
+    private void finishMigration() {
+        if (isMigrating()) { migrate(oldCapacity); }
+    }
+
+    /**
+     * Migrates the next buckets of the old table and records the time spent, if the metrics are
+     * enabled.
+     */
+    private void migrateStep() {
+        if (metrics == null) {
+            migrate(MIGRATION_STEP);
+            return;
+        }
+
+        long start = System.nanoTime();
+        migrate(MIGRATION_STEP);
+        metrics.recordResizeTime(System.nanoTime() - start);
+    }
+
+    /**
+     * Moves the elements of the next buckets of the old table into the grown table. The old table
+     * is released after its last bucket.
+     * 
+     * @param bucketCount The maximum number of buckets to migrate
+     */
+    private void migrate(final int bucketCount) {
+        int end = Math.min(oldCapacity, migrationIndex + bucketCount);
+        for (; migrationIndex < end; migrationIndex++) {
+            LinkedList<E> bucket = oldBuckets[migrationIndex];
+            if (bucket == null) { continue; }
+
+            for (E element : bucket) {
+                int position = getPosition(element.hashCode(), capacity);
+                LinkedList<E> newBucket = buckets[position];
+                if (newBucket == null) {
+                    newBucket = new LinkedList<>();
+                    buckets[position] = newBucket;
+                }
+                newBucket.add(element);
+            }
+            oldBuckets[migrationIndex] = null;
+        }
+
+        if (migrationIndex == oldCapacity) { oldBuckets = null; }
+    }
+
+    //=============================================================================================
+
+    /**
+     * The view of the table, which the metrics read. During an incremental rehash the buckets of
+     * the old table which aren't migrated yet are part of it.
+     */
+    private final class MetricsTable implements HashSetMetrics.Table {
+
+        @Override
+        public int size() { return size; }
+
+        @Override
+        public int getCapacity() { return capacity; }
+
+        @Override
+        public IntStream getBucketLengths() {
+            Stream<LinkedList<E>> all = Arrays.stream(buckets);
+            if (isMigrating()) {
+                all = Stream.concat(all, Arrays.stream(oldBuckets, migrationIndex, oldCapacity));
+            }
+
+            return all.mapToInt(bucket -> (bucket == null) ? 0 : bucket.size());
+        }
+    }
+
+    //=============================================================================================
+
+    /**
+     * A spliterator over a range of buckets. It keeps the buckets of the set when it was created,
+     * so a grown set only makes it fail with a <code>ConcurrentModificationException</code>.
+     */
+    private final class BucketSpliterator implements Spliterator<E> {
+
+        /** The buckets of the set. */
+        private final LinkedList<E>[] table = buckets;
+
+        /** The next bucket. */
+        private int index;
+
+        /** The bucket after the last one. */
+        private final int fence;
+
+        /** The estimated number of elements in the range, exact until the range is split. */
+        private int estimate;
+
+        /** Whether the range was split, which makes the estimate inexact. */
+        private boolean isSplit;
+
+        /** The modification count of the set when the spliterator was created. */
+        private final int expectedModificationCount;
+
+        /** The iterator over the current bucket, null before the first element. */
+        private Iterator<E> current;
+
+        /**
+         * Creates a spliterator.
+         * 
+         * @param index The first bucket
+         * @param fence The bucket after the last one
+         * @param estimate The estimated number of elements in the range
+         * @param expectedModificationCount The modification count of the set
+         */
+        private BucketSpliterator(final int index, final int fence, final int estimate,
+                final int expectedModificationCount) {
+            this.index = index;
+            this.fence = fence;
+            this.estimate = estimate;
+            this.expectedModificationCount = expectedModificationCount;
+        }
+
+        @Override
+        public Spliterator<E> trySplit() {
+            int middle = (index + fence) >>> 1;
+            if (current != null || middle <= index) { return null; }
+
+            estimate >>>= 1;
+            isSplit = true;
+            BucketSpliterator prefix = new BucketSpliterator(index, middle, estimate,
+                    expectedModificationCount);
+            prefix.isSplit = true;
+            index = middle;
+
+            return prefix;
+        }
+
+        @Override
+        public boolean tryAdvance(final Consumer<? super E> action) {
+            while (current == null || !current.hasNext()) {
+                if (index >= fence) {
+                    checkForModification();
+                    return false;
+                }
+
+                LinkedList<E> bucket = table[index++];
+                current = (bucket == null) ? null : bucket.iterator();
+            }
+            if (estimate > 0) { estimate--; }
+            action.accept(current.next());
+            checkForModification();
+
+            return true;
+        }
+
+        @Override
+        public void forEachRemaining(final Consumer<? super E> action) {
+            if (current != null) {
+                current.forEachRemaining(action);
+                current = null;
+            }
+            for (; index < fence; index++) {
+                if (table[index] != null) { table[index].forEach(action); }
+            }
+            estimate = 0;
+            checkForModification();
+        }
+
+        @Override
+        public long estimateSize() { return estimate; }
+
+        @Override
+        public int characteristics() { return (isSplit ? 0 : SIZED) | DISTINCT | NONNULL; }
+
+        /**
+         * Checks whether the set was modified since the spliterator was created.
+         */
+        private void checkForModification() {
+            if (modificationCount != expectedModificationCount) {
+                throw new ConcurrentModificationException();
+            }
+        }
     }
 
     //---------------------------------------------------------------------------------------------
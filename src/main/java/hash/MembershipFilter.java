@@ -0,0 +1,66 @@
+/*
+ * Copyright 2019 (C) by Julian Horner.
+ * All Rights Reserved.
+ */
+
+package hash;
+
+/**
+ * A probabilistic set, which answers whether an element might have been added. It has no false
+ * negatives: an element which was added and not removed is always reported. An element which was
+ * never added is reported with the false positive rate of the filter, as long as the filter holds
+ * no more elements than its capacity.
+ * <p>
+ * A filter stores a few bits per element instead of the elements, so it answers a lookup of a
+ * missing element without touching the elements and without calling <code>equals</code>.
+ *
+ * @author julian
+ *
+ * @param <E> The type of elements that the filter contains
+ */
+public interface MembershipFilter<E> {
+    //----------------------------------------------------------------------------------------------
+
+    /**
+     * Adds the element to the filter. Adding an element again may take space again.
+     *
+     * @param element The element to add, not null
+     * @return Whether the element was added, false if the filter is full
+     */
+    boolean add(E element);
+
+    /**
+     * Checks whether the element might be in the filter.
+     *
+     * @param element The element to check, not null
+     * @return False if the element is certainly not in the filter
+     */
+    boolean mightContain(E element);
+
+    /**
+     * Removes the element from the filter, which must have been added before. A filter which
+     * can't remove elements returns false and keeps reporting the element.
+     *
+     * @param element The element to remove, not null
+     * @return Whether the element was removed
+     */
+    default boolean remove(final E element) { return false; }
+
+    //----------------------------------------------------------------------------------------------
+
+    /**
+     * Gets the number of elements the filter holds with its false positive rate.
+     *
+     * @return The stated number
+     */
+    int getCapacity();
+
+    /**
+     * Gets the false positive rate the filter was sized for.
+     *
+     * @return The stated rate
+     */
+    double getFalsePositiveRate();
+
+    //----------------------------------------------------------------------------------------------
+}
@@ -0,0 +1,455 @@
+/*
+ * Copyright 2019 (C) by Julian Horner.
+ * All Rights Reserved.
+ */
+
+package hash;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.ConcurrentModificationException;
+import java.util.function.IntConsumer;
+
+/**
+ * A set of primitive <code>int</code> values like the {@link IntHashSet}, whose table lives
+ * outside of the heap in an {@link OffHeapTable}. The heap only holds a few fields, however many
+ * values the set contains, so a set of tens of millions of values neither fills the old
+ * generation nor gives the garbage collector anything to trace or copy.
+ * <p>
+ * The memory is allocated by the constructors and released by {@link #close()}, after which the
+ * set can't be used any more. A set created by {@link #create(Path, int)} lives in a memory
+ * mapped file instead, which {@link #open(Path)} maps again. The number of values is written to
+ * the file by {@link #flush()} and {@link #close()}, the file of a set which wasn't closed can't
+ * be opened reliably.
+ * <p>
+ * The class can only be loaded if the virtual machine was started with
+ * <code>--add-modules jdk.incubator.foreign</code>.
+ *
+ * @author julian
+ */
+public final class OffHeapIntHashSet implements AutoCloseable {
+    //---------------------------------------------------------------------------------------------
+
+    /** The default number of values the set can hold without growing. */
+    private static final int DEFAULT_INITIAL_CAPACITY = 16;
+
+    /** The maximum load factor of the hash table. */
+    private static final double DEFAULT_LOAD_FACTOR = 0.7;
+
+    /** The largest number of slots, a power of two. */
+    private static final int MAX_SLOTS = 1 << 30;
+
+    /** The golden ratio multiplier of the Fibonacci hashing, which spreads the values. */
+    private static final int GOLDEN_RATIO = 0x9E3779B9;
+
+    /** The value of an empty slot. */
+    private static final int EMPTY = 0;
+
+    //=============================================================================================
+
+    /** The current number of values in this set, including {@value #EMPTY}. */
+    private int size;
+
+    /** The values, {@value #EMPTY} marks an empty slot, null after the set was closed. */
+    private OffHeapTable table;
+
+    /** The file of a mapped set, null if the table is allocated. */
+    private final Path file;
+
+    /** Whether the set contains the value {@value #EMPTY}, which isn't stored in the table. */
+    private boolean containsEmpty;
+
+    /** The number of slots minus one, the number of slots is a power of two. */
+    private int mask;
+
+    /** The distance to shift a spread value to the right, to get its home slot. */
+    private int shift;
+
+    /** The number of values in the table at which it grows. */
+    private int threshold;
+
+    /** The number of structural modifications, which makes the iteration fail-fast. */
+    private int modificationCount;
+
+    //---------------------------------------------------------------------------------------------
+
+    /**
+     * Create a new <code>OffHeapIntHashSet</code> with the default capacity.
+     */
+    public OffHeapIntHashSet() {
+        this(DEFAULT_INITIAL_CAPACITY);
+    }
+
+    /**
+     * Create a new <code>OffHeapIntHashSet</code>, which can hold the given number of values
+     * without growing.
+     *
+     * @param initialCapacity The stated number of values
+     */
+    public OffHeapIntHashSet(final int initialCapacity) {
+        file = null;
+        setTable(OffHeapTable.allocate(getSlots(initialCapacity), Integer.BYTES));
+    }
+
+    /**
+     * Creates a set over the given table.
+     *
+     * @param file The file of the table
+     * @param table The mapped table
+     */
+    private OffHeapIntHashSet(final Path file, final OffHeapTable table) {
+        this.file = file;
+        setTable(table);
+        size = table.getSize();
+        containsEmpty = table.getContainsEmpty();
+    }
+
+    /**
+     * Creates an empty set in a memory mapped file, which can hold the given number of values
+     * without growing. The file is replaced if it exists.
+     *
+     * @param file The stated file
+     * @param initialCapacity The stated number of values
+     * @return The stated set
+     * @throws IOException If the file couldn't be created
+     */
+    public static OffHeapIntHashSet create(final Path file, final int initialCapacity)
+            throws IOException {
+        return new OffHeapIntHashSet(file, OffHeapTable.create(file, getSlots(initialCapacity),
+                Integer.BYTES));
+    }
+
+    /**
+     * Maps the set in the given file, which was created by {@link #create(Path, int)} and closed.
+     *
+     * @param file The stated file
+     * @return The stated set
+     * @throws IOException If the file couldn't be read or isn't a valid set
+     */
+    public static OffHeapIntHashSet open(final Path file) throws IOException {
+        return new OffHeapIntHashSet(file, OffHeapTable.open(file, Integer.BYTES));
+    }
+
+    //---------------------------------------------------------------------------------------------
+
+    /**
+     * Adds the value to the set, see {@link Set#add(Object)}.
+     *
+     * @param value The value to add
+     * @return Whether the value wasn't in the set
+     * @throws UncheckedIOException If the table of a mapped set couldn't grow
+     */
+    public boolean add(final int value) {
+        OffHeapTable values = table();
+        if (value == EMPTY) {
+            if (containsEmpty) { return false; }
+
+            containsEmpty = true;
+            size++;
+            modificationCount++;
+            return true;
+        }
+
+        int slot = getHomeSlot(value);
+        int current;
+        while ((current = values.getInt(slot)) != EMPTY) {
+            if (current == value) { return false; }
+
+            slot = (slot + 1) & mask;
+        }
+
+        if (getTableSize() >= threshold) {
+            grow();
+            values = table;
+            slot = findEmptySlot(value);
+        }
+
+        values.setInt(slot, value);
+        size++;
+        modificationCount++;
+
+        return true;
+    }
+
+    /**
+     * Checks whether the value is in the set, see {@link Set#contains(Object)}.
+     *
+     * @param value The value to check
+     * @return Whether the value is in the set
+     */
+    public boolean contains(final int value) {
+        table();
+        if (value == EMPTY) { return containsEmpty; }
+
+        return indexOf(value) >= 0;
+    }
+
+    /**
+     * Removes the value from the set, see {@link Set#remove(Object)}.
+     *
+     * @param value The value to remove
+     * @return Whether the value was in the set
+     */
+    public boolean remove(final int value) {
+        OffHeapTable values = table();
+        if (value == EMPTY) {
+            if (!containsEmpty) { return false; }
+
+            containsEmpty = false;
+            size--;
+            modificationCount++;
+            return true;
+        }
+
+        int gap = indexOf(value);
+        if (gap < 0) { return false; }
+
+        // moves every following value of the cluster, whose home isn't between gap and its slot
+        int slot = gap;
+        while (true) {
+            slot = (slot + 1) & mask;
+            int next = values.getInt(slot);
+            if (next == EMPTY) { break; }
+
+            int home = getHomeSlot(next);
+            boolean homeInGap = (gap <= slot) ? (gap < home && home <= slot)
+                    : (gap < home || home <= slot);
+            if (!homeInGap) {
+                values.setInt(gap, next);
+                gap = slot;
+            }
+        }
+        values.setInt(gap, EMPTY);
+        size--;
+        modificationCount++;
+
+        return true;
+    }
+
+    /**
+     * Performs the action for every value of the set, in no particular order.
+     *
+     * @param action The action to perform
+     * @throws ConcurrentModificationException If the action modified the set
+     */
+    public void forEach(final IntConsumer action) {
+        OffHeapTable values = table();
+        int expectedModificationCount = modificationCount;
+        for (int slot = 0; slot <= mask; slot++) {
+            int value = values.getInt(slot);
+            if (value != EMPTY) { action.accept(value); }
+        }
+        if (containsEmpty) { action.accept(EMPTY); }
+
+        if (modificationCount != expectedModificationCount) {
+            throw new ConcurrentModificationException();
+        }
+    }
+
+    //---------------------------------------------------------------------------------------------
+
+    /**
+     * The current number of values in this set.
+     *
+     * @return The size of the set
+     */
+    public int size() { return size; }
+
+    /**
+     * Returns whether the set is empty.
+     *
+     * @return Whether the set contains no values
+     */
+    public boolean isEmpty() { return size == 0; }
+
+    /**
+     * Gets the number of bytes of the table outside of the heap.
+     *
+     * @return The stated number
+     */
+    public long getOffHeapBytes() { return table().getByteSize(); }
+
+    /**
+     * Gets the file of a mapped set.
+     *
+     * @return The stated file or null, if the table isn't mapped
+     */
+    public Path getFile() { return file; }
+
+    //---------------------------------------------------------------------------------------------
+
+    /**
+     * Writes the number of values and the changed slots of a mapped set to its file.
+     */
+    public void flush() {
+        OffHeapTable values = table();
+        values.writeHeader(size, containsEmpty);
+        values.force();
+    }
+
+    /**
+     * Releases the table, a mapped set is flushed first. Closing a closed set has no effect.
+     */
+    @Override
+    public void close() {
+        if (table == null) { return; }
+
+        if (file != null) { flush(); }
+        table.close();
+        table = null;
+    }
+
+    //---------------------------------------------------------------------------------------------
+
+    /**
+     * Gets the number of slots of the table for the given number of values.
+     *
+     * @param initialCapacity The stated number of values
+     * @return The stated number of slots, a power of two
+     */
+    private static int getSlots(final int initialCapacity) {
+        if (initialCapacity < 0) {
+            throw new IllegalArgumentException("Illegal capacity: " + initialCapacity);
+        }
+
+        long slots = Math.max(2, (long) Math.ceil(initialCapacity / DEFAULT_LOAD_FACTOR));
+
+        return (int) Math.min(MAX_SLOTS, Long.highestOneBit(slots - 1) << 1);
+    }
+
+    /**
+     * Gets the table and checks whether the set is open.
+     *
+     * @return The stated table
+     */
+    private OffHeapTable table() {
+        if (table == null) { throw new IllegalStateException("Set is closed"); }
+
+        return table;
+    }
+
+    /**
+     * Gets the home slot of the given value.
+     *
+     * @param value The stated value
+     * @return The stated slot
+     */
+    private int getHomeSlot(final int value) { return (value * GOLDEN_RATIO) >>> shift; }
+
+    /**
+     * Gets the number of values in the table, without {@value #EMPTY}.
+     *
+     * @return The stated number
+     */
+    private int getTableSize() { return containsEmpty ? size - 1 : size; }
+
+    /**
+     * Finds the slot of the given value.
+     *
+     * @param value The searched value, not {@value #EMPTY}
+     * @return The slot or -1, if the value isn't in the set
+     */
+    private int indexOf(final int value) {
+        int slot = getHomeSlot(value);
+        int current;
+        while ((current = table.getInt(slot)) != EMPTY) {
+            if (current == value) { return slot; }
+
+            slot = (slot + 1) & mask;
+        }
+
+        return -1;
+    }
+
+    /**
+     * Finds the first empty slot from the home slot of the given value.
+     *
+     * @param value The value to insert
+     * @return The stated slot
+     */
+    private int findEmptySlot(final int value) {
+        int slot = getHomeSlot(value);
+        while (table.getInt(slot) != EMPTY) {
+            slot = (slot + 1) & mask;
+        }
+
+        return slot;
+    }
+
+    //---------------------------------------------------------------------------------------------
+
+    /**
+     * Uses the given empty table.
+     *
+     * @param newTable The stated table, its number of slots is a power of two
+     */
+    private void setTable(final OffHeapTable newTable) {
+        int slots = newTable.getSlots();
+        table = newTable;
+        mask = slots - 1;
+        shift = Integer.numberOfLeadingZeros(slots) + 1;
+        threshold = (slots == MAX_SLOTS) ? MAX_SLOTS - 1 : (int) (slots * DEFAULT_LOAD_FACTOR);
+    }
+
+    /**
+     * Doubles the number of slots and inserts all values again. The grown table of a mapped set
+     * is written next to its file and replaces it. The old table is only released after the grown
+     * one replaced it, if that fails the set keeps the old table and the grown file is deleted.
+     */
+    private void grow() {
+        if (mask + 1 == MAX_SLOTS) { throw new IllegalStateException("Set is full"); }
+
+        OffHeapTable oldTable = table;
+        int slots = (mask + 1) << 1;
+        Path grownFile = (file == null) ? null
+                : file.resolveSibling(file.getFileName() + ".grow");
+        try {
+            setTable((grownFile == null) ? OffHeapTable.allocate(slots, Integer.BYTES)
+                    : OffHeapTable.create(grownFile, slots, Integer.BYTES));
+
+            for (int slot = 0; slot < oldTable.getSlots(); slot++) {
+                int value = oldTable.getInt(slot);
+                if (value != EMPTY) { table.setInt(findEmptySlot(value), value); }
+            }
+
+            if (grownFile != null) {
+                Files.move(grownFile, file, StandardCopyOption.REPLACE_EXISTING,
+                        StandardCopyOption.ATOMIC_MOVE);
+            }
+        } catch (IOException e) {
+            abortGrowth(oldTable, grownFile, e);
+            throw new UncheckedIOException("Table of " + file + " couldn't grow", e);
+        }
+        oldTable.close();
+        modificationCount++;
+    }
+
+    /**
+     * Goes back to the old table after the growth failed, releases the grown table and deletes
+     * its file. Errors of the cleanup are added to the cause of the failure.
+     *
+     * @param oldTable The table before the growth
+     * @param grownFile The file of the grown table, null if the set isn't mapped
+     * @param cause The failure of the growth
+     */
+    private void abortGrowth(final OffHeapTable oldTable, final Path grownFile,
+            final IOException cause) {
+        if (table != oldTable) {
+            table.close();
+            setTable(oldTable);
+        }
+
+        if (grownFile != null) {
+            try {
+                Files.deleteIfExists(grownFile);
+            } catch (IOException e) {
+                cause.addSuppressed(e);
+            }
+        }
+    }
+
+    //---------------------------------------------------------------------------------------------
+}
@@ -0,0 +1,288 @@
+/*
+ * Copyright 2019 (C) by Julian Horner.
+ * All Rights Reserved.
+ */
+
+package hash;
+
+import java.io.IOException;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+import jdk.incubator.foreign.MemoryAccess;
+import jdk.incubator.foreign.MemorySegment;
+import jdk.incubator.foreign.ResourceScope;
+
+/**
+ * The table of an off-heap hash set, a <code>MemorySegment</code> of the incubating Foreign
+ * Memory API outside of the heap, which is either allocated or mapped from a file. The memory is
+ * released by {@link #close()}, not by the garbage collector.
+ * <p>
+ * The segment starts with a header of {@value #HEADER_SIZE} bytes: the magic number, the format
+ * version (<code>short</code>), the number of bytes per value (<code>short</code>), the number
+ * of slots, the number of values and whether the set contains its empty value (all
+ * <code>int</code>), followed by the slots, all little endian. The header is only written by
+ * {@link #writeHeader(int, boolean)}.
+ *
+ * @author julian
+ */
+final class OffHeapTable implements AutoCloseable {
+    //---------------------------------------------------------------------------------------------
+
+    /** The number of the header which identifies the file format, "OHST" in ASCII. */
+    static final int MAGIC = 0x4F485354;
+
+    /** The version of the file format. */
+    static final short VERSION = 1;
+
+    /** The size of the header in bytes, the slots are aligned to it. */
+    static final int HEADER_SIZE = 32;
+
+    /** The byte order of the segment. */
+    private static final ByteOrder BYTE_ORDER = ByteOrder.LITTLE_ENDIAN;
+
+    //=============================================================================================
+
+    /** The scope which owns the memory. */
+    private final ResourceScope scope;
+
+    /** The header and the slots. */
+    private final MemorySegment segment;
+
+    /** The number of bytes per value. */
+    private final int valueSize;
+
+    /** The number of slots. */
+    private final int slots;
+
+    //---------------------------------------------------------------------------------------------
+
+    /**
+     * Creates a table over the given segment.
+     *
+     * @param scope The scope which owns the memory
+     * @param segment The header and the slots
+     * @param valueSize The number of bytes per value
+     * @param slots The number of slots
+     */
+    private OffHeapTable(final ResourceScope scope, final MemorySegment segment,
+            final int valueSize, final int slots) {
+        this.scope = scope;
+        this.segment = segment;
+        this.valueSize = valueSize;
+        this.slots = slots;
+    }
+
+    /**
+     * Allocates an empty table outside of the heap.
+     *
+     * @param slots The number of slots
+     * @param valueSize The number of bytes per value
+     * @return The stated table
+     */
+    static OffHeapTable allocate(final int slots, final int valueSize) {
+        // the scope is shared, so the set may be handed over to another thread
+        ResourceScope scope = ResourceScope.newSharedScope();
+        MemorySegment segment = MemorySegment.allocateNative(
+                HEADER_SIZE + (long) slots * valueSize, HEADER_SIZE, scope);
+        segment.fill((byte) 0);
+
+        return new OffHeapTable(scope, segment, valueSize, slots);
+    }
+
+    /**
+     * Creates an empty table in the given file, which is replaced if it exists.
+     *
+     * @param file The stated file
+     * @param slots The number of slots
+     * @param valueSize The number of bytes per value
+     * @return The stated table
+     * @throws IOException If the file couldn't be created
+     */
+    static OffHeapTable create(final Path file, final int slots, final int valueSize)
+            throws IOException {
+        Files.newByteChannel(file, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                StandardOpenOption.TRUNCATE_EXISTING).close();
+
+        // the mapping extends the empty file with zeros
+        OffHeapTable table = map(file, HEADER_SIZE + (long) slots * valueSize, valueSize, slots);
+        table.writeHeader(0, false);
+
+        return table;
+    }
+
+    /**
+     * Maps the table in the given file, which was written by an off-heap set.
+     *
+     * @param file The stated file
+     * @param valueSize The number of bytes per value of the set
+     * @return The stated table
+     * @throws IOException If the file couldn't be read or isn't a valid table
+     */
+    static OffHeapTable open(final Path file, final int valueSize) throws IOException {
+        long fileSize = Files.size(file);
+        if (fileSize < HEADER_SIZE) { throw new IOException("Not a hash set file: " + file); }
+
+        OffHeapTable header = map(file, HEADER_SIZE, valueSize, 0);
+        int slots;
+        try {
+            MemorySegment segment = header.segment;
+            if (MemoryAccess.getIntAtOffset(segment, 0, BYTE_ORDER) != MAGIC) {
+                throw new IOException("Not a hash set file: " + file);
+            }
+            short version = MemoryAccess.getShortAtOffset(segment, 4, BYTE_ORDER);
+            if (version != VERSION) { throw new IOException("Unknown version: " + version); }
+            short fileValueSize = MemoryAccess.getShortAtOffset(segment, 6, BYTE_ORDER);
+            if (fileValueSize != valueSize) {
+                throw new IOException("Illegal value size: " + fileValueSize);
+            }
+            slots = MemoryAccess.getIntAtOffset(segment, 8, BYTE_ORDER);
+            if (slots <= 0 || Integer.bitCount(slots) != 1) {
+                throw new IOException("Slots " + slots + " aren't a power of two");
+            }
+            if (HEADER_SIZE + (long) slots * valueSize != fileSize) {
+                throw new IOException("Slots " + slots + " don't match the file size " + fileSize);
+            }
+
+            // a probe only ends at an empty slot, so at least one slot has to be empty
+            int containsEmpty = MemoryAccess.getIntAtOffset(segment, 16, BYTE_ORDER);
+            if (containsEmpty != 0 && containsEmpty != 1) {
+                throw new IOException("Illegal empty value flag: " + containsEmpty);
+            }
+            int size = MemoryAccess.getIntAtOffset(segment, 12, BYTE_ORDER);
+            if (size < containsEmpty || size - containsEmpty >= slots) {
+                throw new IOException("Size " + size + " doesn't match the slots " + slots);
+            }
+        } finally {
+            header.close();
+        }
+
+        return map(file, fileSize, valueSize, slots);
+    }
+
+    /**
+     * Maps the given number of bytes of the file.
+     *
+     * @param file The stated file
+     * @param size The number of bytes
+     * @param valueSize The number of bytes per value
+     * @param slots The number of slots
+     * @return The stated table
+     * @throws IOException If the file couldn't be mapped
+     */
+    private static OffHeapTable map(final Path file, final long size, final int valueSize,
+            final int slots) throws IOException {
+        ResourceScope scope = ResourceScope.newSharedScope();
+        MemorySegment segment = MemorySegment.mapFile(file, 0, size,
+                FileChannel.MapMode.READ_WRITE, scope);
+
+        return new OffHeapTable(scope, segment, valueSize, slots);
+    }
+
+    //---------------------------------------------------------------------------------------------
+
+    /**
+     * Gets the <code>int</code> value of the slot.
+     *
+     * @param slot The stated slot
+     * @return The stated value
+     */
+    int getInt(final int slot) {
+        return MemoryAccess.getIntAtOffset(segment, HEADER_SIZE + ((long) slot << 2), BYTE_ORDER);
+    }
+
+    /**
+     * Sets the <code>int</code> value of the slot.
+     *
+     * @param slot The stated slot
+     * @param value The stated value
+     */
+    void setInt(final int slot, final int value) {
+        MemoryAccess.setIntAtOffset(segment, HEADER_SIZE + ((long) slot << 2), BYTE_ORDER, value);
+    }
+
+    /**
+     * Gets the <code>long</code> value of the slot.
+     *
+     * @param slot The stated slot
+     * @return The stated value
+     */
+    long getLong(final int slot) {
+        return MemoryAccess.getLongAtOffset(segment, HEADER_SIZE + ((long) slot << 3), BYTE_ORDER);
+    }
+
+    /**
+     * Sets the <code>long</code> value of the slot.
+     *
+     * @param slot The stated slot
+     * @param value The stated value
+     */
+    void setLong(final int slot, final long value) {
+        MemoryAccess.setLongAtOffset(segment, HEADER_SIZE + ((long) slot << 3), BYTE_ORDER, value);
+    }
+
+    //---------------------------------------------------------------------------------------------
+
+    /**
+     * Gets the number of slots.
+     *
+     * @return The stated number
+     */
+    int getSlots() { return slots; }
+
+    /**
+     * Gets the number of values in the header.
+     *
+     * @return The stated number
+     */
+    int getSize() { return MemoryAccess.getIntAtOffset(segment, 12, BYTE_ORDER); }
+
+    /**
+     * Gets whether the set contains its empty value, according to the header.
+     *
+     * @return The stated flag
+     */
+    boolean getContainsEmpty() { return MemoryAccess.getIntAtOffset(segment, 16, BYTE_ORDER) != 0; }
+
+    /**
+     * Gets the number of bytes outside of the heap.
+     *
+     * @return The stated number
+     */
+    long getByteSize() { return segment.byteSize(); }
+
+    /**
+     * Writes the header.
+     *
+     * @param size The number of values
+     * @param containsEmpty Whether the set contains its empty value
+     */
+    void writeHeader(final int size, final boolean containsEmpty) {
+        MemoryAccess.setIntAtOffset(segment, 0, BYTE_ORDER, MAGIC);
+        MemoryAccess.setShortAtOffset(segment, 4, BYTE_ORDER, VERSION);
+        MemoryAccess.setShortAtOffset(segment, 6, BYTE_ORDER, (short) valueSize);
+        MemoryAccess.setIntAtOffset(segment, 8, BYTE_ORDER, slots);
+        MemoryAccess.setIntAtOffset(segment, 12, BYTE_ORDER, size);
+        MemoryAccess.setIntAtOffset(segment, 16, BYTE_ORDER, containsEmpty ? 1 : 0);
+    }
+
+    /**
+     * Writes the changes of a mapped table to the file.
+     */
+    void force() {
+        if (segment.isMapped()) { segment.force(); }
+    }
+
+    /**
+     * Releases the memory, a mapped table is unmapped. The table can't be used any more.
+     */
+    @Override
+    public void close() {
+        scope.close();
+    }
+
+    //---------------------------------------------------------------------------------------------
+}
@@ -0,0 +1,30 @@
+/*
+ * Copyright 2019 (C) by Julian Horner.
+ * All Rights Reserved.
+ */
+
+package hash;
+
+/**
+ * Enum that represents how a hash table with buckets moves its elements into a grown table.
+ *
+ * @author julian
+ */
+public enum RehashMode {
+    //---------------------------------------------------------------------------------------------
+
+    /**
+     * All elements are moved at once by the operation that exceeds the load factor, so this
+     * operation takes time proportional to the size of the table.
+     */
+    STOP_THE_WORLD,
+
+    /**
+     * The old and the grown table are kept side by side and every following operation moves a
+     * bounded number of buckets, until the old table is empty. So no single operation takes time
+     * proportional to the size of the table, but the operations during the migration are slower.
+     */
+    INCREMENTAL;
+
+    //---------------------------------------------------------------------------------------------
+}
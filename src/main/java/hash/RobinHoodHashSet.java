@@ -0,0 +1,597 @@
+/*
+ * Copyright 2019 (C) by Julian Horner.
+ * All Rights Reserved.
+ */
+
+package hash;
+
+import java.util.Arrays;
+import java.util.ConcurrentModificationException;
+import java.util.Iterator;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.function.Consumer;
+import java.util.function.Predicate;
+import java.util.stream.IntStream;
+
+/**
+ * Realization of a <code>HashSet</code> with open addressing, which resolves collisions by linear
+ * probing with Robin Hood displacement.
+ * <p>
+ * The elements and their hash codes are stored in two flat arrays, so there is no node per
+ * element and a lookup reads consecutive slots instead of following pointers. Every element is
+ * stored at or after its home slot, the distance between both is its probe distance. An added
+ * element takes the slot of an element that is nearer to its home than the added one is (the
+ * rich give to the poor), so the probe distances stay short and even. A lookup can stop as soon
+ * as it passes an element which is nearer to its home than the searched one would be.
+ * <p>
+ * A removed element leaves no tombstone, the following elements of the cluster are shifted back
+ * by one slot instead, until an empty slot or an element at its home slot is reached. So the
+ * lookups never get slower by removals.
+ *
+ * @author julian
+ *
+ * @param <E> The type of the data
+ */
+public final class RobinHoodHashSet<E> implements Set<E> {
+    //---------------------------------------------------------------------------------------------
+
+    /** The default number of elements the set can hold without growing. */
+    private static final int DEFAULT_INITIAL_CAPACITY = 16;
+
+    /** The maximum load factor of the hash table. */
+    private static final double DEFAULT_LOAD_FACTOR = 0.8;
+
+    /** The largest number of slots, a power of two. */
+    private static final int MAX_SLOTS = 1 << 30;
+
+    /** The golden ratio multiplier of the Fibonacci hashing, which spreads the hash codes. */
+    private static final int GOLDEN_RATIO = 0x9E3779B9;
+
+    /** The hash code of an empty slot, no spread hash code is 0. */
+    private static final int EMPTY = 0;
+
+    //=============================================================================================
+
+    /** The current number of elements in this set. */
+    private int size;
+
+    /** The elements. */
+    private Object[] elements;
+
+    /**
+     * The spread hash code of the element in every slot, {@value #EMPTY} marks an empty slot. A
+     * probe only reads this array, the element is only read if the hash codes are equal.
+     */
+    private int[] hashes;
+
+    /** The number of slots minus one, the number of slots is a power of two. */
+    private int mask;
+
+    /** The distance to shift a spread hash code to the right, to get its home slot. */
+    private int shift;
+
+    /** The number of elements above which the table grows. */
+    private int threshold;
+
+    /** The metrics of the set, null while they are disabled. */
+    private HashSetMetrics metrics;
+
+    /** The number of structural modifications, which makes the iterators fail-fast. */
+    private int modificationCount;
+
+    //---------------------------------------------------------------------------------------------
+
+    /**
+     * Create a new <code>RobinHoodHashSet</code> with the default capacity.
+     */
+    public RobinHoodHashSet() {
+        this(DEFAULT_INITIAL_CAPACITY);
+    }
+
+    /**
+     * Create a new <code>RobinHoodHashSet</code>, which can hold the given number of elements
+     * without growing.
+     *
+     * @param initialCapacity The stated number of elements
+     */
+    public RobinHoodHashSet(final int initialCapacity) {
+        if (initialCapacity < 0) {
+            throw new IllegalArgumentException("Illegal capacity: " + initialCapacity);
+        }
+
+        allocate(getSlots(initialCapacity));
+    }
+
+    /**
+     * Create a new <code>RobinHoodHashSet</code> with the elements of the array, sized once for
+     * all of them.
+     *
+     * @param elements The elements to add
+     */
+    public RobinHoodHashSet(final E[] elements) {
+        this(elements.length);
+        addAll(elements);
+    }
+
+    /**
+     * Create a new <code>RobinHoodHashSet</code> with the given elements. If they are a
+     * <code>java.util.Collection</code>, the set is sized once for all of them.
+     *
+     * @param elements The elements to add
+     */
+    public RobinHoodHashSet(final Iterable<? extends E> elements) {
+        this(DEFAULT_INITIAL_CAPACITY);
+        addAll(elements);
+    }
+
+    //---------------------------------------------------------------------------------------------
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public boolean add(final E data) {
+        if (data == null) { return false; }
+
+        int hash = spread(data.hashCode());
+        if (indexOf(data, hash) >= 0) { return false; }
+
+        if (size >= threshold) { grow(); }
+        insert(data, hash);
+        size++;
+        modificationCount++;
+
+        return true;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public boolean contains(final E data) {
+        if (data == null) { return false; }
+
+        return indexOf(data, spread(data.hashCode())) >= 0;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public boolean remove(final E data) {
+        if (data == null) { return false; }
+
+        int slot = indexOf(data, spread(data.hashCode()));
+        if (slot < 0) { return false; }
+
+        removeAt(slot);
+
+        return true;
+    }
+
+    //---------------------------------------------------------------------------------------------
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void forEach(final Consumer<? super E> action) {
+        int expectedModificationCount = modificationCount;
+        for (int slot = 0; slot < elements.length; slot++) {
+            if (hashes[slot] != EMPTY) { action.accept(elementAt(slot)); }
+        }
+
+        if (modificationCount != expectedModificationCount) {
+            throw new ConcurrentModificationException();
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public Iterator<E> iterator() { return Spliterators.iterator(spliterator()); }
+
+    /**
+     * {@inheritDoc} It splits the slots into halves and is only sized before the first split.
+     */
+    @Override
+    public Spliterator<E> spliterator() {
+        return new SlotSpliterator(0, elements.length, size, modificationCount);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public boolean removeIf(final Predicate<? super E> filter) {
+        int oldSize = size;
+        for (int slot = 0; slot < elements.length; slot++) {
+            // a removal shifts the next element of the cluster into the slot, which is checked too
+            while (hashes[slot] != EMPTY && filter.test(elementAt(slot))) {
+                removeAt(slot);
+            }
+        }
+
+        return size != oldSize;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void ensureCapacity(final int capacity) {
+        int slots = getSlots(capacity);
+        if (slots > elements.length) { resize(slots); }
+    }
+
+    //---------------------------------------------------------------------------------------------
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public int size() { return size; }
+
+    //---------------------------------------------------------------------------------------------
+
+    /**
+     * Enables the metrics of this set, which are recorded from now on. If they are already
+     * enabled the recorded ones are returned. The probe length of a lookup is the number of
+     * slots it reads, the probe distance of the found element plus one for a hit. A bucket is a
+     * home slot, its length is the number of elements with this home slot.
+     *
+     * @return The metrics of this set
+     */
+    public HashSetMetrics enableMetrics() {
+        if (metrics == null) { metrics = new HashSetMetrics(new MetricsTable()); }
+
+        return metrics;
+    }
+
+    /**
+     * Disables the metrics of this set, nothing is recorded any more. Metrics which are registered
+     * for JMX keep their last values until they are unregistered.
+     */
+    public void disableMetrics() { metrics = null; }
+
+    /**
+     * Gets the metrics of this set.
+     *
+     * @return The stated metrics or null, if they are disabled
+     */
+    public HashSetMetrics getMetrics() { return metrics; }
+
+    //---------------------------------------------------------------------------------------------
+
+    /**
+     * Gets the number of slots for a table, which holds the given number of elements without
+     * exceeding the load factor.
+     *
+     * @param capacity The number of elements
+     * @return The stated number of slots, a power of two
+     */
+    private static int getSlots(final int capacity) {
+        long slots = Math.max(2, (long) Math.ceil(capacity / DEFAULT_LOAD_FACTOR));
+
+        return (int) Math.min(MAX_SLOTS, Long.highestOneBit(slots - 1) << 1);
+    }
+
+    /**
+     * Spreads the hash code of an element over all bits, so the home slot can be taken from the
+     * upper bits. The spread hash code 0 is replaced by 1, which has the same home slot.
+     *
+     * @param hashCode The hash code of the element
+     * @return The spread hash code
+     */
+    private static int spread(final int hashCode) {
+        int hash = hashCode * GOLDEN_RATIO;
+
+        return (hash == EMPTY) ? 1 : hash;
+    }
+
+    /**
+     * Gets the home slot of the given spread hash code.
+     *
+     * @param hash The spread hash code
+     * @return The stated slot
+     */
+    private int getHomeSlot(final int hash) { return hash >>> shift; }
+
+    /**
+     * Gets the distance between the slot of the stored element and its home slot.
+     *
+     * @param slot The slot of the element
+     * @return The stated distance
+     */
+    private int getProbeDistance(final int slot) {
+        return (slot - getHomeSlot(hashes[slot])) & mask;
+    }
+
+    //---------------------------------------------------------------------------------------------
+
+    /**
+     * Finds the slot of the given element.
+     *
+     * @param data The searched element
+     * @param hash The spread hash code of the element
+     * @return The slot or -1, if the element isn't in the set
+     */
+    private int indexOf(final Object data, final int hash) {
+        int slot = getHomeSlot(hash);
+        int distance = 0;
+        for (; hashes[slot] != EMPTY; distance++) {
+            // the element would have displaced an element which is nearer to its home
+            if (getProbeDistance(slot) < distance) { break; }
+            if (hashes[slot] == hash && data.equals(elements[slot])) {
+                if (metrics != null) { metrics.recordProbe(distance + 1); }
+                return slot;
+            }
+
+            slot = (slot + 1) & mask;
+        }
+        if (metrics != null) { metrics.recordProbe(distance); }
+
+        return -1;
+    }
+
+    /**
+     * Inserts an element which isn't in the set yet. The element takes the first slot which is
+     * empty or holds an element that is nearer to its home, which is inserted further on.
+     *
+     * @param data The element to insert
+     * @param hash The spread hash code of the element
+     */
+    private void insert(final Object data, final int hash) {
+        Object element = data;
+        int elementHash = hash;
+        int slot = getHomeSlot(hash);
+        int distance = 0;
+        while (hashes[slot] != EMPTY) {
+            int slotDistance = getProbeDistance(slot);
+            if (slotDistance < distance) {
+                Object displaced = elements[slot];
+                int displacedHash = hashes[slot];
+                elements[slot] = element;
+                hashes[slot] = elementHash;
+                element = displaced;
+                elementHash = displacedHash;
+                distance = slotDistance;
+            }
+
+            slot = (slot + 1) & mask;
+            distance++;
+        }
+
+        elements[slot] = element;
+        hashes[slot] = elementHash;
+    }
+
+    /**
+     * Gets the element in the given slot.
+     *
+     * @param slot The stated slot
+     * @return The stated element
+     */
+    @SuppressWarnings("unchecked")
+    private E elementAt(final int slot) { return (E) elements[slot]; }
+
+    /**
+     * Removes the element in the given slot. The following elements of the cluster are shifted
+     * back, until one is at its home slot.
+     *
+     * @param slot The slot of the element
+     */
+    private void removeAt(final int slot) {
+        int gap = slot;
+        int next = (gap + 1) & mask;
+        while (hashes[next] != EMPTY && getProbeDistance(next) > 0) {
+            elements[gap] = elements[next];
+            hashes[gap] = hashes[next];
+            gap = next;
+            next = (next + 1) & mask;
+        }
+        elements[gap] = null;
+        hashes[gap] = EMPTY;
+        size--;
+        modificationCount++;
+    }
+
+    //---------------------------------------------------------------------------------------------
+
+    /**
+     * Allocates empty arrays with the given number of slots.
+     *
+     * @param slots The number of slots, a power of two
+     */
+    private void allocate(final int slots) {
+        elements = new Object[slots];
+        hashes = new int[slots];
+        mask = slots - 1;
+        shift = Integer.numberOfLeadingZeros(slots) + 1;
+        threshold = (slots == MAX_SLOTS) ? MAX_SLOTS - 1 : (int) (slots * DEFAULT_LOAD_FACTOR);
+    }
+
+    /**
+     * Doubles the number of slots and inserts all elements again.
+     */
+    private void grow() {
+        if (elements.length == MAX_SLOTS) { throw new IllegalStateException("Set is full"); }
+
+        resize(elements.length << 1);
+    }
+
+    /**
+     * Allocates the given number of slots and inserts all elements again, and records the time
+     * spent, if the metrics are enabled.
+     *
+     * @param slots The number of slots, a power of two
+     */
+    private void resize(final int slots) {
+        if (metrics == null) {
+            rehash(slots);
+            return;
+        }
+
+        long start = System.nanoTime();
+        rehash(slots);
+        metrics.recordResize(System.nanoTime() - start);
+    }
+
+    /**
+     * Allocates the given number of slots and inserts all elements again.
+     *
+     * @param slots The number of slots, a power of two
+     */
+    private void rehash(final int slots) {
+        Object[] oldElements = elements;
+        int[] oldHashes = hashes;
+        allocate(slots);
+        modificationCount++;
+
+        for (int i = 0; i < oldElements.length; i++) {
+            if (oldHashes[i] != EMPTY) { insert(oldElements[i], oldHashes[i]); }
+        }
+    }
+
+    //---------------------------------------------------------------------------------------------
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public String toString() {
+        return Arrays.toString(Arrays.stream(elements).filter(e -> e != null).toArray());
+    }
+
+    //=============================================================================================
+
+    /**
+     * The view of the table, which the metrics read. The buckets are the home slots.
+     */
+    private final class MetricsTable implements HashSetMetrics.Table {
+
+        @Override
+        public int size() { return size; }
+
+        @Override
+        public int getCapacity() { return elements.length; }
+
+        @Override
+        public IntStream getBucketLengths() {
+            int[] lengths = new int[hashes.length];
+            for (int slot = 0; slot < hashes.length; slot++) {
+                if (hashes[slot] != EMPTY) { lengths[getHomeSlot(hashes[slot])]++; }
+            }
+
+            return Arrays.stream(lengths);
+        }
+    }
+
+    //=============================================================================================
+
+    /**
+     * A spliterator over a range of slots. It reads the arrays of the set when it was created, so
+     * a grown set can't make it fail other than with a
+     * <code>ConcurrentModificationException</code>.
+     */
+    private final class SlotSpliterator implements Spliterator<E> {
+
+        /** The elements of the set. */
+        private final Object[] slotElements = elements;
+
+        /** The spread hash codes of the set. */
+        private final int[] slotHashes = hashes;
+
+        /** The next slot. */
+        private int index;
+
+        /** The slot after the last one. */
+        private final int fence;
+
+        /** The estimated number of elements in the range, exact until the range is split. */
+        private int estimate;
+
+        /** Whether the range was split, which makes the estimate inexact. */
+        private boolean isSplit;
+
+        /** The modification count of the set when the spliterator was created. */
+        private final int expectedModificationCount;
+
+        /**
+         * Creates a spliterator.
+         *
+         * @param index The first slot
+         * @param fence The slot after the last one
+         * @param estimate The estimated number of elements in the range
+         * @param expectedModificationCount The modification count of the set
+         */
+        private SlotSpliterator(final int index, final int fence, final int estimate,
+                final int expectedModificationCount) {
+            this.index = index;
+            this.fence = fence;
+            this.estimate = estimate;
+            this.expectedModificationCount = expectedModificationCount;
+        }
+
+        @Override
+        public Spliterator<E> trySplit() {
+            int middle = (index + fence) >>> 1;
+            if (middle <= index) { return null; }
+
+            estimate >>>= 1;
+            isSplit = true;
+            SlotSpliterator prefix = new SlotSpliterator(index, middle, estimate,
+                    expectedModificationCount);
+            prefix.isSplit = true;
+            index = middle;
+
+            return prefix;
+        }
+
+        @SuppressWarnings("unchecked")
+        @Override
+        public boolean tryAdvance(final Consumer<? super E> action) {
+            while (index < fence) {
+                int slot = index++;
+                if (slotHashes[slot] != EMPTY) {
+                    if (estimate > 0) { estimate--; }
+                    action.accept((E) slotElements[slot]);
+                    checkForModification();
+                    return true;
+                }
+            }
+            checkForModification();
+
+            return false;
+        }
+
+        @SuppressWarnings("unchecked")
+        @Override
+        public void forEachRemaining(final Consumer<? super E> action) {
+            for (; index < fence; index++) {
+                if (slotHashes[index] != EMPTY) { action.accept((E) slotElements[index]); }
+            }
+            estimate = 0;
+            checkForModification();
+        }
+
+        @Override
+        public long estimateSize() { return estimate; }
+
+        @Override
+        public int characteristics() { return (isSplit ? 0 : SIZED) | DISTINCT | NONNULL; }
+
+        /**
+         * Checks whether the set was modified since the spliterator was created.
+         */
+        private void checkForModification() {
+            if (modificationCount != expectedModificationCount) {
+                throw new ConcurrentModificationException();
+            }
+        }
+    }
+
+    //---------------------------------------------------------------------------------------------
+}
@@ -5,14 +5,27 @@
 
 package hash;
 
+import java.util.Collection;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.function.Predicate;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
 /**
  * A collection that contains no duplicate elements.
+ * <p>
+ * The elements are iterated in no particular order. Unless an implementation states otherwise,
+ * its iterators and spliterators are fail-fast: they throw a
+ * <code>ConcurrentModificationException</code> if the set is modified after their creation by
+ * anything else than themselves. Their iterators don't support <code>remove</code>, the
+ * {@link #removeIf(Predicate)} removes elements while iterating.
  * 
  * @author julian
  *
  * @param <E> The type of elements that the set contains
  */
-public interface Set<E> {
+public interface Set<E> extends Iterable<E> {
     //----------------------------------------------------------------------------------------------
 
     /**
@@ -55,6 +68,189 @@ public interface Set<E> {
      * @return The size of the set
      */
     int size();
-    
+
+    //----------------------------------------------------------------------------------------------
+
+    /**
+     * Removes all elements of the set which match the filter.
+     * 
+     * @param filter The filter of the elements to remove
+     * @return Whether an element was removed
+     */
+    boolean removeIf(Predicate<? super E> filter);
+
+    /**
+     * Grows the set, if necessary, so it can hold the given number of elements without growing
+     * again. The default does nothing.
+     * 
+     * @param capacity The stated number of elements
+     */
+    default void ensureCapacity(final int capacity) {
+        // the set grows on demand
+    }
+
+    //----------------------------------------------------------------------------------------------
+
+    /**
+     * Creates a spliterator over the elements of the set, which is {@link Spliterator#SIZED} and
+     * {@link Spliterator#DISTINCT}. The default splits the iterator into batches, an
+     * implementation should split its table instead.
+     * 
+     * @return The stated spliterator
+     */
+    @Override
+    default Spliterator<E> spliterator() {
+        return Spliterators.spliterator(iterator(), size(), Spliterator.DISTINCT);
+    }
+
+    /**
+     * Creates a sequential stream of the elements of the set.
+     * 
+     * @return The stated stream
+     */
+    default Stream<E> stream() { return StreamSupport.stream(spliterator(), false); }
+
+    /**
+     * Creates a parallel stream of the elements of the set, which is split by the spliterator.
+     * 
+     * @return The stated stream
+     */
+    default Stream<E> parallelStream() { return StreamSupport.stream(spliterator(), true); }
+
+    //----------------------------------------------------------------------------------------------
+
+    /**
+     * Adds all elements of the array to the set. The set grows at most once, to hold all of them.
+     * 
+     * @param elements The elements to add
+     * @return Whether an element was added
+     */
+    default boolean addAll(final E[] elements) {
+        ensureCapacity(size() + elements.length);
+
+        boolean isChanged = false;
+        for (E element : elements) {
+            isChanged |= add(element);
+        }
+
+        return isChanged;
+    }
+
+    /**
+     * Adds all elements to the set. If the number of elements is known, because they are a
+     * <code>java.util.Collection</code>, the set grows at most once, to hold all of them.
+     * 
+     * @param elements The elements to add
+     * @return Whether an element was added
+     */
+    default boolean addAll(final Iterable<? extends E> elements) {
+        if (elements instanceof Collection) {
+            ensureCapacity(size() + ((Collection<? extends E>) elements).size());
+        }
+
+        boolean isChanged = false;
+        for (E element : elements) {
+            isChanged |= add(element);
+        }
+
+        return isChanged;
+    }
+
+    /**
+     * Adds all elements of the other set to this set, the union of both. This set grows at most
+     * once, to hold all of them.
+     * 
+     * @param other The other set
+     * @return Whether an element was added
+     */
+    default boolean addAll(final Set<? extends E> other) {
+        ensureCapacity(size() + other.size());
+
+        boolean[] isChanged = new boolean[1];
+        other.forEach(element -> isChanged[0] |= add(element));
+
+        return isChanged[0];
+    }
+
+    //----------------------------------------------------------------------------------------------
+
+    /**
+     * Checks whether all elements are in the set.
+     * 
+     * @param elements The elements to check
+     * @return Whether all elements are in the set
+     */
+    default boolean containsAll(final Iterable<? extends E> elements) {
+        for (E element : elements) {
+            if (!contains(element)) { return false; }
+        }
+
+        return true;
+    }
+
+    /**
+     * Checks whether all elements of the other set are in this set. A larger set can't be a
+     * subset, so it's answered without a lookup.
+     * 
+     * @param other The other set
+     * @return Whether the other set is a subset of this set
+     */
+    default boolean containsAll(final Set<? extends E> other) {
+        if (other.size() > size()) { return false; }
+
+        boolean[] isContained = {true};
+        other.forEach(element -> {
+            if (isContained[0] && !contains(element)) { isContained[0] = false; }
+        });
+
+        return isContained[0];
+    }
+
+    //----------------------------------------------------------------------------------------------
+
+    /**
+     * Removes the given elements from the set.
+     * 
+     * @param elements The elements to remove
+     * @return Whether an element was removed
+     */
+    default boolean removeAll(final Iterable<? extends E> elements) {
+        boolean isChanged = false;
+        for (E element : elements) {
+            isChanged |= remove(element);
+        }
+
+        return isChanged;
+    }
+
+    /**
+     * Removes all elements of the other set from this set, the difference of both. The smaller
+     * set is iterated: the elements of the other set are removed or the elements of this set are
+     * looked up in the other one.
+     * 
+     * @param other The other set
+     * @return Whether an element was removed
+     */
+    default boolean removeAll(final Set<E> other) {
+        if (other.size() < size()) {
+            boolean[] isChanged = new boolean[1];
+            other.forEach(element -> isChanged[0] |= remove(element));
+
+            return isChanged[0];
+        }
+
+        return removeIf(other::contains);
+    }
+
+    /**
+     * Removes all elements of this set which aren't in the other set, the intersection of both.
+     * 
+     * @param other The other set
+     * @return Whether an element was removed
+     */
+    default boolean retainAll(final Set<E> other) {
+        return removeIf(element -> !other.contains(element));
+    }
+
     //----------------------------------------------------------------------------------------------
 }
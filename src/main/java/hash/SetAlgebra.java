@@ -0,0 +1,135 @@
+/*
+ * Copyright 2019 (C) by Julian Horner.
+ * All Rights Reserved.
+ */
+
+package hash;
+
+import java.util.function.IntFunction;
+
+/**
+ * Helper class for the set algebra on {@link Set sets}: union, intersection and difference as new
+ * sets, which leave the operands unchanged. The result is created pre-sized for its largest
+ * possible size, so it never grows, and where the operation allows it the smaller operand is
+ * iterated and looked up in the larger one.
+ *
+ * @author julian
+ */
+public final class SetAlgebra {
+    //---------------------------------------------------------------------------------------------
+
+    /**
+     * Creates the union of both sets, as a {@link RobinHoodHashSet}.
+     *
+     * @param <E> The type of the data
+     * @param first The first set
+     * @param second The second set
+     * @return The elements which are in one of the sets
+     */
+    public static <E> Set<E> union(final Set<E> first, final Set<E> second) {
+        return union(first, second, RobinHoodHashSet::new);
+    }
+
+    /**
+     * Creates the union of both sets. The larger set is copied first, so only the elements of
+     * the smaller one can be duplicates.
+     *
+     * @param <E> The type of the data
+     * @param first The first set
+     * @param second The second set
+     * @param factory Creates an empty set for the given number of elements
+     * @return The elements which are in one of the sets
+     */
+    public static <E> Set<E> union(final Set<E> first, final Set<E> second,
+            final IntFunction<? extends Set<E>> factory) {
+        Set<E> larger = (first.size() >= second.size()) ? first : second;
+        Set<E> smaller = (larger == first) ? second : first;
+
+        Set<E> result = factory.apply(first.size() + second.size());
+        larger.forEach(result::add);
+        smaller.forEach(result::add);
+
+        return result;
+    }
+
+    //---------------------------------------------------------------------------------------------
+
+    /**
+     * Creates the intersection of both sets, as a {@link RobinHoodHashSet}.
+     *
+     * @param <E> The type of the data
+     * @param first The first set
+     * @param second The second set
+     * @return The elements which are in both sets
+     */
+    public static <E> Set<E> intersection(final Set<E> first, final Set<E> second) {
+        return intersection(first, second, RobinHoodHashSet::new);
+    }
+
+    /**
+     * Creates the intersection of both sets. The smaller set is iterated and its elements are
+     * looked up in the larger one.
+     *
+     * @param <E> The type of the data
+     * @param first The first set
+     * @param second The second set
+     * @param factory Creates an empty set for the given number of elements
+     * @return The elements which are in both sets
+     */
+    public static <E> Set<E> intersection(final Set<E> first, final Set<E> second,
+            final IntFunction<? extends Set<E>> factory) {
+        Set<E> larger = (first.size() >= second.size()) ? first : second;
+        Set<E> smaller = (larger == first) ? second : first;
+
+        Set<E> result = factory.apply(smaller.size());
+        smaller.forEach(element -> {
+            if (larger.contains(element)) { result.add(element); }
+        });
+
+        return result;
+    }
+
+    //---------------------------------------------------------------------------------------------
+
+    /**
+     * Creates the difference of both sets, as a {@link RobinHoodHashSet}.
+     *
+     * @param <E> The type of the data
+     * @param first The first set
+     * @param second The set of the elements to leave out
+     * @return The elements of the first set which aren't in the second one
+     */
+    public static <E> Set<E> difference(final Set<E> first, final Set<E> second) {
+        return difference(first, second, RobinHoodHashSet::new);
+    }
+
+    /**
+     * Creates the difference of both sets. Every element of the first set is part of the result
+     * or not, so the first set is iterated, whatever its size.
+     *
+     * @param <E> The type of the data
+     * @param first The first set
+     * @param second The set of the elements to leave out
+     * @param factory Creates an empty set for the given number of elements
+     * @return The elements of the first set which aren't in the second one
+     */
+    public static <E> Set<E> difference(final Set<E> first, final Set<E> second,
+            final IntFunction<? extends Set<E>> factory) {
+        Set<E> result = factory.apply(first.size());
+        first.forEach(element -> {
+            if (!second.contains(element)) { result.add(element); }
+        });
+
+        return result;
+    }
+
+    //---------------------------------------------------------------------------------------------
+
+    /**
+     * Hide utility class constructor.
+     */
+    private SetAlgebra() {
+    }
+
+    //---------------------------------------------------------------------------------------------
+}
@@ -0,0 +1,605 @@
+/*
+ * Copyright 2019 (C) by Julian Horner.
+ * All Rights Reserved.
+ */
+
+package lists;
+
+import java.util.ConcurrentModificationException;
+import java.util.Iterator;
+import java.util.ListIterator;
+import java.util.NoSuchElementException;
+
+/**
+ * A list backed by a circular array, so the elements are stored in one block of memory and
+ * adding or removing at both ends takes constant time. An insert or a remove in the middle moves
+ * the elements of the shorter side by one slot, at most half of the list.
+ * <p>
+ * The free slots of the array form a gap, which is behind the last element in the default mode.
+ * In the gap buffer mode the gap is moved to the index of every insert and remove instead and
+ * stays there, so the edit takes constant time and the next edit close to it moves only the
+ * elements in between. This suits clustered edits in the middle of the list, like the ones of a
+ * {@link ListIterator}, but an edit far away from the last one moves all elements in between. The
+ * gap may pass the end of the list, where the last and the first element are neighbors, so
+ * consecutive edits at the ends take constant time as well.
+ * <p>
+ * The capacity is a power of two. It's doubled when the array is full and halved when less than
+ * a quarter is used, but not below the initial capacity. After a shrink the array is half full,
+ * so alternating adds and removes don't resize the array again and again.
+ *
+ * @author julian
+ *
+ * @param <T> The type of the data of the list
+ */
+public final class CircularArrayList<T> implements List<T> {
+    //----------------------------------------------------------------------------------------------
+
+    /** The capacity of a list created with the default constructor. */
+    private static final int DEFAULT_CAPACITY = 16;
+
+    /** The smallest capacity. */
+    private static final int MIN_CAPACITY = 2;
+
+    /** The largest capacity, the largest power of two of an array. */
+    private static final int MAX_CAPACITY = 1 << 30;
+
+    //==============================================================================================
+
+    /** Whether the gap follows the edits, otherwise it stays behind the last element. */
+    private final boolean gapBuffer;
+
+    /** The capacity the list doesn't shrink below. */
+    private final int minimumCapacity;
+
+    /** The slots, their number is a power of two. */
+    private Object[] elements;
+
+    /** The slot of the first element, or of the gap if it's in front of all elements. */
+    private int head;
+
+    /** The index of the first element behind the gap, the size if the gap is at the end. */
+    private int gapIndex;
+
+    /** The current size of the list. */
+    private int size;
+
+    /** The number of structural modifications of the list. */
+    private int modificationCount;
+
+    //----------------------------------------------------------------------------------------------
+
+    /**
+     * Create a new <code>CircularArrayList</code> with the default capacity, whose gap stays
+     * behind the last element.
+     */
+    public CircularArrayList() {
+        this(DEFAULT_CAPACITY, false);
+    }
+
+    /**
+     * Create a new <code>CircularArrayList</code> with the given capacity, whose gap stays behind
+     * the last element.
+     *
+     * @param initialCapacity The stated capacity, which is rounded up to a power of two
+     */
+    public CircularArrayList(final int initialCapacity) {
+        this(initialCapacity, false);
+    }
+
+    /**
+     * Create a new <code>CircularArrayList</code> with the given capacity and mode.
+     *
+     * @param initialCapacity The stated capacity, which is rounded up to a power of two
+     * @param gapBuffer Whether the gap follows the edits
+     */
+    public CircularArrayList(final int initialCapacity, final boolean gapBuffer) {
+        if (initialCapacity < 0 || initialCapacity > MAX_CAPACITY) {
+            throw new IllegalArgumentException("Illegal capacity: " + initialCapacity);
+        }
+
+        this.gapBuffer = gapBuffer;
+        minimumCapacity = Math.max(MIN_CAPACITY, Integer.highestOneBit(initialCapacity - 1) << 1);
+        elements = new Object[minimumCapacity];
+    }
+
+    //----------------------------------------------------------------------------------------------
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public boolean add(final T element) {
+        add(size, element);
+        return true;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void add(final int index, final T element) {
+        if (index > size() || index < 0) { throw new IndexOutOfBoundsException(); }
+        if (size == elements.length) { resize(elements.length << 1); }
+
+        if (gapBuffer) {
+            moveGap(index);
+            elements[(head + index) & (elements.length - 1)] = element;
+            gapIndex++;
+        } else {
+            insertByShift(index, element);
+        }
+        size++;
+        if (!gapBuffer) { gapIndex = size; }
+        modificationCount++;
+    }
+
+    /**
+     * Inserts the given element at the front of the list.
+     *
+     * @param element The stated element
+     */
+    public void addFirst(final T element) { add(0, element); }
+
+    /**
+     * Appends the given element at the end of the list.
+     *
+     * @param element The stated element
+     */
+    public void addLast(final T element) { add(size, element); }
+
+    //----------------------------------------------------------------------------------------------
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public T get(final int index) {
+        checkIndex(index);
+
+        return elementAt(index);
+    }
+
+    /**
+     * Replaces the element at the given index.
+     *
+     * @param index The stated index
+     * @param element The new element
+     * @return The replaced element
+     */
+    public T set(final int index, final T element) {
+        checkIndex(index);
+
+        int slot = toSlot(index);
+        @SuppressWarnings("unchecked")
+        T replaced = (T) elements[slot];
+        elements[slot] = element;
+
+        return replaced;
+    }
+
+    /**
+     * Gets the first element of the list.
+     *
+     * @return The stated element
+     * @throws NoSuchElementException If the list is empty
+     */
+    public T getFirst() {
+        if (isEmpty()) { throw new NoSuchElementException(); }
+
+        return elementAt(0);
+    }
+
+    /**
+     * Gets the last element of the list.
+     *
+     * @return The stated element
+     * @throws NoSuchElementException If the list is empty
+     */
+    public T getLast() {
+        if (isEmpty()) { throw new NoSuchElementException(); }
+
+        return elementAt(size - 1);
+    }
+
+    //----------------------------------------------------------------------------------------------
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public T remove(final int index) {
+        checkIndex(index);
+
+        T element;
+        if (gapBuffer) {
+            moveGap(index);
+            int slot = (head + index + elements.length - size) & (elements.length - 1);
+            @SuppressWarnings("unchecked")
+            T removed = (T) elements[slot];
+            elements[slot] = null;
+            element = removed;
+        } else {
+            element = removeByShift(index);
+        }
+        size--;
+        if (!gapBuffer) { gapIndex = size; }
+        modificationCount++;
+
+        if (elements.length > minimumCapacity && size < (elements.length >> 2)) {
+            resize(elements.length >> 1);
+        }
+
+        return element;
+    }
+
+    /**
+     * Removes the first element of the list.
+     *
+     * @return The removed element
+     * @throws NoSuchElementException If the list is empty
+     */
+    public T removeFirst() {
+        if (isEmpty()) { throw new NoSuchElementException(); }
+
+        return remove(0);
+    }
+
+    /**
+     * Removes the last element of the list.
+     *
+     * @return The removed element
+     * @throws NoSuchElementException If the list is empty
+     */
+    public T removeLast() {
+        if (isEmpty()) { throw new NoSuchElementException(); }
+
+        return remove(size - 1);
+    }
+
+    //----------------------------------------------------------------------------------------------
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public int size() { return size; }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public boolean isEmpty() { return size == 0; }
+
+    /**
+     * Gets the number of slots of the array.
+     *
+     * @return The stated number
+     */
+    public int getCapacity() { return elements.length; }
+
+    /**
+     * Gets whether the gap follows the edits, otherwise it stays behind the last element.
+     *
+     * @return The stated flag
+     */
+    public boolean isGapBuffer() { return gapBuffer; }
+
+    //----------------------------------------------------------------------------------------------
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public String toString() {
+        if (isEmpty()) { return "[]"; }
+
+        StringBuilder sb = new StringBuilder("[");
+        for (int i = 0; i < size; i++) {
+            sb.append(elementAt(i));
+            sb.append(", ");
+        }
+        sb.setLength(sb.length() - 2);
+        sb.append("]");
+
+        return sb.toString();
+    }
+
+    //----------------------------------------------------------------------------------------------
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public Iterator<T> iterator() {
+        return listIterator(0);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public ListIterator<T> listIterator() {
+        return listIterator(0);
+    }
+
+    /**
+     * {@inheritDoc} Adding and removing elements takes constant time in the gap buffer mode, as
+     * the gap follows the cursor, otherwise it moves the elements of the shorter side.
+     */
+    @Override
+    public ListIterator<T> listIterator(final int index) {
+        if (index > size() || index < 0) { throw new IndexOutOfBoundsException(); }
+
+        return new ListCursor(index);
+    }
+
+    //----------------------------------------------------------------------------------------------
+
+    /**
+     * A list iterator over the indexes of the list.
+     */
+    private final class ListCursor implements ListIterator<T> {
+
+        /** The index of the next element. */
+        private int nextIndex;
+
+        /** The index of the element returned by the last move, -1 after an add or a remove. */
+        private int lastIndex = -1;
+
+        /** The modification count of the list the iterator knows of. */
+        private int expectedModificationCount = modificationCount;
+
+        /**
+         * Creates a list iterator whose cursor is in front of the given index.
+         *
+         * @param index The stated index
+         */
+        private ListCursor(final int index) {
+            nextIndex = index;
+        }
+
+        @Override
+        public boolean hasNext() { return nextIndex < size(); }
+
+        @Override
+        public T next() {
+            checkForComodification();
+            if (!hasNext()) { throw new NoSuchElementException(); }
+
+            lastIndex = nextIndex++;
+
+            return elementAt(lastIndex);
+        }
+
+        @Override
+        public boolean hasPrevious() { return nextIndex > 0; }
+
+        @Override
+        public T previous() {
+            checkForComodification();
+            if (!hasPrevious()) { throw new NoSuchElementException(); }
+
+            lastIndex = --nextIndex;
+
+            return elementAt(lastIndex);
+        }
+
+        @Override
+        public int nextIndex() { return nextIndex; }
+
+        @Override
+        public int previousIndex() { return nextIndex - 1; }
+
+        @Override
+        public void remove() {
+            checkForComodification();
+            if (lastIndex < 0) { throw new IllegalStateException(); }
+
+            CircularArrayList.this.remove(lastIndex);
+            if (lastIndex < nextIndex) { nextIndex--; }
+
+            expectedModificationCount = modificationCount;
+            lastIndex = -1;
+        }
+
+        @Override
+        public void set(final T e) {
+            checkForComodification();
+            if (lastIndex < 0) { throw new IllegalStateException(); }
+
+            CircularArrayList.this.set(lastIndex, e);
+        }
+
+        @Override
+        public void add(final T e) {
+            checkForComodification();
+
+            CircularArrayList.this.add(nextIndex++, e);
+
+            expectedModificationCount = modificationCount;
+            lastIndex = -1;
+        }
+
+        /**
+         * Checks whether the list was structurally modified other than by this iterator. If yes
+         * a <code>ConcurrentModificationException</code> is thrown.
+         */
+        private void checkForComodification() {
+            if (modificationCount != expectedModificationCount) {
+                throw new ConcurrentModificationException();
+            }
+        }
+    }
+
+    //----------------------------------------------------------------------------------------------
+
+    /**
+     * Gets the element at the given index without checking it.
+     *
+     * @param index The stated index
+     * @return The stated element
+     */
+    @SuppressWarnings("unchecked")
+    private T elementAt(final int index) { return (T) elements[toSlot(index)]; }
+
+    /**
+     * Gets the slot of the element at the given index, the elements behind the gap are shifted
+     * by its length.
+     *
+     * @param index The stated index
+     * @return The stated slot
+     */
+    private int toSlot(final int index) {
+        int offset = (index < gapIndex) ? index : index + elements.length - size;
+
+        return (head + offset) & (elements.length - 1);
+    }
+
+    //----------------------------------------------------------------------------------------------
+
+    /**
+     * Inserts the element at the given index by moving the elements of the shorter side by one
+     * slot into the gap behind the last element. The size is not changed.
+     *
+     * @param index The stated index
+     * @param element The element to insert
+     */
+    private void insertByShift(final int index, final T element) {
+        int mask = elements.length - 1;
+        if (index < size - index) {
+            head = (head - 1) & mask;
+            for (int i = 0; i < index; i++) {
+                elements[(head + i) & mask] = elements[(head + i + 1) & mask];
+            }
+        } else {
+            for (int i = size; i > index; i--) {
+                elements[(head + i) & mask] = elements[(head + i - 1) & mask];
+            }
+        }
+        elements[(head + index) & mask] = element;
+    }
+
+    /**
+     * Removes the element at the given index by moving the elements of the shorter side by one
+     * slot over it. The size is not changed.
+     *
+     * @param index The stated index
+     * @return The removed element
+     */
+    private T removeByShift(final int index) {
+        int mask = elements.length - 1;
+        @SuppressWarnings("unchecked")
+        T element = (T) elements[(head + index) & mask];
+
+        if (index < size - 1 - index) {
+            for (int i = index; i > 0; i--) {
+                elements[(head + i) & mask] = elements[(head + i - 1) & mask];
+            }
+            elements[head] = null;
+            head = (head + 1) & mask;
+        } else {
+            for (int i = index; i < size - 1; i++) {
+                elements[(head + i) & mask] = elements[(head + i + 1) & mask];
+            }
+            elements[(head + size - 1) & mask] = null;
+        }
+
+        return element;
+    }
+
+    /**
+     * Moves the gap in front of the element at the given index, by moving the elements between
+     * the gap and the index to the other side of the gap. The last and the first element are
+     * neighbors in the array, so the gap takes the shorter way, which may pass the end of the
+     * list. Then the gap moves from behind the last element in front of the first one without
+     * moving any element.
+     *
+     * @param index The stated index, up to the size
+     */
+    private void moveGap(final int index) {
+        int mask = elements.length - 1;
+        int gapLength = elements.length - size;
+        if (index < gapIndex && size - gapIndex + index < gapIndex - index) {
+            shiftGap(size);
+            head = (head - gapLength) & mask;
+            gapIndex = 0;
+        } else if (index > gapIndex && gapIndex + size - index < index - gapIndex) {
+            shiftGap(0);
+            head = (head + gapLength) & mask;
+            gapIndex = size;
+        }
+        shiftGap(index);
+    }
+
+    /**
+     * Moves the gap in front of the element at the given index without passing the end of the
+     * list.
+     *
+     * @param index The stated index, up to the size
+     */
+    private void shiftGap(final int index) {
+        int mask = elements.length - 1;
+        int gapLength = elements.length - size;
+        if (gapLength > 0) {
+            for (int i = gapIndex - 1; i >= index; i--) {
+                elements[(head + i + gapLength) & mask] = elements[(head + i) & mask];
+                elements[(head + i) & mask] = null;
+            }
+            for (int i = gapIndex; i < index; i++) {
+                elements[(head + i) & mask] = elements[(head + i + gapLength) & mask];
+                elements[(head + i + gapLength) & mask] = null;
+            }
+        }
+        gapIndex = index;
+    }
+
+    /**
+     * Copies the elements into an array of the given capacity. The elements in front of the gap
+     * start at the first slot, the ones behind it end at the last slot.
+     *
+     * @param capacity The new capacity, at least the size
+     */
+    private void resize(final int capacity) {
+        if (capacity > MAX_CAPACITY || capacity < 0) {
+            throw new IllegalStateException("The list is full: " + size);
+        }
+
+        Object[] resized = new Object[capacity];
+        copySlots(head, resized, 0, gapIndex);
+        if (gapIndex < size) {
+            copySlots(toSlot(gapIndex), resized, capacity - (size - gapIndex), size - gapIndex);
+        }
+
+        elements = resized;
+        head = 0;
+    }
+
+    /**
+     * Copies consecutive slots, which may wrap around the end of the array, to the target.
+     *
+     * @param slot The first slot to copy
+     * @param target The array to copy to
+     * @param targetPosition The first position in the target
+     * @param count The number of slots
+     */
+    private void copySlots(final int slot, final Object[] target, final int targetPosition,
+            final int count) {
+        int firstPart = Math.min(count, elements.length - slot);
+        System.arraycopy(elements, slot, target, targetPosition, firstPart);
+        System.arraycopy(elements, 0, target, targetPosition + firstPart, count - firstPart);
+    }
+
+    //----------------------------------------------------------------------------------------------
+
+    /**
+     * Checks the given index whether it is greater than or equal to the size or whether the index
+     * is less than 0. If yes an <code>IndexOutOfBoundsException</code> is thrown.
+     *
+     * @param index The index to check
+     */
+    private void checkIndex(final int index) {
+        if (index >= size() || index < 0) { throw new IndexOutOfBoundsException(); }
+    }
+
+    //----------------------------------------------------------------------------------------------
+}
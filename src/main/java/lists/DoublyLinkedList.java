@@ -5,18 +5,20 @@
 
 package lists;
 
+import java.util.ConcurrentModificationException;
 import java.util.Iterator;
 import java.util.ListIterator;
 import java.util.NoSuchElementException;
 
 /**
- * My implementation of a doubly linked list.
+ * My implementation of a doubly linked list. Its list iterator adds, removes and replaces
+ * elements at its cursor in constant time, so a pass which edits the list takes linear time.
  * 
  * @author julian
  *
  * @param <T> The type of the data of the list
  */
-public class DoublyLinkedList<T> implements List<T> {
+public class DoublyLinkedList<T> implements SequentialList<T> {
     //----------------------------------------------------------------------------------------------
     
     /** The head node of the list. */
@@ -27,6 +29,9 @@ public class DoublyLinkedList<T> implements List<T> {
     
     /** The current size of the list. */
     private int size;
+
+    /** The number of structural modifications of the list. */
+    private int modificationCount;
     
     //----------------------------------------------------------------------------------------------
 
@@ -74,6 +79,7 @@ public class DoublyLinkedList<T> implements List<T> {
         
         chainNode(index, new ListNode(element));
         size++;
+        modificationCount++;
     }
     
     //----------------------------------------------------------------------------------------------
@@ -102,6 +108,7 @@ public class DoublyLinkedList<T> implements List<T> {
         
         ListNode element = unchainNode(index);
         size--;
+        modificationCount++;
 
         return element.data;
     }
@@ -148,9 +155,34 @@ public class DoublyLinkedList<T> implements List<T> {
      */
     @Override
     public Iterator<T> iterator() {
+        return iterator(head);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public Iterator<T> iterator(final Object nodeHandle) {
+        if (nodeHandle != null && !(nodeHandle instanceof DoublyLinkedList.ListNode)) {
+            throw new IllegalArgumentException("Not a node handle: " + nodeHandle);
+        }
+
+        @SuppressWarnings("unchecked")
+        ListNode startNode = (ListNode) nodeHandle;
+
+        return iterator(startNode);
+    }
+
+    /**
+     * Returns an iterator over the elements in this list, which starts at the given node.
+     * 
+     * @param startNode The first node of the iteration
+     * @return The stated iterator
+     */
+    private Iterator<T> iterator(final ListNode startNode) {
         return new Iterator<T>() {
             
-            private ListNode node = head;
+            private ListNode node = startNode;
             
             @Override
             public boolean hasNext() { return node != null; }
@@ -170,65 +202,170 @@ public class DoublyLinkedList<T> implements List<T> {
     //----------------------------------------------------------------------------------------------
 
     /**
-     * Returns a list-iterator of the elements in this list (in proper sequence)
-     * 
-     * @return An <code>ListIterator</code>.
+     * {@inheritDoc}
      */
+    @Override
     public ListIterator<T> listIterator() {
-        return new ListIterator<T>() {
+        return listIterator(0);
+    }
 
-            private ListNode prevNode = null;
-            
-            private ListNode nextNode = head;
-            
-            @Override
-            public boolean hasNext() { return nextNode != null; }
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public ListIterator<T> listIterator(final int index) {
+        if (index > size() || index < 0) { throw new IndexOutOfBoundsException(); }
 
-            @Override
-            public T next() {
-                if (nextNode == null) { throw new NoSuchElementException(); }
-                
-                T value = nextNode.data;
-                prevNode = nextNode;
-                nextNode = nextNode.next;
+        return new ListCursor(index);
+    }
 
-                return value;
-            }
+    //----------------------------------------------------------------------------------------------
 
-            @Override
-            public boolean hasPrevious() { return prevNode != null; }
+    /**
+     * A list iterator which holds the node at its cursor, so it adds, removes and replaces
+     * elements without searching the node by its index.
+     */
+    private final class ListCursor implements ListIterator<T> {
 
-            @Override
-            public T previous() {
-                if (prevNode == null) { throw new NoSuchElementException(); }
-                
-                T value = prevNode.data;
-                
-                nextNode = prevNode;
-                prevNode = prevNode.previous;
-                
-                return value;
+        /** The node which is returned by <code>next</code>, null at the end of the list. */
+        private ListNode nextNode;
+
+        /** The node returned by the last move, null after an add or a remove. */
+        private ListNode lastReturned;
+
+        /** The index of the next node. */
+        private int nextIndex;
+
+        /** The modification count of the list the iterator knows of. */
+        private int expectedModificationCount = modificationCount;
+
+        /**
+         * Creates a list iterator whose cursor is in front of the given index.
+         * 
+         * @param index The stated index
+         */
+        private ListCursor(final int index) {
+            nextNode = (index == size()) ? null : getNode(index);
+            nextIndex = index;
+        }
+
+        @Override
+        public boolean hasNext() { return nextIndex < size(); }
+
+        @Override
+        public T next() {
+            checkForComodification();
+            if (!hasNext()) { throw new NoSuchElementException(); }
+
+            lastReturned = nextNode;
+            nextNode = nextNode.next;
+            nextIndex++;
+
+            return lastReturned.data;
+        }
+
+        @Override
+        public boolean hasPrevious() { return nextIndex > 0; }
+
+        @Override
+        public T previous() {
+            checkForComodification();
+            if (!hasPrevious()) { throw new NoSuchElementException(); }
+
+            nextNode = (nextNode == null) ? last : nextNode.previous;
+            lastReturned = nextNode;
+            nextIndex--;
+
+            return lastReturned.data;
+        }
+
+        @Override
+        public int nextIndex() { return nextIndex; }
+
+        @Override
+        public int previousIndex() { return nextIndex - 1; }
+
+        @Override
+        public void remove() {
+            checkForComodification();
+            if (lastReturned == null) { throw new IllegalStateException(); }
+
+            // after previous the cursor is in front of the removed node, after next behind it
+            if (lastReturned == nextNode) {
+                nextNode = lastReturned.next;
+            } else {
+                nextIndex--;
             }
+            unchainNode(lastReturned);
+            size--;
+            modificationCount++;
 
-            @Override
-            public int nextIndex() { return 0; /* not to be implemented */ }
+            expectedModificationCount = modificationCount;
+            lastReturned = null;
+        }
 
-            @Override
-            public int previousIndex() { return 0; /* not to be implemented */ }
+        @Override
+        public void set(final T e) {
+            checkForComodification();
+            if (lastReturned == null) { throw new IllegalStateException(); }
 
-            @Override
-            public void remove() { /* not to be implemented */ }
+            lastReturned.data = e;
+        }
 
-            @Override
-            public void set(final T e) { /* not to be implemented */ }
+        @Override
+        public void add(final T e) {
+            checkForComodification();
 
-            @Override
-            public void add(final T e) { /* not to be implemented */ }
-        };
+            chainBefore(new ListNode(e), nextNode);
+            size++;
+            modificationCount++;
+            nextIndex++;
+
+            expectedModificationCount = modificationCount;
+            lastReturned = null;
+        }
+
+        /**
+         * Checks whether the list was structurally modified other than by this iterator. If yes
+         * a <code>ConcurrentModificationException</code> is thrown.
+         */
+        private void checkForComodification() {
+            if (modificationCount != expectedModificationCount) {
+                throw new ConcurrentModificationException();
+            }
+        }
     }
     
     //----------------------------------------------------------------------------------------------
 
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public int getModificationCount() { return modificationCount; }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public Object[] getNodeHandles(final int distance) {
+        if (distance < 1) { throw new IllegalArgumentException("Illegal distance: " + distance); }
+
+        Object[] handles = new Object[(size() + distance - 1) / distance];
+        ListNode node = head;
+        for (int i = 0; i < handles.length; i++) {
+            handles[i] = node;
+            
+            for (int j = 0; j < distance && node != null; j++) {
+                node = node.next;
+            }
+        }
+
+        return handles;
+    }
+
+    //----------------------------------------------------------------------------------------------
+
     /**
      * Chains the given list node into the list.
      * 
@@ -297,6 +434,32 @@ public class DoublyLinkedList<T> implements List<T> {
         node.previous = prevNode;
     }
 
+    /**
+     * Chains the given list node in front of the given successor, which takes constant time.
+     * 
+     * @param node The node to insert
+     * @param successorNode The node behind the inserted node, null to insert the node as last
+     */
+    private void chainBefore(final ListNode node, final ListNode successorNode) {
+        if (successorNode == null) {
+            if (isEmpty()) {
+                chainFirst(node);
+            } else {
+                chainLast(node);
+            }
+        } else if (successorNode == head) {
+            chainFirst(node);
+        } else {
+            ListNode prevNode = successorNode.previous;
+
+            prevNode.next = node;
+            successorNode.previous = node;
+
+            node.next = successorNode;
+            node.previous = prevNode;
+        }
+    }
+
     //----------------------------------------------------------------------------------------------
 
     /**
@@ -323,6 +486,22 @@ public class DoublyLinkedList<T> implements List<T> {
         return node;
     }
 
+    /**
+     * Removes the given list node from the list, which takes constant time.
+     * 
+     * @param node The node to remove
+     */
+    private void unchainNode(final ListNode node) {
+        if (node == head) {
+            unchainFirst();
+        } else if (node == last) {
+            unchainLast();
+        } else {
+            node.previous.next = node.next;
+            node.next.previous = node.previous;
+        }
+    }
+
     //----------------------------------------------------------------------------------------------
 
     /**
@@ -0,0 +1,576 @@
+/*
+ * Copyright 2019 (C) by Julian Horner.
+ * All Rights Reserved.
+ */
+
+package lists;
+
+import java.util.Arrays;
+import java.util.ConcurrentModificationException;
+import java.util.Iterator;
+import java.util.ListIterator;
+import java.util.NoSuchElementException;
+
+/**
+ * A list on an indexable skip list, which gets, adds and removes elements by their index in
+ * logarithmic time on average. Every node is linked on a random number of levels, the lowest
+ * level links all nodes in the order of the list, every level above links about a quarter of the
+ * nodes of the level below. Every link carries its width, the number of positions it passes, so a
+ * search of an index skips whole runs of nodes on the upper levels and goes down a level when the
+ * next link would pass the index. The {@link DoublyLinkedList} walks up to half of the list
+ * instead.
+ * <p>
+ * The list keeps the last node of every level, so appending an element only links it behind
+ * these nodes, which takes constant time on average.
+ *
+ * @author julian
+ *
+ * @param <T> The type of the data of the list
+ */
+public final class IndexableSkipList<T> implements SequentialList<T> {
+    //----------------------------------------------------------------------------------------------
+
+    /** The largest number of levels, enough for 4^16 elements. */
+    private static final int MAX_LEVEL = 16;
+
+    //==============================================================================================
+
+    /** The node in front of the first element, at position 0, which is linked on all levels. */
+    private final ListNode head = new ListNode(null, MAX_LEVEL);
+
+    /** The last node of every level. */
+    private final ListNode[] lastNodes = newNodeArray(MAX_LEVEL);
+
+    /** The positions of the last nodes, the element at index i is at position i + 1. */
+    private final int[] lastPositions = new int[MAX_LEVEL];
+
+    /** The nodes in front of the position of the current edit, on every level. */
+    private final ListNode[] predecessors = newNodeArray(MAX_LEVEL);
+
+    /** The positions of the predecessors. */
+    private final int[] predecessorPositions = new int[MAX_LEVEL];
+
+    /** The number of levels which are in use. */
+    private int height = 1;
+
+    /** The current size of the list. */
+    private int size;
+
+    /** The number of structural modifications of the list. */
+    private int modificationCount;
+
+    /** The state of the random choice of the levels of a node. */
+    private int seed = 0x2545F491;
+
+    //----------------------------------------------------------------------------------------------
+
+    /**
+     * A node of the list containing the data it holds, the references to the next node on every
+     * level of the node and the widths of these links. The width of a link without a successor is
+     * undefined.
+     */
+    private final class ListNode {
+
+        /** The successor of this node on every level. */
+        private final ListNode[] next;
+
+        /** The number of positions from this node to its successor on every level. */
+        private final int[] width;
+
+        /** The data the node holds. */
+        private T data;
+
+        /**
+         * Creates a list node with the given data.
+         *
+         * @param value The stated data
+         * @param level The number of levels of the node
+         */
+        private ListNode(final T value, final int level) {
+            data = value;
+            next = newNodeArray(level);
+            width = new int[level];
+        }
+    }
+
+    //----------------------------------------------------------------------------------------------
+
+    /**
+     * Create a new empty <code>IndexableSkipList</code>.
+     */
+    public IndexableSkipList() {
+        Arrays.fill(lastNodes, head);
+    }
+
+    //----------------------------------------------------------------------------------------------
+
+    /**
+     * {@inheritDoc} Appending takes constant time on average.
+     */
+    @Override
+    public boolean add(final T element) {
+        ListNode node = new ListNode(element, randomLevel());
+        int level = node.next.length;
+        height = Math.max(height, level);
+
+        int position = size + 1;
+        for (int i = 0; i < level; i++) {
+            ListNode lastNode = lastNodes[i];
+            lastNode.next[i] = node;
+            lastNode.width[i] = position - lastPositions[i];
+
+            lastNodes[i] = node;
+            lastPositions[i] = position;
+        }
+        size++;
+        modificationCount++;
+
+        return true;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void add(final int index, final T element) {
+        if (index > size() || index < 0) { throw new IndexOutOfBoundsException(); }
+        if (index == size()) {
+            add(element);
+            return;
+        }
+
+        ListNode node = new ListNode(element, randomLevel());
+        int level = node.next.length;
+        height = Math.max(height, level);
+        findPredecessors(index);
+
+        // the node is at position index + 1, the positions behind it move up by one
+        for (int i = 0; i < level; i++) {
+            ListNode predecessor = predecessors[i];
+            node.next[i] = predecessor.next[i];
+            node.width[i] = predecessorPositions[i] + predecessor.width[i] - index;
+
+            predecessor.next[i] = node;
+            predecessor.width[i] = index + 1 - predecessorPositions[i];
+        }
+        for (int i = level; i < height; i++) {
+            predecessors[i].width[i]++;
+        }
+
+        for (int i = 0; i < height; i++) {
+            if (lastPositions[i] > index) { lastPositions[i]++; }
+        }
+        for (int i = 0; i < level; i++) {
+            if (node.next[i] == null) {
+                lastNodes[i] = node;
+                lastPositions[i] = index + 1;
+            }
+        }
+        size++;
+        modificationCount++;
+    }
+
+    //----------------------------------------------------------------------------------------------
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public T get(final int index) {
+        checkIndex(index);
+
+        return getNode(index).data;
+    }
+
+    /**
+     * Replaces the element at the given index.
+     *
+     * @param index The stated index
+     * @param element The new element
+     * @return The replaced element
+     */
+    public T set(final int index, final T element) {
+        checkIndex(index);
+
+        ListNode node = getNode(index);
+        T replaced = node.data;
+        node.data = element;
+
+        return replaced;
+    }
+
+    //----------------------------------------------------------------------------------------------
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public T remove(final int index) {
+        checkIndex(index);
+
+        findPredecessors(index);
+        ListNode node = predecessors[0].next[0];
+        int level = node.next.length;
+
+        for (int i = 0; i < level; i++) {
+            ListNode predecessor = predecessors[i];
+            predecessor.next[i] = node.next[i];
+            predecessor.width[i] += node.width[i] - 1;
+
+            if (lastNodes[i] == node) {
+                lastNodes[i] = predecessor;
+                lastPositions[i] = predecessorPositions[i];
+            }
+        }
+        for (int i = level; i < height; i++) {
+            predecessors[i].width[i]--;
+        }
+
+        for (int i = 0; i < height; i++) {
+            if (lastPositions[i] > index + 1) { lastPositions[i]--; }
+        }
+        while (height > 1 && head.next[height - 1] == null) {
+            height--;
+        }
+        size--;
+        modificationCount++;
+
+        return node.data;
+    }
+
+    //----------------------------------------------------------------------------------------------
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public int size() { return size; }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public boolean isEmpty() { return size == 0; }
+
+    //----------------------------------------------------------------------------------------------
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public String toString() {
+        if (isEmpty()) { return "[]"; }
+
+        ListNode node = head.next[0];
+        StringBuilder sb = new StringBuilder("[");
+        while (node != null) {
+            sb.append(node.data);
+            sb.append(", ");
+
+            node = node.next[0];
+        }
+        sb.setLength(sb.length() - 2);
+        sb.append("]");
+
+        return sb.toString();
+    }
+
+    //----------------------------------------------------------------------------------------------
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public Iterator<T> iterator() {
+        return iterator(head.next[0]);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public Iterator<T> iterator(final Object nodeHandle) {
+        if (nodeHandle != null && !(nodeHandle instanceof IndexableSkipList.ListNode)) {
+            throw new IllegalArgumentException("Not a node handle: " + nodeHandle);
+        }
+
+        @SuppressWarnings("unchecked")
+        ListNode startNode = (ListNode) nodeHandle;
+
+        return iterator(startNode);
+    }
+
+    /**
+     * Returns an iterator over the elements in this list, which starts at the given node and
+     * follows the lowest level.
+     *
+     * @param startNode The first node of the iteration
+     * @return The stated iterator
+     */
+    private Iterator<T> iterator(final ListNode startNode) {
+        return new Iterator<T>() {
+
+            private ListNode node = startNode;
+
+            @Override
+            public boolean hasNext() { return node != null; }
+
+            @Override
+            public T next() {
+                if (node == null) { throw new NoSuchElementException(); }
+
+                T data = node.data;
+                node = node.next[0];
+
+                return data;
+            }
+        };
+    }
+
+    //----------------------------------------------------------------------------------------------
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public ListIterator<T> listIterator() {
+        return listIterator(0);
+    }
+
+    /**
+     * {@inheritDoc} Moving forward and replacing elements takes constant time, moving backward,
+     * adding and removing elements searches the index in logarithmic time.
+     */
+    @Override
+    public ListIterator<T> listIterator(final int index) {
+        if (index > size() || index < 0) { throw new IndexOutOfBoundsException(); }
+
+        return new ListCursor(index);
+    }
+
+    //----------------------------------------------------------------------------------------------
+
+    /**
+     * A list iterator which holds the next node on the lowest level, so it moves forward without
+     * a search.
+     */
+    private final class ListCursor implements ListIterator<T> {
+
+        /** The node which is returned by <code>next</code>, null at the end of the list. */
+        private ListNode nextNode;
+
+        /** The node returned by the last move, null after an add or a remove. */
+        private ListNode lastReturned;
+
+        /** The index of the node returned by the last move. */
+        private int lastIndex;
+
+        /** The index of the next node. */
+        private int nextIndex;
+
+        /** The modification count of the list the iterator knows of. */
+        private int expectedModificationCount = modificationCount;
+
+        /**
+         * Creates a list iterator whose cursor is in front of the given index.
+         *
+         * @param index The stated index
+         */
+        private ListCursor(final int index) {
+            nextNode = (index == size()) ? null : getNode(index);
+            nextIndex = index;
+        }
+
+        @Override
+        public boolean hasNext() { return nextIndex < size(); }
+
+        @Override
+        public T next() {
+            checkForComodification();
+            if (!hasNext()) { throw new NoSuchElementException(); }
+
+            lastReturned = nextNode;
+            lastIndex = nextIndex;
+            nextNode = nextNode.next[0];
+            nextIndex++;
+
+            return lastReturned.data;
+        }
+
+        @Override
+        public boolean hasPrevious() { return nextIndex > 0; }
+
+        @Override
+        public T previous() {
+            checkForComodification();
+            if (!hasPrevious()) { throw new NoSuchElementException(); }
+
+            nextIndex--;
+            nextNode = getNode(nextIndex);
+            lastReturned = nextNode;
+            lastIndex = nextIndex;
+
+            return lastReturned.data;
+        }
+
+        @Override
+        public int nextIndex() { return nextIndex; }
+
+        @Override
+        public int previousIndex() { return nextIndex - 1; }
+
+        @Override
+        public void remove() {
+            checkForComodification();
+            if (lastReturned == null) { throw new IllegalStateException(); }
+
+            // after previous the cursor is in front of the removed node, after next behind it
+            if (lastReturned == nextNode) {
+                nextNode = nextNode.next[0];
+            } else {
+                nextIndex--;
+            }
+            IndexableSkipList.this.remove(lastIndex);
+
+            expectedModificationCount = modificationCount;
+            lastReturned = null;
+        }
+
+        @Override
+        public void set(final T e) {
+            checkForComodification();
+            if (lastReturned == null) { throw new IllegalStateException(); }
+
+            lastReturned.data = e;
+        }
+
+        @Override
+        public void add(final T e) {
+            checkForComodification();
+
+            IndexableSkipList.this.add(nextIndex, e);
+            nextIndex++;
+
+            expectedModificationCount = modificationCount;
+            lastReturned = null;
+        }
+
+        /**
+         * Checks whether the list was structurally modified other than by this iterator. If yes
+         * a <code>ConcurrentModificationException</code> is thrown.
+         */
+        private void checkForComodification() {
+            if (modificationCount != expectedModificationCount) {
+                throw new ConcurrentModificationException();
+            }
+        }
+    }
+
+    //----------------------------------------------------------------------------------------------
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public int getModificationCount() { return modificationCount; }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public Object[] getNodeHandles(final int distance) {
+        if (distance < 1) { throw new IllegalArgumentException("Illegal distance: " + distance); }
+
+        Object[] handles = new Object[(size() + distance - 1) / distance];
+        ListNode node = head.next[0];
+        for (int i = 0; i < handles.length; i++) {
+            handles[i] = node;
+
+            for (int j = 0; j < distance && node != null; j++) {
+                node = node.next[0];
+            }
+        }
+
+        return handles;
+    }
+
+    //----------------------------------------------------------------------------------------------
+
+    /**
+     * Get the node at the given index, by following the widest links which don't pass it.
+     *
+     * @param index The stated index
+     * @return The stated list node
+     */
+    private ListNode getNode(final int index) {
+        int target = index + 1;
+
+        ListNode node = head;
+        int position = 0;
+        for (int i = height - 1; i >= 0; i--) {
+            while (node.next[i] != null && position + node.width[i] <= target) {
+                position += node.width[i];
+                node = node.next[i];
+            }
+        }
+
+        return node;
+    }
+
+    /**
+     * Finds the last node in front of the given index on every level in use, and its position.
+     *
+     * @param index The stated index
+     */
+    private void findPredecessors(final int index) {
+        ListNode node = head;
+        int position = 0;
+        for (int i = height - 1; i >= 0; i--) {
+            while (node.next[i] != null && position + node.width[i] <= index) {
+                position += node.width[i];
+                node = node.next[i];
+            }
+            predecessors[i] = node;
+            predecessorPositions[i] = position;
+        }
+    }
+
+    /**
+     * Chooses the number of levels of a new node, every further level with a probability of a
+     * quarter, from the bits of a xorshift generator.
+     *
+     * @return The stated number
+     */
+    private int randomLevel() {
+        seed ^= seed << 13;
+        seed ^= seed >>> 17;
+        seed ^= seed << 5;
+
+        return Math.min(MAX_LEVEL, 1 + Integer.numberOfTrailingZeros(seed) / 2);
+    }
+
+    /**
+     * Creates an array of nodes, an array of the inner class can't be created directly.
+     *
+     * @param length The length of the array
+     * @return The stated array
+     */
+    @SuppressWarnings("unchecked")
+    private ListNode[] newNodeArray(final int length) {
+        return (ListNode[]) new IndexableSkipList<?>.ListNode[length];
+    }
+
+    //----------------------------------------------------------------------------------------------
+
+    /**
+     * Checks the given index whether it is greater than or equal to the size or whether the index
+     * is less than 0. If yes an <code>IndexOutOfBoundsException</code> is thrown.
+     *
+     * @param index The index to check
+     */
+    private void checkIndex(final int index) {
+        if (index >= size() || index < 0) { throw new IndexOutOfBoundsException(); }
+    }
+
+    //----------------------------------------------------------------------------------------------
+}
@@ -0,0 +1,517 @@
+/*
+ * Copyright 2019 (C) by Julian Horner.
+ * All Rights Reserved.
+ */
+
+package lists;
+
+import java.util.ConcurrentModificationException;
+import java.util.NoSuchElementException;
+import java.util.PrimitiveIterator;
+import java.util.function.IntConsumer;
+
+/**
+ * A list of primitive <code>int</code> values backed by a circular array, the sibling of the
+ * {@link CircularArrayList} without boxing. An element costs four bytes instead of a reference
+ * and an <code>Integer</code> object. Adding or removing at both ends takes constant time, an
+ * insert or a remove in the middle moves the elements of the shorter side.
+ * <p>
+ * In the gap buffer mode the free slots are moved to the index of every insert and remove and
+ * stay there, so clustered edits in the middle only move the elements between them, and the gap
+ * may pass the end of the list, from the last to the first element. The capacity is a power of
+ * two, which is doubled when the array is full and halved when less than a quarter is used, but
+ * not below the initial capacity.
+ *
+ * @author julian
+ */
+public final class IntArrayList {
+    //----------------------------------------------------------------------------------------------
+
+    /** The capacity of a list created with the default constructor. */
+    private static final int DEFAULT_CAPACITY = 16;
+
+    /** The smallest capacity. */
+    private static final int MIN_CAPACITY = 2;
+
+    /** The largest capacity, the largest power of two of an array. */
+    private static final int MAX_CAPACITY = 1 << 30;
+
+    //==============================================================================================
+
+    /** Whether the gap follows the edits, otherwise it stays behind the last element. */
+    private final boolean gapBuffer;
+
+    /** The capacity the list doesn't shrink below. */
+    private final int minimumCapacity;
+
+    /** The slots, their number is a power of two. */
+    private int[] elements;
+
+    /** The slot of the first element, or of the gap if it's in front of all elements. */
+    private int head;
+
+    /** The index of the first element behind the gap, the size if the gap is at the end. */
+    private int gapIndex;
+
+    /** The current size of the list. */
+    private int size;
+
+    /** The number of structural modifications of the list. */
+    private int modificationCount;
+
+    //----------------------------------------------------------------------------------------------
+
+    /**
+     * Create a new <code>IntArrayList</code> with the default capacity, whose gap stays behind
+     * the last element.
+     */
+    public IntArrayList() {
+        this(DEFAULT_CAPACITY, false);
+    }
+
+    /**
+     * Create a new <code>IntArrayList</code> with the given capacity, whose gap stays behind the
+     * last element.
+     *
+     * @param initialCapacity The stated capacity, which is rounded up to a power of two
+     */
+    public IntArrayList(final int initialCapacity) {
+        this(initialCapacity, false);
+    }
+
+    /**
+     * Create a new <code>IntArrayList</code> with the given capacity and mode.
+     *
+     * @param initialCapacity The stated capacity, which is rounded up to a power of two
+     * @param gapBuffer Whether the gap follows the edits
+     */
+    public IntArrayList(final int initialCapacity, final boolean gapBuffer) {
+        if (initialCapacity < 0 || initialCapacity > MAX_CAPACITY) {
+            throw new IllegalArgumentException("Illegal capacity: " + initialCapacity);
+        }
+
+        this.gapBuffer = gapBuffer;
+        minimumCapacity = Math.max(MIN_CAPACITY, Integer.highestOneBit(initialCapacity - 1) << 1);
+        elements = new int[minimumCapacity];
+    }
+
+    //----------------------------------------------------------------------------------------------
+
+    /**
+     * Appends the given value at the end of the list.
+     *
+     * @param value The stated value
+     * @return Always true
+     */
+    public boolean add(final int value) {
+        add(size, value);
+        return true;
+    }
+
+    /**
+     * Inserts the given value at the given index.
+     *
+     * @param index The stated index, up to the size
+     * @param value The stated value
+     */
+    public void add(final int index, final int value) {
+        if (index > size() || index < 0) { throw new IndexOutOfBoundsException(); }
+        if (size == elements.length) { resize(elements.length << 1); }
+
+        if (gapBuffer) {
+            moveGap(index);
+            elements[(head + index) & (elements.length - 1)] = value;
+            gapIndex++;
+        } else {
+            insertByShift(index, value);
+        }
+        size++;
+        if (!gapBuffer) { gapIndex = size; }
+        modificationCount++;
+    }
+
+    /**
+     * Inserts the given value at the front of the list.
+     *
+     * @param value The stated value
+     */
+    public void addFirst(final int value) { add(0, value); }
+
+    /**
+     * Appends the given value at the end of the list.
+     *
+     * @param value The stated value
+     */
+    public void addLast(final int value) { add(size, value); }
+
+    //----------------------------------------------------------------------------------------------
+
+    /**
+     * Gets the value at the given index.
+     *
+     * @param index The stated index
+     * @return The stated value
+     */
+    public int get(final int index) {
+        checkIndex(index);
+
+        return elements[toSlot(index)];
+    }
+
+    /**
+     * Replaces the value at the given index.
+     *
+     * @param index The stated index
+     * @param value The new value
+     * @return The replaced value
+     */
+    public int set(final int index, final int value) {
+        checkIndex(index);
+
+        int slot = toSlot(index);
+        int replaced = elements[slot];
+        elements[slot] = value;
+
+        return replaced;
+    }
+
+    /**
+     * Gets the first value of the list.
+     *
+     * @return The stated value
+     * @throws NoSuchElementException If the list is empty
+     */
+    public int getFirst() {
+        if (isEmpty()) { throw new NoSuchElementException(); }
+
+        return elements[toSlot(0)];
+    }
+
+    /**
+     * Gets the last value of the list.
+     *
+     * @return The stated value
+     * @throws NoSuchElementException If the list is empty
+     */
+    public int getLast() {
+        if (isEmpty()) { throw new NoSuchElementException(); }
+
+        return elements[toSlot(size - 1)];
+    }
+
+    //----------------------------------------------------------------------------------------------
+
+    /**
+     * Removes the value at the given index.
+     *
+     * @param index The stated index
+     * @return The removed value
+     */
+    public int remove(final int index) {
+        checkIndex(index);
+
+        int value;
+        if (gapBuffer) {
+            moveGap(index);
+            value = elements[(head + index + elements.length - size) & (elements.length - 1)];
+        } else {
+            value = removeByShift(index);
+        }
+        size--;
+        if (!gapBuffer) { gapIndex = size; }
+        modificationCount++;
+
+        if (elements.length > minimumCapacity && size < (elements.length >> 2)) {
+            resize(elements.length >> 1);
+        }
+
+        return value;
+    }
+
+    /**
+     * Removes the first value of the list.
+     *
+     * @return The removed value
+     * @throws NoSuchElementException If the list is empty
+     */
+    public int removeFirst() {
+        if (isEmpty()) { throw new NoSuchElementException(); }
+
+        return remove(0);
+    }
+
+    /**
+     * Removes the last value of the list.
+     *
+     * @return The removed value
+     * @throws NoSuchElementException If the list is empty
+     */
+    public int removeLast() {
+        if (isEmpty()) { throw new NoSuchElementException(); }
+
+        return remove(size - 1);
+    }
+
+    //----------------------------------------------------------------------------------------------
+
+    /**
+     * Gets the number of values of the list.
+     *
+     * @return The stated number
+     */
+    public int size() { return size; }
+
+    /**
+     * Checks whether the list contains no values.
+     *
+     * @return Whether the list is empty
+     */
+    public boolean isEmpty() { return size == 0; }
+
+    /**
+     * Gets the number of slots of the array.
+     *
+     * @return The stated number
+     */
+    public int getCapacity() { return elements.length; }
+
+    /**
+     * Gets whether the gap follows the edits, otherwise it stays behind the last element.
+     *
+     * @return The stated flag
+     */
+    public boolean isGapBuffer() { return gapBuffer; }
+
+    //----------------------------------------------------------------------------------------------
+
+    /**
+     * Copies the values into a new array, in the order of the list.
+     *
+     * @return The stated array
+     */
+    public int[] toArray() {
+        int[] values = new int[size];
+        copySlots(head, values, 0, gapIndex);
+        if (gapIndex < size) { copySlots(toSlot(gapIndex), values, gapIndex, size - gapIndex); }
+
+        return values;
+    }
+
+    /**
+     * Performs the given action for every value, in the order of the list.
+     *
+     * @param action The stated action
+     */
+    public void forEach(final IntConsumer action) {
+        int expectedModificationCount = modificationCount;
+        for (int i = 0; i < size; i++) {
+            action.accept(elements[toSlot(i)]);
+        }
+        if (modificationCount != expectedModificationCount) {
+            throw new ConcurrentModificationException();
+        }
+    }
+
+    /**
+     * Returns an iterator over the values, in the order of the list. The iterator is fail-fast.
+     *
+     * @return The stated iterator
+     */
+    public PrimitiveIterator.OfInt iterator() {
+        return new PrimitiveIterator.OfInt() {
+
+            private int nextIndex;
+
+            private final int expectedModificationCount = modificationCount;
+
+            @Override
+            public boolean hasNext() { return nextIndex < size; }
+
+            @Override
+            public int nextInt() {
+                if (modificationCount != expectedModificationCount) {
+                    throw new ConcurrentModificationException();
+                }
+                if (!hasNext()) { throw new NoSuchElementException(); }
+
+                return elements[toSlot(nextIndex++)];
+            }
+        };
+    }
+
+    //----------------------------------------------------------------------------------------------
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public String toString() {
+        if (isEmpty()) { return "[]"; }
+
+        StringBuilder sb = new StringBuilder("[");
+        for (int i = 0; i < size; i++) {
+            sb.append(elements[toSlot(i)]);
+            sb.append(", ");
+        }
+        sb.setLength(sb.length() - 2);
+        sb.append("]");
+
+        return sb.toString();
+    }
+
+    //----------------------------------------------------------------------------------------------
+
+    /**
+     * Gets the slot of the value at the given index, the values behind the gap are shifted by
+     * its length.
+     *
+     * @param index The stated index
+     * @return The stated slot
+     */
+    private int toSlot(final int index) {
+        int offset = (index < gapIndex) ? index : index + elements.length - size;
+
+        return (head + offset) & (elements.length - 1);
+    }
+
+    /**
+     * Inserts the value at the given index by moving the values of the shorter side by one slot
+     * into the gap behind the last value. The size is not changed.
+     *
+     * @param index The stated index
+     * @param value The value to insert
+     */
+    private void insertByShift(final int index, final int value) {
+        int mask = elements.length - 1;
+        if (index < size - index) {
+            head = (head - 1) & mask;
+            for (int i = 0; i < index; i++) {
+                elements[(head + i) & mask] = elements[(head + i + 1) & mask];
+            }
+        } else {
+            for (int i = size; i > index; i--) {
+                elements[(head + i) & mask] = elements[(head + i - 1) & mask];
+            }
+        }
+        elements[(head + index) & mask] = value;
+    }
+
+    /**
+     * Removes the value at the given index by moving the values of the shorter side by one slot
+     * over it. The size is not changed.
+     *
+     * @param index The stated index
+     * @return The removed value
+     */
+    private int removeByShift(final int index) {
+        int mask = elements.length - 1;
+        int value = elements[(head + index) & mask];
+
+        if (index < size - 1 - index) {
+            for (int i = index; i > 0; i--) {
+                elements[(head + i) & mask] = elements[(head + i - 1) & mask];
+            }
+            head = (head + 1) & mask;
+        } else {
+            for (int i = index; i < size - 1; i++) {
+                elements[(head + i) & mask] = elements[(head + i + 1) & mask];
+            }
+        }
+
+        return value;
+    }
+
+    /**
+     * Moves the gap in front of the value at the given index, by moving the values between
+     * the gap and the index to the other side of the gap. The last and the first value are
+     * neighbors in the array, so the gap takes the shorter way, which may pass the end of the
+     * list. Then the gap moves from behind the last value in front of the first one without
+     * moving any value.
+     *
+     * @param index The stated index, up to the size
+     */
+    private void moveGap(final int index) {
+        int mask = elements.length - 1;
+        int gapLength = elements.length - size;
+        if (index < gapIndex && size - gapIndex + index < gapIndex - index) {
+            shiftGap(size);
+            head = (head - gapLength) & mask;
+            gapIndex = 0;
+        } else if (index > gapIndex && gapIndex + size - index < index - gapIndex) {
+            shiftGap(0);
+            head = (head + gapLength) & mask;
+            gapIndex = size;
+        }
+        shiftGap(index);
+    }
+
+    /**
+     * Moves the gap in front of the value at the given index without passing the end of the
+     * list.
+     *
+     * @param index The stated index, up to the size
+     */
+    private void shiftGap(final int index) {
+        int mask = elements.length - 1;
+        int gapLength = elements.length - size;
+        if (gapLength > 0) {
+            for (int i = gapIndex - 1; i >= index; i--) {
+                elements[(head + i + gapLength) & mask] = elements[(head + i) & mask];
+            }
+            for (int i = gapIndex; i < index; i++) {
+                elements[(head + i) & mask] = elements[(head + i + gapLength) & mask];
+            }
+        }
+        gapIndex = index;
+    }
+
+    /**
+     * Copies the values into an array of the given capacity. The values in front of the gap
+     * start at the first slot, the ones behind it end at the last slot.
+     *
+     * @param capacity The new capacity, at least the size
+     */
+    private void resize(final int capacity) {
+        if (capacity > MAX_CAPACITY || capacity < 0) {
+            throw new IllegalStateException("The list is full: " + size);
+        }
+
+        int[] resized = new int[capacity];
+        copySlots(head, resized, 0, gapIndex);
+        if (gapIndex < size) {
+            copySlots(toSlot(gapIndex), resized, capacity - (size - gapIndex), size - gapIndex);
+        }
+
+        elements = resized;
+        head = 0;
+    }
+
+    /**
+     * Copies consecutive slots, which may wrap around the end of the array, to the target.
+     *
+     * @param slot The first slot to copy
+     * @param target The array to copy to
+     * @param targetPosition The first position in the target
+     * @param count The number of slots
+     */
+    private void copySlots(final int slot, final int[] target, final int targetPosition,
+            final int count) {
+        int firstPart = Math.min(count, elements.length - slot);
+        System.arraycopy(elements, slot, target, targetPosition, firstPart);
+        System.arraycopy(elements, 0, target, targetPosition + firstPart, count - firstPart);
+    }
+
+    //----------------------------------------------------------------------------------------------
+
+    /**
+     * Checks the given index whether it is greater than or equal to the size or whether the index
+     * is less than 0. If yes an <code>IndexOutOfBoundsException</code> is thrown.
+     *
+     * @param index The index to check
+     */
+    private void checkIndex(final int index) {
+        if (index >= size() || index < 0) { throw new IndexOutOfBoundsException(); }
+    }
+
+    //----------------------------------------------------------------------------------------------
+}
@@ -83,6 +83,19 @@ public interface List<T> extends Iterable<T> {
      * @return a list iterator over the elements in this list (in proper sequence)
      */
     ListIterator<T> listIterator();
+
+    /**
+     * Returns a list iterator over the elements in this list (in proper sequence), whose first
+     * call of <code>next</code> returns the element at the given index. Adding, removing and
+     * replacing elements at the cursor of the iterator takes constant time, unless stated
+     * otherwise. The iterator is fail-fast, it throws a
+     * <code>ConcurrentModificationException</code> if the list was structurally modified other
+     * than by the iterator itself.
+     *
+     * @param index The index of the first element to be returned by <code>next</code>
+     * @return a list iterator over the elements in this list (in proper sequence)
+     */
+    ListIterator<T> listIterator(int index);
     
     // ---------------------------------------------------------------------------------------------
 }
\ No newline at end of file
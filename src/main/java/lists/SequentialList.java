@@ -0,0 +1,53 @@
+/*
+ * Copyright 2019 (C) by Julian Horner.
+ * All Rights Reserved.
+ */
+
+package lists;
+
+import java.util.Iterator;
+
+/**
+ * A list without random access, whose nodes can be remembered and traversed from later on. This
+ * allows an index over the list, which starts a traversal at a remembered node instead of the head.
+ *
+ * @author julian
+ *
+ * @param <T> The type of the list
+ */
+public interface SequentialList<T> extends List<T> {
+    //----------------------------------------------------------------------------------------------
+
+    /**
+     * Gets the number of structural modifications (adding or removing elements) of the list so
+     * far. The handles of {@link #getNodeHandles(int)} are only valid as long as the count doesn't
+     * change.
+     *
+     * @return The stated count
+     */
+    int getModificationCount();
+
+    //----------------------------------------------------------------------------------------------
+
+    /**
+     * Gets handles to the nodes at the indexes 0, distance, 2 * distance and so on. The handles are
+     * collected in a single traversal of the list.
+     *
+     * @param distance The distance between two nodes
+     * @return The stated handles
+     */
+    Object[] getNodeHandles(int distance);
+
+    //----------------------------------------------------------------------------------------------
+
+    /**
+     * Returns an iterator over the elements in this list, which starts at the node of the given
+     * handle.
+     *
+     * @param nodeHandle A handle returned by {@link #getNodeHandles(int)}
+     * @return The stated iterator
+     */
+    Iterator<T> iterator(Object nodeHandle);
+
+    //----------------------------------------------------------------------------------------------
+}
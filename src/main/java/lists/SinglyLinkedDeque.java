@@ -0,0 +1,343 @@
+/*
+ * Copyright 2019 (C) by Julian Horner.
+ * All Rights Reserved.
+ */
+
+package lists;
+
+import java.util.ConcurrentModificationException;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+/**
+ * A double ended queue of singly linked nodes, which adds and removes elements at both ends in
+ * amortized constant time. A {@link SinglyLinkedList} walks the whole list to remove its last
+ * element, as its nodes have no link to their predecessor.
+ * <p>
+ * The deque consists of two chains, the front chain links the first elements from the head
+ * towards the middle, the back chain links the last elements from the last towards the middle.
+ * So both ends are the top of a chain and are removed like the top of a stack. If one chain runs
+ * empty, the half of the other chain next to the middle is reversed and becomes the empty chain,
+ * which takes linear time, but the next removals at this end take constant time again.
+ * <p>
+ * Iterating the deque reverses the back chain into the front chain first, which takes linear
+ * time as well.
+ *
+ * @author julian
+ *
+ * @param <T> The type of the data of the deque
+ */
+public final class SinglyLinkedDeque<T> implements Iterable<T> {
+    //----------------------------------------------------------------------------------------------
+
+    /** The first node of the deque, the top of the front chain. */
+    private ListNode front;
+
+    /** The node of the front chain next to the middle. */
+    private ListNode frontBottom;
+
+    /** The number of nodes of the front chain. */
+    private int frontSize;
+
+    /** The last node of the deque, the top of the back chain. */
+    private ListNode back;
+
+    /** The node of the back chain next to the middle. */
+    private ListNode backBottom;
+
+    /** The number of nodes of the back chain. */
+    private int backSize;
+
+    /** The number of structural modifications of the deque. */
+    private int modificationCount;
+
+    //----------------------------------------------------------------------------------------------
+
+    /**
+     * A node of the deque containing the data it holds and a reference to the next node of its
+     * chain, towards the middle of the deque.
+     */
+    private final class ListNode {
+
+        /** The successor of this node in its chain. */
+        private ListNode next;
+
+        /** The data the node holds. */
+        private T data;
+
+        /**
+         * Creates an list node with the given data.
+         *
+         * @param value The stated data
+         */
+        private ListNode(final T value) {
+            data = value;
+        }
+    }
+
+    //----------------------------------------------------------------------------------------------
+
+    /**
+     * Inserts the given element at the front of the deque.
+     *
+     * @param element The stated element
+     */
+    public void addFirst(final T element) {
+        ListNode node = new ListNode(element);
+        if (front == null) { frontBottom = node; }
+
+        node.next = front;
+        front = node;
+        frontSize++;
+        modificationCount++;
+    }
+
+    /**
+     * Inserts the given element at the end of the deque.
+     *
+     * @param element The stated element
+     */
+    public void addLast(final T element) {
+        ListNode node = new ListNode(element);
+        if (back == null) { backBottom = node; }
+
+        node.next = back;
+        back = node;
+        backSize++;
+        modificationCount++;
+    }
+
+    //----------------------------------------------------------------------------------------------
+
+    /**
+     * Removes the first element of the deque.
+     *
+     * @return The removed element
+     * @throws NoSuchElementException If the deque is empty
+     */
+    public T removeFirst() {
+        if (isEmpty()) { throw new NoSuchElementException(); }
+        if (front == null) { refillFront(); }
+
+        ListNode node = front;
+        front = node.next;
+        frontSize--;
+        if (front == null) { frontBottom = null; }
+        modificationCount++;
+
+        return node.data;
+    }
+
+    /**
+     * Removes the last element of the deque.
+     *
+     * @return The removed element
+     * @throws NoSuchElementException If the deque is empty
+     */
+    public T removeLast() {
+        if (isEmpty()) { throw new NoSuchElementException(); }
+        if (back == null) { refillBack(); }
+
+        ListNode node = back;
+        back = node.next;
+        backSize--;
+        if (back == null) { backBottom = null; }
+        modificationCount++;
+
+        return node.data;
+    }
+
+    //----------------------------------------------------------------------------------------------
+
+    /**
+     * Gets the first element of the deque.
+     *
+     * @return The stated element
+     * @throws NoSuchElementException If the deque is empty
+     */
+    public T getFirst() {
+        if (isEmpty()) { throw new NoSuchElementException(); }
+
+        return (front != null) ? front.data : backBottom.data;
+    }
+
+    /**
+     * Gets the last element of the deque.
+     *
+     * @return The stated element
+     * @throws NoSuchElementException If the deque is empty
+     */
+    public T getLast() {
+        if (isEmpty()) { throw new NoSuchElementException(); }
+
+        return (back != null) ? back.data : frontBottom.data;
+    }
+
+    //----------------------------------------------------------------------------------------------
+
+    /**
+     * Gets the number of elements of the deque.
+     *
+     * @return The stated number
+     */
+    public int size() { return frontSize + backSize; }
+
+    /**
+     * Checks whether the deque contains no elements.
+     *
+     * @return Whether the deque is empty
+     */
+    public boolean isEmpty() { return front == null && back == null; }
+
+    //----------------------------------------------------------------------------------------------
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public String toString() {
+        if (isEmpty()) { return "[]"; }
+
+        StringBuilder sb = new StringBuilder("[");
+        for (T element : this) {
+            sb.append(element);
+            sb.append(", ");
+        }
+        sb.setLength(sb.length() - 2);
+        sb.append("]");
+
+        return sb.toString();
+    }
+
+    //----------------------------------------------------------------------------------------------
+
+    /**
+     * Returns an iterator over the elements of the deque from the first to the last, which
+     * reverses the back chain into the front chain first. The iterator is fail-fast.
+     *
+     * @return The stated iterator
+     */
+    @Override
+    public Iterator<T> iterator() {
+        joinChains();
+
+        return new Iterator<T>() {
+
+            private ListNode node = front;
+
+            private final int expectedModificationCount = modificationCount;
+
+            @Override
+            public boolean hasNext() { return node != null; }
+
+            @Override
+            public T next() {
+                if (modificationCount != expectedModificationCount) {
+                    throw new ConcurrentModificationException();
+                }
+                if (node == null) { throw new NoSuchElementException(); }
+
+                T data = node.data;
+                node = node.next;
+
+                return data;
+            }
+        };
+    }
+
+    //----------------------------------------------------------------------------------------------
+
+    /**
+     * Moves the half of the back chain next to the middle into the empty front chain.
+     */
+    private void refillFront() {
+        int keep = backSize / 2;
+
+        ListNode keptBottom = null;
+        ListNode moved = back;
+        for (int i = 0; i < keep; i++) {
+            keptBottom = moved;
+            moved = moved.next;
+        }
+        if (keptBottom == null) {
+            back = null;
+        } else {
+            keptBottom.next = null;
+        }
+        backBottom = keptBottom;
+
+        frontBottom = moved;
+        front = reverse(moved);
+        frontSize = backSize - keep;
+        backSize = keep;
+    }
+
+    /**
+     * Moves the half of the front chain next to the middle into the empty back chain.
+     */
+    private void refillBack() {
+        int keep = frontSize / 2;
+
+        ListNode keptBottom = null;
+        ListNode moved = front;
+        for (int i = 0; i < keep; i++) {
+            keptBottom = moved;
+            moved = moved.next;
+        }
+        if (keptBottom == null) {
+            front = null;
+        } else {
+            keptBottom.next = null;
+        }
+        frontBottom = keptBottom;
+
+        backBottom = moved;
+        back = reverse(moved);
+        backSize = frontSize - keep;
+        frontSize = keep;
+    }
+
+    /**
+     * Reverses the back chain and appends it to the front chain, so the front chain links all
+     * nodes from the first to the last. The elements of the deque don't change.
+     */
+    private void joinChains() {
+        if (back == null) { return; }
+
+        ListNode lastNode = back;
+        ListNode reversed = reverse(back);
+        if (front == null) {
+            front = reversed;
+        } else {
+            frontBottom.next = reversed;
+        }
+        frontBottom = lastNode;
+        frontSize += backSize;
+
+        back = null;
+        backBottom = null;
+        backSize = 0;
+    }
+
+    /**
+     * Reverses the links of the chain starting at the given node.
+     *
+     * @param node The first node of the chain
+     * @return The first node of the reversed chain, which was the last one
+     */
+    private ListNode reverse(final ListNode node) {
+        ListNode reversed = null;
+        ListNode current = node;
+        while (current != null) {
+            ListNode successor = current.next;
+            current.next = reversed;
+
+            reversed = current;
+            current = successor;
+        }
+
+        return reversed;
+    }
+
+    //----------------------------------------------------------------------------------------------
+}
@@ -5,18 +5,22 @@
 
 package lists;
 
+import java.util.ConcurrentModificationException;
 import java.util.Iterator;
 import java.util.ListIterator;
 import java.util.NoSuchElementException;
 
 /**
- * My implementation of a singly linked list.
+ * My implementation of a singly linked list. Its list iterator adds, removes and replaces
+ * elements at its cursor in constant time, so a forward pass which edits the list takes linear
+ * time. Removing the last element walks the whole list, {@link SinglyLinkedDeque} removes it in
+ * amortized constant time.
  * 
  * @author julian
  *
  * @param <T> The type of the data of the list
  */
-public final class SinglyLinkedList<T> implements List<T> {
+public final class SinglyLinkedList<T> implements SequentialList<T> {
     //----------------------------------------------------------------------------------------------
 
     /** The head node of the list. */
@@ -27,6 +31,9 @@ public final class SinglyLinkedList<T> implements List<T> {
     
     /** The current size of the list. */
     private int size;
+
+    /** The number of structural modifications of the list. */
+    private int modificationCount;
     
     //----------------------------------------------------------------------------------------------
 
@@ -71,6 +78,7 @@ public final class SinglyLinkedList<T> implements List<T> {
         
         chainNode(index, new ListNode(element));
         size++;
+        modificationCount++;
     }
     
     //----------------------------------------------------------------------------------------------
@@ -102,6 +110,7 @@ public final class SinglyLinkedList<T> implements List<T> {
         
         ListNode element = unchainNode(index);
         size--;
+        modificationCount++;
 
         return element.data;
     }
@@ -148,9 +157,34 @@ public final class SinglyLinkedList<T> implements List<T> {
      */
     @Override
     public Iterator<T> iterator() {
+        return iterator(head);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public Iterator<T> iterator(final Object nodeHandle) {
+        if (nodeHandle != null && !(nodeHandle instanceof SinglyLinkedList.ListNode)) {
+            throw new IllegalArgumentException("Not a node handle: " + nodeHandle);
+        }
+
+        @SuppressWarnings("unchecked")
+        ListNode startNode = (ListNode) nodeHandle;
+
+        return iterator(startNode);
+    }
+
+    /**
+     * Returns an iterator over the elements in this list, which starts at the given node.
+     * 
+     * @param startNode The first node of the iteration
+     * @return The stated iterator
+     */
+    private Iterator<T> iterator(final ListNode startNode) {
         return new Iterator<T>() {
             
-            private ListNode node = head;
+            private ListNode node = startNode;
             
             @Override
             public boolean hasNext() { return node != null; }
@@ -174,8 +208,195 @@ public final class SinglyLinkedList<T> implements List<T> {
      */
     @Override
     public ListIterator<T> listIterator() {
-        // not to be implemented
-        return null;
+        return listIterator(0);
+    }
+
+    /**
+     * {@inheritDoc} Only <code>previous</code> takes linear time, as the nodes have no link to
+     * their predecessor.
+     */
+    @Override
+    public ListIterator<T> listIterator(final int index) {
+        if (index > size() || index < 0) { throw new IndexOutOfBoundsException(); }
+
+        return new ListCursor(index);
+    }
+
+    //----------------------------------------------------------------------------------------------
+
+    /**
+     * A list iterator which holds the nodes in front of its cursor, so it adds, removes and
+     * replaces elements without searching the predecessor of a node. Moving backwards searches
+     * the predecessors from the head.
+     */
+    private final class ListCursor implements ListIterator<T> {
+
+        /** The node in front of the previous node, null if there is none. */
+        private ListNode beforePreviousNode;
+
+        /** The node which is returned by <code>previous</code>, null at the head of the list. */
+        private ListNode previousNode;
+
+        /** The node which is returned by <code>next</code>, null at the end of the list. */
+        private ListNode nextNode;
+
+        /** The node returned by the last move, null after an add or a remove. */
+        private ListNode lastReturned;
+
+        /** The index of the next node. */
+        private int nextIndex;
+
+        /** The modification count of the list the iterator knows of. */
+        private int expectedModificationCount = modificationCount;
+
+        /**
+         * Creates a list iterator whose cursor is in front of the given index.
+         * 
+         * @param index The stated index
+         */
+        private ListCursor(final int index) {
+            moveTo(index);
+        }
+
+        @Override
+        public boolean hasNext() { return nextIndex < size(); }
+
+        @Override
+        public T next() {
+            checkForComodification();
+            if (!hasNext()) { throw new NoSuchElementException(); }
+
+            beforePreviousNode = previousNode;
+            previousNode = nextNode;
+            nextNode = nextNode.next;
+            nextIndex++;
+
+            lastReturned = previousNode;
+            return lastReturned.data;
+        }
+
+        @Override
+        public boolean hasPrevious() { return nextIndex > 0; }
+
+        @Override
+        public T previous() {
+            checkForComodification();
+            if (!hasPrevious()) { throw new NoSuchElementException(); }
+
+            moveTo(nextIndex - 1);
+
+            lastReturned = nextNode;
+            return lastReturned.data;
+        }
+
+        @Override
+        public int nextIndex() { return nextIndex; }
+
+        @Override
+        public int previousIndex() { return nextIndex - 1; }
+
+        @Override
+        public void remove() {
+            checkForComodification();
+            if (lastReturned == null) { throw new IllegalStateException(); }
+
+            // after previous the cursor is in front of the removed node, after next behind it
+            if (lastReturned == nextNode) {
+                nextNode = nextNode.next;
+                unchainAfter(previousNode);
+            } else {
+                unchainAfter(beforePreviousNode);
+                previousNode = beforePreviousNode;
+                // the node in front is only needed by a remove after next, which sets it
+                beforePreviousNode = null;
+                nextIndex--;
+            }
+            size--;
+            modificationCount++;
+
+            expectedModificationCount = modificationCount;
+            lastReturned = null;
+        }
+
+        @Override
+        public void set(final T e) {
+            checkForComodification();
+            if (lastReturned == null) { throw new IllegalStateException(); }
+
+            lastReturned.data = e;
+        }
+
+        @Override
+        public void add(final T e) {
+            checkForComodification();
+
+            ListNode node = new ListNode(e);
+            chainAfter(previousNode, node);
+            size++;
+            modificationCount++;
+
+            beforePreviousNode = previousNode;
+            previousNode = node;
+            nextIndex++;
+
+            expectedModificationCount = modificationCount;
+            lastReturned = null;
+        }
+
+        /**
+         * Moves the cursor in front of the given index, by walking from the head.
+         * 
+         * @param index The stated index
+         */
+        private void moveTo(final int index) {
+            beforePreviousNode = null;
+            previousNode = null;
+            nextNode = head;
+            for (int i = 0; i < index; i++) {
+                beforePreviousNode = previousNode;
+                previousNode = nextNode;
+                nextNode = nextNode.next;
+            }
+            nextIndex = index;
+        }
+
+        /**
+         * Checks whether the list was structurally modified other than by this iterator. If yes
+         * a <code>ConcurrentModificationException</code> is thrown.
+         */
+        private void checkForComodification() {
+            if (modificationCount != expectedModificationCount) {
+                throw new ConcurrentModificationException();
+            }
+        }
+    }
+
+    //----------------------------------------------------------------------------------------------
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public int getModificationCount() { return modificationCount; }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public Object[] getNodeHandles(final int distance) {
+        if (distance < 1) { throw new IllegalArgumentException("Illegal distance: " + distance); }
+
+        Object[] handles = new Object[(size() + distance - 1) / distance];
+        ListNode node = head;
+        for (int i = 0; i < handles.length; i++) {
+            handles[i] = node;
+            
+            for (int j = 0; j < distance && node != null; j++) {
+                node = node.next;
+            }
+        }
+
+        return handles;
     }
 
     //----------------------------------------------------------------------------------------------
@@ -238,6 +459,23 @@ public final class SinglyLinkedList<T> implements List<T> {
         node.next = subseqNode;
     }
 
+    /**
+     * Chains the given list node behind the given predecessor, which takes constant time.
+     * 
+     * @param prevNode The node in front of the inserted node, null to insert the node as head
+     * @param node The node to insert
+     */
+    private void chainAfter(final ListNode prevNode, final ListNode node) {
+        if (prevNode == null) {
+            chainFirst(node);
+        } else {
+            node.next = prevNode.next;
+            prevNode.next = node;
+
+            if (prevNode == last) { last = node; }
+        }
+    }
+
     //----------------------------------------------------------------------------------------------
 
     /**
@@ -264,6 +502,23 @@ public final class SinglyLinkedList<T> implements List<T> {
         return node;
     }
 
+    /**
+     * Removes the node behind the given predecessor, which takes constant time.
+     * 
+     * @param prevNode The node in front of the node to remove, null to remove the head
+     * @return The removed node
+     */
+    private ListNode unchainAfter(final ListNode prevNode) {
+        if (prevNode == null) { return unchainFirst(); }
+
+        ListNode node = prevNode.next;
+        prevNode.next = node.next;
+
+        if (node == last) { last = prevNode; }
+
+        return node;
+    }
+
     //----------------------------------------------------------------------------------------------
 
     /**
@@ -0,0 +1,680 @@
+/*
+ * Copyright 2019 (C) by Julian Horner.
+ * All Rights Reserved.
+ */
+
+package lists;
+
+import java.util.Arrays;
+import java.util.ConcurrentModificationException;
+import java.util.Iterator;
+import java.util.ListIterator;
+import java.util.NoSuchElementException;
+
+/**
+ * An unrolled linked list, a doubly linked list of chunks, where every chunk holds up to a fixed
+ * number of elements in an array. A traversal reads the elements of a chunk one after another
+ * from the same cache lines and follows one link per chunk, where the {@link SinglyLinkedList}
+ * and the {@link DoublyLinkedList} follow one link per element. The search of an index skips
+ * whole chunks by their number of elements, starting at the nearer end of the list.
+ * <p>
+ * A full chunk is split in two halves when an element is inserted into it. A chunk which falls
+ * below half of its capacity takes the elements of its successor, if they fit into the chunk,
+ * otherwise it takes elements from the successor until both are filled equally. So every chunk
+ * but the last is at least half full. Appending at the end of the list fills the chunks
+ * completely.
+ *
+ * @author julian
+ *
+ * @param <T> The type of the data of the list
+ */
+public final class UnrolledLinkedList<T> implements SequentialList<T> {
+    //----------------------------------------------------------------------------------------------
+
+    /** The number of elements of a chunk, if none is given. */
+    private static final int DEFAULT_CHUNK_CAPACITY = 64;
+
+    /** The smallest number of elements of a chunk. */
+    private static final int MIN_CHUNK_CAPACITY = 4;
+
+    //==============================================================================================
+
+    /** The number of elements a chunk holds. */
+    private final int chunkCapacity;
+
+    /** The first chunk of the list. */
+    private Chunk head;
+
+    /** The last chunk of the list. */
+    private Chunk last;
+
+    /** The current size of the list. */
+    private int size;
+
+    /** The number of structural modifications of the list. */
+    private int modificationCount;
+
+    //----------------------------------------------------------------------------------------------
+
+    /**
+     * A chunk of the list containing an array of elements and the references to the next and
+     * the previous chunk. A chunk of the list is never empty.
+     */
+    private final class Chunk {
+
+        /** The elements of the chunk, the first ones are used. */
+        private final Object[] elements = new Object[chunkCapacity];
+
+        /** The number of elements of the chunk. */
+        private int count;
+
+        /** The successor of this chunk. */
+        private Chunk next;
+
+        /** The predecessor of this chunk. */
+        private Chunk previous;
+
+        /**
+         * Gets the element at the given offset.
+         *
+         * @param offset The stated offset
+         * @return The stated element
+         */
+        @SuppressWarnings("unchecked")
+        private T get(final int offset) { return (T) elements[offset]; }
+    }
+
+    /**
+     * The position of an element in the list, which also serves as the handle of a node.
+     */
+    private final class Position {
+
+        /** The chunk of the element. */
+        private final Chunk chunk;
+
+        /** The offset of the element in the chunk. */
+        private final int offset;
+
+        /**
+         * Creates a position.
+         *
+         * @param chunk The chunk of the element
+         * @param offset The offset of the element in the chunk
+         */
+        private Position(final Chunk chunk, final int offset) {
+            this.chunk = chunk;
+            this.offset = offset;
+        }
+    }
+
+    //----------------------------------------------------------------------------------------------
+
+    /**
+     * Create a new <code>UnrolledLinkedList</code> with chunks of
+     * {@value #DEFAULT_CHUNK_CAPACITY} elements.
+     */
+    public UnrolledLinkedList() {
+        this(DEFAULT_CHUNK_CAPACITY);
+    }
+
+    /**
+     * Create a new <code>UnrolledLinkedList</code> with chunks of the given number of elements.
+     *
+     * @param chunkCapacity The stated number, at least {@value #MIN_CHUNK_CAPACITY}
+     */
+    public UnrolledLinkedList(final int chunkCapacity) {
+        if (chunkCapacity < MIN_CHUNK_CAPACITY) {
+            throw new IllegalArgumentException("Illegal chunk capacity: " + chunkCapacity);
+        }
+
+        this.chunkCapacity = chunkCapacity;
+    }
+
+    //----------------------------------------------------------------------------------------------
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public boolean add(final T element) {
+        if (last == null || last.count == chunkCapacity) { appendChunk(); }
+
+        last.elements[last.count++] = element;
+        size++;
+        modificationCount++;
+
+        return true;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void add(final int index, final T element) {
+        if (index > size() || index < 0) { throw new IndexOutOfBoundsException(); }
+        if (index == size()) {
+            add(element);
+            return;
+        }
+
+        Position position = getPosition(index);
+        insert(position.chunk, position.offset, element);
+        size++;
+        modificationCount++;
+    }
+
+    //----------------------------------------------------------------------------------------------
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public T get(final int index) {
+        checkIndex(index);
+
+        Position position = getPosition(index);
+
+        return position.chunk.get(position.offset);
+    }
+
+    //----------------------------------------------------------------------------------------------
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public T remove(final int index) {
+        checkIndex(index);
+
+        Position position = getPosition(index);
+        T element = position.chunk.get(position.offset);
+        removeAt(position.chunk, position.offset);
+        size--;
+        modificationCount++;
+
+        return element;
+    }
+
+    //----------------------------------------------------------------------------------------------
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public int size() { return size; }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public boolean isEmpty() { return head == null; }
+
+    /**
+     * Gets the number of elements a chunk holds.
+     *
+     * @return The stated number
+     */
+    public int getChunkCapacity() { return chunkCapacity; }
+
+    //----------------------------------------------------------------------------------------------
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public String toString() {
+        if (isEmpty()) { return "[]"; }
+
+        StringBuilder sb = new StringBuilder("[");
+        for (Chunk chunk = head; chunk != null; chunk = chunk.next) {
+            for (int i = 0; i < chunk.count; i++) {
+                sb.append(chunk.elements[i]);
+                sb.append(", ");
+            }
+        }
+        sb.setLength(sb.length() - 2);
+        sb.append("]");
+
+        return sb.toString();
+    }
+
+    //----------------------------------------------------------------------------------------------
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public Iterator<T> iterator() {
+        return iterator(head, 0);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public Iterator<T> iterator(final Object nodeHandle) {
+        if (nodeHandle == null) { return iterator(null, 0); }
+        if (!(nodeHandle instanceof UnrolledLinkedList.Position)) {
+            throw new IllegalArgumentException("Not a node handle: " + nodeHandle);
+        }
+
+        @SuppressWarnings("unchecked")
+        Position position = (Position) nodeHandle;
+
+        return iterator(position.chunk, position.offset);
+    }
+
+    /**
+     * Returns an iterator over the elements in this list, which starts at the given position.
+     *
+     * @param startChunk The chunk of the first element of the iteration
+     * @param startOffset The offset of the first element in its chunk
+     * @return The stated iterator
+     */
+    private Iterator<T> iterator(final Chunk startChunk, final int startOffset) {
+        return new Iterator<T>() {
+
+            private Chunk chunk = startChunk;
+
+            private int offset = startOffset;
+
+            @Override
+            public boolean hasNext() {
+                return chunk != null && (offset < chunk.count || chunk.next != null);
+            }
+
+            @Override
+            public T next() {
+                if (!hasNext()) { throw new NoSuchElementException(); }
+
+                if (offset == chunk.count) {
+                    chunk = chunk.next;
+                    offset = 0;
+                }
+
+                return chunk.get(offset++);
+            }
+        };
+    }
+
+    //----------------------------------------------------------------------------------------------
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public ListIterator<T> listIterator() {
+        return listIterator(0);
+    }
+
+    /**
+     * {@inheritDoc} Adding and removing elements shifts the elements of a chunk, at most
+     * {@link #getChunkCapacity()} of them.
+     */
+    @Override
+    public ListIterator<T> listIterator(final int index) {
+        if (index > size() || index < 0) { throw new IndexOutOfBoundsException(); }
+
+        return new ListCursor(index);
+    }
+
+    //----------------------------------------------------------------------------------------------
+
+    /**
+     * A list iterator which holds the position of its cursor, so it adds, removes and replaces
+     * elements without searching the chunk of the index.
+     */
+    private final class ListCursor implements ListIterator<T> {
+
+        /** The chunk of the cursor, null if the list is empty. */
+        private Chunk nextChunk;
+
+        /** The offset of the next element in the chunk of the cursor, up to its count. */
+        private int nextOffset;
+
+        /** The chunk of the element returned by the last move, null after an add or a remove. */
+        private Chunk lastChunk;
+
+        /** The offset of the element returned by the last move. */
+        private int lastOffset;
+
+        /** The index of the next element. */
+        private int nextIndex;
+
+        /** The modification count of the list the iterator knows of. */
+        private int expectedModificationCount = modificationCount;
+
+        /**
+         * Creates a list iterator whose cursor is in front of the given index.
+         *
+         * @param index The stated index
+         */
+        private ListCursor(final int index) {
+            if (index == size()) {
+                moveToEnd();
+            } else {
+                Position position = getPosition(index);
+                nextChunk = position.chunk;
+                nextOffset = position.offset;
+            }
+            nextIndex = index;
+        }
+
+        @Override
+        public boolean hasNext() { return nextIndex < size(); }
+
+        @Override
+        public T next() {
+            checkForComodification();
+            if (!hasNext()) { throw new NoSuchElementException(); }
+
+            if (nextOffset == nextChunk.count) {
+                nextChunk = nextChunk.next;
+                nextOffset = 0;
+            }
+            lastChunk = nextChunk;
+            lastOffset = nextOffset;
+            nextOffset++;
+            nextIndex++;
+
+            return lastChunk.get(lastOffset);
+        }
+
+        @Override
+        public boolean hasPrevious() { return nextIndex > 0; }
+
+        @Override
+        public T previous() {
+            checkForComodification();
+            if (!hasPrevious()) { throw new NoSuchElementException(); }
+
+            if (nextOffset == 0) {
+                nextChunk = nextChunk.previous;
+                nextOffset = nextChunk.count;
+            }
+            nextOffset--;
+            nextIndex--;
+            lastChunk = nextChunk;
+            lastOffset = nextOffset;
+
+            return lastChunk.get(lastOffset);
+        }
+
+        @Override
+        public int nextIndex() { return nextIndex; }
+
+        @Override
+        public int previousIndex() { return nextIndex - 1; }
+
+        @Override
+        public void remove() {
+            checkForComodification();
+            if (lastChunk == null) { throw new IllegalStateException(); }
+
+            // after next the cursor is behind the removed element, after previous in front of it
+            if (lastChunk != nextChunk || lastOffset != nextOffset) { nextIndex--; }
+
+            // the following elements move up, so the cursor takes the place of the element
+            nextChunk = lastChunk;
+            nextOffset = lastOffset;
+            if (removeAt(lastChunk, lastOffset)) { moveToEnd(); }
+            size--;
+            modificationCount++;
+
+            expectedModificationCount = modificationCount;
+            lastChunk = null;
+        }
+
+        @Override
+        public void set(final T e) {
+            checkForComodification();
+            if (lastChunk == null) { throw new IllegalStateException(); }
+
+            lastChunk.elements[lastOffset] = e;
+        }
+
+        @Override
+        public void add(final T e) {
+            checkForComodification();
+
+            if (nextChunk == null) {
+                appendChunk();
+                nextChunk = last;
+            }
+            Chunk chunk = insert(nextChunk, nextOffset, e);
+            if (chunk != nextChunk) {
+                nextOffset -= nextChunk.count;
+                nextChunk = chunk;
+            }
+            nextOffset++;
+            nextIndex++;
+            size++;
+            modificationCount++;
+
+            expectedModificationCount = modificationCount;
+            lastChunk = null;
+        }
+
+        /**
+         * Moves the cursor behind the last element.
+         */
+        private void moveToEnd() {
+            nextChunk = last;
+            nextOffset = (last == null) ? 0 : last.count;
+        }
+
+        /**
+         * Checks whether the list was structurally modified other than by this iterator. If yes
+         * a <code>ConcurrentModificationException</code> is thrown.
+         */
+        private void checkForComodification() {
+            if (modificationCount != expectedModificationCount) {
+                throw new ConcurrentModificationException();
+            }
+        }
+    }
+
+    //----------------------------------------------------------------------------------------------
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public int getModificationCount() { return modificationCount; }
+
+    /**
+     * {@inheritDoc} The traversal skips whole chunks.
+     */
+    @Override
+    public Object[] getNodeHandles(final int distance) {
+        if (distance < 1) { throw new IllegalArgumentException("Illegal distance: " + distance); }
+
+        Object[] handles = new Object[(size() + distance - 1) / distance];
+        Chunk chunk = head;
+        int offset = 0;
+        for (int i = 0; i < handles.length; i++) {
+            handles[i] = new Position(chunk, offset);
+
+            offset += distance;
+            while (chunk != null && offset >= chunk.count) {
+                offset -= chunk.count;
+                chunk = chunk.next;
+            }
+        }
+
+        return handles;
+    }
+
+    //----------------------------------------------------------------------------------------------
+
+    /**
+     * Chains a new empty chunk as last chunk, the caller fills it.
+     */
+    private void appendChunk() {
+        Chunk chunk = new Chunk();
+        if (last == null) {
+            head = chunk;
+        } else {
+            last.next = chunk;
+            chunk.previous = last;
+        }
+        last = chunk;
+    }
+
+    /**
+     * Inserts the element at the given offset of the chunk, which is split if it is full.
+     *
+     * @param chunk The stated chunk
+     * @param offset The stated offset, up to the count of the chunk
+     * @param element The element to insert
+     * @return The chunk which holds the element, the given one or the new successor
+     */
+    private Chunk insert(final Chunk chunk, final int offset, final T element) {
+        Chunk target = chunk;
+        int targetOffset = offset;
+        if (chunk.count == chunkCapacity) {
+            split(chunk);
+            if (offset > chunk.count) {
+                target = chunk.next;
+                targetOffset = offset - chunk.count;
+            }
+        }
+
+        System.arraycopy(target.elements, targetOffset, target.elements, targetOffset + 1,
+                target.count - targetOffset);
+        target.elements[targetOffset] = element;
+        target.count++;
+
+        return target;
+    }
+
+    /**
+     * Moves the upper half of the elements of the chunk into a new successor.
+     *
+     * @param chunk The stated chunk
+     */
+    private void split(final Chunk chunk) {
+        Chunk successor = new Chunk();
+        successor.previous = chunk;
+        successor.next = chunk.next;
+        if (chunk.next == null) {
+            last = successor;
+        } else {
+            chunk.next.previous = successor;
+        }
+        chunk.next = successor;
+
+        int kept = chunk.count / 2;
+        successor.count = chunk.count - kept;
+        System.arraycopy(chunk.elements, kept, successor.elements, 0, successor.count);
+        Arrays.fill(chunk.elements, kept, chunk.count, null);
+        chunk.count = kept;
+    }
+
+    //----------------------------------------------------------------------------------------------
+
+    /**
+     * Removes the element at the given offset of the chunk. If the chunk falls below half of its
+     * capacity, it takes the elements of its successor, all or as many as the successor keeps.
+     * The elements behind the removed one stay in the chunk, unless it is removed.
+     *
+     * @param chunk The stated chunk
+     * @param offset The stated offset
+     * @return Whether the chunk was empty and was removed from the list
+     */
+    private boolean removeAt(final Chunk chunk, final int offset) {
+        chunk.count--;
+        System.arraycopy(chunk.elements, offset + 1, chunk.elements, offset, chunk.count - offset);
+        chunk.elements[chunk.count] = null;
+
+        Chunk successor = chunk.next;
+        if (successor == null) {
+            if (chunk.count > 0) { return false; }
+
+            unchain(chunk);
+            return true;
+        }
+        if (chunk.count >= chunkCapacity / 2) { return false; }
+
+        // the successor is merged if it fits, otherwise both are filled equally
+        int moved = successor.count;
+        if (chunk.count + successor.count > chunkCapacity) {
+            moved = (successor.count - chunk.count) / 2;
+        }
+        System.arraycopy(successor.elements, 0, chunk.elements, chunk.count, moved);
+        chunk.count += moved;
+        if (moved == successor.count) {
+            unchain(successor);
+        } else {
+            successor.count -= moved;
+            System.arraycopy(successor.elements, moved, successor.elements, 0, successor.count);
+            Arrays.fill(successor.elements, successor.count, successor.count + moved, null);
+        }
+
+        return false;
+    }
+
+    /**
+     * Removes the chunk from the list.
+     *
+     * @param chunk The stated chunk
+     */
+    private void unchain(final Chunk chunk) {
+        if (chunk.previous == null) {
+            head = chunk.next;
+        } else {
+            chunk.previous.next = chunk.next;
+        }
+        if (chunk.next == null) {
+            last = chunk.previous;
+        } else {
+            chunk.next.previous = chunk.previous;
+        }
+    }
+
+    //----------------------------------------------------------------------------------------------
+
+    /**
+     * Gets the position of the element at the given index, by skipping whole chunks from the
+     * nearer end of the list.
+     *
+     * @param index The stated index
+     * @return The stated position
+     */
+    private Position getPosition(final int index) {
+        if (index < size() / 2) {
+            Chunk chunk = head;
+            int offset = index;
+            while (offset >= chunk.count) {
+                offset -= chunk.count;
+                chunk = chunk.next;
+            }
+
+            return new Position(chunk, offset);
+        }
+
+        // the number of elements from the index to the end
+        Chunk chunk = last;
+        int remaining = size() - index;
+        while (remaining > chunk.count) {
+            remaining -= chunk.count;
+            chunk = chunk.previous;
+        }
+
+        return new Position(chunk, chunk.count - remaining);
+    }
+
+    //----------------------------------------------------------------------------------------------
+
+    /**
+     * Checks the given index whether it is greater than or equal to the size or whether the index
+     * is less than 0. If yes an <code>IndexOutOfBoundsException</code> is thrown.
+     *
+     * @param index The index to check
+     */
+    private void checkIndex(final int index) {
+        if (index >= size() || index < 0) { throw new IndexOutOfBoundsException(); }
+    }
+
+    //----------------------------------------------------------------------------------------------
+}
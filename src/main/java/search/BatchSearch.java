@@ -0,0 +1,367 @@
+/*
+ * Copyright 2019 (C) by Julian Horner.
+ * All Rights Reserved.
+ */
+
+package search;
+
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.List;
+import java.util.RandomAccess;
+
+/**
+ * Searches many keys at once in a sorted <code>int[]</code> or <code>List&lt;Integer&gt;</code>.
+ * The result for every key is the same as the one of <code>Arrays.binarySearch</code>, that means
+ * the index of the key or <code>(-(insertion point) - 1)</code>, and it is stored at the position
+ * of the key, so the keys don't have to be sorted. If the searched values contain duplicates, the
+ * index of the first one is returned.
+ * <p>
+ * Independent binary searches spend most of their time waiting for memory, because every probe
+ * depends on the one before. Two strategies avoid that:
+ * <ul>
+ * <li>The merge search sorts the keys and walks through the values once. Every key is searched
+ * from the position of the previous one by doubling a bound, so keys close to each other share
+ * the cache lines they touch. The more keys, the closer they are.</li>
+ * <li>The interleaved search runs the binary searches of {@value #GROUP_SIZE} keys in lockstep. The
+ * probes of the group don't depend on each other, so the processor loads them at the same time
+ * and the group waits about as long as a single search.</li>
+ * </ul>
+ *
+ * @author julian
+ */
+public final class BatchSearch {
+    //----------------------------------------------------------------------------------------------
+
+    /** The number of binary searches of the interleaved search which run in lockstep. */
+    public static final int GROUP_SIZE = 8;
+
+    /**
+     * The largest average distance between two sorted keys, for which {@link #binarySearch(int[],
+     * int[])} prefers the merge search. Up to that distance the walk from one key to the next
+     * stays within a few cache lines.
+     */
+    private static final int MERGE_DISTANCE = 64;
+
+    //----------------------------------------------------------------------------------------------
+
+    /**
+     * Searches the keys in the sorted array with the strategy which fits the number of keys, the
+     * merge search for many keys and the interleaved search for few of them.
+     *
+     * @param sortedArray The sorted array to search in
+     * @param keys The searched keys in any order
+     * @return The result of every key at the position of the key
+     */
+    public static int[] binarySearch(final int[] sortedArray, final int[] keys) {
+        if ((long) keys.length * MERGE_DISTANCE >= sortedArray.length) {
+            return mergeSearch(sortedArray, keys);
+        }
+
+        return interleavedSearch(sortedArray, keys);
+    }
+
+    /**
+     * Searches the keys in the sorted array by sorting them and searching every key from the
+     * position of the previous one. Needs O(k log k) steps for the sort and O(k log(n / k)) steps
+     * for the searches.
+     *
+     * @param sortedArray The sorted array to search in
+     * @param keys The searched keys in any order
+     * @return The result of every key at the position of the key
+     */
+    public static int[] mergeSearch(final int[] sortedArray, final int[] keys) {
+        int[] results = new int[keys.length];
+        long[] sortedKeys = sortKeys(keys);
+
+        int length = sortedArray.length;
+        int position = 0;
+        for (long sortedKey : sortedKeys) {
+            int key = getKey(sortedKey);
+            position = lowerBound(sortedArray, position, length, key);
+            results[getIndex(sortedKey)] = toResult(position,
+                    position < length && sortedArray[position] == key);
+        }
+
+        return results;
+    }
+
+    /**
+     * Searches the keys in the sorted array with groups of {@value #GROUP_SIZE} binary searches
+     * in lockstep. Every step of a search adds half of the remaining length to its position, if
+     * the value there is less than the key, so the steps of all searches are the same except for
+     * the positions and there is no branch that depends on a comparison.
+     *
+     * @param sortedArray The sorted array to search in
+     * @param keys The searched keys in any order
+     * @return The result of every key at the position of the key
+     */
+    public static int[] interleavedSearch(final int[] sortedArray, final int[] keys) {
+        int[] results = new int[keys.length];
+        int length = sortedArray.length;
+        if (length == 0) {
+            Arrays.fill(results, -1);
+            return results;
+        }
+
+        int[] positions = new int[GROUP_SIZE];
+        for (int start = 0; start < keys.length; start += GROUP_SIZE) {
+            int count = Math.min(GROUP_SIZE, keys.length - start);
+            Arrays.fill(positions, 0);
+
+            int remaining = length;
+            while (remaining > 1) {
+                int half = remaining >>> 1;
+                for (int i = 0; i < count; i++) {
+                    positions[i] += (sortedArray[positions[i] + half] < keys[start + i]) ? half : 0;
+                }
+                remaining -= half;
+            }
+
+            for (int i = 0; i < count; i++) {
+                int key = keys[start + i];
+                int position = positions[i] + ((sortedArray[positions[i]] < key) ? 1 : 0);
+                results[start + i] = toResult(position,
+                        position < length && sortedArray[position] == key);
+            }
+        }
+
+        return results;
+    }
+
+    //----------------------------------------------------------------------------------------------
+
+    /**
+     * Searches the keys in the sorted list. A random access list is searched like an array, any
+     * other list is traversed once by its iterator, where independent searches of
+     * <code>Collections.binarySearch</code> would traverse it once per key.
+     *
+     * @param sortedList The sorted list to search in, must not contain null
+     * @param keys The searched keys in any order
+     * @return The result of every key at the position of the key
+     */
+    public static int[] binarySearch(final List<Integer> sortedList, final int[] keys) {
+        if (sortedList instanceof RandomAccess) {
+            if ((long) keys.length * MERGE_DISTANCE >= sortedList.size()) {
+                return mergeSearch(sortedList, keys);
+            }
+
+            return interleavedSearch(sortedList, keys);
+        }
+
+        int[] results = new int[keys.length];
+        long[] sortedKeys = sortKeys(keys);
+
+        Iterator<Integer> iterator = sortedList.iterator();
+        int position = 0;
+        boolean hasValue = iterator.hasNext();
+        int value = hasValue ? iterator.next() : 0;
+        for (long sortedKey : sortedKeys) {
+            int key = getKey(sortedKey);
+            while (hasValue && value < key) {
+                position++;
+                hasValue = iterator.hasNext();
+                if (hasValue) { value = iterator.next(); }
+            }
+            results[getIndex(sortedKey)] = toResult(position, hasValue && value == key);
+        }
+
+        return results;
+    }
+
+    /**
+     * Merge search on a random access list.
+     *
+     * @param sortedList The sorted list to search in
+     * @param keys The searched keys in any order
+     * @return The result of every key at the position of the key
+     */
+    private static int[] mergeSearch(final List<Integer> sortedList, final int[] keys) {
+        int[] results = new int[keys.length];
+        long[] sortedKeys = sortKeys(keys);
+
+        int size = sortedList.size();
+        int position = 0;
+        for (long sortedKey : sortedKeys) {
+            int key = getKey(sortedKey);
+            position = lowerBound(sortedList, position, size, key);
+            results[getIndex(sortedKey)] = toResult(position,
+                    position < size && sortedList.get(position) == key);
+        }
+
+        return results;
+    }
+
+    /**
+     * Interleaved search on a random access list.
+     *
+     * @param sortedList The sorted list to search in
+     * @param keys The searched keys in any order
+     * @return The result of every key at the position of the key
+     */
+    private static int[] interleavedSearch(final List<Integer> sortedList, final int[] keys) {
+        int[] results = new int[keys.length];
+        int size = sortedList.size();
+        if (size == 0) {
+            Arrays.fill(results, -1);
+            return results;
+        }
+
+        int[] positions = new int[GROUP_SIZE];
+        for (int start = 0; start < keys.length; start += GROUP_SIZE) {
+            int count = Math.min(GROUP_SIZE, keys.length - start);
+            Arrays.fill(positions, 0);
+
+            int remaining = size;
+            while (remaining > 1) {
+                int half = remaining >>> 1;
+                for (int i = 0; i < count; i++) {
+                    positions[i] += (sortedList.get(positions[i] + half) < keys[start + i])
+                            ? half : 0;
+                }
+                remaining -= half;
+            }
+
+            for (int i = 0; i < count; i++) {
+                int key = keys[start + i];
+                int position = positions[i] + ((sortedList.get(positions[i]) < key) ? 1 : 0);
+                results[start + i] = toResult(position,
+                        position < size && sortedList.get(position) == key);
+            }
+        }
+
+        return results;
+    }
+
+    //----------------------------------------------------------------------------------------------
+
+    /**
+     * Sorts the keys together with their positions. Every key is packed with its position into a
+     * <code>long</code>, the key in the upper half, so sorting the <code>long</code> values sorts
+     * the keys without boxing them.
+     *
+     * @param keys The keys
+     * @return The packed keys, sorted by key
+     */
+    private static long[] sortKeys(final int[] keys) {
+        long[] sortedKeys = new long[keys.length];
+        for (int i = 0; i < keys.length; i++) {
+            sortedKeys[i] = ((long) keys[i] << 32) | i;
+        }
+        Arrays.sort(sortedKeys);
+
+        return sortedKeys;
+    }
+
+    /**
+     * Gets the key of a packed key.
+     *
+     * @param sortedKey The packed key
+     * @return The stated key
+     */
+    private static int getKey(final long sortedKey) { return (int) (sortedKey >> 32); }
+
+    /**
+     * Gets the position of a packed key.
+     *
+     * @param sortedKey The packed key
+     * @return The stated position
+     */
+    private static int getIndex(final long sortedKey) { return (int) sortedKey; }
+
+    /**
+     * Converts the lower bound of a key to the result of a binary search.
+     *
+     * @param position The position of the smallest value which is not less than the key
+     * @param found Whether the value at the position is the key
+     * @return The index of the key or <code>(-(insertion point) - 1)</code>
+     */
+    private static int toResult(final int position, final boolean found) {
+        return found ? position : -(position + 1);
+    }
+
+    //----------------------------------------------------------------------------------------------
+
+    /**
+     * Finds the smallest value which is not less than the key in the sorted range, by doubling a
+     * bound from the start of the range and doing a binary search between the last two bounds.
+     *
+     * @param array The sorted array
+     * @param fromIndex The first index of the range (inclusive)
+     * @param toIndex The last index of the range (exclusive)
+     * @param key The searched key
+     * @return The position of the value or <code>toIndex</code>, if all values are less
+     */
+    private static int lowerBound(final int[] array, final int fromIndex, final int toIndex,
+            final int key) {
+        int low = fromIndex;
+        int bound = 1;
+        while (low < toIndex && array[low] < key) {
+            int next = (bound < toIndex - low) ? low + bound : toIndex;
+            if (next >= toIndex || array[next] >= key) {
+                // the lower bound is between low + 1 and next
+                int high = Math.min(next, toIndex);
+                low++;
+                while (low < high) {
+                    int middle = (low + high) >>> 1;
+                    if (array[middle] < key) {
+                        low = middle + 1;
+                    } else {
+                        high = middle;
+                    }
+                }
+                return low;
+            }
+            low = next;
+            bound <<= 1;
+        }
+
+        return low;
+    }
+
+    /**
+     * Finds the smallest value which is not less than the key in the sorted range of a random
+     * access list, like {@link #lowerBound(int[], int, int, int)}.
+     *
+     * @param list The sorted list
+     * @param fromIndex The first index of the range (inclusive)
+     * @param toIndex The last index of the range (exclusive)
+     * @param key The searched key
+     * @return The position of the value or <code>toIndex</code>, if all values are less
+     */
+    private static int lowerBound(final List<Integer> list, final int fromIndex, final int toIndex,
+            final int key) {
+        int low = fromIndex;
+        int bound = 1;
+        while (low < toIndex && list.get(low) < key) {
+            int next = (bound < toIndex - low) ? low + bound : toIndex;
+            if (next >= toIndex || list.get(next) >= key) {
+                int high = Math.min(next, toIndex);
+                low++;
+                while (low < high) {
+                    int middle = (low + high) >>> 1;
+                    if (list.get(middle) < key) {
+                        low = middle + 1;
+                    } else {
+                        high = middle;
+                    }
+                }
+                return low;
+            }
+            low = next;
+            bound <<= 1;
+        }
+
+        return low;
+    }
+
+    //----------------------------------------------------------------------------------------------
+
+    /**
+     * Hide utility class constructor.
+     */
+    private BatchSearch() {
+    }
+
+    //----------------------------------------------------------------------------------------------
+}
@@ -0,0 +1,601 @@
+/*
+ * Copyright 2019 (C) by Julian Horner.
+ * All Rights Reserved.
+ */
+
+package search;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedList;
+import java.util.Locale;
+import java.util.Objects;
+
+import hash.IntHashSet;
+import hash.LinkedOverflowHashSet;
+import hash.RobinHoodHashSet;
+import lists.CircularArrayList;
+import lists.DoublyLinkedList;
+import lists.IndexableSkipList;
+import lists.SequentialList;
+import lists.SinglyLinkedList;
+import lists.UnrolledLinkedList;
+
+/**
+ * Enum that represents the collections a scenario of the {@link ScenarioRunner} can measure, the
+ * ones of <code>java.util</code> and the ones of this project. Every collection is wrapped in a
+ * {@link Target}, which maps the operations of a scenario to the methods of the collection.
+ *
+ * @author julian
+ */
+public enum CollectionType {
+    //----------------------------------------------------------------------------------------------
+
+    /** A <code>java.util.ArrayList</code>. */
+    ARRAY_LIST {
+        @Override
+        public Target create(final int size) {
+            return new JavaListTarget(new ArrayList<>(size));
+        }
+    },
+
+    /** A <code>java.util.LinkedList</code>. */
+    LINKED_LIST {
+        @Override
+        public Target create(final int size) { return new JavaListTarget(new LinkedList<>()); }
+    },
+
+    /** A {@link SinglyLinkedList}. */
+    SINGLY_LINKED_LIST {
+        @Override
+        public Target create(final int size) {
+            return new SequentialListTarget(new SinglyLinkedList<>());
+        }
+    },
+
+    /** A {@link DoublyLinkedList}. */
+    DOUBLY_LINKED_LIST {
+        @Override
+        public Target create(final int size) {
+            return new SequentialListTarget(new DoublyLinkedList<>());
+        }
+    },
+
+    /** An {@link UnrolledLinkedList}. */
+    UNROLLED_LINKED_LIST {
+        @Override
+        public Target create(final int size) {
+            return new SequentialListTarget(new UnrolledLinkedList<>());
+        }
+    },
+
+    /** An {@link IndexableSkipList}. */
+    INDEXABLE_SKIP_LIST {
+        @Override
+        public Target create(final int size) {
+            return new SequentialListTarget(new IndexableSkipList<>());
+        }
+    },
+
+    /** A {@link CircularArrayList}. */
+    CIRCULAR_ARRAY_LIST {
+        @Override
+        public Target create(final int size) {
+            return new CircularArrayListTarget(new CircularArrayList<>(size));
+        }
+    },
+
+    /** An {@link IntArray}, which doesn't support removing elements. */
+    INT_ARRAY {
+        @Override
+        public Target create(final int size) { return new IntArrayTarget(new IntArray(size)); }
+    },
+
+    /** A <code>java.util.HashSet</code>. */
+    HASH_SET {
+        @Override
+        public Target create(final int size) { return new JavaSetTarget(new HashSet<>()); }
+    },
+
+    /** A {@link LinkedOverflowHashSet}. */
+    LINKED_OVERFLOW_HASH_SET {
+        @Override
+        public Target create(final int size) {
+            return new HashSetTarget(new LinkedOverflowHashSet<>(size));
+        }
+    },
+
+    /** A {@link RobinHoodHashSet}. */
+    ROBIN_HOOD_HASH_SET {
+        @Override
+        public Target create(final int size) {
+            return new HashSetTarget(new RobinHoodHashSet<>(size));
+        }
+    },
+
+    /** An {@link IntHashSet}, which stores the values without boxing. */
+    INT_HASH_SET {
+        @Override
+        public Target create(final int size) { return new IntHashSetTarget(new IntHashSet(size)); }
+    };
+
+    //----------------------------------------------------------------------------------------------
+
+    /**
+     * Gets the name of the collection in configurations and reports, e.g.
+     * <code>array_list</code>.
+     *
+     * @return The stated name
+     */
+    public String getName() { return name().toLowerCase(Locale.ROOT); }
+
+    /**
+     * Gets the collection with the given name.
+     *
+     * @param name The name of the collection, case is ignored
+     * @return The stated collection
+     */
+    public static CollectionType forName(final String name) {
+        return valueOf(name.trim().toUpperCase(Locale.ROOT));
+    }
+
+    /**
+     * Creates an empty collection of this type.
+     *
+     * @param size The number of elements that will be added
+     * @return The collection wrapped in a target
+     */
+    public abstract Target create(int size);
+
+    //==============================================================================================
+
+    /**
+     * A collection under test. The results of the operations are returned, so the caller can
+     * consume them and the operations can't be removed by the compiler.
+     */
+    public interface Target {
+
+        /**
+         * Gets whether the collection supports the given operation.
+         *
+         * @param operation The stated operation
+         * @return Whether the operation is supported
+         */
+        boolean supports(ScenarioOperation operation);
+
+        /**
+         * Gets whether the elements are addressed by their index, otherwise by their value.
+         *
+         * @return Whether the collection is a list
+         */
+        boolean isIndexed();
+
+        /**
+         * Adds the value.
+         *
+         * @param value The stated value
+         */
+        void add(int value);
+
+        /**
+         * Gets the element at the given index.
+         *
+         * @param index The stated index
+         * @return A value derived from the result
+         */
+        int get(int index);
+
+        /**
+         * Searches the key with a linear search or a lookup in the set.
+         *
+         * @param key The searched key
+         * @return A value derived from the result
+         */
+        int search(int key);
+
+        /**
+         * Searches the key with a binary search.
+         *
+         * @param key The searched key
+         * @return A value derived from the result
+         */
+        int binarySearch(int key);
+
+        /**
+         * Removes the element at the index of a list or the key from a set.
+         *
+         * @param indexOrKey The index or the key
+         * @return A value derived from the result
+         */
+        int remove(int indexOrKey);
+
+        /**
+         * Restores the element that was removed by the last {@link #remove(int)}, if any.
+         */
+        void undoRemove();
+    }
+
+    //==============================================================================================
+
+    /**
+     * Base class of the targets that are lists.
+     */
+    private abstract static class ListTarget implements Target {
+
+        /** The index of the last removed element. */
+        private int removedIndex;
+
+        /** The last removed element. */
+        private Integer removedElement;
+
+        @Override
+        public boolean supports(final ScenarioOperation operation) { return true; }
+
+        @Override
+        public boolean isIndexed() { return true; }
+
+        @Override
+        public int remove(final int indexOrKey) {
+            removedIndex = indexOrKey;
+            removedElement = removeAt(indexOrKey);
+
+            return removedElement;
+        }
+
+        @Override
+        public void undoRemove() {
+            if (removedElement == null) { return; }
+
+            addAt(removedIndex, removedElement);
+            removedElement = null;
+        }
+
+        /**
+         * Removes the element at the given index.
+         *
+         * @param index The stated index
+         * @return The removed element
+         */
+        protected abstract Integer removeAt(int index);
+
+        /**
+         * Adds the element at the given index.
+         *
+         * @param index The stated index
+         * @param element The stated element
+         */
+        protected abstract void addAt(int index, Integer element);
+    }
+
+    //==============================================================================================
+
+    /**
+     * A <code>java.util.List</code>.
+     */
+    private static final class JavaListTarget extends ListTarget {
+
+        /** The list under test. */
+        private final java.util.List<Integer> list;
+
+        /**
+         * Creates the target.
+         *
+         * @param list The list under test
+         */
+        private JavaListTarget(final java.util.List<Integer> list) { this.list = list; }
+
+        @Override
+        public void add(final int value) { list.add(value); }
+
+        @Override
+        public int get(final int index) { return list.get(index); }
+
+        @Override
+        public int search(final int key) { return list.indexOf(key); }
+
+        @Override
+        public int binarySearch(final int key) { return Collections.binarySearch(list, key); }
+
+        @Override
+        protected Integer removeAt(final int index) { return list.remove(index); }
+
+        @Override
+        protected void addAt(final int index, final Integer element) { list.add(index, element); }
+    }
+
+    //==============================================================================================
+
+    /**
+     * A list of this project. It has no binary search of its own, so the binary search uses the
+     * {@link SkipIndexedSearch}, which is built on the first search after the list was modified.
+     */
+    private static final class SequentialListTarget extends ListTarget {
+
+        /** The list under test. */
+        private final SequentialList<Integer> list;
+
+        /** The binary search over the list. */
+        private final SkipIndexedSearch<Integer> binarySearch;
+
+        /**
+         * Creates the target.
+         *
+         * @param list The list under test
+         */
+        private SequentialListTarget(final SequentialList<Integer> list) {
+            this.list = list;
+            binarySearch = new SkipIndexedSearch<>(list);
+        }
+
+        @Override
+        public void add(final int value) { list.add(value); }
+
+        @Override
+        public int get(final int index) { return list.get(index); }
+
+        @Override
+        public int search(final int key) {
+            Integer boxedKey = key;
+
+            int index = 0;
+            Iterator<Integer> iterator = list.iterator();
+            while (iterator.hasNext()) {
+                if (Objects.equals(iterator.next(), boxedKey)) { return index; }
+                index++;
+            }
+
+            return IntSearch.NOT_FOUND;
+        }
+
+        @Override
+        public int binarySearch(final int key) { return binarySearch.binarySearch(key); }
+
+        @Override
+        protected Integer removeAt(final int index) { return list.remove(index); }
+
+        @Override
+        protected void addAt(final int index, final Integer element) { list.add(index, element); }
+    }
+
+    //==============================================================================================
+
+    /**
+     * A {@link CircularArrayList}, which is searched by index like an array.
+     */
+    private static final class CircularArrayListTarget extends ListTarget {
+
+        /** The list under test. */
+        private final CircularArrayList<Integer> list;
+
+        /**
+         * Creates the target.
+         *
+         * @param list The list under test
+         */
+        private CircularArrayListTarget(final CircularArrayList<Integer> list) { this.list = list; }
+
+        @Override
+        public void add(final int value) { list.add(value); }
+
+        @Override
+        public int get(final int index) { return list.get(index); }
+
+        @Override
+        public int search(final int key) {
+            for (int i = 0; i < list.size(); i++) {
+                if (list.get(i) == key) { return i; }
+            }
+
+            return IntSearch.NOT_FOUND;
+        }
+
+        @Override
+        public int binarySearch(final int key) {
+            int low = 0;
+            int high = list.size() - 1;
+            while (low <= high) {
+                int middle = (low + high) >>> 1;
+                int value = list.get(middle);
+                if (value < key) {
+                    low = middle + 1;
+                } else if (value > key) {
+                    high = middle - 1;
+                } else {
+                    return middle;
+                }
+            }
+
+            return -(low + 1);
+        }
+
+        @Override
+        protected Integer removeAt(final int index) { return list.remove(index); }
+
+        @Override
+        protected void addAt(final int index, final Integer element) { list.add(index, element); }
+    }
+
+    //==============================================================================================
+
+    /**
+     * An {@link IntArray}.
+     */
+    private static final class IntArrayTarget implements Target {
+
+        /** The array under test. */
+        private final IntArray array;
+
+        /**
+         * Creates the target.
+         *
+         * @param array The array under test
+         */
+        private IntArrayTarget(final IntArray array) { this.array = array; }
+
+        @Override
+        public boolean supports(final ScenarioOperation operation) {
+            return operation != ScenarioOperation.REMOVE;
+        }
+
+        @Override
+        public boolean isIndexed() { return true; }
+
+        @Override
+        public void add(final int value) { array.add(value); }
+
+        @Override
+        public int get(final int index) { return array.get(index); }
+
+        @Override
+        public int search(final int key) { return array.indexOf(key); }
+
+        @Override
+        public int binarySearch(final int key) { return array.binarySearch(key); }
+
+        @Override
+        public int remove(final int indexOrKey) { throw new UnsupportedOperationException(); }
+
+        @Override
+        public void undoRemove() {
+            // nothing was removed
+        }
+    }
+
+    //==============================================================================================
+
+    /**
+     * Base class of the targets that are sets.
+     */
+    private abstract static class SetTarget implements Target {
+
+        /** The last removed key. */
+        private int removedKey;
+
+        /** Whether the last remove removed a key. */
+        private boolean removed;
+
+        @Override
+        public boolean supports(final ScenarioOperation operation) {
+            return operation != ScenarioOperation.GET
+                    && operation != ScenarioOperation.BINARY_SEARCH;
+        }
+
+        @Override
+        public boolean isIndexed() { return false; }
+
+        @Override
+        public int get(final int index) { throw new UnsupportedOperationException(); }
+
+        @Override
+        public int binarySearch(final int key) { throw new UnsupportedOperationException(); }
+
+        @Override
+        public int remove(final int indexOrKey) {
+            removedKey = indexOrKey;
+            removed = removeKey(indexOrKey);
+
+            return removed ? 1 : 0;
+        }
+
+        @Override
+        public void undoRemove() {
+            if (!removed) { return; }
+
+            add(removedKey);
+            removed = false;
+        }
+
+        /**
+         * Removes the key from the set.
+         *
+         * @param key The stated key
+         * @return Whether the key was in the set
+         */
+        protected abstract boolean removeKey(int key);
+    }
+
+    //==============================================================================================
+
+    /**
+     * A <code>java.util.Set</code>.
+     */
+    private static final class JavaSetTarget extends SetTarget {
+
+        /** The set under test. */
+        private final java.util.Set<Integer> set;
+
+        /**
+         * Creates the target.
+         *
+         * @param set The set under test
+         */
+        private JavaSetTarget(final java.util.Set<Integer> set) { this.set = set; }
+
+        @Override
+        public void add(final int value) { set.add(value); }
+
+        @Override
+        public int search(final int key) { return set.contains(key) ? 1 : 0; }
+
+        @Override
+        protected boolean removeKey(final int key) { return set.remove(key); }
+    }
+
+    //==============================================================================================
+
+    /**
+     * A set of this project.
+     */
+    private static final class HashSetTarget extends SetTarget {
+
+        /** The set under test. */
+        private final hash.Set<Integer> set;
+
+        /**
+         * Creates the target.
+         *
+         * @param set The set under test
+         */
+        private HashSetTarget(final hash.Set<Integer> set) { this.set = set; }
+
+        @Override
+        public void add(final int value) { set.add(value); }
+
+        @Override
+        public int search(final int key) { return set.contains(key) ? 1 : 0; }
+
+        @Override
+        protected boolean removeKey(final int key) { return set.remove(key); }
+    }
+
+    //==============================================================================================
+
+    /**
+     * An {@link IntHashSet}.
+     */
+    private static final class IntHashSetTarget extends SetTarget {
+
+        /** The set under test. */
+        private final IntHashSet set;
+
+        /**
+         * Creates the target.
+         *
+         * @param set The set under test
+         */
+        private IntHashSetTarget(final IntHashSet set) { this.set = set; }
+
+        @Override
+        public void add(final int value) { set.add(value); }
+
+        @Override
+        public int search(final int key) { return set.contains(key) ? 1 : 0; }
+
+        @Override
+        protected boolean removeKey(final int key) { return set.remove(key); }
+    }
+
+    //----------------------------------------------------------------------------------------------
+}
@@ -0,0 +1,221 @@
+/*
+ * Copyright 2019 (C) by Julian Horner.
+ * All Rights Reserved.
+ */
+
+package search;
+
+import java.util.Arrays;
+
+/**
+ * Records durations (or any other non-negative <code>long</code> values) in a histogram with
+ * logarithmic buckets, in the style of HdrHistogram. All counters are allocated on construction,
+ * so recording a value doesn't allocate anything and costs a few arithmetic operations, no matter
+ * how many values are recorded.
+ * <p>
+ * Values below 2<sup>precisionBits</sup> are counted exactly. Larger values share a bucket with
+ * the values that have the same highest <code>precisionBits</code> bits, so a percentile is off by
+ * less than 2<sup>1 - precisionBits</sup> of its value, e.g. less than 0.8 % with the default of
+ * {@value #DEFAULT_PRECISION_BITS} bits. Count, minimum, maximum, mean and standard deviation are
+ * exact.
+ *
+ * @author julian
+ */
+public final class DurationHistogram {
+    //----------------------------------------------------------------------------------------------
+
+    /** The default number of significant bits of a bucket, which needs about 57 KB. */
+    public static final int DEFAULT_PRECISION_BITS = 8;
+
+    /** The smallest number of significant bits. */
+    private static final int MIN_PRECISION_BITS = 2;
+
+    /** The largest number of significant bits, which needs about 3.3 MB for the counters. */
+    private static final int MAX_PRECISION_BITS = 14;
+
+    //==============================================================================================
+
+    /** The number of significant bits of a bucket. */
+    private final int precisionBits;
+
+    /** The number of values in every bucket. */
+    private final long[] counts;
+
+    /** The number of recorded values. */
+    private long totalCount;
+
+    /** The smallest recorded value. */
+    private long min;
+
+    /** The largest recorded value. */
+    private long max;
+
+    /** The running mean of the recorded values. */
+    private double mean;
+
+    /** The running sum of the squared differences from the mean (Welford's algorithm). */
+    private double squaredDeviationSum;
+
+    //----------------------------------------------------------------------------------------------
+
+    /**
+     * Creates an empty histogram with the default precision.
+     */
+    public DurationHistogram() {
+        this(DEFAULT_PRECISION_BITS);
+    }
+
+    /**
+     * Creates an empty histogram with the given precision. The counters cover all
+     * <code>long</code> values, (65 - precisionBits) * 2<sup>precisionBits - 1</sup> of them, so
+     * every further bit nearly doubles the memory.
+     *
+     * @param precisionBits The number of significant bits of a bucket, from 2 to 14
+     */
+    public DurationHistogram(final int precisionBits) {
+        if (precisionBits < MIN_PRECISION_BITS || precisionBits > MAX_PRECISION_BITS) {
+            throw new IllegalArgumentException("Illegal precision: " + precisionBits);
+        }
+
+        this.precisionBits = precisionBits;
+        counts = new long[getBucket(Long.MAX_VALUE) + 1];
+
+        reset();
+    }
+
+    //----------------------------------------------------------------------------------------------
+
+    /**
+     * Records the given value.
+     *
+     * @param value The value to record, must not be negative
+     */
+    public void record(final long value) {
+        if (value < 0) { throw new IllegalArgumentException("Negative value: " + value); }
+
+        counts[getBucket(value)]++;
+        totalCount++;
+
+        if (value < min) { min = value; }
+        if (value > max) { max = value; }
+
+        double difference = value - mean;
+        mean += difference / totalCount;
+        squaredDeviationSum += difference * (value - mean);
+    }
+
+    /**
+     * Removes all recorded values.
+     */
+    public void reset() {
+        Arrays.fill(counts, 0L);
+        totalCount = 0;
+        min = Long.MAX_VALUE;
+        max = 0;
+        mean = 0.0;
+        squaredDeviationSum = 0.0;
+    }
+
+    //----------------------------------------------------------------------------------------------
+
+    /**
+     * Gets the number of recorded values.
+     *
+     * @return The stated count
+     */
+    public long getCount() { return totalCount; }
+
+    /**
+     * Gets the smallest recorded value.
+     *
+     * @return The stated value or 0, if no value was recorded
+     */
+    public long getMin() { return (totalCount == 0) ? 0 : min; }
+
+    /**
+     * Gets the largest recorded value.
+     *
+     * @return The stated value or 0, if no value was recorded
+     */
+    public long getMax() { return max; }
+
+    /**
+     * Gets the mean of the recorded values.
+     *
+     * @return The stated mean or 0, if no value was recorded
+     */
+    public double getMean() { return mean; }
+
+    /**
+     * Gets the population standard deviation of the recorded values.
+     *
+     * @return The stated standard deviation or 0, if no value was recorded
+     */
+    public double getStandardDeviation() {
+        return (totalCount == 0) ? 0.0 : Math.sqrt(squaredDeviationSum / totalCount);
+    }
+
+    //----------------------------------------------------------------------------------------------
+
+    /**
+     * Gets the value below or at which the given percentage of the recorded values lie. The result
+     * is the largest value of the bucket of that value, but never more than the maximum.
+     *
+     * @param percentile The stated percentage, from 0 to 100
+     * @return The stated value or 0, if no value was recorded
+     */
+    public long getValueAtPercentile(final double percentile) {
+        if (percentile < 0.0 || percentile > 100.0) {
+            throw new IllegalArgumentException("Illegal percentile: " + percentile);
+        }
+        if (totalCount == 0) { return 0; }
+
+        long rank = Math.max(1, (long) Math.ceil(percentile / 100.0 * totalCount));
+
+        long cumulativeCount = 0;
+        for (int bucket = 0; bucket < counts.length; bucket++) {
+            cumulativeCount += counts[bucket];
+            if (cumulativeCount >= rank) { return Math.min(getHighestValue(bucket), max); }
+        }
+
+        return max;
+    }
+
+    //----------------------------------------------------------------------------------------------
+
+    /**
+     * Gets the bucket of the given value. Values below 2<sup>precisionBits</sup> have their own
+     * bucket. For larger values the bits below the highest precisionBits bits are shifted out, the
+     * shift distance selects a group of 2<sup>precisionBits - 1</sup> buckets and the remaining
+     * bits the bucket inside the group.
+     *
+     * @param value The stated value
+     * @return The stated bucket
+     */
+    private int getBucket(final long value) {
+        int highestBit = 63 - Long.numberOfLeadingZeros(value);
+        if (highestBit < precisionBits) { return (int) value; }
+
+        int shift = highestBit - precisionBits + 1;
+
+        return (shift << (precisionBits - 1)) + (int) (value >>> shift);
+    }
+
+    /**
+     * Gets the largest value which belongs to the given bucket.
+     *
+     * @param bucket The stated bucket
+     * @return The stated value
+     */
+    private long getHighestValue(final int bucket) {
+        int halfBucketCount = 1 << (precisionBits - 1);
+        if (bucket < (halfBucketCount << 1)) { return bucket; }
+
+        int shift = (bucket >> (precisionBits - 1)) - 1;
+        long mantissa = bucket - ((long) shift << (precisionBits - 1));
+
+        return ((mantissa + 1) << shift) - 1;
+    }
+
+    //----------------------------------------------------------------------------------------------
+}
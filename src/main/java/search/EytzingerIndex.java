@@ -0,0 +1,147 @@
+/*
+ * Copyright 2019 (C) by Julian Horner.
+ * All Rights Reserved.
+ */
+
+package search;
+
+import java.util.Arrays;
+
+/**
+ * An immutable index over <code>int</code> values, which stores the sorted values in Eytzinger
+ * order. That is the order of a breadth first traversal of a complete binary search tree, with the
+ * root at position 1 and the children of position k at 2k and 2k + 1, like in a binary heap.
+ * <p>
+ * A binary search on a sorted array jumps across the whole array in the first steps, so nearly
+ * every probe of a large array is a cache miss. In Eytzinger order the top levels of the tree,
+ * which every search visits, are stored next to each other in a few cache lines that stay cached.
+ * The descent computes the next position from the comparison instead of branching on it, so there
+ * is no branch misprediction either.
+ *
+ * @author julian
+ */
+public final class EytzingerIndex {
+    //----------------------------------------------------------------------------------------------
+
+    /** The largest number of values, so that the position 2k + 1 can't overflow. */
+    public static final int MAX_SIZE = (1 << 30) - 1;
+
+    //==============================================================================================
+
+    /** The values in Eytzinger order, position 0 is unused. */
+    private final int[] layout;
+
+    /** The index of every value in sorted order, at the same position as in the layout. */
+    private final int[] ranks;
+
+    /** The number of values. */
+    private final int size;
+
+    //----------------------------------------------------------------------------------------------
+
+    /**
+     * Creates an index over the given values, which don't have to be sorted. The given array isn't
+     * changed.
+     *
+     * @param values The stated values
+     */
+    public EytzingerIndex(final int[] values) {
+        if (values.length > MAX_SIZE) {
+            throw new IllegalArgumentException("Too many values: " + values.length);
+        }
+
+        int[] sorted = values.clone();
+        Arrays.sort(sorted);
+
+        size = sorted.length;
+        layout = new int[size + 1];
+        ranks = new int[size + 1];
+
+        fill(sorted, 0, 1);
+    }
+
+    //----------------------------------------------------------------------------------------------
+
+    /**
+     * Fills the subtree at the given position with the sorted values, starting at the given index
+     * (an in-order traversal of the tree).
+     *
+     * @param sorted The sorted values
+     * @param index The index of the next value to store
+     * @param position The position of the root of the subtree
+     * @return The index of the next value to store after the subtree was filled
+     */
+    private int fill(final int[] sorted, final int index, final int position) {
+        if (position > size) { return index; }
+
+        int nextIndex = fill(sorted, index, position << 1);
+        layout[position] = sorted[nextIndex];
+        ranks[position] = nextIndex;
+
+        return fill(sorted, nextIndex + 1, (position << 1) + 1);
+    }
+
+    //----------------------------------------------------------------------------------------------
+
+    /**
+     * Gets the number of values.
+     *
+     * @return The stated size
+     */
+    public int size() { return size; }
+
+    /**
+     * Gets whether the index contains the given key.
+     *
+     * @param key The searched key
+     * @return Whether the key is in the index
+     */
+    public boolean contains(final int key) {
+        int position = lowerBound(key);
+
+        return position != 0 && layout[position] == key;
+    }
+
+    /**
+     * Searches the key and returns its index in the sorted order of the values, with the same
+     * result as <code>Arrays.binarySearch</code> on the sorted values.
+     *
+     * @param key The searched key
+     * @return The index of the key or <code>(-(insertion point) - 1)</code>
+     */
+    public int binarySearch(final int key) {
+        int position = lowerBound(key);
+        if (position == 0) { return -(size + 1); }
+
+        int rank = ranks[position];
+
+        return (layout[position] == key) ? rank : -(rank + 1);
+    }
+
+    //----------------------------------------------------------------------------------------------
+
+    /**
+     * Returns the position of the smallest value which is greater than or equal to the key.
+     * <p>
+     * The descent goes left if the value at the position is not less than the key, otherwise
+     * right, so the bits of the final position after the leading one are the path. The lower bound
+     * is the node where the path turned left the last time, which is found by removing the
+     * trailing right turns (ones) and the left turn (zero) before them.
+     *
+     * @param key The searched key
+     * @return The position in the layout or 0, if all values are less than the key
+     */
+    private int lowerBound(final int key) {
+        int position = 1;
+        while (position <= size) {
+            position = (position << 1) + (layout[position] < key ? 1 : 0);
+        }
+
+        // all ones after a descent of only right turns, an int shift by 32 would shift by 0
+        int turns = Integer.numberOfTrailingZeros(~position) + 1;
+
+        return (int) ((long) position >>> turns);
+    }
+
+    //----------------------------------------------------------------------------------------------
+}
@@ -0,0 +1,239 @@
+/*
+ * Copyright 2019 (C) by Julian Horner.
+ * All Rights Reserved.
+ */
+
+package search;
+
+import java.util.Arrays;
+
+/**
+ * A growable array of primitive <code>int</code> values. Stores the elements in a single
+ * <code>int[]</code>, so an element costs four bytes instead of a reference and an
+ * <code>Integer</code> object, and can be searched with the algorithms of {@link IntSearch}.
+ *
+ * @author julian
+ */
+public final class IntArray {
+    //----------------------------------------------------------------------------------------------
+
+    /** The capacity of an array created with the default constructor. */
+    private static final int DEFAULT_CAPACITY = 16;
+
+    /** The largest capacity that can be allocated on all common virtual machines. */
+    private static final int MAX_CAPACITY = Integer.MAX_VALUE - 8;
+
+    //==============================================================================================
+
+    /** The elements, only the first size entries are valid. */
+    private int[] elements;
+
+    /** The current number of elements. */
+    private int size;
+
+    //----------------------------------------------------------------------------------------------
+
+    /**
+     * Creates an empty array with the default capacity.
+     */
+    public IntArray() {
+        this(DEFAULT_CAPACITY);
+    }
+
+    /**
+     * Creates an empty array with the given capacity.
+     *
+     * @param initialCapacity The stated capacity
+     */
+    public IntArray(final int initialCapacity) {
+        if (initialCapacity < 0) {
+            throw new IllegalArgumentException("Illegal capacity: " + initialCapacity);
+        }
+
+        elements = new int[initialCapacity];
+    }
+
+    //----------------------------------------------------------------------------------------------
+
+    /**
+     * Appends the given value.
+     *
+     * @param value The value to append
+     */
+    public void add(final int value) {
+        if (size == elements.length) { grow(size + 1); }
+
+        elements[size++] = value;
+    }
+
+    /**
+     * Gets the value at the given index.
+     *
+     * @param index The stated index
+     * @return The stated value
+     */
+    public int get(final int index) {
+        checkIndex(index);
+
+        return elements[index];
+    }
+
+    /**
+     * Replaces the value at the given index.
+     *
+     * @param index The stated index
+     * @param value The new value
+     * @return The replaced value
+     */
+    public int set(final int index, final int value) {
+        checkIndex(index);
+
+        int oldValue = elements[index];
+        elements[index] = value;
+
+        return oldValue;
+    }
+
+    //----------------------------------------------------------------------------------------------
+
+    /**
+     * Gets the current number of elements.
+     *
+     * @return The stated size
+     */
+    public int size() { return size; }
+
+    /**
+     * Gets whether the array is empty.
+     *
+     * @return Whether the array is empty
+     */
+    public boolean isEmpty() { return size == 0; }
+
+    /**
+     * Removes all elements, the capacity stays the same.
+     */
+    public void clear() { size = 0; }
+
+    //----------------------------------------------------------------------------------------------
+
+    /**
+     * Makes sure that the given amount of elements fits into the array without growing again.
+     *
+     * @param minCapacity The stated capacity
+     */
+    public void ensureCapacity(final int minCapacity) {
+        if (minCapacity > elements.length) { grow(minCapacity); }
+    }
+
+    /**
+     * Shrinks the capacity to the current size.
+     */
+    public void trimToSize() {
+        if (size < elements.length) { elements = Arrays.copyOf(elements, size); }
+    }
+
+    /**
+     * Sorts the elements in ascending order, which is required for all searches except the linear
+     * one.
+     */
+    public void sort() { Arrays.sort(elements, 0, size); }
+
+    /**
+     * Returns a copy of the elements.
+     *
+     * @return The stated copy
+     */
+    public int[] toArray() { return Arrays.copyOf(elements, size); }
+
+    //----------------------------------------------------------------------------------------------
+
+    /**
+     * Searches the value with a linear search.
+     *
+     * @param value The searched value
+     * @return The index of the first occurrence or {@link IntSearch#NOT_FOUND}
+     */
+    public int indexOf(final int value) {
+        return IntSearch.linearSearch(elements, 0, size, value);
+    }
+
+    /**
+     * Searches the value in the sorted elements with a binary search.
+     *
+     * @param value The searched value
+     * @return The index of the value or <code>(-(insertion point) - 1)</code>
+     */
+    public int binarySearch(final int value) {
+        return IntSearch.binarySearch(elements, 0, size, value);
+    }
+
+    /**
+     * Searches the value in the sorted elements with the given algorithm.
+     *
+     * @param algorithm The algorithm to use
+     * @param value The searched value
+     * @return The result of the algorithm
+     */
+    public int search(final SearchAlgorithm algorithm, final int value) {
+        return algorithm.search(elements, 0, size, value);
+    }
+
+    //----------------------------------------------------------------------------------------------
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public String toString() {
+        StringBuilder sb = new StringBuilder("[");
+        for (int i = 0; i < size; i++) {
+            if (i > 0) { sb.append(", "); }
+            sb.append(elements[i]);
+        }
+        sb.append("]");
+
+        return sb.toString();
+    }
+
+    //----------------------------------------------------------------------------------------------
+
+    /**
+     * Gets the backing array, only the first {@link #size()} entries are valid.
+     *
+     * @return The backing array
+     */
+    int[] elements() { return elements; }
+
+    //----------------------------------------------------------------------------------------------
+
+    /**
+     * Grows the backing array by half of its capacity, but at least to the given capacity.
+     *
+     * @param minCapacity The stated capacity
+     */
+    private void grow(final int minCapacity) {
+        if (minCapacity < 0 || minCapacity > MAX_CAPACITY) { throw new OutOfMemoryError(); }
+
+        int oldCapacity = elements.length;
+        int newCapacity = oldCapacity + (oldCapacity >> 1);
+        if (newCapacity < minCapacity || newCapacity < 0) { newCapacity = minCapacity; }
+        if (newCapacity > MAX_CAPACITY) { newCapacity = MAX_CAPACITY; }
+
+        elements = Arrays.copyOf(elements, newCapacity);
+    }
+
+    //----------------------------------------------------------------------------------------------
+
+    /**
+     * Checks the given index whether it is greater than or equal to the size or whether the index
+     * is less than 0. If yes an <code>IndexOutOfBoundsException</code> is thrown.
+     *
+     * @param index The index to check
+     */
+    private void checkIndex(final int index) {
+        if (index >= size || index < 0) { throw new IndexOutOfBoundsException(); }
+    }
+
+    //----------------------------------------------------------------------------------------------
+}
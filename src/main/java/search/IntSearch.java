@@ -0,0 +1,274 @@
+/*
+ * Copyright 2019 (C) by Julian Horner.
+ * All Rights Reserved.
+ */
+
+package search;
+
+/**
+ * Search algorithms on primitive <code>int</code> arrays. Unlike a search on a
+ * <code>List&lt;Integer&gt;</code> no element has to be boxed and every comparison is a plain value
+ * comparison.
+ * <p>
+ * All methods search in the range from <code>fromIndex</code> (inclusive) to <code>toIndex</code>
+ * (exclusive). The binary, interpolation and exponential search require the range to be sorted in
+ * ascending order and return the same result as <code>Arrays.binarySearch</code>, that means the
+ * index of the key or <code>(-(insertion point) - 1)</code> if the key isn't in the range.
+ *
+ * @author julian
+ */
+public final class IntSearch {
+    //----------------------------------------------------------------------------------------------
+
+    /** The value which is returned by the linear search if the key wasn't found. */
+    public static final int NOT_FOUND = -1;
+
+    /**
+     * The system property which turns the vectorized linear search on or off, the default is
+     * <code>true</code>.
+     */
+    public static final String VECTORIZED_PROPERTY = "search.vectorized";
+
+    /** The name of the module that contains the Vector API. */
+    private static final String VECTOR_MODULE = "jdk.incubator.vector";
+
+    /**
+     * Whether {@link #linearSearch(int[], int, int, int)} uses {@link VectorizedSearch}. Requires
+     * the Vector API module in the boot layer, otherwise <code>VectorizedSearch</code> can't be
+     * loaded.
+     */
+    private static final boolean VECTORIZED =
+            Boolean.parseBoolean(System.getProperty(VECTORIZED_PROPERTY, "true"))
+            && ModuleLayer.boot().findModule(VECTOR_MODULE).isPresent();
+
+    //----------------------------------------------------------------------------------------------
+
+    /**
+     * Searches the key by comparing it with every element of the array from left to right.
+     *
+     * @param array The array to search in
+     * @param key The searched key
+     * @return The index of the first occurrence of the key or {@link #NOT_FOUND}
+     */
+    public static int linearSearch(final int[] array, final int key) {
+        return linearSearch(array, 0, array.length, key);
+    }
+
+    /**
+     * Searches the key by comparing it with every element of the range from left to right. If
+     * {@link #isVectorized()} the elements are compared vector by vector.
+     *
+     * @param array The array to search in
+     * @param fromIndex The first index of the range (inclusive)
+     * @param toIndex The last index of the range (exclusive)
+     * @param key The searched key
+     * @return The index of the first occurrence of the key or {@link #NOT_FOUND}
+     */
+    public static int linearSearch(final int[] array, final int fromIndex, final int toIndex,
+            final int key) {
+        checkRange(array.length, fromIndex, toIndex);
+
+        if (VECTORIZED) { return VectorizedSearch.linearSearch0(array, fromIndex, toIndex, key); }
+
+        for (int i = fromIndex; i < toIndex; i++) {
+            if (array[i] == key) { return i; }
+        }
+
+        return NOT_FOUND;
+    }
+
+    /**
+     * Gets whether the linear search is vectorized. This is the case if the virtual machine was
+     * started with <code>--add-modules jdk.incubator.vector</code> and the system property
+     * {@value #VECTORIZED_PROPERTY} isn't set to <code>false</code>.
+     *
+     * @return Whether the linear search is vectorized
+     */
+    public static boolean isVectorized() { return VECTORIZED; }
+
+    //----------------------------------------------------------------------------------------------
+
+    /**
+     * Searches the key in the sorted array by halving the searched range in every step.
+     *
+     * @param array The sorted array to search in
+     * @param key The searched key
+     * @return The index of the key or <code>(-(insertion point) - 1)</code>
+     */
+    public static int binarySearch(final int[] array, final int key) {
+        return binarySearch(array, 0, array.length, key);
+    }
+
+    /**
+     * Searches the key in the sorted range by halving the searched range in every step.
+     *
+     * @param array The sorted array to search in
+     * @param fromIndex The first index of the range (inclusive)
+     * @param toIndex The last index of the range (exclusive)
+     * @param key The searched key
+     * @return The index of the key or <code>(-(insertion point) - 1)</code>
+     */
+    public static int binarySearch(final int[] array, final int fromIndex, final int toIndex,
+            final int key) {
+        checkRange(array.length, fromIndex, toIndex);
+
+        return binarySearch0(array, fromIndex, toIndex, key);
+    }
+
+    //----------------------------------------------------------------------------------------------
+
+    /**
+     * Searches the key in the sorted array by estimating its position from the values at the
+     * borders of the searched range. Needs O(log log n) steps for uniformly distributed values and
+     * degrades to O(n) for skewed ones.
+     *
+     * @param array The sorted array to search in
+     * @param key The searched key
+     * @return The index of the key or <code>(-(insertion point) - 1)</code>
+     */
+    public static int interpolationSearch(final int[] array, final int key) {
+        return interpolationSearch(array, 0, array.length, key);
+    }
+
+    /**
+     * Searches the key in the sorted range by estimating its position from the values at the
+     * borders of the searched range.
+     *
+     * @param array The sorted array to search in
+     * @param fromIndex The first index of the range (inclusive)
+     * @param toIndex The last index of the range (exclusive)
+     * @param key The searched key
+     * @return The index of the key or <code>(-(insertion point) - 1)</code>
+     */
+    public static int interpolationSearch(final int[] array, final int fromIndex,
+            final int toIndex, final int key) {
+        checkRange(array.length, fromIndex, toIndex);
+
+        int low = fromIndex;
+        int high = toIndex - 1;
+        while (low <= high) {
+            int lowValue = array[low];
+            int highValue = array[high];
+
+            if (key < lowValue) { return -(low + 1); }
+            if (key > highValue) { return -(high + 2); }
+            if (lowValue == highValue) { return low; }
+
+            // the product fits into a long: (2^32 - 1) * (2^31 - 1) < 2^63
+            long offset = ((long) key - lowValue) * (high - low) / ((long) highValue - lowValue);
+            int position = low + (int) offset;
+
+            int value = array[position];
+            if (value < key) {
+                low = position + 1;
+            } else if (value > key) {
+                high = position - 1;
+            } else {
+                return position;
+            }
+        }
+
+        return -(low + 1);
+    }
+
+    //----------------------------------------------------------------------------------------------
+
+    /**
+     * Searches the key in the sorted array by doubling a bound until it passes the key and doing a
+     * binary search between the last two bounds afterwards. Needs O(log i) steps, where i is the
+     * index of the key, so it is faster than a binary search for keys near the start.
+     *
+     * @param array The sorted array to search in
+     * @param key The searched key
+     * @return The index of the key or <code>(-(insertion point) - 1)</code>
+     */
+    public static int exponentialSearch(final int[] array, final int key) {
+        return exponentialSearch(array, 0, array.length, key);
+    }
+
+    /**
+     * Searches the key in the sorted range by doubling a bound until it passes the key and doing a
+     * binary search between the last two bounds afterwards.
+     *
+     * @param array The sorted array to search in
+     * @param fromIndex The first index of the range (inclusive)
+     * @param toIndex The last index of the range (exclusive)
+     * @param key The searched key
+     * @return The index of the key or <code>(-(insertion point) - 1)</code>
+     */
+    public static int exponentialSearch(final int[] array, final int fromIndex,
+            final int toIndex, final int key) {
+        checkRange(array.length, fromIndex, toIndex);
+
+        int length = toIndex - fromIndex;
+        int bound = 1;
+        while (bound < length && array[fromIndex + bound] < key) {
+            // doubling could overflow for ranges longer than 2^30 elements
+            bound = (bound > (length >>> 1)) ? length : (bound << 1);
+        }
+
+        int lowerBound = fromIndex + (bound >>> 1);
+        int upperBound = fromIndex + Math.min(bound + 1, length);
+
+        return binarySearch0(array, lowerBound, upperBound, key);
+    }
+
+    //----------------------------------------------------------------------------------------------
+
+    /**
+     * Binary search without range check.
+     *
+     * @param array The sorted array to search in
+     * @param fromIndex The first index of the range (inclusive)
+     * @param toIndex The last index of the range (exclusive)
+     * @param key The searched key
+     * @return The index of the key or <code>(-(insertion point) - 1)</code>
+     */
+    private static int binarySearch0(final int[] array, final int fromIndex, final int toIndex,
+            final int key) {
+        int low = fromIndex;
+        int high = toIndex - 1;
+        while (low <= high) {
+            int middle = (low + high) >>> 1;
+            int value = array[middle];
+
+            if (value < key) {
+                low = middle + 1;
+            } else if (value > key) {
+                high = middle - 1;
+            } else {
+                return middle;
+            }
+        }
+
+        return -(low + 1);
+    }
+
+    //----------------------------------------------------------------------------------------------
+
+    /**
+     * Checks whether the given range is inside an array of the given length. If not an
+     * <code>IndexOutOfBoundsException</code> or <code>IllegalArgumentException</code> is thrown.
+     *
+     * @param length The length of the array
+     * @param fromIndex The first index of the range (inclusive)
+     * @param toIndex The last index of the range (exclusive)
+     */
+    static void checkRange(final int length, final int fromIndex, final int toIndex) {
+        if (fromIndex > toIndex) {
+            throw new IllegalArgumentException("fromIndex(" + fromIndex + ") > toIndex(" + toIndex
+                    + ")");
+        }
+        if (fromIndex < 0 || toIndex > length) { throw new IndexOutOfBoundsException(); }
+    }
+
+    //----------------------------------------------------------------------------------------------
+
+    /**
+     * Hide utility class constructor.
+     */
+    private IntSearch() {
+    }
+
+    //----------------------------------------------------------------------------------------------
+}
@@ -0,0 +1,179 @@
+/*
+ * Copyright 2019 (C) by Julian Horner.
+ * All Rights Reserved.
+ */
+
+package search;
+
+import java.util.Locale;
+import java.util.Random;
+
+/**
+ * Enum that represents the distribution of the keys of a scenario of the {@link ScenarioRunner}.
+ * A distribution chooses the rank of the next key, from 0 to size - 1. A hit key is the value of
+ * the rank, which is in the collection, a miss key is the rank plus the size, which isn't.
+ *
+ * @author julian
+ */
+public enum KeyDistribution {
+    //----------------------------------------------------------------------------------------------
+
+    /** Every rank is equally likely. */
+    UNIFORM,
+
+    /**
+     * Rank r is chosen with a probability proportional to 1 / (r + 1)<sup>s</sup>, so a few keys
+     * are searched most of the time. The ranks are scattered over the values, otherwise the most
+     * frequent keys would all be at the front of the lists.
+     */
+    ZIPF,
+
+    /** The ranks 0, 1, 2 and so on, starting at 0 again after the last one. */
+    SEQUENTIAL;
+
+    //----------------------------------------------------------------------------------------------
+
+    /**
+     * Gets the name of the distribution in configurations and reports, e.g. <code>zipf</code>.
+     *
+     * @return The stated name
+     */
+    public String getName() { return name().toLowerCase(Locale.ROOT); }
+
+    /**
+     * Gets the distribution with the given name.
+     *
+     * @param name The name of the distribution, case is ignored
+     * @return The stated distribution
+     */
+    public static KeyDistribution forName(final String name) {
+        return valueOf(name.trim().toUpperCase(Locale.ROOT));
+    }
+
+    /**
+     * Creates a generator of keys with this distribution.
+     *
+     * @param size The number of values in the collection, from 0 to size - 1
+     * @param hitRatio The share of keys which are in the collection, from 0 to 1
+     * @param zipfExponent The exponent s of the Zipf distribution
+     * @param seed The seed of the random numbers
+     * @return The stated generator
+     */
+    public KeyGenerator createGenerator(final int size, final double hitRatio,
+            final double zipfExponent, final long seed) {
+        return new KeyGenerator(this, size, hitRatio, zipfExponent, seed);
+    }
+
+    //==============================================================================================
+
+    /**
+     * Generates the keys and indexes of a scenario.
+     */
+    public static final class KeyGenerator {
+
+        /**
+         * A prime above the largest size, multiplying a rank with it modulo the size is a
+         * permutation of the ranks.
+         */
+        private static final long SCATTER_PRIME = 2_654_435_761L;
+
+        /** The distribution of the ranks. */
+        private final KeyDistribution distribution;
+
+        /** The number of values in the collection. */
+        private final int size;
+
+        /** The share of keys which are in the collection. */
+        private final double hitRatio;
+
+        /** The exponent s of the Zipf distribution. */
+        private final double zipfExponent;
+
+        /** The source of the random numbers. */
+        private final Random random;
+
+        /** The last sequential rank. */
+        private int sequentialRank = -1;
+
+        /**
+         * Creates a generator.
+         *
+         * @param distribution The distribution of the ranks
+         * @param size The number of values in the collection
+         * @param hitRatio The share of keys which are in the collection
+         * @param zipfExponent The exponent s of the Zipf distribution
+         * @param seed The seed of the random numbers
+         */
+        private KeyGenerator(final KeyDistribution distribution, final int size,
+                final double hitRatio, final double zipfExponent, final long seed) {
+            if (size < 1) { throw new IllegalArgumentException("Illegal size: " + size); }
+            if (hitRatio < 0.0 || hitRatio > 1.0) {
+                throw new IllegalArgumentException("Illegal hit ratio: " + hitRatio);
+            }
+            if (zipfExponent <= 0.0) {
+                throw new IllegalArgumentException("Illegal Zipf exponent: " + zipfExponent);
+            }
+
+            this.distribution = distribution;
+            this.size = size;
+            this.hitRatio = hitRatio;
+            this.zipfExponent = zipfExponent;
+            random = new Random(seed);
+        }
+
+        /**
+         * Gets the next key, a hit with the probability of the hit ratio.
+         *
+         * @return The stated key
+         */
+        public int nextKey() {
+            int index = nextIndex();
+
+            return (random.nextDouble() < hitRatio) ? index : size + index;
+        }
+
+        /**
+         * Gets the next index in the collection, which is always a hit.
+         *
+         * @return The stated index
+         */
+        public int nextIndex() {
+            switch (distribution) {
+            case UNIFORM:
+                return random.nextInt(size);
+            case ZIPF:
+                return (int) (nextZipfRank() * SCATTER_PRIME % size);
+            case SEQUENTIAL:
+                sequentialRank = (sequentialRank + 1 == size) ? 0 : sequentialRank + 1;
+                return sequentialRank;
+            default:
+                throw new IllegalStateException("Unknown distribution: " + distribution);
+            }
+        }
+
+        /**
+         * Gets the next rank of the Zipf distribution. The rank is sampled by inverting the
+         * distribution function of the continuous power law x<sup>-s</sup> between 1 and
+         * size + 1, which is a close approximation of the discrete distribution and needs no
+         * table of the probabilities.
+         *
+         * @return The stated rank
+         */
+        private long nextZipfRank() {
+            double u = random.nextDouble();
+            double upper = size + 1.0;
+
+            double x;
+            if (Math.abs(zipfExponent - 1.0) < 1e-9) {
+                x = Math.pow(upper, u);
+            } else {
+                double power = 1.0 - zipfExponent;
+                x = Math.pow((Math.pow(upper, power) - 1.0) * u + 1.0, 1.0 / power);
+            }
+
+            return Math.min(size - 1, Math.max(0, (long) x - 1));
+        }
+    }
+
+    //----------------------------------------------------------------------------------------------
+}
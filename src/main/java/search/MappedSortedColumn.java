@@ -0,0 +1,317 @@
+/*
+ * Copyright 2019 (C) by Julian Horner.
+ * All Rights Reserved.
+ */
+
+package search;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+
+import jdk.incubator.foreign.MemoryAccess;
+import jdk.incubator.foreign.MemorySegment;
+import jdk.incubator.foreign.ResourceScope;
+
+/**
+ * A sorted column of <code>int</code> or <code>long</code> values in a file written by
+ * {@link SortedColumnWriter}, which is mapped into memory and searched in place. No value is
+ * copied to the heap, the operating system loads the pages of the file on the first access and
+ * keeps them in its page cache, so the column can be larger than the heap.
+ * <p>
+ * The file starts with a header of {@value #HEADER_SIZE} bytes: the magic number, the format
+ * version (<code>short</code>), the number of bytes per value (<code>short</code>) and the number
+ * of values (<code>long</code>), followed by the values in ascending order, all little endian.
+ * <p>
+ * The file is mapped as one <code>MemorySegment</code> of the incubating Foreign Memory API, like
+ * the tables of the off-heap hash sets, which isn't limited to 2 GB like a
+ * <code>MappedByteBuffer</code>. The mapping is released by {@link #close()}, not by the garbage
+ * collector, so a closed column leaves no pages mapped.
+ *
+ * @author julian
+ */
+public final class MappedSortedColumn implements AutoCloseable {
+    //----------------------------------------------------------------------------------------------
+
+    /** The number of the header which identifies the file format, "SCOL" in ASCII. */
+    static final int MAGIC = 0x53434F4C;
+
+    /** The version of the file format. */
+    static final short VERSION = 1;
+
+    /** The size of the header in bytes. */
+    static final int HEADER_SIZE = 16;
+
+    /** The byte order of the file. */
+    static final ByteOrder BYTE_ORDER = ByteOrder.LITTLE_ENDIAN;
+
+    /**
+     * The largest average distance between two sorted keys, for which the batch search doubles a
+     * bound from the previous key, like the merge search of {@link BatchSearch}.
+     */
+    private static final int MERGE_DISTANCE = 64;
+
+    //==============================================================================================
+
+    /** The scope which owns the mapping. */
+    private final ResourceScope scope;
+
+    /** The mapped file. */
+    private final MemorySegment segment;
+
+    /** Whether the values are <code>long</code> values. */
+    private final boolean longColumn;
+
+    /** The binary logarithm of the number of bytes per value. */
+    private final int valueShift;
+
+    /** The number of values. */
+    private final long size;
+
+    //----------------------------------------------------------------------------------------------
+
+    /**
+     * Creates a column over the mapped file.
+     *
+     * @param scope The scope which owns the mapping
+     * @param segment The mapped file
+     * @param valueSize The number of bytes per value
+     * @param size The number of values
+     */
+    private MappedSortedColumn(final ResourceScope scope, final MemorySegment segment,
+            final int valueSize, final long size) {
+        this.scope = scope;
+        this.segment = segment;
+        this.longColumn = valueSize == Long.BYTES;
+        this.valueShift = Integer.numberOfTrailingZeros(valueSize);
+        this.size = size;
+    }
+
+    /**
+     * Maps the column in the given file.
+     *
+     * @param file The file written by a {@link SortedColumnWriter}
+     * @return The stated column
+     * @throws IOException If the file couldn't be read or isn't a valid column
+     */
+    public static MappedSortedColumn open(final Path file) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            long fileSize = channel.size();
+            if (fileSize < HEADER_SIZE) { throw new IOException("Not a column file: " + file); }
+
+            ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE).order(BYTE_ORDER);
+            while (header.hasRemaining()) {
+                if (channel.read(header, header.position()) < 0) {
+                    throw new IOException("Not a column file: " + file);
+                }
+            }
+            header.flip();
+
+            if (header.getInt() != MAGIC) { throw new IOException("Not a column file: " + file); }
+            short version = header.getShort();
+            if (version != VERSION) { throw new IOException("Unknown version: " + version); }
+            short valueSize = header.getShort();
+            if (valueSize != Integer.BYTES && valueSize != Long.BYTES) {
+                throw new IOException("Illegal value size: " + valueSize);
+            }
+            long size = header.getLong();
+            if (size < 0 || HEADER_SIZE + size * valueSize != fileSize) {
+                throw new IOException("Size " + size + " doesn't match the file size " + fileSize);
+            }
+
+            ResourceScope scope = ResourceScope.newSharedScope();
+            MemorySegment segment = MemorySegment.mapFile(file, 0, fileSize,
+                    FileChannel.MapMode.READ_ONLY, scope);
+
+            return new MappedSortedColumn(scope, segment, valueSize, size);
+        }
+    }
+
+    //----------------------------------------------------------------------------------------------
+
+    /**
+     * Gets the number of values.
+     *
+     * @return The stated size
+     */
+    public long size() { return size; }
+
+    /**
+     * Gets whether the column contains <code>long</code> values, otherwise <code>int</code>
+     * values.
+     *
+     * @return Whether the values are <code>long</code> values
+     */
+    public boolean isLongColumn() { return longColumn; }
+
+    /**
+     * Gets the value at the given index.
+     *
+     * @param index The index of the value
+     * @return The stated value, an <code>int</code> value is widened
+     */
+    public long get(final long index) {
+        if (index < 0 || index >= size) { throw new IndexOutOfBoundsException("Index: " + index); }
+        checkOpen();
+
+        return get0(index);
+    }
+
+    /**
+     * Loads the whole file into physical memory, so the following searches don't wait for the
+     * disk. The pages may be evicted again by the operating system.
+     */
+    public void load() {
+        checkOpen();
+
+        segment.load();
+    }
+
+    //----------------------------------------------------------------------------------------------
+
+    /**
+     * Searches the key with a binary search on the mapped values.
+     *
+     * @param key The searched key
+     * @return The index of the key or <code>(-(insertion point) - 1)</code>
+     */
+    public long binarySearch(final long key) {
+        checkOpen();
+
+        long low = 0;
+        long high = size - 1;
+        while (low <= high) {
+            long middle = (low + high) >>> 1;
+            long value = get0(middle);
+
+            if (value < key) {
+                low = middle + 1;
+            } else if (value > key) {
+                high = middle - 1;
+            } else {
+                return middle;
+            }
+        }
+
+        return -(low + 1);
+    }
+
+    /**
+     * Gets whether the column contains the key.
+     *
+     * @param key The searched key
+     * @return Whether the key is in the column
+     */
+    public boolean contains(final long key) {
+        return binarySearch(key) >= 0;
+    }
+
+    /**
+     * Searches many keys like the merge search of {@link BatchSearch}. The keys are sorted and
+     * every key is searched from the position of the previous one, so the searches read the file
+     * from front to back and keys close to each other share their pages. If the values contain
+     * duplicates, the index of the first one is returned.
+     *
+     * @param keys The searched keys in any order
+     * @return The result of every key at the position of the key, like
+     *         {@link #binarySearch(long)}
+     */
+    public long[] binarySearch(final long[] keys) {
+        checkOpen();
+
+        long[] sortedKeys = keys.clone();
+        Arrays.sort(sortedKeys);
+
+        // the bound is only doubled if the keys are close to each other
+        boolean gallop = (long) keys.length * MERGE_DISTANCE >= size;
+
+        long[] sortedResults = new long[sortedKeys.length];
+        long position = 0;
+        for (int i = 0; i < sortedKeys.length; i++) {
+            long key = sortedKeys[i];
+            position = lowerBound(position, key, gallop);
+            sortedResults[i] = (position < size && get0(position) == key) ? position
+                    : -(position + 1);
+        }
+
+        // the sorted keys are a small heap array, finding a key there costs no page fault
+        long[] results = new long[keys.length];
+        for (int i = 0; i < keys.length; i++) {
+            results[i] = sortedResults[Arrays.binarySearch(sortedKeys, keys[i])];
+        }
+
+        return results;
+    }
+
+    //----------------------------------------------------------------------------------------------
+
+    /**
+     * Unmaps the file, the column can't be used any more.
+     */
+    @Override
+    public void close() {
+        if (scope.isAlive()) { scope.close(); }
+    }
+
+    //----------------------------------------------------------------------------------------------
+
+    /**
+     * Checks whether the column is open. If not an <code>IllegalStateException</code> is thrown.
+     */
+    private void checkOpen() {
+        if (!scope.isAlive()) { throw new IllegalStateException("Column is closed"); }
+    }
+
+    /**
+     * Gets the value at the given index without checks.
+     *
+     * @param index The index of the value
+     * @return The stated value
+     */
+    private long get0(final long index) {
+        long offset = HEADER_SIZE + (index << valueShift);
+
+        return longColumn ? MemoryAccess.getLongAtOffset(segment, offset, BYTE_ORDER)
+                : MemoryAccess.getIntAtOffset(segment, offset, BYTE_ORDER);
+    }
+
+    /**
+     * Finds the smallest value which is not less than the key, starting at the given index. If
+     * the key is expected close to the index, a bound is doubled from the index until it passes
+     * the key, so the following binary search only covers the last two bounds.
+     *
+     * @param fromIndex The first index to consider
+     * @param key The searched key
+     * @param gallop Whether to double a bound before the binary search
+     * @return The index of the value or the size, if all values are less
+     */
+    private long lowerBound(final long fromIndex, final long key, final boolean gallop) {
+        long low = fromIndex;
+        long high = size;
+        if (gallop) {
+            long bound = 1;
+            while (fromIndex + bound < size && get0(fromIndex + bound) < key) {
+                bound <<= 1;
+            }
+            low = fromIndex + (bound >>> 1);
+            high = Math.min(fromIndex + bound, size);
+        }
+
+        while (low < high) {
+            long middle = (low + high) >>> 1;
+            if (get0(middle) < key) {
+                low = middle + 1;
+            } else {
+                high = middle;
+            }
+        }
+
+        return low;
+    }
+
+    //----------------------------------------------------------------------------------------------
+}
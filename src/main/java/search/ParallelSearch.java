@@ -0,0 +1,300 @@
+/*
+ * Copyright 2019 (C) by Julian Horner.
+ * All Rights Reserved.
+ */
+
+package search;
+
+import java.util.List;
+import java.util.RandomAccess;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Linear search which splits the searched range into tasks of a <code>ForkJoinPool</code>, so
+ * the range is scanned by all threads of the pool.
+ * <p>
+ * The tasks share the lowest index found so far. A task whose range starts behind that index can't
+ * contain a lower match, so it is skipped, and a forked task that hasn't been started yet is
+ * taken back from the queue once its left sibling found a match. The result is always the lowest
+ * matching index, like the one of a sequential search.
+ *
+ * @author julian
+ */
+public final class ParallelSearch {
+    //----------------------------------------------------------------------------------------------
+
+    /** The default number of elements below which a range is scanned without splitting it. */
+    public static final int DEFAULT_THRESHOLD = 1 << 16;
+
+    /** The lowest index found so far if there is no match yet. */
+    private static final int NO_MATCH = Integer.MAX_VALUE;
+
+    //==============================================================================================
+
+    /** The pool which executes the tasks. */
+    private final ForkJoinPool pool;
+
+    /** The number of elements below which a range is scanned without splitting it. */
+    private final int threshold;
+
+    //----------------------------------------------------------------------------------------------
+
+    /**
+     * Creates a search which uses the common pool and the default threshold.
+     */
+    public ParallelSearch() {
+        this(ForkJoinPool.commonPool(), DEFAULT_THRESHOLD);
+    }
+
+    /**
+     * Creates a search which uses the given pool and threshold.
+     *
+     * @param pool The pool which executes the tasks
+     * @param threshold The number of elements below which a range isn't split any further
+     */
+    public ParallelSearch(final ForkJoinPool pool, final int threshold) {
+        if (pool == null) { throw new NullPointerException("pool"); }
+        if (threshold < 1) {
+            throw new IllegalArgumentException("Illegal threshold: " + threshold);
+        }
+
+        this.pool = pool;
+        this.threshold = threshold;
+    }
+
+    //----------------------------------------------------------------------------------------------
+
+    /**
+     * Searches the key in the whole array.
+     *
+     * @param array The array to search in
+     * @param key The searched key
+     * @return The lowest index of the key or {@link IntSearch#NOT_FOUND}
+     */
+    public int linearSearch(final int[] array, final int key) {
+        return linearSearch(array, 0, array.length, key);
+    }
+
+    /**
+     * Searches the key in the given range of the array.
+     *
+     * @param array The array to search in
+     * @param fromIndex The first index of the range (inclusive)
+     * @param toIndex The last index of the range (exclusive)
+     * @param key The searched key
+     * @return The lowest index of the key or {@link IntSearch#NOT_FOUND}
+     */
+    public int linearSearch(final int[] array, final int fromIndex, final int toIndex,
+            final int key) {
+        IntSearch.checkRange(array.length, fromIndex, toIndex);
+
+        if (toIndex - fromIndex <= threshold) {
+            return IntSearch.linearSearch(array, fromIndex, toIndex, key);
+        }
+
+        AtomicInteger lowestMatch = new AtomicInteger(NO_MATCH);
+        pool.invoke(new IntSearchTask(array, fromIndex, toIndex, key, lowestMatch));
+
+        return toResult(lowestMatch.get());
+    }
+
+    //----------------------------------------------------------------------------------------------
+
+    /**
+     * Searches the element in the list, elements are compared with <code>equals</code>. Only
+     * lists with random access are split, any other list is searched sequentially as splitting it
+     * would require a walk to every split point.
+     *
+     * @param <T> The type of the elements
+     * @param list The list to search in
+     * @param element The searched element, may be null
+     * @return The lowest index of the element or {@link IntSearch#NOT_FOUND}
+     */
+    public <T> int linearSearch(final List<? extends T> list, final T element) {
+        int size = list.size();
+        if (size <= threshold || !(list instanceof RandomAccess)) { return list.indexOf(element); }
+
+        AtomicInteger lowestMatch = new AtomicInteger(NO_MATCH);
+        pool.invoke(new ListSearchTask<T>(list, 0, size, element, lowestMatch));
+
+        return toResult(lowestMatch.get());
+    }
+
+    //----------------------------------------------------------------------------------------------
+
+    /**
+     * Gets the number of elements below which a range is scanned without splitting it.
+     *
+     * @return The stated threshold
+     */
+    public int getThreshold() { return threshold; }
+
+    /**
+     * Gets the pool which executes the tasks.
+     *
+     * @return The stated pool
+     */
+    public ForkJoinPool getPool() { return pool; }
+
+    //----------------------------------------------------------------------------------------------
+
+    /**
+     * Converts the lowest index found by the tasks to the result of a search.
+     *
+     * @param lowestMatch The lowest index found
+     * @return The index or {@link IntSearch#NOT_FOUND}
+     */
+    private static int toResult(final int lowestMatch) {
+        return (lowestMatch == NO_MATCH) ? IntSearch.NOT_FOUND : lowestMatch;
+    }
+
+    /**
+     * Lowers the shared index to the given index, if the given one is lower.
+     *
+     * @param lowestMatch The shared index
+     * @param index The found index
+     */
+    private static void offerMatch(final AtomicInteger lowestMatch, final int index) {
+        int current = lowestMatch.get();
+        while (index < current && !lowestMatch.compareAndSet(current, index)) {
+            current = lowestMatch.get();
+        }
+    }
+
+    //==============================================================================================
+
+    /**
+     * A task that searches a range of an <code>int[]</code>.
+     */
+    private final class IntSearchTask extends RecursiveAction {
+
+        /** Default serial version UID. */
+        private static final long serialVersionUID = 1L;
+
+        /** The array to search in. */
+        private final int[] array;
+
+        /** The first index of the range (inclusive). */
+        private final int fromIndex;
+
+        /** The last index of the range (exclusive). */
+        private final int toIndex;
+
+        /** The searched key. */
+        private final int key;
+
+        /** The lowest index found so far by any task. */
+        private final AtomicInteger lowestMatch;
+
+        /**
+         * Creates a task for the given range.
+         *
+         * @param array The array to search in
+         * @param fromIndex The first index of the range (inclusive)
+         * @param toIndex The last index of the range (exclusive)
+         * @param key The searched key
+         * @param lowestMatch The lowest index found so far by any task
+         */
+        private IntSearchTask(final int[] array, final int fromIndex, final int toIndex,
+                final int key, final AtomicInteger lowestMatch) {
+            this.array = array;
+            this.fromIndex = fromIndex;
+            this.toIndex = toIndex;
+            this.key = key;
+            this.lowestMatch = lowestMatch;
+        }
+
+        @Override
+        protected void compute() {
+            if (lowestMatch.get() <= fromIndex) { return; }
+
+            if (toIndex - fromIndex <= threshold) {
+                int index = IntSearch.linearSearch(array, fromIndex, toIndex, key);
+                if (index != IntSearch.NOT_FOUND) { offerMatch(lowestMatch, index); }
+
+                return;
+            }
+
+            int middle = (fromIndex + toIndex) >>> 1;
+            IntSearchTask right = new IntSearchTask(array, middle, toIndex, key, lowestMatch);
+            right.fork();
+
+            new IntSearchTask(array, fromIndex, middle, key, lowestMatch).compute();
+
+            boolean isMatchInLeftHalf = lowestMatch.get() < middle;
+            if (!(isMatchInLeftHalf && right.tryUnfork())) { right.join(); }
+        }
+    }
+
+    //==============================================================================================
+
+    /**
+     * A task that searches a range of a list with random access.
+     *
+     * @param <T> The type of the elements
+     */
+    private final class ListSearchTask<T> extends RecursiveAction {
+
+        /** Default serial version UID. */
+        private static final long serialVersionUID = 1L;
+
+        /** The list to search in. */
+        private final List<? extends T> list;
+
+        /** The first index of the range (inclusive). */
+        private final int fromIndex;
+
+        /** The last index of the range (exclusive). */
+        private final int toIndex;
+
+        /** The searched element. */
+        private final T element;
+
+        /** The lowest index found so far by any task. */
+        private final AtomicInteger lowestMatch;
+
+        /**
+         * Creates a task for the given range.
+         *
+         * @param list The list to search in
+         * @param fromIndex The first index of the range (inclusive)
+         * @param toIndex The last index of the range (exclusive)
+         * @param element The searched element
+         * @param lowestMatch The lowest index found so far by any task
+         */
+        private ListSearchTask(final List<? extends T> list, final int fromIndex,
+                final int toIndex, final T element, final AtomicInteger lowestMatch) {
+            this.list = list;
+            this.fromIndex = fromIndex;
+            this.toIndex = toIndex;
+            this.element = element;
+            this.lowestMatch = lowestMatch;
+        }
+
+        @Override
+        protected void compute() {
+            if (lowestMatch.get() <= fromIndex) { return; }
+
+            if (toIndex - fromIndex <= threshold) {
+                int index = list.subList(fromIndex, toIndex).indexOf(element);
+                if (index != IntSearch.NOT_FOUND) { offerMatch(lowestMatch, fromIndex + index); }
+
+                return;
+            }
+
+            int middle = (fromIndex + toIndex) >>> 1;
+            ListSearchTask<T> right =
+                    new ListSearchTask<T>(list, middle, toIndex, element, lowestMatch);
+            right.fork();
+
+            new ListSearchTask<T>(list, fromIndex, middle, element, lowestMatch).compute();
+
+            boolean isMatchInLeftHalf = lowestMatch.get() < middle;
+            if (!(isMatchInLeftHalf && right.tryUnfork())) { right.join(); }
+        }
+    }
+
+    //----------------------------------------------------------------------------------------------
+}
@@ -0,0 +1,263 @@
+/*
+ * Copyright 2019 (C) by Julian Horner.
+ * All Rights Reserved.
+ */
+
+package search;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Properties;
+import java.util.function.Function;
+
+/**
+ * The configuration of the {@link ScenarioRunner}. The runner measures every combination of the
+ * configured collections, sizes, key distributions, hit ratios and operations.
+ * <p>
+ * The options are read from a properties file given by <code>--config=&lt;file&gt;</code> and
+ * from arguments of the form <code>--&lt;option&gt;=&lt;value&gt;</code>, which override the
+ * file. Lists are separated by commas. An argument without <code>--</code> is the output directory.
+ * <table>
+ * <caption>Options</caption>
+ * <tr><th>Option</th><th>Values</th><th>Default</th></tr>
+ * <tr><td>collections</td><td>{@link CollectionType} names</td><td>array_list,linked_list</td></tr>
+ * <tr><td>operations</td><td>{@link ScenarioOperation} names</td><td>search,binary_search</td></tr>
+ * <tr><td>sizes</td><td>numbers of elements</td><td>2000000,4000000,...,10000000</td></tr>
+ * <tr><td>distributions</td><td>{@link KeyDistribution} names</td><td>uniform</td></tr>
+ * <tr><td>hit-ratios</td><td>shares of keys in the collection, 0 to 1</td><td>0</td></tr>
+ * <tr><td>zipf-exponent</td><td>exponent of the Zipf distribution</td><td>1</td></tr>
+ * <tr><td>executions</td><td>measured operations per combination</td><td>2000</td></tr>
+ * <tr><td>seed</td><td>seed of the random keys</td><td>42</td></tr>
+ * <tr><td>output</td><td>output directory</td><td>property <code>search.output.dir</code> or
+ * <code>src/main/resources/search</code></td></tr>
+ * </table>
+ * The defaults are the former fixed runs of {@link RuntimeHelper}: linear and binary searches for
+ * keys that are never found in an <code>ArrayList</code> and a <code>LinkedList</code>.
+ *
+ * @author julian
+ */
+public final class ScenarioConfig {
+    //----------------------------------------------------------------------------------------------
+
+    /** The system property which sets the output directory, if there is no option. */
+    public static final String OUTPUT_DIRECTORY_PROPERTY = "search.output.dir";
+
+    /** The option which names the properties file. */
+    private static final String CONFIG_OPTION = "config";
+
+    /** The names of all options except {@link #CONFIG_OPTION}. */
+    private static final List<String> OPTIONS = Arrays.asList("collections", "operations", "sizes",
+            "distributions", "hit-ratios", "zipf-exponent", "executions", "seed", "output");
+
+    /** The default output directory, relative to the working directory. */
+    private static final Path DEFAULT_OUTPUT_DIRECTORY = Paths.get("src", "main", "resources",
+            "search");
+
+    /** The largest size, so that the miss keys (rank plus size) can't overflow. */
+    private static final int MAX_SIZE = Integer.MAX_VALUE / 2;
+
+    //==============================================================================================
+
+    /** The collections to measure. */
+    private final List<CollectionType> collections;
+
+    /** The operations to measure. */
+    private final List<ScenarioOperation> operations;
+
+    /** The numbers of elements. */
+    private final List<Integer> sizes;
+
+    /** The distributions of the keys. */
+    private final List<KeyDistribution> distributions;
+
+    /** The shares of keys which are in the collection. */
+    private final List<Double> hitRatios;
+
+    /** The exponent of the Zipf distribution. */
+    private final double zipfExponent;
+
+    /** The number of measured operations per combination. */
+    private final int executions;
+
+    /** The seed of the random keys. */
+    private final long seed;
+
+    /** The output directory. */
+    private final Path outputDirectory;
+
+    //----------------------------------------------------------------------------------------------
+
+    /**
+     * Creates a configuration from the given options, missing options get their default.
+     *
+     * @param options The options
+     */
+    private ScenarioConfig(final Properties options) {
+        collections = parseList(options.getProperty("collections", "array_list,linked_list"),
+                CollectionType::forName);
+        operations = parseList(options.getProperty("operations", "search,binary_search"),
+                ScenarioOperation::forName);
+        sizes = parseList(options.getProperty("sizes",
+                "2000000,4000000,6000000,8000000,10000000"), Integer::valueOf);
+        distributions = parseList(options.getProperty("distributions", "uniform"),
+                KeyDistribution::forName);
+        hitRatios = parseList(options.getProperty("hit-ratios", "0"), Double::valueOf);
+        zipfExponent = Double.parseDouble(options.getProperty("zipf-exponent", "1").trim());
+        executions = Integer.parseInt(options.getProperty("executions", "2000").trim());
+        seed = Long.parseLong(options.getProperty("seed", "42").trim());
+
+        String output = options.getProperty("output",
+                System.getProperty(OUTPUT_DIRECTORY_PROPERTY));
+        outputDirectory = (output == null) ? DEFAULT_OUTPUT_DIRECTORY : Paths.get(output.trim());
+
+        for (int size : sizes) {
+            if (size < 1 || size > MAX_SIZE) {
+                throw new IllegalArgumentException("Illegal size: " + size);
+            }
+        }
+        for (double hitRatio : hitRatios) {
+            if (hitRatio < 0.0 || hitRatio > 1.0) {
+                throw new IllegalArgumentException("Illegal hit ratio: " + hitRatio);
+            }
+        }
+        if (zipfExponent <= 0.0) {
+            throw new IllegalArgumentException("Illegal Zipf exponent: " + zipfExponent);
+        }
+        if (executions < 1) {
+            throw new IllegalArgumentException("Illegal executions: " + executions);
+        }
+    }
+
+    /**
+     * Creates a configuration from the given command line arguments.
+     *
+     * @param args The arguments, see the class comment
+     * @return The stated configuration
+     * @throws IOException If the properties file couldn't be read
+     */
+    public static ScenarioConfig parse(final String[] args) throws IOException {
+        Properties options = new Properties();
+        Properties overrides = new Properties();
+        for (String arg : args) {
+            if (!arg.startsWith("--")) {
+                overrides.setProperty("output", arg);
+                continue;
+            }
+
+            int separator = arg.indexOf('=');
+            if (separator < 0) { throw new IllegalArgumentException("Missing value: " + arg); }
+
+            String option = arg.substring(2, separator);
+            String value = arg.substring(separator + 1);
+            if (option.equals(CONFIG_OPTION)) {
+                try (Reader reader = Files.newBufferedReader(Paths.get(value),
+                        StandardCharsets.UTF_8)) {
+                    options.load(reader);
+                }
+            } else {
+                overrides.setProperty(option, value);
+            }
+        }
+        options.putAll(overrides);
+
+        for (String option : options.stringPropertyNames()) {
+            if (!OPTIONS.contains(option)) {
+                throw new IllegalArgumentException("Unknown option: " + option);
+            }
+        }
+
+        return new ScenarioConfig(options);
+    }
+
+    /**
+     * Parses a list separated by commas.
+     *
+     * @param <T> The type of the elements
+     * @param value The list
+     * @param parser Parses an element
+     * @return The stated elements
+     */
+    private static <T> List<T> parseList(final String value, final Function<String, T> parser) {
+        List<T> elements = new ArrayList<>();
+        for (String element : value.split(",")) {
+            if (!element.trim().isEmpty()) { elements.add(parser.apply(element.trim())); }
+        }
+
+        return Collections.unmodifiableList(elements);
+    }
+
+    //----------------------------------------------------------------------------------------------
+
+    /**
+     * Gets the collections to measure.
+     *
+     * @return The stated collections
+     */
+    public List<CollectionType> getCollections() { return collections; }
+
+    /**
+     * Gets the operations to measure.
+     *
+     * @return The stated operations
+     */
+    public List<ScenarioOperation> getOperations() { return operations; }
+
+    /**
+     * Gets the numbers of elements.
+     *
+     * @return The stated sizes
+     */
+    public List<Integer> getSizes() { return sizes; }
+
+    /**
+     * Gets the distributions of the keys.
+     *
+     * @return The stated distributions
+     */
+    public List<KeyDistribution> getDistributions() { return distributions; }
+
+    /**
+     * Gets the shares of keys which are in the collection.
+     *
+     * @return The stated hit ratios
+     */
+    public List<Double> getHitRatios() { return hitRatios; }
+
+    /**
+     * Gets the exponent of the Zipf distribution.
+     *
+     * @return The stated exponent
+     */
+    public double getZipfExponent() { return zipfExponent; }
+
+    /**
+     * Gets the number of measured operations per combination.
+     *
+     * @return The stated number
+     */
+    public int getExecutions() { return executions; }
+
+    /**
+     * Gets the seed of the random keys.
+     *
+     * @return The stated seed
+     */
+    public long getSeed() { return seed; }
+
+    /**
+     * Gets the output directory.
+     *
+     * @return The stated directory
+     */
+    public Path getOutputDirectory() { return outputDirectory; }
+
+    //----------------------------------------------------------------------------------------------
+}
@@ -0,0 +1,57 @@
+/*
+ * Copyright 2019 (C) by Julian Horner.
+ * All Rights Reserved.
+ */
+
+package search;
+
+import java.util.Locale;
+
+/**
+ * Enum that represents the operations a scenario of the {@link ScenarioRunner} can measure.
+ *
+ * @author julian
+ */
+public enum ScenarioOperation {
+    //----------------------------------------------------------------------------------------------
+
+    /** Adds the values 0 to size - 1 in ascending order, every single add is measured. */
+    INSERT,
+
+    /** Gets the element at an index, only supported by lists. */
+    GET,
+
+    /** A linear search in a list or a <code>contains</code> on a set. */
+    SEARCH,
+
+    /** A binary search on the sorted list, only supported by lists. */
+    BINARY_SEARCH,
+
+    /**
+     * Removes the element at an index of a list or a key from a set, the element is added again
+     * after the measurement.
+     */
+    REMOVE;
+
+    //----------------------------------------------------------------------------------------------
+
+    /**
+     * Gets the name of the operation in configurations and reports, e.g.
+     * <code>binary_search</code>.
+     *
+     * @return The stated name
+     */
+    public String getName() { return name().toLowerCase(Locale.ROOT); }
+
+    /**
+     * Gets the operation with the given name.
+     *
+     * @param name The name of the operation, case is ignored
+     * @return The stated operation
+     */
+    public static ScenarioOperation forName(final String name) {
+        return valueOf(name.trim().toUpperCase(Locale.ROOT));
+    }
+
+    //----------------------------------------------------------------------------------------------
+}
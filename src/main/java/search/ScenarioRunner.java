@@ -0,0 +1,300 @@
+/*
+ * Copyright 2019 (C) by Julian Horner.
+ * All Rights Reserved.
+ */
+
+package search;
+
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.io.StringWriter;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+import search.CollectionType.Target;
+import search.KeyDistribution.KeyGenerator;
+
+/**
+ * Runs the scenarios of a {@link ScenarioConfig}, that means every combination of its
+ * collections, sizes, key distributions, hit ratios and operations, in one invocation.
+ * <p>
+ * Every collection is filled with the values 0 to size - 1 in ascending order, so the lists are
+ * sorted. Then every operation is executed and measured the configured number of times with keys
+ * of every distribution and hit ratio. The durations are single <code>System.nanoTime</code>
+ * samples that include JIT warmup, GC pauses and the timer overhead, for reproducible figures use
+ * the JMH benchmarks in the <code>benchmarks</code> module.
+ * <p>
+ * At the end the summary statistics of all runs are written to
+ * <code>scenario_statistics.csv</code> and <code>scenario_statistics.json</code>, and a comparison
+ * of the collections per operation, size, distribution and hit ratio is printed and written to
+ * <code>scenario_comparison.txt</code>.
+ *
+ * @author julian
+ */
+public final class ScenarioRunner {
+    //----------------------------------------------------------------------------------------------
+
+    /** The name of the report files without extension. */
+    private static final String REPORT_NAME = "scenario_statistics";
+
+    /** The name of the comparison file. */
+    private static final String COMPARISON_FILE = "scenario_comparison.txt";
+
+    //==============================================================================================
+
+    /** The configuration to run. */
+    private final ScenarioConfig config;
+
+    /** The statistics of all runs. */
+    private final StatisticsReport report = new StatisticsReport();
+
+    /** The runs of every comparison, by the title of the comparison. */
+    private final Map<String, List<Run>> comparisons = new LinkedHashMap<>();
+
+    /**
+     * Receives the results of the operations, so they aren't removed by the compiler. Its value is
+     * meaningless.
+     */
+    private long resultSink;
+
+    //----------------------------------------------------------------------------------------------
+
+    /**
+     * Runs the scenarios of the configuration given by the arguments, see {@link ScenarioConfig}.
+     *
+     * @param args The arguments
+     * @throws IOException If the configuration couldn't be read or the report couldn't be written
+     */
+    public static void main(final String[] args) throws IOException {
+        new ScenarioRunner(ScenarioConfig.parse(args)).run();
+    }
+
+    /**
+     * Creates a runner for the given configuration.
+     *
+     * @param config The configuration to run
+     */
+    public ScenarioRunner(final ScenarioConfig config) {
+        this.config = config;
+    }
+
+    //----------------------------------------------------------------------------------------------
+
+    /**
+     * Runs all scenarios and writes the report.
+     *
+     * @throws IOException If the report couldn't be written
+     */
+    public void run() throws IOException {
+        for (int size : config.getSizes()) {
+            for (CollectionType type : config.getCollections()) {
+                runScenarios(type, size);
+                System.out.println("Recorded runs for " + type.getName() + " with " + size);
+            }
+        }
+
+        Path outputDirectory = config.getOutputDirectory();
+        report.write(outputDirectory, REPORT_NAME);
+
+        String comparison = formatComparisons();
+        System.out.print(comparison);
+        Files.write(outputDirectory.resolve(COMPARISON_FILE),
+                comparison.getBytes(StandardCharsets.UTF_8));
+
+        System.out.println("Wrote " + REPORT_NAME + " and " + COMPARISON_FILE + " to "
+                + outputDirectory.toAbsolutePath());
+    }
+
+    /**
+     * Runs all scenarios of the given collection and size.
+     *
+     * @param type The collection
+     * @param size The number of elements
+     */
+    private void runScenarios(final CollectionType type, final int size) {
+        Target target = type.create(size);
+
+        // the collection is filled anyway, measuring the inserts is optional
+        List<ScenarioOperation> operations = config.getOperations();
+        if (operations.contains(ScenarioOperation.INSERT)) {
+            DurationHistogram durations = new DurationHistogram();
+            for (int value = 0; value < size; value++) {
+                long start = System.nanoTime();
+                target.add(value);
+                durations.record(System.nanoTime() - start);
+            }
+            addRun(ScenarioOperation.INSERT.getName() + " size=" + size, type,
+                    ScenarioOperation.INSERT.getName() + "_" + type.getName() + "_" + size,
+                    durations);
+        } else {
+            for (int value = 0; value < size; value++) {
+                target.add(value);
+            }
+        }
+
+        for (KeyDistribution distribution : config.getDistributions()) {
+            for (double hitRatio : config.getHitRatios()) {
+                for (ScenarioOperation operation : operations) {
+                    if (operation == ScenarioOperation.INSERT || !target.supports(operation)) {
+                        continue;
+                    }
+
+                    KeyGenerator keys = distribution.createGenerator(size, hitRatio,
+                            config.getZipfExponent(), config.getSeed());
+                    DurationHistogram durations = measure(target, operation, keys);
+
+                    String hit = String.format(Locale.ROOT, "%.0f", hitRatio * 100.0);
+                    addRun(String.format(Locale.ROOT, "%s size=%d distribution=%s hit=%s%%",
+                            operation.getName(), size, distribution.getName(), hit), type,
+                            operation.getName() + "_" + type.getName() + "_" + size + "_"
+                            + distribution.getName() + "_hit" + hit,
+                            durations);
+                }
+            }
+        }
+    }
+
+    /**
+     * Measures the given operation.
+     *
+     * @param target The collection
+     * @param operation The operation, not {@link ScenarioOperation#INSERT}
+     * @param keys The generator of the keys
+     * @return The durations of the executions
+     */
+    private DurationHistogram measure(final Target target, final ScenarioOperation operation,
+            final KeyGenerator keys) {
+        DurationHistogram durations = new DurationHistogram();
+        long sink = 0;
+        for (int i = 0; i < config.getExecutions(); i++) {
+            long start;
+            long end;
+            switch (operation) {
+            case GET:
+                int index = keys.nextIndex();
+                start = System.nanoTime();
+                sink += target.get(index);
+                end = System.nanoTime();
+                break;
+            case SEARCH:
+                int key = keys.nextKey();
+                start = System.nanoTime();
+                sink += target.search(key);
+                end = System.nanoTime();
+                break;
+            case BINARY_SEARCH:
+                int sortedKey = keys.nextKey();
+                start = System.nanoTime();
+                sink += target.binarySearch(sortedKey);
+                end = System.nanoTime();
+                break;
+            case REMOVE:
+                int indexOrKey = target.isIndexed() ? keys.nextIndex() : keys.nextKey();
+                start = System.nanoTime();
+                sink += target.remove(indexOrKey);
+                end = System.nanoTime();
+                target.undoRemove();
+                break;
+            default:
+                throw new IllegalArgumentException("Unsupported operation: " + operation);
+            }
+            durations.record(end - start);
+        }
+        resultSink += sink;
+
+        return durations;
+    }
+
+    //----------------------------------------------------------------------------------------------
+
+    /**
+     * Adds a run to the report and to its comparison.
+     *
+     * @param title The title of the comparison
+     * @param type The collection
+     * @param name The name of the run in the report
+     * @param durations The durations of the run
+     */
+    private void addRun(final String title, final CollectionType type, final String name,
+            final DurationHistogram durations) {
+        report.add(name, durations);
+        comparisons.computeIfAbsent(title, t -> new ArrayList<>()).add(new Run(type, durations));
+    }
+
+    /**
+     * Formats the comparisons as tables, one per operation, size, distribution and hit ratio, with
+     * the mean of every collection relative to the fastest one.
+     *
+     * @return The stated tables
+     */
+    private String formatComparisons() {
+        StringWriter text = new StringWriter();
+        PrintWriter out = new PrintWriter(text);
+        for (Map.Entry<String, List<Run>> comparison : comparisons.entrySet()) {
+            List<Run> runs = comparison.getValue();
+
+            double fastestMean = Double.MAX_VALUE;
+            for (Run run : runs) {
+                fastestMean = Math.min(fastestMean, run.mean);
+            }
+
+            out.println();
+            out.println(comparison.getKey());
+            out.println(String.format(Locale.ROOT, "  %-26s %14s %12s %12s %12s %9s", "collection",
+                    "mean [ns]", "p50 [ns]", "p99 [ns]", "p99.9 [ns]", "relative"));
+            for (Run run : runs) {
+                out.println(String.format(Locale.ROOT, "  %-26s %14.1f %12d %12d %12d %8.2fx",
+                        run.type.getName(), run.mean, run.p50, run.p99, run.p999,
+                        (fastestMean > 0.0) ? run.mean / fastestMean : 1.0));
+            }
+        }
+        out.flush();
+
+        return text.toString();
+    }
+
+    //==============================================================================================
+
+    /**
+     * The statistics of a collection in a comparison.
+     */
+    private static final class Run {
+
+        /** The collection. */
+        private final CollectionType type;
+
+        /** The mean duration. */
+        private final double mean;
+
+        /** The median duration. */
+        private final long p50;
+
+        /** The 99th percentile of the durations. */
+        private final long p99;
+
+        /** The 99.9th percentile of the durations. */
+        private final long p999;
+
+        /**
+         * Takes the statistics of the given durations.
+         *
+         * @param type The collection
+         * @param durations The durations of the run
+         */
+        private Run(final CollectionType type, final DurationHistogram durations) {
+            this.type = type;
+            mean = durations.getMean();
+            p50 = durations.getValueAtPercentile(50.0);
+            p99 = durations.getValueAtPercentile(99.0);
+            p999 = durations.getValueAtPercentile(99.9);
+        }
+    }
+
+    //----------------------------------------------------------------------------------------------
+}
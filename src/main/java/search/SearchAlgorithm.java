@@ -0,0 +1,114 @@
+/*
+ * Copyright 2019 (C) by Julian Horner.
+ * All Rights Reserved.
+ */
+
+package search;
+
+/**
+ * Enum that represents the search algorithms of {@link IntSearch}, so an algorithm can be chosen
+ * at runtime, e.g. by a benchmark parameter.
+ *
+ * @author julian
+ */
+public enum SearchAlgorithm {
+    //----------------------------------------------------------------------------------------------
+
+    /** The linear search, doesn't require a sorted range. */
+    LINEAR(false) {
+        @Override
+        public int search(final int[] array, final int fromIndex, final int toIndex,
+                final int key) {
+            return IntSearch.linearSearch(array, fromIndex, toIndex, key);
+        }
+    },
+
+    /** The binary search. */
+    BINARY(true) {
+        @Override
+        public int search(final int[] array, final int fromIndex, final int toIndex,
+                final int key) {
+            return IntSearch.binarySearch(array, fromIndex, toIndex, key);
+        }
+    },
+
+    /** The interpolation search. */
+    INTERPOLATION(true) {
+        @Override
+        public int search(final int[] array, final int fromIndex, final int toIndex,
+                final int key) {
+            return IntSearch.interpolationSearch(array, fromIndex, toIndex, key);
+        }
+    },
+
+    /** The exponential search. */
+    EXPONENTIAL(true) {
+        @Override
+        public int search(final int[] array, final int fromIndex, final int toIndex,
+                final int key) {
+            return IntSearch.exponentialSearch(array, fromIndex, toIndex, key);
+        }
+    };
+
+    //----------------------------------------------------------------------------------------------
+
+    /** Whether the algorithm requires a sorted range. */
+    private final boolean requiresSortedInput;
+
+    //----------------------------------------------------------------------------------------------
+
+    /**
+     * Creates the enum constant.
+     *
+     * @param requiresSortedInput Whether the algorithm requires a sorted range
+     */
+    SearchAlgorithm(final boolean requiresSortedInput) {
+        this.requiresSortedInput = requiresSortedInput;
+    }
+
+    //----------------------------------------------------------------------------------------------
+
+    /**
+     * Gets whether the algorithm requires a sorted range.
+     *
+     * @return Whether the algorithm requires a sorted range
+     */
+    public boolean requiresSortedInput() { return requiresSortedInput; }
+
+    //----------------------------------------------------------------------------------------------
+
+    /**
+     * Searches the key in the given range of the array.
+     *
+     * @param array The array to search in
+     * @param fromIndex The first index of the range (inclusive)
+     * @param toIndex The last index of the range (exclusive)
+     * @param key The searched key
+     * @return The result of the respective method of {@link IntSearch}
+     */
+    public abstract int search(int[] array, int fromIndex, int toIndex, int key);
+
+    /**
+     * Searches the key in the whole array.
+     *
+     * @param array The array to search in
+     * @param key The searched key
+     * @return The result of the respective method of {@link IntSearch}
+     */
+    public int search(final int[] array, final int key) {
+        return search(array, 0, array.length, key);
+    }
+
+    /**
+     * Searches the key in the elements of the given growable array.
+     *
+     * @param array The array to search in
+     * @param key The searched key
+     * @return The result of the respective method of {@link IntSearch}
+     */
+    public int search(final IntArray array, final int key) {
+        return search(array.elements(), 0, array.size(), key);
+    }
+
+    //----------------------------------------------------------------------------------------------
+}
@@ -0,0 +1,399 @@
+/*
+ * Copyright 2019 (C) by Julian Horner.
+ * All Rights Reserved.
+ */
+
+package search;
+
+import java.util.Arrays;
+import java.util.ConcurrentModificationException;
+import java.util.Iterator;
+import java.util.List;
+import java.util.ListIterator;
+import java.util.NoSuchElementException;
+import java.util.RandomAccess;
+
+import lists.SequentialList;
+
+/**
+ * Binary search over a sorted list without random access. <code>Collections.binarySearch</code>
+ * has to walk to every probe of such a list, so it traverses the whole list on every search.
+ * <p>
+ * This adapter keeps a sparse index with every distance-th element of the list and a handle to its
+ * node. A search is a binary search on the index, followed by a walk of at most distance elements
+ * from the node of the found index entry. The index is built with one traversal of the list on
+ * the first search, and built again on the next search after the list was modified.
+ * <p>
+ * Lists of this project are traversed from the indexed nodes through {@link SequentialList}.
+ * <code>java.util.List</code> implementations have no public nodes. For random access lists the
+ * walk starts at <code>listIterator(index)</code>, which is immediate. For other lists, like a
+ * <code>LinkedList</code>, where <code>listIterator(index)</code> walks from the nearer end, the
+ * index copies the elements of every block into an array when it is built. So for such lists the
+ * index isn't sparse, it holds a reference to every element, which is O(n) extra memory, and the
+ * walk is a scan of that array.
+ *
+ * @author julian
+ *
+ * @param <T> The type of the elements
+ */
+public final class SkipIndexedSearch<T extends Comparable<? super T>> {
+    //----------------------------------------------------------------------------------------------
+
+    /** The default distance between two indexed elements. */
+    public static final int DEFAULT_DISTANCE = 64;
+
+    //==============================================================================================
+
+    /** The searched list. */
+    private final Source<T> source;
+
+    /** The distance between two indexed elements. */
+    private final int distance;
+
+    /** Every distance-th element of the list, null if the index has to be built. */
+    private Object[] sampleValues;
+
+    /** The handles of the nodes of the sample values. */
+    private Object[] nodeHandles;
+
+    //----------------------------------------------------------------------------------------------
+
+    /**
+     * Creates a search over the given sorted list, with the default distance.
+     *
+     * @param list The sorted list to search in
+     */
+    public SkipIndexedSearch(final SequentialList<T> list) {
+        this(list, DEFAULT_DISTANCE);
+    }
+
+    /**
+     * Creates a search over the given sorted list.
+     *
+     * @param list The sorted list to search in
+     * @param distance The distance between two indexed elements
+     */
+    public SkipIndexedSearch(final SequentialList<T> list, final int distance) {
+        this(new SequentialListSource<T>(list), distance);
+    }
+
+    /**
+     * Creates a search over the given sorted list, with the default distance.
+     *
+     * @param list The sorted list to search in
+     */
+    public SkipIndexedSearch(final List<T> list) {
+        this(list, DEFAULT_DISTANCE);
+    }
+
+    /**
+     * Creates a search over the given sorted list.
+     *
+     * @param list The sorted list to search in
+     * @param distance The distance between two indexed elements
+     */
+    public SkipIndexedSearch(final List<T> list, final int distance) {
+        this(new JavaListSource<T>(list), distance);
+    }
+
+    /**
+     * Creates a search over the given source.
+     *
+     * @param source The source to search in
+     * @param distance The distance between two indexed elements
+     */
+    private SkipIndexedSearch(final Source<T> source, final int distance) {
+        if (distance < 1) { throw new IllegalArgumentException("Illegal distance: " + distance); }
+
+        this.source = source;
+        this.distance = distance;
+    }
+
+    //----------------------------------------------------------------------------------------------
+
+    /**
+     * Searches the key in the sorted list, with the same result as
+     * <code>Collections.binarySearch</code>.
+     *
+     * @param key The searched key
+     * @return The index of the key or <code>(-(insertion point) - 1)</code>
+     */
+    public int binarySearch(final T key) {
+        if (sampleValues == null || source.isModified()) { buildIndex(); }
+
+        int block = findBlock(key);
+        if (block < 0) { return -1; }
+
+        int blockStart = block * distance;
+        if (getSample(block).compareTo(key) == 0) { return blockStart; }
+
+        // the sample is less than the key, the next sample (if any) greater than it
+        Iterator<T> iterator = source.iterator(nodeHandles[block]);
+        iterator.next();
+
+        int offset = 1;
+        for (; offset < distance && iterator.hasNext(); offset++) {
+            int comparison = iterator.next().compareTo(key);
+            if (comparison == 0) { return blockStart + offset; }
+            if (comparison > 0) { break; }
+        }
+
+        return -(blockStart + offset) - 1;
+    }
+
+    /**
+     * Gets whether the sorted list contains the key.
+     *
+     * @param key The searched key
+     * @return Whether the key is in the list
+     */
+    public boolean contains(final T key) {
+        return binarySearch(key) >= 0;
+    }
+
+    //----------------------------------------------------------------------------------------------
+
+    /**
+     * Discards the index, so it is built again on the next search. Only required if an element was
+     * replaced, adding or removing elements is detected automatically.
+     */
+    public void invalidate() {
+        sampleValues = null;
+        nodeHandles = null;
+    }
+
+    /**
+     * Gets the distance between two indexed elements.
+     *
+     * @return The stated distance
+     */
+    public int getDistance() { return distance; }
+
+    //----------------------------------------------------------------------------------------------
+
+    /**
+     * Builds the index with one traversal of the list for the node handles. The samples are the
+     * elements at the handles, which are read without another traversal.
+     */
+    private void buildIndex() {
+        nodeHandles = source.getNodeHandles(distance);
+
+        Object[] samples = new Object[nodeHandles.length];
+        for (int i = 0; i < samples.length; i++) {
+            samples[i] = source.iterator(nodeHandles[i]).next();
+        }
+        sampleValues = samples;
+
+        source.markIndexed();
+    }
+
+    /**
+     * Finds the last sample which is less than or equal to the key.
+     *
+     * @param key The searched key
+     * @return The index of the sample or -1, if the key is less than all samples
+     */
+    private int findBlock(final T key) {
+        int block = -1;
+
+        int low = 0;
+        int high = sampleValues.length - 1;
+        while (low <= high) {
+            int middle = (low + high) >>> 1;
+            int comparison = getSample(middle).compareTo(key);
+
+            if (comparison < 0) {
+                block = middle;
+                low = middle + 1;
+            } else if (comparison > 0) {
+                high = middle - 1;
+            } else {
+                return middle;
+            }
+        }
+
+        return block;
+    }
+
+    /**
+     * Gets the sample at the given position of the index.
+     *
+     * @param position The position in the index
+     * @return The stated sample
+     */
+    @SuppressWarnings("unchecked")
+    private T getSample(final int position) { return (T) sampleValues[position]; }
+
+    //==============================================================================================
+
+    /**
+     * The list to search in.
+     *
+     * @param <T> The type of the elements
+     */
+    private interface Source<T> {
+
+        /**
+         * Gets handles to every distance-th node, see {@link SequentialList#getNodeHandles(int)}.
+         *
+         * @param distance The distance between two nodes
+         * @return The stated handles
+         */
+        Object[] getNodeHandles(int distance);
+
+        /**
+         * Returns an iterator which starts at the node of the given handle.
+         *
+         * @param nodeHandle The stated handle
+         * @return The stated iterator
+         */
+        Iterator<T> iterator(Object nodeHandle);
+
+        /**
+         * Remembers the current state of the list as the indexed one.
+         */
+        void markIndexed();
+
+        /**
+         * Gets whether the list was modified since {@link #markIndexed()}.
+         *
+         * @return Whether the list was modified
+         */
+        boolean isModified();
+    }
+
+    //==============================================================================================
+
+    /**
+     * A list of this project.
+     *
+     * @param <T> The type of the elements
+     */
+    private static final class SequentialListSource<T> implements Source<T> {
+
+        /** The list to search in. */
+        private final SequentialList<T> list;
+
+        /** The modification count of the list when it was indexed. */
+        private int indexedModificationCount;
+
+        /**
+         * Creates the source.
+         *
+         * @param list The list to search in
+         */
+        private SequentialListSource(final SequentialList<T> list) {
+            this.list = list;
+        }
+
+        @Override
+        public Object[] getNodeHandles(final int distance) { return list.getNodeHandles(distance); }
+
+        @Override
+        public Iterator<T> iterator(final Object nodeHandle) { return list.iterator(nodeHandle); }
+
+        @Override
+        public void markIndexed() { indexedModificationCount = list.getModificationCount(); }
+
+        @Override
+        public boolean isModified() {
+            return indexedModificationCount != list.getModificationCount();
+        }
+    }
+
+    //==============================================================================================
+
+    /**
+     * A <code>java.util.List</code>. The node handles of a random access list are the indexes of
+     * the nodes, the node handles of other lists are copies of the blocks of distance elements
+     * starting at the nodes.
+     * <p>
+     * The modification count of the list isn't public, so modifications are detected by the size
+     * and by a fail-fast iterator, which was created when the list was indexed. Such an iterator
+     * throws a <code>ConcurrentModificationException</code> on its next move after the list was
+     * modified.
+     *
+     * @param <T> The type of the elements
+     */
+    private static final class JavaListSource<T> implements Source<T> {
+
+        /** The list to search in. */
+        private final List<T> list;
+
+        /** Whether the list has fast random access. */
+        private final boolean randomAccess;
+
+        /** The size of the list when it was indexed. */
+        private int indexedSize;
+
+        /** An iterator at the end of the list, created when the list was indexed. */
+        private ListIterator<T> modificationProbe;
+
+        /**
+         * Creates the source.
+         *
+         * @param list The list to search in
+         */
+        private JavaListSource(final List<T> list) {
+            this.list = list;
+            this.randomAccess = list instanceof RandomAccess;
+        }
+
+        @Override
+        public Object[] getNodeHandles(final int distance) {
+            int size = list.size();
+            Object[] handles = new Object[(size + distance - 1) / distance];
+            if (randomAccess) {
+                for (int i = 0; i < handles.length; i++) {
+                    handles[i] = i * distance;
+                }
+
+                return handles;
+            }
+
+            // one traversal, a block can't be reached from its index in less than linear time
+            Iterator<T> iterator = list.iterator();
+            for (int i = 0; i < handles.length; i++) {
+                Object[] block = new Object[Math.min(distance, size - i * distance)];
+                for (int j = 0; j < block.length; j++) {
+                    block[j] = iterator.next();
+                }
+                handles[i] = block;
+            }
+
+            return handles;
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        public Iterator<T> iterator(final Object nodeHandle) {
+            if (randomAccess) { return list.listIterator((Integer) nodeHandle); }
+
+            return (Iterator<T>) Arrays.asList((Object[]) nodeHandle).iterator();
+        }
+
+        @Override
+        public void markIndexed() {
+            indexedSize = list.size();
+            modificationProbe = list.listIterator(indexedSize);
+        }
+
+        @Override
+        public boolean isModified() {
+            if (list.size() != indexedSize) { return true; }
+            if (indexedSize == 0) { return false; }
+
+            try {
+                // one step back and forth, which fails if the list was modified
+                modificationProbe.previous();
+                modificationProbe.next();
+            } catch (ConcurrentModificationException | NoSuchElementException e) {
+                return true;
+            }
+
+            return false;
+        }
+    }
+
+    //----------------------------------------------------------------------------------------------
+}
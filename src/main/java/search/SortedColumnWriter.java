@@ -0,0 +1,206 @@
+/*
+ * Copyright 2019 (C) by Julian Horner.
+ * All Rights Reserved.
+ */
+
+package search;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Writes a sorted column of <code>int</code> or <code>long</code> values to a file, which can be
+ * searched with {@link MappedSortedColumn}. The values are added one by one in ascending order and
+ * written through a small buffer, so a column can be larger than the heap. The header with the
+ * number of values is written when the writer is closed.
+ *
+ * @author julian
+ */
+public final class SortedColumnWriter implements AutoCloseable {
+    //----------------------------------------------------------------------------------------------
+
+    /** The size of the write buffer in bytes. */
+    private static final int BUFFER_SIZE = 1 << 16;
+
+    //==============================================================================================
+
+    /** The channel of the file. */
+    private final FileChannel channel;
+
+    /** The buffer for the values which weren't written yet. */
+    private final ByteBuffer buffer;
+
+    /** The number of bytes per value, 4 or 8. */
+    private final int valueSize;
+
+    /** The number of added values. */
+    private long count;
+
+    /** The last added value. */
+    private long lastValue;
+
+    /** Whether the writer was closed. */
+    private boolean closed;
+
+    //----------------------------------------------------------------------------------------------
+
+    /**
+     * Creates a writer, an existing file is overwritten.
+     *
+     * @param file The file to write
+     * @param valueSize The number of bytes per value, 4 or 8
+     * @throws IOException If the file couldn't be created
+     */
+    private SortedColumnWriter(final Path file, final int valueSize) throws IOException {
+        channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                StandardOpenOption.TRUNCATE_EXISTING);
+        buffer = ByteBuffer.allocateDirect(BUFFER_SIZE).order(MappedSortedColumn.BYTE_ORDER);
+        this.valueSize = valueSize;
+
+        // the header is written on close, when the count is known
+        channel.position(MappedSortedColumn.HEADER_SIZE);
+    }
+
+    /**
+     * Creates a writer for a column of <code>int</code> values.
+     *
+     * @param file The file to write, an existing file is overwritten
+     * @return The stated writer
+     * @throws IOException If the file couldn't be created
+     */
+    public static SortedColumnWriter createIntColumn(final Path file) throws IOException {
+        return new SortedColumnWriter(file, Integer.BYTES);
+    }
+
+    /**
+     * Creates a writer for a column of <code>long</code> values.
+     *
+     * @param file The file to write, an existing file is overwritten
+     * @return The stated writer
+     * @throws IOException If the file couldn't be created
+     */
+    public static SortedColumnWriter createLongColumn(final Path file) throws IOException {
+        return new SortedColumnWriter(file, Long.BYTES);
+    }
+
+    //----------------------------------------------------------------------------------------------
+
+    /**
+     * Writes the sorted values as a column of <code>int</code> values.
+     *
+     * @param file The file to write, an existing file is overwritten
+     * @param sortedValues The values in ascending order
+     * @throws IOException If the file couldn't be written
+     */
+    public static void write(final Path file, final int[] sortedValues) throws IOException {
+        try (SortedColumnWriter writer = createIntColumn(file)) {
+            for (int value : sortedValues) {
+                writer.add(value);
+            }
+        }
+    }
+
+    /**
+     * Writes the sorted values as a column of <code>long</code> values.
+     *
+     * @param file The file to write, an existing file is overwritten
+     * @param sortedValues The values in ascending order
+     * @throws IOException If the file couldn't be written
+     */
+    public static void write(final Path file, final long[] sortedValues) throws IOException {
+        try (SortedColumnWriter writer = createLongColumn(file)) {
+            for (long value : sortedValues) {
+                writer.add(value);
+            }
+        }
+    }
+
+    //----------------------------------------------------------------------------------------------
+
+    /**
+     * Adds the given value at the end of the column.
+     *
+     * @param value The value, must not be less than the last one and must fit into the type of
+     *        the column
+     * @throws IOException If the buffer couldn't be written
+     */
+    public void add(final long value) throws IOException {
+        if (closed) { throw new IllegalStateException("Writer is closed"); }
+        if (count > 0 && value < lastValue) {
+            throw new IllegalArgumentException("Value " + value + " is less than " + lastValue);
+        }
+
+        if (!buffer.hasRemaining()) { flush(); }
+
+        if (valueSize == Long.BYTES) {
+            buffer.putLong(value);
+        } else if (value == (int) value) {
+            buffer.putInt((int) value);
+        } else {
+            throw new IllegalArgumentException("Value " + value + " is not an int");
+        }
+
+        lastValue = value;
+        count++;
+    }
+
+    /**
+     * Gets the number of values added so far.
+     *
+     * @return The stated count
+     */
+    public long getCount() { return count; }
+
+    //----------------------------------------------------------------------------------------------
+
+    /**
+     * Writes the remaining values and the header, forces them to the disk and closes the file.
+     *
+     * @throws IOException If the file couldn't be written
+     */
+    @Override
+    public void close() throws IOException {
+        if (closed) { return; }
+        closed = true;
+
+        try {
+            flush();
+
+            ByteBuffer header = ByteBuffer.allocate(MappedSortedColumn.HEADER_SIZE)
+                    .order(MappedSortedColumn.BYTE_ORDER);
+            header.putInt(MappedSortedColumn.MAGIC);
+            header.putShort(MappedSortedColumn.VERSION);
+            header.putShort((short) valueSize);
+            header.putLong(count);
+            header.flip();
+
+            channel.position(0);
+            while (header.hasRemaining()) {
+                channel.write(header);
+            }
+
+            // dirty pages can't be dropped from the page cache, a cold read needs them on disk
+            channel.force(true);
+        } finally {
+            channel.close();
+        }
+    }
+
+    /**
+     * Writes the buffered values to the file.
+     *
+     * @throws IOException If the values couldn't be written
+     */
+    private void flush() throws IOException {
+        buffer.flip();
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+        buffer.clear();
+    }
+
+    //----------------------------------------------------------------------------------------------
+}
@@ -0,0 +1,186 @@
+/*
+ * Copyright 2019 (C) by Julian Horner.
+ * All Rights Reserved.
+ */
+
+package search;
+
+import java.util.Arrays;
+
+/**
+ * An immutable index over <code>int</code> values, which stores the sorted values as a static
+ * B-tree with nodes of {@value #NODE_SIZE} values. A node is as large as a 64 byte cache line, so
+ * a search touches at most two cache lines per level (the virtual machine doesn't align arrays to
+ * cache lines). With 17 children per node there are only about log<sub>17</sub>(n) levels, e.g.
+ * six for ten million values, where a binary search on a sorted array touches up to 24 different
+ * cache lines.
+ * <p>
+ * The nodes are stored in breadth first order, the children of node k are the nodes
+ * 17k + 1 to 17k + 17. The entries that are left over after the last value are filled with
+ * <code>Integer.MAX_VALUE</code>, so every node is searched with the same branch free loop.
+ *
+ * @author julian
+ */
+public final class StaticBTreeIndex {
+    //----------------------------------------------------------------------------------------------
+
+    /** The number of values per node, 16 <code>int</code> values fill a cache line. */
+    public static final int NODE_SIZE = 16;
+
+    /** The largest number of values, so that the number of a child node can't overflow. */
+    public static final int MAX_SIZE = Integer.MAX_VALUE / (NODE_SIZE + 1) * NODE_SIZE;
+
+    /** The value of the unused entries. */
+    private static final int PADDING = Integer.MAX_VALUE;
+
+    //==============================================================================================
+
+    /** The values node by node. */
+    private final int[] tree;
+
+    /** The index of every value in sorted order, at the same position as in the tree. */
+    private final int[] ranks;
+
+    /** The number of nodes. */
+    private final int nodeCount;
+
+    /** The number of values. */
+    private final int size;
+
+    //----------------------------------------------------------------------------------------------
+
+    /**
+     * Creates an index over the given values, which don't have to be sorted. The given array isn't
+     * changed.
+     *
+     * @param values The stated values
+     */
+    public StaticBTreeIndex(final int[] values) {
+        if (values.length > MAX_SIZE) {
+            throw new IllegalArgumentException("Too many values: " + values.length);
+        }
+
+        int[] sorted = values.clone();
+        Arrays.sort(sorted);
+
+        size = sorted.length;
+        nodeCount = (size + NODE_SIZE - 1) / NODE_SIZE;
+        tree = new int[nodeCount * NODE_SIZE];
+        ranks = new int[nodeCount * NODE_SIZE];
+
+        fill(sorted, 0, 0);
+    }
+
+    //----------------------------------------------------------------------------------------------
+
+    /**
+     * Fills the subtree at the given node with the sorted values, starting at the given index (an
+     * in-order traversal of the tree).
+     *
+     * @param sorted The sorted values
+     * @param index The index of the next value to store
+     * @param node The root node of the subtree
+     * @return The index of the next value to store after the subtree was filled
+     */
+    private int fill(final int[] sorted, final int index, final int node) {
+        if (node >= nodeCount) { return index; }
+
+        int nextIndex = index;
+        for (int i = 0; i < NODE_SIZE; i++) {
+            nextIndex = fill(sorted, nextIndex, getChild(node, i));
+
+            int position = node * NODE_SIZE + i;
+            if (nextIndex < size) {
+                tree[position] = sorted[nextIndex];
+                ranks[position] = nextIndex;
+                nextIndex++;
+            } else {
+                tree[position] = PADDING;
+                ranks[position] = size;
+            }
+        }
+
+        return fill(sorted, nextIndex, getChild(node, NODE_SIZE));
+    }
+
+    //----------------------------------------------------------------------------------------------
+
+    /**
+     * Gets the number of values.
+     *
+     * @return The stated size
+     */
+    public int size() { return size; }
+
+    /**
+     * Gets whether the index contains the given key.
+     *
+     * @param key The searched key
+     * @return Whether the key is in the index
+     */
+    public boolean contains(final int key) {
+        if (key == PADDING) { return binarySearch(key) >= 0; }
+
+        int position = lowerBound(key);
+
+        return position >= 0 && tree[position] == key;
+    }
+
+    /**
+     * Searches the key and returns its index in the sorted order of the values, with the same
+     * result as <code>Arrays.binarySearch</code> on the sorted values.
+     *
+     * @param key The searched key
+     * @return The index of the key or <code>(-(insertion point) - 1)</code>
+     */
+    public int binarySearch(final int key) {
+        int position = lowerBound(key);
+        if (position < 0) { return -(size + 1); }
+
+        int rank = ranks[position];
+        if (rank == size) { return -(size + 1); }
+
+        return (tree[position] == key) ? rank : -(rank + 1);
+    }
+
+    //----------------------------------------------------------------------------------------------
+
+    /**
+     * Returns the position of the smallest value which is greater than or equal to the key. In
+     * every node the values less than the key are counted, the count is the child to descend to
+     * and, if it is inside the node, the position of the best candidate so far.
+     *
+     * @param key The searched key
+     * @return The position in the tree or -1, if all values are less than the key
+     */
+    private int lowerBound(final int key) {
+        int position = -1;
+        int node = 0;
+        while (node < nodeCount) {
+            int offset = node * NODE_SIZE;
+
+            int lessCount = 0;
+            for (int i = 0; i < NODE_SIZE; i++) {
+                lessCount += (tree[offset + i] < key) ? 1 : 0;
+            }
+
+            if (lessCount < NODE_SIZE) { position = offset + lessCount; }
+            node = getChild(node, lessCount);
+        }
+
+        return position;
+    }
+
+    /**
+     * Gets the child of the given node.
+     *
+     * @param node The parent node
+     * @param child The number of the child, from 0 to {@value #NODE_SIZE}
+     * @return The stated child node
+     */
+    private static int getChild(final int node, final int child) {
+        return node * (NODE_SIZE + 1) + child + 1;
+    }
+
+    //----------------------------------------------------------------------------------------------
+}
@@ -0,0 +1,185 @@
+/*
+ * Copyright 2019 (C) by Julian Horner.
+ * All Rights Reserved.
+ */
+
+package search;
+
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * A report with the summary statistics of several runs, which can be written as CSV and as JSON.
+ * Every run is summarized by its count, mean, standard deviation, minimum, the percentiles 50, 90,
+ * 99 and 99.9 and its maximum, taken from a {@link DurationHistogram}.
+ *
+ * @author julian
+ */
+public final class StatisticsReport {
+    //----------------------------------------------------------------------------------------------
+
+    /** The header of the CSV file. */
+    private static final String CSV_HEADER = "name,count,mean,stddev,min,p50,p90,p99,p99.9,max";
+
+    //==============================================================================================
+
+    /** The summaries of the runs in the order they were added. */
+    private final List<Summary> summaries = new ArrayList<>();
+
+    //----------------------------------------------------------------------------------------------
+
+    /**
+     * Adds the summary of the given histogram under the given name. The histogram can be reset
+     * and reused afterwards.
+     *
+     * @param name The name of the run
+     * @param histogram The values of the run
+     */
+    public void add(final String name, final DurationHistogram histogram) {
+        summaries.add(new Summary(name, histogram));
+    }
+
+    /**
+     * Gets the number of runs in the report.
+     *
+     * @return The stated number
+     */
+    public int size() { return summaries.size(); }
+
+    //----------------------------------------------------------------------------------------------
+
+    /**
+     * Writes the report as <code>&lt;baseName&gt;.csv</code> and <code>&lt;baseName&gt;.json</code>
+     * to the given directory, which is created if it doesn't exist.
+     *
+     * @param directory The output directory
+     * @param baseName The file name without extension
+     * @throws IOException If a file couldn't be written
+     */
+    public void write(final Path directory, final String baseName) throws IOException {
+        Files.createDirectories(directory);
+
+        writeCsv(directory.resolve(baseName + ".csv"));
+        writeJson(directory.resolve(baseName + ".json"));
+    }
+
+    /**
+     * Writes the report as CSV, one line per run.
+     *
+     * @param file The file to write
+     * @throws IOException If the file couldn't be written
+     */
+    public void writeCsv(final Path file) throws IOException {
+        try (PrintWriter out = new PrintWriter(
+                Files.newBufferedWriter(file, StandardCharsets.UTF_8))) {
+            out.println(CSV_HEADER);
+            for (Summary summary : summaries) {
+                out.println(String.format(Locale.ROOT, "%s,%d,%.1f,%.1f,%d,%d,%d,%d,%d,%d",
+                        summary.name, summary.count, summary.mean, summary.standardDeviation,
+                        summary.min, summary.p50, summary.p90, summary.p99, summary.p999,
+                        summary.max));
+            }
+        }
+    }
+
+    /**
+     * Writes the report as JSON, an array with one object per run.
+     *
+     * @param file The file to write
+     * @throws IOException If the file couldn't be written
+     */
+    public void writeJson(final Path file) throws IOException {
+        try (PrintWriter out = new PrintWriter(
+                Files.newBufferedWriter(file, StandardCharsets.UTF_8))) {
+            out.println("[");
+            for (int i = 0; i < summaries.size(); i++) {
+                Summary summary = summaries.get(i);
+                out.print(String.format(Locale.ROOT, "  {\"name\": \"%s\", \"count\": %d, "
+                        + "\"mean\": %.1f, \"stddev\": %.1f, \"min\": %d, \"p50\": %d, "
+                        + "\"p90\": %d, \"p99\": %d, \"p99.9\": %d, \"max\": %d}",
+                        escapeJson(summary.name), summary.count, summary.mean,
+                        summary.standardDeviation, summary.min, summary.p50, summary.p90,
+                        summary.p99, summary.p999, summary.max));
+                out.println((i < summaries.size() - 1) ? "," : "");
+            }
+            out.println("]");
+        }
+    }
+
+    //----------------------------------------------------------------------------------------------
+
+    /**
+     * Escapes the quotes and backslashes of the given string for a JSON string literal.
+     *
+     * @param value The stated string
+     * @return The escaped string
+     */
+    private static String escapeJson(final String value) {
+        return value.replace("\\", "\\\\").replace("\"", "\\\"");
+    }
+
+    //==============================================================================================
+
+    /**
+     * The summary statistics of one run.
+     */
+    private static final class Summary {
+
+        /** The name of the run. */
+        private final String name;
+
+        /** The number of values. */
+        private final long count;
+
+        /** The mean. */
+        private final double mean;
+
+        /** The standard deviation. */
+        private final double standardDeviation;
+
+        /** The minimum. */
+        private final long min;
+
+        /** The median. */
+        private final long p50;
+
+        /** The 90th percentile. */
+        private final long p90;
+
+        /** The 99th percentile. */
+        private final long p99;
+
+        /** The 99.9th percentile. */
+        private final long p999;
+
+        /** The maximum. */
+        private final long max;
+
+        /**
+         * Takes the statistics of the given histogram.
+         *
+         * @param name The name of the run
+         * @param histogram The values of the run
+         */
+        private Summary(final String name, final DurationHistogram histogram) {
+            this.name = name;
+            count = histogram.getCount();
+            mean = histogram.getMean();
+            standardDeviation = histogram.getStandardDeviation();
+            min = histogram.getMin();
+            p50 = histogram.getValueAtPercentile(50.0);
+            p90 = histogram.getValueAtPercentile(90.0);
+            p99 = histogram.getValueAtPercentile(99.0);
+            p999 = histogram.getValueAtPercentile(99.9);
+            max = histogram.getMax();
+        }
+    }
+
+    //----------------------------------------------------------------------------------------------
+}
@@ -0,0 +1,159 @@
+/*
+ * Copyright 2019 (C) by Julian Horner.
+ * All Rights Reserved.
+ */
+
+package search;
+
+import jdk.incubator.vector.IntVector;
+import jdk.incubator.vector.LongVector;
+import jdk.incubator.vector.VectorMask;
+import jdk.incubator.vector.VectorOperators;
+import jdk.incubator.vector.VectorSpecies;
+
+/**
+ * Linear search which compares a whole vector of elements with the key in one step, using the
+ * incubating Vector API. The elements behind the last full vector are compared one by one.
+ * <p>
+ * The class can only be loaded if the virtual machine was started with
+ * <code>--add-modules jdk.incubator.vector</code>. {@link IntSearch#linearSearch(int[], int)}
+ * uses it automatically in that case, unless the system property
+ * {@value IntSearch#VECTORIZED_PROPERTY} is set to <code>false</code>.
+ *
+ * @author julian
+ */
+public final class VectorizedSearch {
+    //----------------------------------------------------------------------------------------------
+
+    /** The widest vector shape of the platform for <code>int</code> elements. */
+    private static final VectorSpecies<Integer> INT_SPECIES = IntVector.SPECIES_PREFERRED;
+
+    /** The widest vector shape of the platform for <code>long</code> elements. */
+    private static final VectorSpecies<Long> LONG_SPECIES = LongVector.SPECIES_PREFERRED;
+
+    //----------------------------------------------------------------------------------------------
+
+    /**
+     * Searches the key in the whole array.
+     *
+     * @param array The array to search in
+     * @param key The searched key
+     * @return The index of the first occurrence of the key or {@link IntSearch#NOT_FOUND}
+     */
+    public static int linearSearch(final int[] array, final int key) {
+        return linearSearch0(array, 0, array.length, key);
+    }
+
+    /**
+     * Searches the key in the given range of the array.
+     *
+     * @param array The array to search in
+     * @param fromIndex The first index of the range (inclusive)
+     * @param toIndex The last index of the range (exclusive)
+     * @param key The searched key
+     * @return The index of the first occurrence of the key or {@link IntSearch#NOT_FOUND}
+     */
+    public static int linearSearch(final int[] array, final int fromIndex, final int toIndex,
+            final int key) {
+        IntSearch.checkRange(array.length, fromIndex, toIndex);
+
+        return linearSearch0(array, fromIndex, toIndex, key);
+    }
+
+    /**
+     * Searches the key in the whole array.
+     *
+     * @param array The array to search in
+     * @param key The searched key
+     * @return The index of the first occurrence of the key or {@link IntSearch#NOT_FOUND}
+     */
+    public static int linearSearch(final long[] array, final long key) {
+        return linearSearch0(array, 0, array.length, key);
+    }
+
+    /**
+     * Searches the key in the given range of the array.
+     *
+     * @param array The array to search in
+     * @param fromIndex The first index of the range (inclusive)
+     * @param toIndex The last index of the range (exclusive)
+     * @param key The searched key
+     * @return The index of the first occurrence of the key or {@link IntSearch#NOT_FOUND}
+     */
+    public static int linearSearch(final long[] array, final int fromIndex, final int toIndex,
+            final long key) {
+        IntSearch.checkRange(array.length, fromIndex, toIndex);
+
+        return linearSearch0(array, fromIndex, toIndex, key);
+    }
+
+    //----------------------------------------------------------------------------------------------
+
+    /**
+     * Vectorized linear search on <code>int</code> elements without range check.
+     *
+     * @param array The array to search in
+     * @param fromIndex The first index of the range (inclusive)
+     * @param toIndex The last index of the range (exclusive)
+     * @param key The searched key
+     * @return The index of the first occurrence of the key or {@link IntSearch#NOT_FOUND}
+     */
+    static int linearSearch0(final int[] array, final int fromIndex, final int toIndex,
+            final int key) {
+        int laneCount = INT_SPECIES.length();
+        int vectorBound = fromIndex + INT_SPECIES.loopBound(toIndex - fromIndex);
+        IntVector keys = IntVector.broadcast(INT_SPECIES, key);
+
+        int i = fromIndex;
+        for (; i < vectorBound; i += laneCount) {
+            VectorMask<Integer> matches = IntVector.fromArray(INT_SPECIES, array, i)
+                    .compare(VectorOperators.EQ, keys);
+            if (matches.anyTrue()) { return i + matches.firstTrue(); }
+        }
+
+        for (; i < toIndex; i++) {
+            if (array[i] == key) { return i; }
+        }
+
+        return IntSearch.NOT_FOUND;
+    }
+
+    /**
+     * Vectorized linear search on <code>long</code> elements without range check.
+     *
+     * @param array The array to search in
+     * @param fromIndex The first index of the range (inclusive)
+     * @param toIndex The last index of the range (exclusive)
+     * @param key The searched key
+     * @return The index of the first occurrence of the key or {@link IntSearch#NOT_FOUND}
+     */
+    static int linearSearch0(final long[] array, final int fromIndex, final int toIndex,
+            final long key) {
+        int laneCount = LONG_SPECIES.length();
+        int vectorBound = fromIndex + LONG_SPECIES.loopBound(toIndex - fromIndex);
+        LongVector keys = LongVector.broadcast(LONG_SPECIES, key);
+
+        int i = fromIndex;
+        for (; i < vectorBound; i += laneCount) {
+            VectorMask<Long> matches = LongVector.fromArray(LONG_SPECIES, array, i)
+                    .compare(VectorOperators.EQ, keys);
+            if (matches.anyTrue()) { return i + matches.firstTrue(); }
+        }
+
+        for (; i < toIndex; i++) {
+            if (array[i] == key) { return i; }
+        }
+
+        return IntSearch.NOT_FOUND;
+    }
+
+    //----------------------------------------------------------------------------------------------
+
+    /**
+     * Hide utility class constructor.
+     */
+    private VectorizedSearch() {
+    }
+
+    //----------------------------------------------------------------------------------------------
+}